@@ -0,0 +1,236 @@
+package com.dnc.mprs.reportservice.repository.rowmapper;
+
+import com.dnc.mprs.reportservice.config.DatabaseConfiguration;
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Compares the by-name row mapping with exception fallback, as {@link ReportRowMapper} used to do it,
+ * with the index-resolved mapping of {@link RowMapping}.
+ * <p>
+ * The row behaves like the MySQL driver for the mismatching types: reading a {@code DATETIME} as an {@link Instant}
+ * or a {@code VARCHAR} as an enum fails, so the by-name path throws and falls back on conversion for those columns.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private ColumnConverter converter;
+
+    private ReportRowMapper reportRowMapper;
+
+    private Row row;
+
+    @Setup
+    public void setup() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(
+            MySqlDialect.INSTANCE,
+            DatabaseConfiguration.InstantReadConverter.INSTANCE
+        );
+        converter = new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions));
+        reportRowMapper = new ReportRowMapper(converter);
+
+        LocalDateTime now = LocalDateTime.of(2024, 12, 23, 10, 33, 20);
+        row = new BenchmarkRow()
+            .column("e_id", R2dbcType.BIGINT, 1L)
+            .column("e_report_title", R2dbcType.VARCHAR, "title")
+            .column("e_report_date", R2dbcType.TIMESTAMP, now)
+            .column("e_summary", R2dbcType.VARCHAR, "summary")
+            .column("e_exterior_state", R2dbcType.VARCHAR, QualityStateType.HIGH.name())
+            .column("e_construction_year", R2dbcType.INTEGER, 2001)
+            .column("e_maintenance_state", R2dbcType.VARCHAR, QualityStateType.MIDDLE.name())
+            .column("e_parking_facility", R2dbcType.VARCHAR, "underground")
+            .column("e_parking_count", R2dbcType.INTEGER, 120)
+            .column("e_elevator_state", R2dbcType.VARCHAR, QualityStateType.HIGH.name())
+            .column("e_noise_state", R2dbcType.VARCHAR, QualityStateType.LOW.name())
+            .column("e_homepad_state", R2dbcType.VARCHAR, QualityStateType.MIDDLE.name())
+            .column("e_cctv_yn", R2dbcType.VARCHAR, "Y")
+            .column("e_fire_safety_state", R2dbcType.VARCHAR, QualityStateType.HIGH.name())
+            .column("e_door_security_state", R2dbcType.VARCHAR, QualityStateType.HIGH.name())
+            .column("e_maintenance_fee", R2dbcType.INTEGER, 250000)
+            .column("e_redevelopment_yn", R2dbcType.VARCHAR, "N")
+            .column("e_rental_demand", R2dbcType.VARCHAR, "high")
+            .column("e_community_rules", R2dbcType.VARCHAR, "rules")
+            .column("e_complex_id", R2dbcType.BIGINT, 10L)
+            .column("e_complex_name", R2dbcType.VARCHAR, "complex")
+            .column("e_property_id", R2dbcType.BIGINT, 100L)
+            .column("e_property_name", R2dbcType.VARCHAR, "property")
+            .column("e_created_at", R2dbcType.TIMESTAMP, now)
+            .column("e_updated_at", R2dbcType.TIMESTAMP, now)
+            .column("e_author_id", R2dbcType.BIGINT, 5L)
+            .column("author_id", R2dbcType.BIGINT, 5L)
+            .column("author_name", R2dbcType.VARCHAR, "author")
+            .column("author_contact_info", R2dbcType.VARCHAR, "contact");
+    }
+
+    @Benchmark
+    public Report byNameWithExceptionFallback() {
+        return mapByName(row, "e");
+    }
+
+    @Benchmark
+    public Report byResolvedIndex() {
+        return reportRowMapper.apply(row, "e");
+    }
+
+    /**
+     * The mapping of {@link ReportRowMapper} before it was resolved by index.
+     */
+    private Report mapByName(Row row, String prefix) {
+        Report entity = new Report();
+        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
+        entity.setReportTitle(converter.fromRow(row, prefix + "_report_title", String.class));
+        entity.setReportDate(converter.fromRow(row, prefix + "_report_date", Instant.class));
+        entity.setSummary(converter.fromRow(row, prefix + "_summary", String.class));
+        entity.setExteriorState(converter.fromRow(row, prefix + "_exterior_state", QualityStateType.class));
+        entity.setConstructionYear(converter.fromRow(row, prefix + "_construction_year", Integer.class));
+        entity.setMaintenanceState(converter.fromRow(row, prefix + "_maintenance_state", QualityStateType.class));
+        entity.setParkingFacility(converter.fromRow(row, prefix + "_parking_facility", String.class));
+        entity.setParkingCount(converter.fromRow(row, prefix + "_parking_count", Integer.class));
+        entity.setElevatorState(converter.fromRow(row, prefix + "_elevator_state", QualityStateType.class));
+        entity.setNoiseState(converter.fromRow(row, prefix + "_noise_state", QualityStateType.class));
+        entity.setHomepadState(converter.fromRow(row, prefix + "_homepad_state", QualityStateType.class));
+        entity.setCctvYn(converter.fromRow(row, prefix + "_cctv_yn", String.class));
+        entity.setFireSafetyState(converter.fromRow(row, prefix + "_fire_safety_state", QualityStateType.class));
+        entity.setDoorSecurityState(converter.fromRow(row, prefix + "_door_security_state", QualityStateType.class));
+        entity.setMaintenanceFee(converter.fromRow(row, prefix + "_maintenance_fee", Integer.class));
+        entity.setRedevelopmentYn(converter.fromRow(row, prefix + "_redevelopment_yn", String.class));
+        entity.setRentalDemand(converter.fromRow(row, prefix + "_rental_demand", String.class));
+        entity.setCommunityRules(converter.fromRow(row, prefix + "_community_rules", String.class));
+        entity.setComplexId(converter.fromRow(row, prefix + "_complex_id", Long.class));
+        entity.setComplexName(converter.fromRow(row, prefix + "_complex_name", String.class));
+        entity.setPropertyId(converter.fromRow(row, prefix + "_property_id", Long.class));
+        entity.setPropertyName(converter.fromRow(row, prefix + "_property_name", String.class));
+        entity.setCreatedAt(converter.fromRow(row, prefix + "_created_at", Instant.class));
+        entity.setUpdatedAt(converter.fromRow(row, prefix + "_updated_at", Instant.class));
+        entity.setAuthorId(converter.fromRow(row, prefix + "_author_id", Long.class));
+        return entity;
+    }
+
+    /**
+     * An in-memory row, which like the driver looks columns up by name case insensitively
+     * and rejects reading a value as a type it is not an instance of.
+     */
+    private static final class BenchmarkRow implements Row, RowMetadata {
+
+        private final List<BenchmarkColumn> columns = new ArrayList<>();
+
+        private final List<Object> values = new ArrayList<>();
+
+        BenchmarkRow column(String name, Type type, Object value) {
+            columns.add(new BenchmarkColumn(name, type));
+            values.add(value);
+            return this;
+        }
+
+        @Override
+        public <T> T get(int index, Class<T> type) {
+            Object value = values.get(index);
+            if (value != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("Cannot decode value of type " + value.getClass() + " as " + type);
+            }
+            return type.cast(value);
+        }
+
+        @Override
+        public Object get(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> type) {
+            return get(indexOf(name), type);
+        }
+
+        @Override
+        public Object get(String name) {
+            return get(indexOf(name));
+        }
+
+        @Override
+        public RowMetadata getMetadata() {
+            return this;
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public boolean contains(String name) {
+            return columns.stream().anyMatch(column -> column.getName().equalsIgnoreCase(name));
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new NoSuchElementException("Unknown column " + name);
+        }
+    }
+
+    private static final class BenchmarkColumn implements ColumnMetadata {
+
+        private final String name;
+
+        private final Type type;
+
+        BenchmarkColumn(String name, Type type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.dnc.mprs.reportservice.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,9 +13,391 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final CountCache countCache = new CountCache();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final OptimisticLocking optimisticLocking = new OptimisticLocking();
+
+    private final ReportStatistics reportStatistics = new ReportStatistics();
+
+    private final Search search = new Search();
+
+    private final SearchOutbox searchOutbox = new SearchOutbox();
+
+    private final Reindex reindex = new Reindex();
+
     // jhipster-needle-application-properties-property
 
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public OptimisticLocking getOptimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public ReportStatistics getReportStatistics() {
+        return reportStatistics;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public SearchOutbox getSearchOutbox() {
+        return searchOutbox;
+    }
+
+    public Reindex getReindex() {
+        return reindex;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
+    public static class CountCache {
+
+        /**
+         * How long a cached total count may be served before it is counted again.
+         */
+        private Duration maxStaleness = Duration.ofSeconds(30);
+
+        public Duration getMaxStaleness() {
+            return maxStaleness;
+        }
+
+        public void setMaxStaleness(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness;
+        }
+    }
+
+    public static class ReadReplicas {
+
+        /**
+         * The replicas; read-only transactions and reads outside of transactions are spread over the healthy ones.
+         */
+        private List<Replica> instances = new ArrayList<>();
+
+        /**
+         * The maximum replication lag of a replica which still gets reads.
+         */
+        private Duration maxLag = Duration.ofSeconds(10);
+
+        /**
+         * How often the health and the replication lag of the replicas are checked.
+         */
+        private Duration checkInterval = Duration.ofSeconds(5);
+
+        public List<Replica> getInstances() {
+            return instances;
+        }
+
+        public void setInstances(List<Replica> instances) {
+            this.instances = instances;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(Duration checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+    }
+
+    public static class Replica {
+
+        /**
+         * The R2DBC url of the replica.
+         */
+        private String url;
+
+        /**
+         * The login of the replica, the one of {@code spring.r2dbc.username} if not set.
+         */
+        private String username;
+
+        /**
+         * The password of the replica, the one of {@code spring.r2dbc.password} if not set.
+         */
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    public static class OptimisticLocking {
+
+        /**
+         * How many times an update without a version, full or partial, is applied again on top of the latest version, when a
+         * concurrent update commits between reading the version and writing the row; 0 fails it right away.
+         */
+        private int patchRetries = 3;
+
+        /**
+         * The initial delay before applying an update without a version again, doubled on each attempt.
+         */
+        private Duration retryBackoff = Duration.ofMillis(20);
+
+        public int getPatchRetries() {
+            return patchRetries;
+        }
+
+        public void setPatchRetries(int patchRetries) {
+            this.patchRetries = patchRetries;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+    }
+
+    public static class ReportStatistics {
+
+        /**
+         * When the quality state statistics are computed again from the reports, to repair any drift of the incremental counts.
+         */
+        private String rebuildCron = "0 0 3 * * *";
+
+        /**
+         * How long a rebuild holds its lease, so that no other instance starts one: longer than a rebuild takes.
+         */
+        private Duration rebuildLease = Duration.ofHours(1);
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+
+        public Duration getRebuildLease() {
+            return rebuildLease;
+        }
+
+        public void setRebuildLease(Duration rebuildLease) {
+            this.rebuildLease = rebuildLease;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Up to how many hits the total of a search is counted exactly; beyond, the total is a lower bound.
+         */
+        private int trackTotalHitsUpTo = 10000;
+
+        /**
+         * How long the point in time of a cursor search is kept between two pages.
+         */
+        private Duration cursorKeepAlive = Duration.ofMinutes(1);
+
+        public int getTrackTotalHitsUpTo() {
+            return trackTotalHitsUpTo;
+        }
+
+        public void setTrackTotalHitsUpTo(int trackTotalHitsUpTo) {
+            this.trackTotalHitsUpTo = trackTotalHitsUpTo;
+        }
+
+        public Duration getCursorKeepAlive() {
+            return cursorKeepAlive;
+        }
+
+        public void setCursorKeepAlive(Duration cursorKeepAlive) {
+            this.cursorKeepAlive = cursorKeepAlive;
+        }
+    }
+
+    public static class SearchOutbox {
+
+        /**
+         * How often the outbox is checked for changes to index.
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        /**
+         * The maximum number of changes shipped with one bulk request.
+         */
+        private int batchSize = 500;
+
+        /**
+         * How many times a failed bulk request is retried at once, before its changes are postponed.
+         */
+        private int retries = 3;
+
+        /**
+         * The backoff of the first retry of a bulk request, and of the first postponement of a change; both double with every attempt.
+         */
+        private Duration retryBackoff = Duration.ofMillis(200);
+
+        /**
+         * The maximum postponement of a change which keeps failing.
+         */
+        private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+        /**
+         * How long the changes claimed by a drainer are hidden from the other drainers while they are shipped; the changes of
+         * a drainer which stopped before completing them are shipped again once their lease expires.
+         */
+        private Duration lease = Duration.ofMinutes(1);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public Duration getMaxRetryBackoff() {
+            return maxRetryBackoff;
+        }
+
+        public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+            this.maxRetryBackoff = maxRetryBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    public static class Reindex {
+
+        /**
+         * The number of rows read with one keyset query, and indexed with one bulk request.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * The maximum number of bulk requests of a reindex in flight at once.
+         */
+        private int concurrency = 4;
+
+        /**
+         * How many times a failed bulk request is retried, before the reindex fails.
+         */
+        private int retries = 3;
+
+        /**
+         * The backoff of the first retry of a bulk request, doubling with every attempt.
+         */
+        private Duration retryBackoff = Duration.ofSeconds(1);
+
+        /**
+         * The maximum number of rounds indexing again the rows changed during a reindex, before the alias is swapped; the
+         * changes left are shipped by the search outbox.
+         */
+        private int catchUpRounds = 3;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public int getCatchUpRounds() {
+            return catchUpRounds;
+        }
+
+        public void setCatchUpRounds(int catchUpRounds) {
+            this.catchUpRounds = catchUpRounds;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
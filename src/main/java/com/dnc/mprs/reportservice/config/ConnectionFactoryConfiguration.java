@@ -0,0 +1,120 @@
+package com.dnc.mprs.reportservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configure the instrumented R2DBC connection pools, the read replica routing and the transaction manager.
+ * <p>
+ * The pools are built from the {@code spring.r2dbc.*} properties like the one of Spring Boot, but with a
+ * {@link MicrometerPoolMetricsRecorder} and behind a {@link MeteredConnectionFactory}, which Spring Boot has no hook for.
+ * When {@code application.read-replicas.instances} are configured, the primary and the replicas are put behind a
+ * {@link ReadReplicaRoutingConnectionFactory}.
+ */
+@Configuration
+public class ConnectionFactoryConfiguration {
+
+    private static final String CONNECTION_FACTORY_NAME = "connectionFactory";
+    private static final String REPLICA_NAME_PREFIX = "replica-";
+
+    @Bean(name = CONNECTION_FACTORY_NAME, destroyMethod = "dispose")
+    public ConnectionFactory connectionFactory(
+        R2dbcProperties properties,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<ConnectionFactoryOptionsBuilderCustomizer> customizers,
+        MeterRegistry meterRegistry
+    ) {
+        MeteredConnectionFactory primary = createPool(
+            properties,
+            properties.getUrl(),
+            properties.getUsername(),
+            properties.getPassword(),
+            customizers,
+            meterRegistry,
+            CONNECTION_FACTORY_NAME
+        );
+        ApplicationProperties.ReadReplicas readReplicas = applicationProperties.getReadReplicas();
+        List<ApplicationProperties.Replica> instances = readReplicas.getInstances();
+        if (instances.isEmpty()) {
+            return primary;
+        }
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        for (int index = 0; index < instances.size(); index++) {
+            ApplicationProperties.Replica replica = instances.get(index);
+            String name = REPLICA_NAME_PREFIX + (index + 1);
+            MeteredConnectionFactory pool = createPool(
+                properties,
+                replica.getUrl(),
+                StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : properties.getUsername(),
+                StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : properties.getPassword(),
+                customizers,
+                meterRegistry,
+                name
+            );
+            // Spring Boot only publishes the gauges of the pool it can unwrap from the bean, the primary one
+            new ConnectionPoolMetrics((ConnectionPool) pool.unwrap(), name, Tags.empty()).bindTo(meterRegistry);
+            replicas.put(name, pool);
+        }
+        return new ReadReplicaRoutingConnectionFactory(primary, replicas, readReplicas.getMaxLag(), readReplicas.getCheckInterval());
+    }
+
+    @Bean
+    public R2dbcTransactionManager transactionManager(ConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        return new MeteredR2dbcTransactionManager(connectionFactory, meterRegistry);
+    }
+
+    private static MeteredConnectionFactory createPool(
+        R2dbcProperties properties,
+        String url,
+        String username,
+        String password,
+        ObjectProvider<ConnectionFactoryOptionsBuilderCustomizer> customizers,
+        MeterRegistry meterRegistry,
+        String name
+    ) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        properties.getProperties().forEach((key, value) -> options.option(Option.valueOf(key), value));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(options));
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getMinIdle()).to(builder::minIdle);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        builder.name(name).metricsRecorder(new MicrometerPoolMetricsRecorder(meterRegistry, name));
+        return new MeteredConnectionFactory(new ConnectionPool(builder.build()), meterRegistry, name);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dnc.mprs.reportservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ConnectionFactory} which times how long it takes to acquire a connection from the pool, waiting included.
+ */
+public class MeteredConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private final ConnectionPool pool;
+    private final MeterRegistry meterRegistry;
+    private final Timer acquireSuccess;
+    private final Timer acquireFailure;
+
+    public MeteredConnectionFactory(ConnectionPool pool, MeterRegistry meterRegistry, String name) {
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.acquireSuccess = acquireTimer(meterRegistry, name, "success");
+        this.acquireFailure = acquireTimer(meterRegistry, name, "failure");
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String name, String outcome) {
+        return Timer.builder("r2dbc.pool.acquire")
+            .description("Time to acquire a connection from the pool")
+            .tag("name", name)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return pool.create().doOnNext(connection -> sample.stop(acquireSuccess)).doOnError(error -> sample.stop(acquireFailure));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return pool;
+    }
+
+    @Override
+    public void dispose() {
+        pool.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return pool.isDisposed();
+    }
+}
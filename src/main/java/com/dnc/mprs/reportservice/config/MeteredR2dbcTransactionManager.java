@@ -0,0 +1,68 @@
+package com.dnc.mprs.reportservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link R2dbcTransactionManager} which times how long each transaction keeps its connection checked out,
+ * from the begin of the transaction to its cleanup, tagged by the name of the transactional method.
+ * <p>
+ * The connection of a transaction is requested with the read-only flag of the transaction in the Reactor context,
+ * see {@link ReadReplicaRoutingConnectionFactory}.
+ */
+public class MeteredR2dbcTransactionManager extends R2dbcTransactionManager {
+
+    private static final String UNNAMED = "unnamed";
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredR2dbcTransactionManager(ConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        super(connectionFactory);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Mono<Void> doBegin(
+        TransactionSynchronizationManager synchronizationManager,
+        Object transaction,
+        TransactionDefinition definition
+    ) {
+        return super
+            .doBegin(synchronizationManager, transaction, definition)
+            .doOnSuccess(started ->
+                // the transaction object itself is the key, so that suspended and nested transactions keep their own sample
+                synchronizationManager.bindResource(transaction, new HoldSample(Timer.start(meterRegistry), definition))
+            )
+            // lets a routing connection factory pick the connection of the transaction by its kind
+            .contextWrite(context -> context.put(ReadReplicaRoutingConnectionFactory.READ_ONLY_CONTEXT_KEY, definition.isReadOnly()));
+    }
+
+    @Override
+    protected Mono<Void> doCleanupAfterCompletion(TransactionSynchronizationManager synchronizationManager, Object transaction) {
+        return Mono.defer(() -> {
+            if (synchronizationManager.unbindResourceIfPossible(transaction) instanceof HoldSample holdSample) {
+                holdSample.stop(meterRegistry);
+            }
+            return super.doCleanupAfterCompletion(synchronizationManager, transaction);
+        });
+    }
+
+    private record HoldSample(Timer.Sample sample, TransactionDefinition definition) {
+        void stop(MeterRegistry meterRegistry) {
+            String name = definition.getName() != null ? definition.getName() : UNNAMED;
+            sample.stop(
+                Timer.builder("r2dbc.transaction.hold")
+                    .description("Time a transaction keeps its connection checked out")
+                    .tag("transaction", name)
+                    .tag("read.only", String.valueOf(definition.isReadOnly()))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+            );
+        }
+    }
+}
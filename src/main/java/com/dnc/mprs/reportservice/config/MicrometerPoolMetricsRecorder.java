@@ -0,0 +1,116 @@
+package com.dnc.mprs.reportservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import reactor.pool.PoolMetricsRecorder;
+
+/**
+ * Records the events of the R2DBC connection pool as Micrometer meters.
+ * <p>
+ * The sizes of the pool (acquired, allocated, idle and pending) are already published as {@code r2dbc.pool.*} gauges by Spring Boot;
+ * this recorder adds the latencies and lifetimes the gauges can not show.
+ */
+public class MicrometerPoolMetricsRecorder implements PoolMetricsRecorder {
+
+    private final Timer allocationSuccess;
+    private final Timer allocationFailure;
+    private final Timer reset;
+    private final Timer destroy;
+    private final Timer lifetime;
+    private final Timer idleTime;
+    private final Counter recycled;
+    private final Counter fastPath;
+    private final Counter slowPath;
+
+    public MicrometerPoolMetricsRecorder(MeterRegistry meterRegistry, String name) {
+        this.allocationSuccess = allocationTimer(meterRegistry, name, "success");
+        this.allocationFailure = allocationTimer(meterRegistry, name, "failure");
+        this.reset = Timer.builder("r2dbc.pool.reset")
+            .description("Time to reset a connection released to the pool")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.destroy = Timer.builder("r2dbc.pool.destroy")
+            .description("Time to close a connection evicted from the pool")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.lifetime = Timer.builder("r2dbc.pool.connection.lifetime")
+            .description("Lifetime of the connections, from their creation to their eviction")
+            .tag("name", name)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.idleTime = Timer.builder("r2dbc.pool.connection.idle")
+            .description("Time the connections stay idle in the pool before they are acquired again")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.recycled = Counter.builder("r2dbc.pool.recycled")
+            .description("Number of connections released back to the pool")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.fastPath = acquisitionCounter(meterRegistry, name, "fast");
+        this.slowPath = acquisitionCounter(meterRegistry, name, "slow");
+    }
+
+    private static Timer allocationTimer(MeterRegistry meterRegistry, String name, String outcome) {
+        return Timer.builder("r2dbc.pool.allocation")
+            .description("Time to open a new connection")
+            .tag("name", name)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Counter acquisitionCounter(MeterRegistry meterRegistry, String name, String path) {
+        return Counter.builder("r2dbc.pool.acquisitions")
+            .description("Number of acquisitions, served by an idle connection (fast) or by waiting for one (slow)")
+            .tag("name", name)
+            .tag("path", path)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void recordAllocationSuccessAndLatency(long latencyMs) {
+        allocationSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordAllocationFailureAndLatency(long latencyMs) {
+        allocationFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordResetLatency(long latencyMs) {
+        reset.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordDestroyLatency(long latencyMs) {
+        destroy.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordRecycled() {
+        recycled.increment();
+    }
+
+    @Override
+    public void recordLifetimeDuration(long millisecondsSinceAllocation) {
+        lifetime.record(millisecondsSinceAllocation, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordIdleTime(long millisecondsIdle) {
+        idleTime.record(millisecondsIdle, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordSlowPath() {
+        slowPath.increment();
+    }
+
+    @Override
+    public void recordFastPath() {
+        fastPath.increment();
+    }
+}
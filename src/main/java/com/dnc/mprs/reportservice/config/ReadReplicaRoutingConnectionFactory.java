@@ -0,0 +1,172 @@
+package com.dnc.mprs.reportservice.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ConnectionFactory} which routes the connections of read-only transactions, and the connections
+ * requested outside of any transaction, to the healthy read replicas, round robin.
+ * <p>
+ * Connections are only requested outside of a transaction for reads: all writes run in the transactions of the services.
+ * The connections of read-write transactions, and all connections while no replica is healthy, go to the primary.
+ * A replica is healthy while {@code SHOW REPLICA STATUS} succeeds and reports a replication lag within the bound;
+ * a server which is not replicating at all is taken as lag-free.
+ */
+public class ReadReplicaRoutingConnectionFactory
+    extends AbstractRoutingConnectionFactory
+    implements Wrapped<ConnectionFactory>, Disposable {
+
+    /**
+     * Key of the Reactor context entry telling whether the connection is requested for a read-only transaction.
+     */
+    public static final String READ_ONLY_CONTEXT_KEY = ReadReplicaRoutingConnectionFactory.class.getName() + ".READ_ONLY";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRoutingConnectionFactory.class);
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA_STATUS_SQL = "SHOW REPLICA STATUS";
+    private static final String REPLICA_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final ConnectionFactory primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private Disposable healthChecks;
+
+    public ReadReplicaRoutingConnectionFactory(
+        ConnectionFactory primary,
+        Map<String, ConnectionFactory> replicas,
+        Duration maxLag,
+        Duration checkInterval
+    ) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        Map<String, ConnectionFactory> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, connectionFactory) -> this.replicas.add(new Replica(name, connectionFactory)));
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        healthChecks = Flux.interval(Duration.ZERO, checkInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> Flux.fromIterable(replicas).flatMap(this::check))
+            .subscribe();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!context.<Boolean>getOrEmpty(READ_ONLY_CONTEXT_KEY).orElse(true)) {
+                return Mono.just(PRIMARY);
+            }
+            return Mono.just(nextHealthyReplica().map(Replica::name).orElse(PRIMARY));
+        });
+    }
+
+    private Optional<Replica> nextHealthyReplica() {
+        List<Replica> healthy = replicas.stream().filter(Replica::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())));
+    }
+
+    private Mono<Void> check(Replica replica) {
+        return Mono.usingWhen(
+            replica.connectionFactory().create(),
+            connection ->
+                Flux.from(connection.createStatement(REPLICA_STATUS_SQL).execute())
+                    .flatMap(result -> result.map((row, metadata) -> Optional.ofNullable(row.get(REPLICA_LAG_COLUMN, Long.class))))
+                    .next()
+                    // a server without replica status is not replicating, so it can not lag
+                    .defaultIfEmpty(Optional.of(0L)),
+            Connection::close
+        )
+            .timeout(checkInterval)
+            .map(lag -> lag.filter(seconds -> seconds <= maxLag.toSeconds()).isPresent())
+            .onErrorResume(error -> {
+                LOG.warn("Health check of read replica {} failed: {}", replica.name(), error.getMessage());
+                return Mono.just(false);
+            })
+            .doOnNext(replica::setHealthy)
+            .then();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    @Override
+    public void dispose() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+        dispose(primary);
+        replicas.forEach(replica -> dispose(replica.connectionFactory()));
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return healthChecks != null && healthChecks.isDisposed();
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final ConnectionFactory connectionFactory;
+        private volatile boolean healthy;
+
+        Replica(String name, ConnectionFactory connectionFactory) {
+            this.name = name;
+            this.connectionFactory = connectionFactory;
+        }
+
+        String name() {
+            return name;
+        }
+
+        ConnectionFactory connectionFactory() {
+            return connectionFactory;
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                LOG.info("Read replica {} is now {}", name, healthy ? "healthy" : "unhealthy");
+            }
+            this.healthy = healthy;
+        }
+    }
+}
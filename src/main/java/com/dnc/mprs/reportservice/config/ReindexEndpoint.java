@@ -0,0 +1,41 @@
+package com.dnc.mprs.reportservice.config;
+
+import com.dnc.mprs.reportservice.service.ReindexService;
+import com.dnc.mprs.reportservice.service.dto.ReindexStatusDTO;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting the progress, throughput and estimated completion of the search reindex jobs,
+ * at {@code /management/reindex}.
+ */
+@Component
+@Endpoint(id = "reindex")
+public class ReindexEndpoint {
+
+    private final ReindexService reindexService;
+
+    public ReindexEndpoint(ReindexService reindexService) {
+        this.reindexService = reindexService;
+    }
+
+    /**
+     * @return the status of the reindex of every entity reindexed since the start of the application.
+     */
+    @ReadOperation
+    public List<ReindexStatusDTO> reindexes() {
+        return reindexService.findAll();
+    }
+
+    /**
+     * @param entity the name of the entity, e.g. {@code report}.
+     * @return the status of the reindex of the entity, or {@code null} for a {@code 404 (Not Found)} if it was not reindexed.
+     */
+    @ReadOperation
+    public ReindexStatusDTO reindex(@Selector String entity) {
+        return reindexService.findOne(entity).orElse(null);
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -69,6 +70,10 @@ public class Bedroom implements Serializable {
     @Column("report_id")
     private Long reportId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -210,6 +215,19 @@ public class Bedroom implements Serializable {
         this.reportId = report;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Bedroom version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -242,6 +260,7 @@ public class Bedroom implements Serializable {
             ", windowLocation='" + getWindowLocation() + "'" +
             ", windowSize='" + getWindowSize() + "'" +
             ", remarks='" + getRemarks() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
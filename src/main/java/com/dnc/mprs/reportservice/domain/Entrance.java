@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -57,6 +58,10 @@ public class Entrance implements Serializable {
     @Column("report_id")
     private Long reportId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -172,6 +177,19 @@ public class Entrance implements Serializable {
         this.reportId = report;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Entrance version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -202,6 +220,7 @@ public class Entrance implements Serializable {
             ", shoeRackSize=" + getShoeRackSize() +
             ", pantryPresence='" + getPantryPresence() + "'" +
             ", remarks='" + getRemarks() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
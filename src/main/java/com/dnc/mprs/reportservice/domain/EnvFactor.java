@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -43,6 +44,10 @@ public class EnvFactor implements Serializable {
     @Column("report_id")
     private Long reportId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -119,6 +124,19 @@ public class EnvFactor implements Serializable {
         this.reportId = report;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public EnvFactor version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -146,6 +164,7 @@ public class EnvFactor implements Serializable {
             ", envFactorName='" + getEnvFactorName() + "'" +
             ", envFactorDistance=" + getEnvFactorDistance() +
             ", remarks='" + getRemarks() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
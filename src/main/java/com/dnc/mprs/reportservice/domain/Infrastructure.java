@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -59,6 +60,10 @@ public class Infrastructure implements Serializable {
     @Column("report_id")
     private Long reportId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -174,6 +179,19 @@ public class Infrastructure implements Serializable {
         this.reportId = report;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Infrastructure version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -204,6 +222,7 @@ public class Infrastructure implements Serializable {
             ", infraDistance=" + getInfraDistance() +
             ", infraDistanceUnit='" + getInfraDistanceUnit() + "'" +
             ", remarks='" + getRemarks() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -141,6 +142,10 @@ public class Report implements Serializable {
     @Column("author_id")
     private Long authorId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -490,6 +495,19 @@ public class Report implements Serializable {
         this.authorId = author;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Report version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -538,6 +556,7 @@ public class Report implements Serializable {
             ", propertyName='" + getPropertyName() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,302 @@
+package com.dnc.mprs.reportservice.domain;
+
+import com.dnc.mprs.reportservice.domain.enumeration.InfraType;
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.WriteTypeHint;
+
+/**
+ * The search document of a {@link Report}, stored in the {@code report} index: the report itself, with the summaries
+ * of its rooms, infrastructures and environment factors embedded as nested documents, so that a single query can match
+ * a report by its children, e.g. a kitchen in a {@code LOW} condition and a {@code SCHOOL} within 500 m.
+ * <p>
+ * The report fields are mapped as those of {@link Report}, which keeps reading the index; the mapping of the summaries
+ * is added to an existing index on startup.
+ * <p>
+ * The document is versioned with its {@link #getSearchVersion() search version} rather than with the version of the report,
+ * which is not changed by a change of its children.
+ */
+@Document(indexName = "report", writeTypeHint = WriteTypeHint.FALSE, alwaysWriteMapping = true)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportDocument extends Report {
+
+    private static final long serialVersionUID = 1L;
+
+    @Field(type = FieldType.Nested)
+    private List<RoomSummary> bedrooms = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private List<RoomSummary> kitchens = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private List<RoomSummary> bathrooms = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private List<RoomSummary> livingRooms = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private List<RoomSummary> entrances = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private List<InfrastructureSummary> infrastructures = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private List<EnvFactorSummary> envFactors = new ArrayList<>();
+
+    @org.springframework.data.annotation.Transient
+    @JsonIgnore
+    private Long searchVersion;
+
+    public ReportDocument() {}
+
+    public ReportDocument(Report report) {
+        // the author is not copied, as setting it would also reset the author id
+        BeanUtils.copyProperties(report, this, "author");
+    }
+
+    public List<RoomSummary> getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(List<RoomSummary> bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public List<RoomSummary> getKitchens() {
+        return kitchens;
+    }
+
+    public void setKitchens(List<RoomSummary> kitchens) {
+        this.kitchens = kitchens;
+    }
+
+    public List<RoomSummary> getBathrooms() {
+        return bathrooms;
+    }
+
+    public void setBathrooms(List<RoomSummary> bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+
+    public List<RoomSummary> getLivingRooms() {
+        return livingRooms;
+    }
+
+    public void setLivingRooms(List<RoomSummary> livingRooms) {
+        this.livingRooms = livingRooms;
+    }
+
+    public List<RoomSummary> getEntrances() {
+        return entrances;
+    }
+
+    public void setEntrances(List<RoomSummary> entrances) {
+        this.entrances = entrances;
+    }
+
+    public List<InfrastructureSummary> getInfrastructures() {
+        return infrastructures;
+    }
+
+    public void setInfrastructures(List<InfrastructureSummary> infrastructures) {
+        this.infrastructures = infrastructures;
+    }
+
+    public List<EnvFactorSummary> getEnvFactors() {
+        return envFactors;
+    }
+
+    public void setEnvFactors(List<EnvFactorSummary> envFactors) {
+        this.envFactors = envFactors;
+    }
+
+    /**
+     * @return the version of the document: the version of the report plus the number of changes of its children, so it
+     * grows with any change of the report or of one of its children.
+     */
+    public Long getSearchVersion() {
+        return searchVersion;
+    }
+
+    public void setSearchVersion(Long searchVersion) {
+        this.searchVersion = searchVersion;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportDocument{" +
+            "id=" + getId() +
+            ", searchVersion=" + getSearchVersion() +
+            ", bedrooms=" + getBedrooms().size() +
+            ", kitchens=" + getKitchens().size() +
+            ", bathrooms=" + getBathrooms().size() +
+            ", livingRooms=" + getLivingRooms().size() +
+            ", entrances=" + getEntrances().size() +
+            ", infrastructures=" + getInfrastructures().size() +
+            ", envFactors=" + getEnvFactors().size() +
+            "}";
+    }
+
+    /**
+     * The summary of a room of a report: a {@link Bedroom}, {@link Kitchen}, {@link Bathroom}, {@link LivingRoom} or {@link Entrance}.
+     */
+    public static class RoomSummary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Field(type = FieldType.Text)
+        private String name;
+
+        @Field(type = FieldType.Keyword)
+        private QualityStateType conditionLevel;
+
+        public String getName() {
+            return name;
+        }
+
+        public RoomSummary name(String name) {
+            this.setName(name);
+            return this;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public QualityStateType getConditionLevel() {
+            return conditionLevel;
+        }
+
+        public RoomSummary conditionLevel(QualityStateType conditionLevel) {
+            this.setConditionLevel(conditionLevel);
+            return this;
+        }
+
+        public void setConditionLevel(QualityStateType conditionLevel) {
+            this.conditionLevel = conditionLevel;
+        }
+    }
+
+    /**
+     * The summary of an {@link Infrastructure} near a report.
+     */
+    public static class InfrastructureSummary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Field(type = FieldType.Keyword)
+        private InfraType infraType;
+
+        @Field(type = FieldType.Text)
+        private String name;
+
+        @Field(type = FieldType.Keyword)
+        private QualityStateType conditionLevel;
+
+        @Field(type = FieldType.Integer)
+        private Integer distance;
+
+        public InfraType getInfraType() {
+            return infraType;
+        }
+
+        public InfrastructureSummary infraType(InfraType infraType) {
+            this.setInfraType(infraType);
+            return this;
+        }
+
+        public void setInfraType(InfraType infraType) {
+            this.infraType = infraType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public InfrastructureSummary name(String name) {
+            this.setName(name);
+            return this;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public QualityStateType getConditionLevel() {
+            return conditionLevel;
+        }
+
+        public InfrastructureSummary conditionLevel(QualityStateType conditionLevel) {
+            this.setConditionLevel(conditionLevel);
+            return this;
+        }
+
+        public void setConditionLevel(QualityStateType conditionLevel) {
+            this.conditionLevel = conditionLevel;
+        }
+
+        /**
+         * @return the distance to the report, in the unit stored with the {@link Infrastructure}.
+         */
+        public Integer getDistance() {
+            return distance;
+        }
+
+        public InfrastructureSummary distance(Integer distance) {
+            this.setDistance(distance);
+            return this;
+        }
+
+        public void setDistance(Integer distance) {
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * The summary of an {@link EnvFactor} near a report.
+     */
+    public static class EnvFactorSummary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Field(type = FieldType.Text)
+        private String name;
+
+        @Field(type = FieldType.Double)
+        private Double distance;
+
+        public String getName() {
+            return name;
+        }
+
+        public EnvFactorSummary name(String name) {
+            this.setName(name);
+            return this;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Double getDistance() {
+            return distance;
+        }
+
+        public EnvFactorSummary distance(Double distance) {
+            this.setDistance(distance);
+            return this;
+        }
+
+        public void setDistance(Double distance) {
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.dnc.mprs.reportservice.domain;
+
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The number of reports of a complex and a year which have a quality state field, e.g. {@code exteriorState}, in a given state.
+ * <p>
+ * The counts are a rollup of the {@link Report}s, kept in the {@code report_state_count} table; the year is the one of
+ * the report date in UTC, or of the creation date for a report without date.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportStateCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long complexId;
+
+    private Integer period;
+
+    private String field;
+
+    private QualityStateType state;
+
+    private Long count;
+
+    public Long getComplexId() {
+        return this.complexId;
+    }
+
+    public ReportStateCount complexId(Long complexId) {
+        this.setComplexId(complexId);
+        return this;
+    }
+
+    public void setComplexId(Long complexId) {
+        this.complexId = complexId;
+    }
+
+    public Integer getPeriod() {
+        return this.period;
+    }
+
+    public ReportStateCount period(Integer period) {
+        this.setPeriod(period);
+        return this;
+    }
+
+    public void setPeriod(Integer period) {
+        this.period = period;
+    }
+
+    public String getField() {
+        return this.field;
+    }
+
+    public ReportStateCount field(String field) {
+        this.setField(field);
+        return this;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public QualityStateType getState() {
+        return this.state;
+    }
+
+    public ReportStateCount state(QualityStateType state) {
+        this.setState(state);
+        return this;
+    }
+
+    public void setState(QualityStateType state) {
+        this.state = state;
+    }
+
+    public Long getCount() {
+        return this.count;
+    }
+
+    public ReportStateCount count(Long count) {
+        this.setCount(count);
+        return this;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReportStateCount)) {
+            return false;
+        }
+        ReportStateCount that = (ReportStateCount) o;
+        return (
+            Objects.equals(complexId, that.complexId) &&
+            Objects.equals(period, that.period) &&
+            Objects.equals(field, that.field) &&
+            state == that.state
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(complexId, period, field, state);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportStateCount{" +
+            "complexId=" + getComplexId() +
+            ", period=" + getPeriod() +
+            ", field='" + getField() + "'" +
+            ", state='" + getState() + "'" +
+            ", count=" + getCount() +
+            "}";
+    }
+}
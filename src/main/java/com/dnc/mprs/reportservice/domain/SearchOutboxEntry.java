@@ -0,0 +1,103 @@
+package com.dnc.mprs.reportservice.domain;
+
+import java.io.Serializable;
+
+/**
+ * A change of an indexed entity, waiting in the {@code search_outbox} table to be shipped to Elasticsearch.
+ * <p>
+ * An entry only names the changed entity: its document is read from the database when the entry is drained,
+ * so several changes of an entity are indexed once, with its latest version.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class SearchOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String entityType;
+
+    private Long entityId;
+
+    private Integer attempts;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public SearchOutboxEntry id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public SearchOutboxEntry entityType(String entityType) {
+        this.setEntityType(entityType);
+        return this;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public SearchOutboxEntry entityId(Long entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public SearchOutboxEntry attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchOutboxEntry)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((SearchOutboxEntry) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchOutboxEntry{" +
+            "id=" + getId() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId=" + getEntityId() +
+            ", attempts=" + getAttempts() +
+            "}";
+    }
+}
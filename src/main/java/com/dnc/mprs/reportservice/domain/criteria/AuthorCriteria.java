@@ -0,0 +1,84 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.Author} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.AuthorResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/authors?id.greaterThan=5&id.lessThan=10}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AuthorCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    public AuthorCriteria() {}
+
+    public AuthorCriteria(AuthorCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public AuthorCriteria copy() {
+        return new AuthorCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final AuthorCriteria that = (AuthorCriteria) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AuthorCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,224 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.Bathroom} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.BathroomResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/bathrooms?id.greaterThan=5&condtionLevel.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BathroomCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering QualityStateType
+     */
+    public static class QualityStateTypeFilter extends Filter<QualityStateType> {
+
+        public QualityStateTypeFilter() {}
+
+        public QualityStateTypeFilter(QualityStateTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public QualityStateTypeFilter copy() {
+            return new QualityStateTypeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private QualityStateTypeFilter condtionLevel;
+
+    private BigDecimalFilter bathroomSize;
+
+    private QualityStateTypeFilter waterPressure;
+
+    private QualityStateTypeFilter floorAndCeiling;
+
+    private LongFilter reportId;
+
+    public BathroomCriteria() {}
+
+    public BathroomCriteria(BathroomCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.condtionLevel = other.optionalCondtionLevel().map(QualityStateTypeFilter::copy).orElse(null);
+        this.bathroomSize = other.optionalBathroomSize().map(BigDecimalFilter::copy).orElse(null);
+        this.waterPressure = other.optionalWaterPressure().map(QualityStateTypeFilter::copy).orElse(null);
+        this.floorAndCeiling = other.optionalFloorAndCeiling().map(QualityStateTypeFilter::copy).orElse(null);
+        this.reportId = other.optionalReportId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public BathroomCriteria copy() {
+        return new BathroomCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public QualityStateTypeFilter getCondtionLevel() {
+        return condtionLevel;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalCondtionLevel() {
+        return Optional.ofNullable(condtionLevel);
+    }
+
+    public QualityStateTypeFilter condtionLevel() {
+        if (condtionLevel == null) {
+            setCondtionLevel(new QualityStateTypeFilter());
+        }
+        return condtionLevel;
+    }
+
+    public void setCondtionLevel(QualityStateTypeFilter condtionLevel) {
+        this.condtionLevel = condtionLevel;
+    }
+
+    public BigDecimalFilter getBathroomSize() {
+        return bathroomSize;
+    }
+
+    public Optional<BigDecimalFilter> optionalBathroomSize() {
+        return Optional.ofNullable(bathroomSize);
+    }
+
+    public BigDecimalFilter bathroomSize() {
+        if (bathroomSize == null) {
+            setBathroomSize(new BigDecimalFilter());
+        }
+        return bathroomSize;
+    }
+
+    public void setBathroomSize(BigDecimalFilter bathroomSize) {
+        this.bathroomSize = bathroomSize;
+    }
+
+    public QualityStateTypeFilter getWaterPressure() {
+        return waterPressure;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalWaterPressure() {
+        return Optional.ofNullable(waterPressure);
+    }
+
+    public QualityStateTypeFilter waterPressure() {
+        if (waterPressure == null) {
+            setWaterPressure(new QualityStateTypeFilter());
+        }
+        return waterPressure;
+    }
+
+    public void setWaterPressure(QualityStateTypeFilter waterPressure) {
+        this.waterPressure = waterPressure;
+    }
+
+    public QualityStateTypeFilter getFloorAndCeiling() {
+        return floorAndCeiling;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalFloorAndCeiling() {
+        return Optional.ofNullable(floorAndCeiling);
+    }
+
+    public QualityStateTypeFilter floorAndCeiling() {
+        if (floorAndCeiling == null) {
+            setFloorAndCeiling(new QualityStateTypeFilter());
+        }
+        return floorAndCeiling;
+    }
+
+    public void setFloorAndCeiling(QualityStateTypeFilter floorAndCeiling) {
+        this.floorAndCeiling = floorAndCeiling;
+    }
+
+    public LongFilter getReportId() {
+        return reportId;
+    }
+
+    public Optional<LongFilter> optionalReportId() {
+        return Optional.ofNullable(reportId);
+    }
+
+    public LongFilter reportId() {
+        if (reportId == null) {
+            setReportId(new LongFilter());
+        }
+        return reportId;
+    }
+
+    public void setReportId(LongFilter reportId) {
+        this.reportId = reportId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final BathroomCriteria that = (BathroomCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(condtionLevel, that.condtionLevel) &&
+            Objects.equals(bathroomSize, that.bathroomSize) &&
+            Objects.equals(waterPressure, that.waterPressure) &&
+            Objects.equals(floorAndCeiling, that.floorAndCeiling) &&
+            Objects.equals(reportId, that.reportId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, condtionLevel, bathroomSize, waterPressure, floorAndCeiling, reportId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BathroomCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalCondtionLevel().map(f -> "condtionLevel=" + f + ", ").orElse("") +
+            optionalBathroomSize().map(f -> "bathroomSize=" + f + ", ").orElse("") +
+            optionalWaterPressure().map(f -> "waterPressure=" + f + ", ").orElse("") +
+            optionalFloorAndCeiling().map(f -> "floorAndCeiling=" + f + ", ").orElse("") +
+            optionalReportId().map(f -> "reportId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
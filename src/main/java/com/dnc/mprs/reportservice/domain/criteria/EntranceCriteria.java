@@ -0,0 +1,200 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.Entrance} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.EntranceResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/entrances?id.greaterThan=5&condtionLevel.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EntranceCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering QualityStateType
+     */
+    public static class QualityStateTypeFilter extends Filter<QualityStateType> {
+
+        public QualityStateTypeFilter() {}
+
+        public QualityStateTypeFilter(QualityStateTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public QualityStateTypeFilter copy() {
+            return new QualityStateTypeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private QualityStateTypeFilter condtionLevel;
+
+    private BigDecimalFilter entranceSize;
+
+    private BigDecimalFilter shoeRackSize;
+
+    private LongFilter reportId;
+
+    public EntranceCriteria() {}
+
+    public EntranceCriteria(EntranceCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.condtionLevel = other.optionalCondtionLevel().map(QualityStateTypeFilter::copy).orElse(null);
+        this.entranceSize = other.optionalEntranceSize().map(BigDecimalFilter::copy).orElse(null);
+        this.shoeRackSize = other.optionalShoeRackSize().map(BigDecimalFilter::copy).orElse(null);
+        this.reportId = other.optionalReportId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public EntranceCriteria copy() {
+        return new EntranceCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public QualityStateTypeFilter getCondtionLevel() {
+        return condtionLevel;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalCondtionLevel() {
+        return Optional.ofNullable(condtionLevel);
+    }
+
+    public QualityStateTypeFilter condtionLevel() {
+        if (condtionLevel == null) {
+            setCondtionLevel(new QualityStateTypeFilter());
+        }
+        return condtionLevel;
+    }
+
+    public void setCondtionLevel(QualityStateTypeFilter condtionLevel) {
+        this.condtionLevel = condtionLevel;
+    }
+
+    public BigDecimalFilter getEntranceSize() {
+        return entranceSize;
+    }
+
+    public Optional<BigDecimalFilter> optionalEntranceSize() {
+        return Optional.ofNullable(entranceSize);
+    }
+
+    public BigDecimalFilter entranceSize() {
+        if (entranceSize == null) {
+            setEntranceSize(new BigDecimalFilter());
+        }
+        return entranceSize;
+    }
+
+    public void setEntranceSize(BigDecimalFilter entranceSize) {
+        this.entranceSize = entranceSize;
+    }
+
+    public BigDecimalFilter getShoeRackSize() {
+        return shoeRackSize;
+    }
+
+    public Optional<BigDecimalFilter> optionalShoeRackSize() {
+        return Optional.ofNullable(shoeRackSize);
+    }
+
+    public BigDecimalFilter shoeRackSize() {
+        if (shoeRackSize == null) {
+            setShoeRackSize(new BigDecimalFilter());
+        }
+        return shoeRackSize;
+    }
+
+    public void setShoeRackSize(BigDecimalFilter shoeRackSize) {
+        this.shoeRackSize = shoeRackSize;
+    }
+
+    public LongFilter getReportId() {
+        return reportId;
+    }
+
+    public Optional<LongFilter> optionalReportId() {
+        return Optional.ofNullable(reportId);
+    }
+
+    public LongFilter reportId() {
+        if (reportId == null) {
+            setReportId(new LongFilter());
+        }
+        return reportId;
+    }
+
+    public void setReportId(LongFilter reportId) {
+        this.reportId = reportId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EntranceCriteria that = (EntranceCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(condtionLevel, that.condtionLevel) &&
+            Objects.equals(entranceSize, that.entranceSize) &&
+            Objects.equals(shoeRackSize, that.shoeRackSize) &&
+            Objects.equals(reportId, that.reportId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, condtionLevel, entranceSize, shoeRackSize, reportId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntranceCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalCondtionLevel().map(f -> "condtionLevel=" + f + ", ").orElse("") +
+            optionalEntranceSize().map(f -> "entranceSize=" + f + ", ").orElse("") +
+            optionalShoeRackSize().map(f -> "shoeRackSize=" + f + ", ").orElse("") +
+            optionalReportId().map(f -> "reportId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,134 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.EnvFactor} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.EnvFactorResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/env-factors?id.greaterThan=5&envFactorDistance.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EnvFactorCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private BigDecimalFilter envFactorDistance;
+
+    private LongFilter reportId;
+
+    public EnvFactorCriteria() {}
+
+    public EnvFactorCriteria(EnvFactorCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.envFactorDistance = other.optionalEnvFactorDistance().map(BigDecimalFilter::copy).orElse(null);
+        this.reportId = other.optionalReportId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public EnvFactorCriteria copy() {
+        return new EnvFactorCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public BigDecimalFilter getEnvFactorDistance() {
+        return envFactorDistance;
+    }
+
+    public Optional<BigDecimalFilter> optionalEnvFactorDistance() {
+        return Optional.ofNullable(envFactorDistance);
+    }
+
+    public BigDecimalFilter envFactorDistance() {
+        if (envFactorDistance == null) {
+            setEnvFactorDistance(new BigDecimalFilter());
+        }
+        return envFactorDistance;
+    }
+
+    public void setEnvFactorDistance(BigDecimalFilter envFactorDistance) {
+        this.envFactorDistance = envFactorDistance;
+    }
+
+    public LongFilter getReportId() {
+        return reportId;
+    }
+
+    public Optional<LongFilter> optionalReportId() {
+        return Optional.ofNullable(reportId);
+    }
+
+    public LongFilter reportId() {
+        if (reportId == null) {
+            setReportId(new LongFilter());
+        }
+        return reportId;
+    }
+
+    public void setReportId(LongFilter reportId) {
+        this.reportId = reportId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EnvFactorCriteria that = (EnvFactorCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(envFactorDistance, that.envFactorDistance) &&
+            Objects.equals(reportId, that.reportId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, envFactorDistance, reportId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EnvFactorCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalEnvFactorDistance().map(f -> "envFactorDistance=" + f + ", ").orElse("") +
+            optionalReportId().map(f -> "reportId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,242 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import com.dnc.mprs.reportservice.domain.enumeration.InfraType;
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.Infrastructure} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.InfrastructureResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/infrastructures?id.greaterThan=5&infraType.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class InfrastructureCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering InfraType
+     */
+    public static class InfraTypeFilter extends Filter<InfraType> {
+
+        public InfraTypeFilter() {}
+
+        public InfraTypeFilter(InfraTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public InfraTypeFilter copy() {
+            return new InfraTypeFilter(this);
+        }
+    }
+
+    /**
+     * Class for filtering QualityStateType
+     */
+    public static class QualityStateTypeFilter extends Filter<QualityStateType> {
+
+        public QualityStateTypeFilter() {}
+
+        public QualityStateTypeFilter(QualityStateTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public QualityStateTypeFilter copy() {
+            return new QualityStateTypeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private InfraTypeFilter infraType;
+
+    private QualityStateTypeFilter conditionLevel;
+
+    private IntegerFilter infraDistance;
+
+    private QualityStateTypeFilter infraDistanceUnit;
+
+    private LongFilter reportId;
+
+    public InfrastructureCriteria() {}
+
+    public InfrastructureCriteria(InfrastructureCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.infraType = other.optionalInfraType().map(InfraTypeFilter::copy).orElse(null);
+        this.conditionLevel = other.optionalConditionLevel().map(QualityStateTypeFilter::copy).orElse(null);
+        this.infraDistance = other.optionalInfraDistance().map(IntegerFilter::copy).orElse(null);
+        this.infraDistanceUnit = other.optionalInfraDistanceUnit().map(QualityStateTypeFilter::copy).orElse(null);
+        this.reportId = other.optionalReportId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public InfrastructureCriteria copy() {
+        return new InfrastructureCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public InfraTypeFilter getInfraType() {
+        return infraType;
+    }
+
+    public Optional<InfraTypeFilter> optionalInfraType() {
+        return Optional.ofNullable(infraType);
+    }
+
+    public InfraTypeFilter infraType() {
+        if (infraType == null) {
+            setInfraType(new InfraTypeFilter());
+        }
+        return infraType;
+    }
+
+    public void setInfraType(InfraTypeFilter infraType) {
+        this.infraType = infraType;
+    }
+
+    public QualityStateTypeFilter getConditionLevel() {
+        return conditionLevel;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalConditionLevel() {
+        return Optional.ofNullable(conditionLevel);
+    }
+
+    public QualityStateTypeFilter conditionLevel() {
+        if (conditionLevel == null) {
+            setConditionLevel(new QualityStateTypeFilter());
+        }
+        return conditionLevel;
+    }
+
+    public void setConditionLevel(QualityStateTypeFilter conditionLevel) {
+        this.conditionLevel = conditionLevel;
+    }
+
+    public IntegerFilter getInfraDistance() {
+        return infraDistance;
+    }
+
+    public Optional<IntegerFilter> optionalInfraDistance() {
+        return Optional.ofNullable(infraDistance);
+    }
+
+    public IntegerFilter infraDistance() {
+        if (infraDistance == null) {
+            setInfraDistance(new IntegerFilter());
+        }
+        return infraDistance;
+    }
+
+    public void setInfraDistance(IntegerFilter infraDistance) {
+        this.infraDistance = infraDistance;
+    }
+
+    public QualityStateTypeFilter getInfraDistanceUnit() {
+        return infraDistanceUnit;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalInfraDistanceUnit() {
+        return Optional.ofNullable(infraDistanceUnit);
+    }
+
+    public QualityStateTypeFilter infraDistanceUnit() {
+        if (infraDistanceUnit == null) {
+            setInfraDistanceUnit(new QualityStateTypeFilter());
+        }
+        return infraDistanceUnit;
+    }
+
+    public void setInfraDistanceUnit(QualityStateTypeFilter infraDistanceUnit) {
+        this.infraDistanceUnit = infraDistanceUnit;
+    }
+
+    public LongFilter getReportId() {
+        return reportId;
+    }
+
+    public Optional<LongFilter> optionalReportId() {
+        return Optional.ofNullable(reportId);
+    }
+
+    public LongFilter reportId() {
+        if (reportId == null) {
+            setReportId(new LongFilter());
+        }
+        return reportId;
+    }
+
+    public void setReportId(LongFilter reportId) {
+        this.reportId = reportId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final InfrastructureCriteria that = (InfrastructureCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(infraType, that.infraType) &&
+            Objects.equals(conditionLevel, that.conditionLevel) &&
+            Objects.equals(infraDistance, that.infraDistance) &&
+            Objects.equals(infraDistanceUnit, that.infraDistanceUnit) &&
+            Objects.equals(reportId, that.reportId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, infraType, conditionLevel, infraDistance, infraDistanceUnit, reportId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InfrastructureCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalInfraType().map(f -> "infraType=" + f + ", ").orElse("") +
+            optionalConditionLevel().map(f -> "conditionLevel=" + f + ", ").orElse("") +
+            optionalInfraDistance().map(f -> "infraDistance=" + f + ", ").orElse("") +
+            optionalInfraDistanceUnit().map(f -> "infraDistanceUnit=" + f + ", ").orElse("") +
+            optionalReportId().map(f -> "reportId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,176 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.Kitchen} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.KitchenResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/kitchens?id.greaterThan=5&conditionLevel.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class KitchenCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering QualityStateType
+     */
+    public static class QualityStateTypeFilter extends Filter<QualityStateType> {
+
+        public QualityStateTypeFilter() {}
+
+        public QualityStateTypeFilter(QualityStateTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public QualityStateTypeFilter copy() {
+            return new QualityStateTypeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private QualityStateTypeFilter conditionLevel;
+
+    private QualityStateTypeFilter sinkCondition;
+
+    private LongFilter reportId;
+
+    public KitchenCriteria() {}
+
+    public KitchenCriteria(KitchenCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.conditionLevel = other.optionalConditionLevel().map(QualityStateTypeFilter::copy).orElse(null);
+        this.sinkCondition = other.optionalSinkCondition().map(QualityStateTypeFilter::copy).orElse(null);
+        this.reportId = other.optionalReportId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public KitchenCriteria copy() {
+        return new KitchenCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public QualityStateTypeFilter getConditionLevel() {
+        return conditionLevel;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalConditionLevel() {
+        return Optional.ofNullable(conditionLevel);
+    }
+
+    public QualityStateTypeFilter conditionLevel() {
+        if (conditionLevel == null) {
+            setConditionLevel(new QualityStateTypeFilter());
+        }
+        return conditionLevel;
+    }
+
+    public void setConditionLevel(QualityStateTypeFilter conditionLevel) {
+        this.conditionLevel = conditionLevel;
+    }
+
+    public QualityStateTypeFilter getSinkCondition() {
+        return sinkCondition;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalSinkCondition() {
+        return Optional.ofNullable(sinkCondition);
+    }
+
+    public QualityStateTypeFilter sinkCondition() {
+        if (sinkCondition == null) {
+            setSinkCondition(new QualityStateTypeFilter());
+        }
+        return sinkCondition;
+    }
+
+    public void setSinkCondition(QualityStateTypeFilter sinkCondition) {
+        this.sinkCondition = sinkCondition;
+    }
+
+    public LongFilter getReportId() {
+        return reportId;
+    }
+
+    public Optional<LongFilter> optionalReportId() {
+        return Optional.ofNullable(reportId);
+    }
+
+    public LongFilter reportId() {
+        if (reportId == null) {
+            setReportId(new LongFilter());
+        }
+        return reportId;
+    }
+
+    public void setReportId(LongFilter reportId) {
+        this.reportId = reportId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final KitchenCriteria that = (KitchenCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(conditionLevel, that.conditionLevel) &&
+            Objects.equals(sinkCondition, that.sinkCondition) &&
+            Objects.equals(reportId, that.reportId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, conditionLevel, sinkCondition, reportId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KitchenCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalConditionLevel().map(f -> "conditionLevel=" + f + ", ").orElse("") +
+            optionalSinkCondition().map(f -> "sinkCondition=" + f + ", ").orElse("") +
+            optionalReportId().map(f -> "reportId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
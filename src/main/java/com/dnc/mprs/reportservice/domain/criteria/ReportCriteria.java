@@ -0,0 +1,506 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.Report} entity. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.ReportResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/reports?id.greaterThan=5&reportDate.specified=true}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ * <p>
+ * Only the enum, numeric and date columns can be filtered: they are rendered into the where clause of the select,
+ * the text columns are searched through Elasticsearch.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering QualityStateType
+     */
+    public static class QualityStateTypeFilter extends Filter<QualityStateType> {
+
+        public QualityStateTypeFilter() {}
+
+        public QualityStateTypeFilter(QualityStateTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public QualityStateTypeFilter copy() {
+            return new QualityStateTypeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private InstantFilter reportDate;
+
+    private QualityStateTypeFilter exteriorState;
+
+    private IntegerFilter constructionYear;
+
+    private QualityStateTypeFilter maintenanceState;
+
+    private IntegerFilter parkingCount;
+
+    private QualityStateTypeFilter elevatorState;
+
+    private QualityStateTypeFilter noiseState;
+
+    private QualityStateTypeFilter homepadState;
+
+    private QualityStateTypeFilter fireSafetyState;
+
+    private QualityStateTypeFilter doorSecurityState;
+
+    private IntegerFilter maintenanceFee;
+
+    private LongFilter complexId;
+
+    private LongFilter propertyId;
+
+    private InstantFilter createdAt;
+
+    private InstantFilter updatedAt;
+
+    private LongFilter authorId;
+
+    public ReportCriteria() {}
+
+    public ReportCriteria(ReportCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.reportDate = other.optionalReportDate().map(InstantFilter::copy).orElse(null);
+        this.exteriorState = other.optionalExteriorState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.constructionYear = other.optionalConstructionYear().map(IntegerFilter::copy).orElse(null);
+        this.maintenanceState = other.optionalMaintenanceState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.parkingCount = other.optionalParkingCount().map(IntegerFilter::copy).orElse(null);
+        this.elevatorState = other.optionalElevatorState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.noiseState = other.optionalNoiseState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.homepadState = other.optionalHomepadState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.fireSafetyState = other.optionalFireSafetyState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.doorSecurityState = other.optionalDoorSecurityState().map(QualityStateTypeFilter::copy).orElse(null);
+        this.maintenanceFee = other.optionalMaintenanceFee().map(IntegerFilter::copy).orElse(null);
+        this.complexId = other.optionalComplexId().map(LongFilter::copy).orElse(null);
+        this.propertyId = other.optionalPropertyId().map(LongFilter::copy).orElse(null);
+        this.createdAt = other.optionalCreatedAt().map(InstantFilter::copy).orElse(null);
+        this.updatedAt = other.optionalUpdatedAt().map(InstantFilter::copy).orElse(null);
+        this.authorId = other.optionalAuthorId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public ReportCriteria copy() {
+        return new ReportCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public InstantFilter getReportDate() {
+        return reportDate;
+    }
+
+    public Optional<InstantFilter> optionalReportDate() {
+        return Optional.ofNullable(reportDate);
+    }
+
+    public InstantFilter reportDate() {
+        if (reportDate == null) {
+            setReportDate(new InstantFilter());
+        }
+        return reportDate;
+    }
+
+    public void setReportDate(InstantFilter reportDate) {
+        this.reportDate = reportDate;
+    }
+
+    public QualityStateTypeFilter getExteriorState() {
+        return exteriorState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalExteriorState() {
+        return Optional.ofNullable(exteriorState);
+    }
+
+    public QualityStateTypeFilter exteriorState() {
+        if (exteriorState == null) {
+            setExteriorState(new QualityStateTypeFilter());
+        }
+        return exteriorState;
+    }
+
+    public void setExteriorState(QualityStateTypeFilter exteriorState) {
+        this.exteriorState = exteriorState;
+    }
+
+    public IntegerFilter getConstructionYear() {
+        return constructionYear;
+    }
+
+    public Optional<IntegerFilter> optionalConstructionYear() {
+        return Optional.ofNullable(constructionYear);
+    }
+
+    public IntegerFilter constructionYear() {
+        if (constructionYear == null) {
+            setConstructionYear(new IntegerFilter());
+        }
+        return constructionYear;
+    }
+
+    public void setConstructionYear(IntegerFilter constructionYear) {
+        this.constructionYear = constructionYear;
+    }
+
+    public QualityStateTypeFilter getMaintenanceState() {
+        return maintenanceState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalMaintenanceState() {
+        return Optional.ofNullable(maintenanceState);
+    }
+
+    public QualityStateTypeFilter maintenanceState() {
+        if (maintenanceState == null) {
+            setMaintenanceState(new QualityStateTypeFilter());
+        }
+        return maintenanceState;
+    }
+
+    public void setMaintenanceState(QualityStateTypeFilter maintenanceState) {
+        this.maintenanceState = maintenanceState;
+    }
+
+    public IntegerFilter getParkingCount() {
+        return parkingCount;
+    }
+
+    public Optional<IntegerFilter> optionalParkingCount() {
+        return Optional.ofNullable(parkingCount);
+    }
+
+    public IntegerFilter parkingCount() {
+        if (parkingCount == null) {
+            setParkingCount(new IntegerFilter());
+        }
+        return parkingCount;
+    }
+
+    public void setParkingCount(IntegerFilter parkingCount) {
+        this.parkingCount = parkingCount;
+    }
+
+    public QualityStateTypeFilter getElevatorState() {
+        return elevatorState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalElevatorState() {
+        return Optional.ofNullable(elevatorState);
+    }
+
+    public QualityStateTypeFilter elevatorState() {
+        if (elevatorState == null) {
+            setElevatorState(new QualityStateTypeFilter());
+        }
+        return elevatorState;
+    }
+
+    public void setElevatorState(QualityStateTypeFilter elevatorState) {
+        this.elevatorState = elevatorState;
+    }
+
+    public QualityStateTypeFilter getNoiseState() {
+        return noiseState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalNoiseState() {
+        return Optional.ofNullable(noiseState);
+    }
+
+    public QualityStateTypeFilter noiseState() {
+        if (noiseState == null) {
+            setNoiseState(new QualityStateTypeFilter());
+        }
+        return noiseState;
+    }
+
+    public void setNoiseState(QualityStateTypeFilter noiseState) {
+        this.noiseState = noiseState;
+    }
+
+    public QualityStateTypeFilter getHomepadState() {
+        return homepadState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalHomepadState() {
+        return Optional.ofNullable(homepadState);
+    }
+
+    public QualityStateTypeFilter homepadState() {
+        if (homepadState == null) {
+            setHomepadState(new QualityStateTypeFilter());
+        }
+        return homepadState;
+    }
+
+    public void setHomepadState(QualityStateTypeFilter homepadState) {
+        this.homepadState = homepadState;
+    }
+
+    public QualityStateTypeFilter getFireSafetyState() {
+        return fireSafetyState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalFireSafetyState() {
+        return Optional.ofNullable(fireSafetyState);
+    }
+
+    public QualityStateTypeFilter fireSafetyState() {
+        if (fireSafetyState == null) {
+            setFireSafetyState(new QualityStateTypeFilter());
+        }
+        return fireSafetyState;
+    }
+
+    public void setFireSafetyState(QualityStateTypeFilter fireSafetyState) {
+        this.fireSafetyState = fireSafetyState;
+    }
+
+    public QualityStateTypeFilter getDoorSecurityState() {
+        return doorSecurityState;
+    }
+
+    public Optional<QualityStateTypeFilter> optionalDoorSecurityState() {
+        return Optional.ofNullable(doorSecurityState);
+    }
+
+    public QualityStateTypeFilter doorSecurityState() {
+        if (doorSecurityState == null) {
+            setDoorSecurityState(new QualityStateTypeFilter());
+        }
+        return doorSecurityState;
+    }
+
+    public void setDoorSecurityState(QualityStateTypeFilter doorSecurityState) {
+        this.doorSecurityState = doorSecurityState;
+    }
+
+    public IntegerFilter getMaintenanceFee() {
+        return maintenanceFee;
+    }
+
+    public Optional<IntegerFilter> optionalMaintenanceFee() {
+        return Optional.ofNullable(maintenanceFee);
+    }
+
+    public IntegerFilter maintenanceFee() {
+        if (maintenanceFee == null) {
+            setMaintenanceFee(new IntegerFilter());
+        }
+        return maintenanceFee;
+    }
+
+    public void setMaintenanceFee(IntegerFilter maintenanceFee) {
+        this.maintenanceFee = maintenanceFee;
+    }
+
+    public LongFilter getComplexId() {
+        return complexId;
+    }
+
+    public Optional<LongFilter> optionalComplexId() {
+        return Optional.ofNullable(complexId);
+    }
+
+    public LongFilter complexId() {
+        if (complexId == null) {
+            setComplexId(new LongFilter());
+        }
+        return complexId;
+    }
+
+    public void setComplexId(LongFilter complexId) {
+        this.complexId = complexId;
+    }
+
+    public LongFilter getPropertyId() {
+        return propertyId;
+    }
+
+    public Optional<LongFilter> optionalPropertyId() {
+        return Optional.ofNullable(propertyId);
+    }
+
+    public LongFilter propertyId() {
+        if (propertyId == null) {
+            setPropertyId(new LongFilter());
+        }
+        return propertyId;
+    }
+
+    public void setPropertyId(LongFilter propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public InstantFilter getCreatedAt() {
+        return createdAt;
+    }
+
+    public Optional<InstantFilter> optionalCreatedAt() {
+        return Optional.ofNullable(createdAt);
+    }
+
+    public InstantFilter createdAt() {
+        if (createdAt == null) {
+            setCreatedAt(new InstantFilter());
+        }
+        return createdAt;
+    }
+
+    public void setCreatedAt(InstantFilter createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public InstantFilter getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Optional<InstantFilter> optionalUpdatedAt() {
+        return Optional.ofNullable(updatedAt);
+    }
+
+    public InstantFilter updatedAt() {
+        if (updatedAt == null) {
+            setUpdatedAt(new InstantFilter());
+        }
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(InstantFilter updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LongFilter getAuthorId() {
+        return authorId;
+    }
+
+    public Optional<LongFilter> optionalAuthorId() {
+        return Optional.ofNullable(authorId);
+    }
+
+    public LongFilter authorId() {
+        if (authorId == null) {
+            setAuthorId(new LongFilter());
+        }
+        return authorId;
+    }
+
+    public void setAuthorId(LongFilter authorId) {
+        this.authorId = authorId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ReportCriteria that = (ReportCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(reportDate, that.reportDate) &&
+            Objects.equals(exteriorState, that.exteriorState) &&
+            Objects.equals(constructionYear, that.constructionYear) &&
+            Objects.equals(maintenanceState, that.maintenanceState) &&
+            Objects.equals(parkingCount, that.parkingCount) &&
+            Objects.equals(elevatorState, that.elevatorState) &&
+            Objects.equals(noiseState, that.noiseState) &&
+            Objects.equals(homepadState, that.homepadState) &&
+            Objects.equals(fireSafetyState, that.fireSafetyState) &&
+            Objects.equals(doorSecurityState, that.doorSecurityState) &&
+            Objects.equals(maintenanceFee, that.maintenanceFee) &&
+            Objects.equals(complexId, that.complexId) &&
+            Objects.equals(propertyId, that.propertyId) &&
+            Objects.equals(createdAt, that.createdAt) &&
+            Objects.equals(updatedAt, that.updatedAt) &&
+            Objects.equals(authorId, that.authorId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id,
+            reportDate,
+            exteriorState,
+            constructionYear,
+            maintenanceState,
+            parkingCount,
+            elevatorState,
+            noiseState,
+            homepadState,
+            fireSafetyState,
+            doorSecurityState,
+            maintenanceFee,
+            complexId,
+            propertyId,
+            createdAt,
+            updatedAt,
+            authorId
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalReportDate().map(f -> "reportDate=" + f + ", ").orElse("") +
+            optionalExteriorState().map(f -> "exteriorState=" + f + ", ").orElse("") +
+            optionalConstructionYear().map(f -> "constructionYear=" + f + ", ").orElse("") +
+            optionalMaintenanceState().map(f -> "maintenanceState=" + f + ", ").orElse("") +
+            optionalParkingCount().map(f -> "parkingCount=" + f + ", ").orElse("") +
+            optionalElevatorState().map(f -> "elevatorState=" + f + ", ").orElse("") +
+            optionalNoiseState().map(f -> "noiseState=" + f + ", ").orElse("") +
+            optionalHomepadState().map(f -> "homepadState=" + f + ", ").orElse("") +
+            optionalFireSafetyState().map(f -> "fireSafetyState=" + f + ", ").orElse("") +
+            optionalDoorSecurityState().map(f -> "doorSecurityState=" + f + ", ").orElse("") +
+            optionalMaintenanceFee().map(f -> "maintenanceFee=" + f + ", ").orElse("") +
+            optionalComplexId().map(f -> "complexId=" + f + ", ").orElse("") +
+            optionalPropertyId().map(f -> "propertyId=" + f + ", ").orElse("") +
+            optionalCreatedAt().map(f -> "createdAt=" + f + ", ").orElse("") +
+            optionalUpdatedAt().map(f -> "updatedAt=" + f + ", ").orElse("") +
+            optionalAuthorId().map(f -> "authorId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
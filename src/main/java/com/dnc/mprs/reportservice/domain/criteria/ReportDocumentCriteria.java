@@ -0,0 +1,549 @@
+package com.dnc.mprs.reportservice.domain.criteria;
+
+import com.dnc.mprs.reportservice.domain.criteria.InfrastructureCriteria.InfraTypeFilter;
+import com.dnc.mprs.reportservice.domain.criteria.ReportCriteria.QualityStateTypeFilter;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.dnc.mprs.reportservice.domain.ReportDocument} search documents. This class is used
+ * in {@link com.dnc.mprs.reportservice.web.rest.ReportResource} to receive the filters of a structured search from the
+ * Http GET request parameters; the filters of a child collection are matched by the same child, e.g. the parameters
+ * {@code kitchens.conditionLevel.equals=LOW&infrastructures.infraType.equals=SCHOOL&infrastructures.distance.lessThanOrEqual=500}
+ * match the reports with a kitchen in a {@code LOW} condition and a school within 500.
+ * <p>
+ * The filters of the report itself are those of {@link ReportCriteria}, e.g. {@code elevatorState.in=HIGH,MIDDLE} or
+ * {@code constructionYear.greaterThanOrEqual=2000}.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportDocumentCriteria extends ReportCriteria {
+
+    /**
+     * Criteria of a room of the report, see {@link com.dnc.mprs.reportservice.domain.ReportDocument.RoomSummary}.
+     */
+    public static class RoomSummaryCriteria implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private QualityStateTypeFilter conditionLevel;
+
+        private StringFilter name;
+
+        public RoomSummaryCriteria() {}
+
+        public RoomSummaryCriteria(RoomSummaryCriteria other) {
+            this.conditionLevel = other.optionalConditionLevel().map(QualityStateTypeFilter::copy).orElse(null);
+            this.name = other.optionalName().map(StringFilter::copy).orElse(null);
+        }
+
+        public RoomSummaryCriteria copy() {
+            return new RoomSummaryCriteria(this);
+        }
+
+        public QualityStateTypeFilter getConditionLevel() {
+            return conditionLevel;
+        }
+
+        public Optional<QualityStateTypeFilter> optionalConditionLevel() {
+            return Optional.ofNullable(conditionLevel);
+        }
+
+        public QualityStateTypeFilter conditionLevel() {
+            if (conditionLevel == null) {
+                setConditionLevel(new QualityStateTypeFilter());
+            }
+            return conditionLevel;
+        }
+
+        public void setConditionLevel(QualityStateTypeFilter conditionLevel) {
+            this.conditionLevel = conditionLevel;
+        }
+
+        public StringFilter getName() {
+            return name;
+        }
+
+        public Optional<StringFilter> optionalName() {
+            return Optional.ofNullable(name);
+        }
+
+        public StringFilter name() {
+            if (name == null) {
+                setName(new StringFilter());
+            }
+            return name;
+        }
+
+        public void setName(StringFilter name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final RoomSummaryCriteria that = (RoomSummaryCriteria) o;
+            return (
+                Objects.equals(conditionLevel, that.conditionLevel) &&
+                Objects.equals(name, that.name)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(conditionLevel, name);
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "RoomSummaryCriteria{" +
+                optionalConditionLevel().map(f -> "conditionLevel=" + f + ", ").orElse("") +
+                optionalName().map(f -> "name=" + f + ", ").orElse("") +
+            "}";
+        }
+    }
+
+    /**
+     * Criteria of an infrastructure near the report, see {@link com.dnc.mprs.reportservice.domain.ReportDocument.InfrastructureSummary}.
+     */
+    public static class InfrastructureSummaryCriteria implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private InfraTypeFilter infraType;
+
+        private QualityStateTypeFilter conditionLevel;
+
+        private IntegerFilter distance;
+
+        private StringFilter name;
+
+        public InfrastructureSummaryCriteria() {}
+
+        public InfrastructureSummaryCriteria(InfrastructureSummaryCriteria other) {
+            this.infraType = other.optionalInfraType().map(InfraTypeFilter::copy).orElse(null);
+            this.conditionLevel = other.optionalConditionLevel().map(QualityStateTypeFilter::copy).orElse(null);
+            this.distance = other.optionalDistance().map(IntegerFilter::copy).orElse(null);
+            this.name = other.optionalName().map(StringFilter::copy).orElse(null);
+        }
+
+        public InfrastructureSummaryCriteria copy() {
+            return new InfrastructureSummaryCriteria(this);
+        }
+
+        public InfraTypeFilter getInfraType() {
+            return infraType;
+        }
+
+        public Optional<InfraTypeFilter> optionalInfraType() {
+            return Optional.ofNullable(infraType);
+        }
+
+        public InfraTypeFilter infraType() {
+            if (infraType == null) {
+                setInfraType(new InfraTypeFilter());
+            }
+            return infraType;
+        }
+
+        public void setInfraType(InfraTypeFilter infraType) {
+            this.infraType = infraType;
+        }
+
+        public QualityStateTypeFilter getConditionLevel() {
+            return conditionLevel;
+        }
+
+        public Optional<QualityStateTypeFilter> optionalConditionLevel() {
+            return Optional.ofNullable(conditionLevel);
+        }
+
+        public QualityStateTypeFilter conditionLevel() {
+            if (conditionLevel == null) {
+                setConditionLevel(new QualityStateTypeFilter());
+            }
+            return conditionLevel;
+        }
+
+        public void setConditionLevel(QualityStateTypeFilter conditionLevel) {
+            this.conditionLevel = conditionLevel;
+        }
+
+        public IntegerFilter getDistance() {
+            return distance;
+        }
+
+        public Optional<IntegerFilter> optionalDistance() {
+            return Optional.ofNullable(distance);
+        }
+
+        public IntegerFilter distance() {
+            if (distance == null) {
+                setDistance(new IntegerFilter());
+            }
+            return distance;
+        }
+
+        public void setDistance(IntegerFilter distance) {
+            this.distance = distance;
+        }
+
+        public StringFilter getName() {
+            return name;
+        }
+
+        public Optional<StringFilter> optionalName() {
+            return Optional.ofNullable(name);
+        }
+
+        public StringFilter name() {
+            if (name == null) {
+                setName(new StringFilter());
+            }
+            return name;
+        }
+
+        public void setName(StringFilter name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final InfrastructureSummaryCriteria that = (InfrastructureSummaryCriteria) o;
+            return (
+                Objects.equals(infraType, that.infraType) &&
+                Objects.equals(conditionLevel, that.conditionLevel) &&
+                Objects.equals(distance, that.distance) &&
+                Objects.equals(name, that.name)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(infraType, conditionLevel, distance, name);
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "InfrastructureSummaryCriteria{" +
+                optionalInfraType().map(f -> "infraType=" + f + ", ").orElse("") +
+                optionalConditionLevel().map(f -> "conditionLevel=" + f + ", ").orElse("") +
+                optionalDistance().map(f -> "distance=" + f + ", ").orElse("") +
+                optionalName().map(f -> "name=" + f + ", ").orElse("") +
+            "}";
+        }
+    }
+
+    /**
+     * Criteria of an environment factor near the report, see {@link com.dnc.mprs.reportservice.domain.ReportDocument.EnvFactorSummary}.
+     */
+    public static class EnvFactorSummaryCriteria implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private DoubleFilter distance;
+
+        private StringFilter name;
+
+        public EnvFactorSummaryCriteria() {}
+
+        public EnvFactorSummaryCriteria(EnvFactorSummaryCriteria other) {
+            this.distance = other.optionalDistance().map(DoubleFilter::copy).orElse(null);
+            this.name = other.optionalName().map(StringFilter::copy).orElse(null);
+        }
+
+        public EnvFactorSummaryCriteria copy() {
+            return new EnvFactorSummaryCriteria(this);
+        }
+
+        public DoubleFilter getDistance() {
+            return distance;
+        }
+
+        public Optional<DoubleFilter> optionalDistance() {
+            return Optional.ofNullable(distance);
+        }
+
+        public DoubleFilter distance() {
+            if (distance == null) {
+                setDistance(new DoubleFilter());
+            }
+            return distance;
+        }
+
+        public void setDistance(DoubleFilter distance) {
+            this.distance = distance;
+        }
+
+        public StringFilter getName() {
+            return name;
+        }
+
+        public Optional<StringFilter> optionalName() {
+            return Optional.ofNullable(name);
+        }
+
+        public StringFilter name() {
+            if (name == null) {
+                setName(new StringFilter());
+            }
+            return name;
+        }
+
+        public void setName(StringFilter name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final EnvFactorSummaryCriteria that = (EnvFactorSummaryCriteria) o;
+            return (
+                Objects.equals(distance, that.distance) &&
+                Objects.equals(name, that.name)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(distance, name);
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "EnvFactorSummaryCriteria{" +
+                optionalDistance().map(f -> "distance=" + f + ", ").orElse("") +
+                optionalName().map(f -> "name=" + f + ", ").orElse("") +
+            "}";
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private RoomSummaryCriteria bedrooms;
+
+    private RoomSummaryCriteria kitchens;
+
+    private RoomSummaryCriteria bathrooms;
+
+    private RoomSummaryCriteria livingRooms;
+
+    private RoomSummaryCriteria entrances;
+
+    private InfrastructureSummaryCriteria infrastructures;
+
+    private EnvFactorSummaryCriteria envFactors;
+
+    public ReportDocumentCriteria() {}
+
+    public ReportDocumentCriteria(ReportDocumentCriteria other) {
+        super(other);
+        this.bedrooms = other.optionalBedrooms().map(RoomSummaryCriteria::copy).orElse(null);
+        this.kitchens = other.optionalKitchens().map(RoomSummaryCriteria::copy).orElse(null);
+        this.bathrooms = other.optionalBathrooms().map(RoomSummaryCriteria::copy).orElse(null);
+        this.livingRooms = other.optionalLivingRooms().map(RoomSummaryCriteria::copy).orElse(null);
+        this.entrances = other.optionalEntrances().map(RoomSummaryCriteria::copy).orElse(null);
+        this.infrastructures = other.optionalInfrastructures().map(InfrastructureSummaryCriteria::copy).orElse(null);
+        this.envFactors = other.optionalEnvFactors().map(EnvFactorSummaryCriteria::copy).orElse(null);
+    }
+
+    @Override
+    public ReportDocumentCriteria copy() {
+        return new ReportDocumentCriteria(this);
+    }
+
+    public RoomSummaryCriteria getBedrooms() {
+        return bedrooms;
+    }
+
+    public Optional<RoomSummaryCriteria> optionalBedrooms() {
+        return Optional.ofNullable(bedrooms);
+    }
+
+    public RoomSummaryCriteria bedrooms() {
+        if (bedrooms == null) {
+            setBedrooms(new RoomSummaryCriteria());
+        }
+        return bedrooms;
+    }
+
+    public void setBedrooms(RoomSummaryCriteria bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public RoomSummaryCriteria getKitchens() {
+        return kitchens;
+    }
+
+    public Optional<RoomSummaryCriteria> optionalKitchens() {
+        return Optional.ofNullable(kitchens);
+    }
+
+    public RoomSummaryCriteria kitchens() {
+        if (kitchens == null) {
+            setKitchens(new RoomSummaryCriteria());
+        }
+        return kitchens;
+    }
+
+    public void setKitchens(RoomSummaryCriteria kitchens) {
+        this.kitchens = kitchens;
+    }
+
+    public RoomSummaryCriteria getBathrooms() {
+        return bathrooms;
+    }
+
+    public Optional<RoomSummaryCriteria> optionalBathrooms() {
+        return Optional.ofNullable(bathrooms);
+    }
+
+    public RoomSummaryCriteria bathrooms() {
+        if (bathrooms == null) {
+            setBathrooms(new RoomSummaryCriteria());
+        }
+        return bathrooms;
+    }
+
+    public void setBathrooms(RoomSummaryCriteria bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+
+    public RoomSummaryCriteria getLivingRooms() {
+        return livingRooms;
+    }
+
+    public Optional<RoomSummaryCriteria> optionalLivingRooms() {
+        return Optional.ofNullable(livingRooms);
+    }
+
+    public RoomSummaryCriteria livingRooms() {
+        if (livingRooms == null) {
+            setLivingRooms(new RoomSummaryCriteria());
+        }
+        return livingRooms;
+    }
+
+    public void setLivingRooms(RoomSummaryCriteria livingRooms) {
+        this.livingRooms = livingRooms;
+    }
+
+    public RoomSummaryCriteria getEntrances() {
+        return entrances;
+    }
+
+    public Optional<RoomSummaryCriteria> optionalEntrances() {
+        return Optional.ofNullable(entrances);
+    }
+
+    public RoomSummaryCriteria entrances() {
+        if (entrances == null) {
+            setEntrances(new RoomSummaryCriteria());
+        }
+        return entrances;
+    }
+
+    public void setEntrances(RoomSummaryCriteria entrances) {
+        this.entrances = entrances;
+    }
+
+    public InfrastructureSummaryCriteria getInfrastructures() {
+        return infrastructures;
+    }
+
+    public Optional<InfrastructureSummaryCriteria> optionalInfrastructures() {
+        return Optional.ofNullable(infrastructures);
+    }
+
+    public InfrastructureSummaryCriteria infrastructures() {
+        if (infrastructures == null) {
+            setInfrastructures(new InfrastructureSummaryCriteria());
+        }
+        return infrastructures;
+    }
+
+    public void setInfrastructures(InfrastructureSummaryCriteria infrastructures) {
+        this.infrastructures = infrastructures;
+    }
+
+    public EnvFactorSummaryCriteria getEnvFactors() {
+        return envFactors;
+    }
+
+    public Optional<EnvFactorSummaryCriteria> optionalEnvFactors() {
+        return Optional.ofNullable(envFactors);
+    }
+
+    public EnvFactorSummaryCriteria envFactors() {
+        if (envFactors == null) {
+            setEnvFactors(new EnvFactorSummaryCriteria());
+        }
+        return envFactors;
+    }
+
+    public void setEnvFactors(EnvFactorSummaryCriteria envFactors) {
+        this.envFactors = envFactors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final ReportDocumentCriteria that = (ReportDocumentCriteria) o;
+        return (
+            Objects.equals(bedrooms, that.bedrooms) &&
+            Objects.equals(kitchens, that.kitchens) &&
+            Objects.equals(bathrooms, that.bathrooms) &&
+            Objects.equals(livingRooms, that.livingRooms) &&
+            Objects.equals(entrances, that.entrances) &&
+            Objects.equals(infrastructures, that.infrastructures) &&
+            Objects.equals(envFactors, that.envFactors)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), bedrooms, kitchens, bathrooms, livingRooms, entrances, infrastructures, envFactors);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportDocumentCriteria{" +
+            "report=" + super.toString() + ", " +
+            optionalBedrooms().map(f -> "bedrooms=" + f + ", ").orElse("") +
+            optionalKitchens().map(f -> "kitchens=" + f + ", ").orElse("") +
+            optionalBathrooms().map(f -> "bathrooms=" + f + ", ").orElse("") +
+            optionalLivingRooms().map(f -> "livingRooms=" + f + ", ").orElse("") +
+            optionalEntrances().map(f -> "entrances=" + f + ", ").orElse("") +
+            optionalInfrastructures().map(f -> "infrastructures=" + f + ", ").orElse("") +
+            optionalEnvFactors().map(f -> "envFactors=" + f + ", ").orElse("") +
+        "}";
+    }
+}
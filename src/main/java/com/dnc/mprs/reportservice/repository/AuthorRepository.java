@@ -1,6 +1,7 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.domain.criteria.AuthorCriteria;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -31,11 +32,19 @@ public interface AuthorRepository extends ReactiveCrudRepository<Author, Long>,
 interface AuthorRepositoryInternal {
     <S extends Author> Mono<S> save(S entity);
 
+    Mono<Long> update(Author entity);
+
+    Mono<Long> partialUpdate(Author entity);
+
     Flux<Author> findAllBy(Pageable pageable);
 
+    Flux<Author> findAllBy(KeysetPageable keyset);
+
     Flux<Author> findAll();
 
     Mono<Author> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Author> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Author> findByCriteria(AuthorCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(AuthorCriteria criteria);
 }
@@ -1,25 +1,28 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.domain.criteria.AuthorCriteria;
 import com.dnc.mprs.reportservice.repository.rowmapper.AuthorRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.List;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -37,6 +40,10 @@ class AuthorRepositoryInternalImpl extends SimpleR2dbcRepository<Author, Long> i
 
     private static final Table entityTable = Table.aliased("author", EntityManager.ENTITY_ALIAS);
 
+    private static final String SELECT_SHAPE = "author";
+    private static final String COUNT_SHAPE = "count";
+    private static final String ID_PARAMETER = "id";
+
     public AuthorRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -57,26 +64,69 @@ class AuthorRepositoryInternalImpl extends SimpleR2dbcRepository<Author, Long> i
 
     @Override
     public Flux<Author> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, null, null).map(this::process).all();
+    }
+
+    @Override
+    public Flux<Author> findAllBy(KeysetPageable keyset) {
+        return createKeysetQuery(keyset, null, null).map(this::process).all();
     }
 
-    RowsFetchSpec<Author> createQuery(Pageable pageable, Condition whereClause) {
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(Author.class, SELECT_SHAPE, this::createSelectFrom, pageable, whereShape, whereClause);
+        return entityManager.bindPage(db.sql(select), pageable);
+    }
+
+    DatabaseClient.GenericExecuteSpec createKeysetQuery(KeysetPageable keyset, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(Author.class, SELECT_SHAPE, this::createSelectFrom, keyset, whereShape, whereClause);
+        return entityManager.bindKeyset(db.sql(select), Author.class, keyset);
+    }
+
+    private SelectFromAndJoin createSelectFrom() {
         List<Expression> columns = AuthorSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Author.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return Select.builder().select(columns).from(entityTable);
+    }
+
+    @Override
+    public Flux<Author> findByCriteria(AuthorCriteria criteria, Pageable pageable) {
+        FilterConditions filters = createConditions(criteria);
+        return filters.bind(createQuery(pageable, filters.getShape(), filters::getCondition)).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(AuthorCriteria criteria) {
+        FilterConditions filters = createConditions(criteria);
+        String select = entityManager.createSelect(
+            Author.class,
+            COUNT_SHAPE,
+            this::createCountFrom,
+            null,
+            filters.getShape(),
+            filters::getCondition
+        );
+        return filters.bind(db.sql(select)).map(row -> row.get(0, Long.class)).one();
+    }
+
+    private SelectFromAndJoin createCountFrom() {
+        return Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable);
+    }
+
+    private FilterConditions createConditions(AuthorCriteria criteria) {
+        return new FilterConditions(r2dbcEntityTemplate.getDataAccessStrategy())
+            .add(entityTable.column("id"), criteria.getId());
     }
 
     @Override
     public Flux<Author> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<Author> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "id", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":" + ID_PARAMETER)))
+            .bind(ID_PARAMETER, id)
+            .map(this::process)
+            .one();
     }
 
     private Author process(Row row, RowMetadata metadata) {
@@ -88,4 +138,14 @@ class AuthorRepositoryInternalImpl extends SimpleR2dbcRepository<Author, Long> i
     public <S extends Author> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Long> update(Author entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Long> partialUpdate(Author entity) {
+        return entityManager.update(entity, true);
+    }
 }
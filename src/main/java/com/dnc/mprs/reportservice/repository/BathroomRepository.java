@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.criteria.BathroomCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface BathroomRepository extends ReactiveCrudRepository<Bathroom, Lon
     @Query("SELECT * FROM bathroom entity WHERE entity.report_id = :id")
     Flux<Bathroom> findByReport(Long id);
 
+    @Query("SELECT * FROM bathroom entity WHERE entity.report_id IN (:ids)")
+    Flux<Bathroom> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM bathroom entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM bathroom WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM bathroom entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM bathroom entity WHERE entity.report_id IS NULL")
     Flux<Bathroom> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface BathroomRepository extends ReactiveCrudRepository<Bathroom, Lon
 interface BathroomRepositoryInternal {
     <S extends Bathroom> Mono<S> save(S entity);
 
+    Mono<Long> update(Bathroom entity);
+
+    Mono<Long> partialUpdate(Bathroom entity);
+
+    Flux<Bathroom> insertAll(List<Bathroom> entities);
+
     Flux<Bathroom> findAllBy(Pageable pageable);
 
+    Flux<Bathroom> findAllBy(KeysetPageable keyset);
+
     Flux<Bathroom> findAll();
 
     Mono<Bathroom> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Bathroom> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Bathroom> findByCriteria(BathroomCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(BathroomCriteria criteria);
 }
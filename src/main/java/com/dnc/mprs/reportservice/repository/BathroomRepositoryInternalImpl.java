@@ -1,27 +1,31 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.criteria.BathroomCriteria;
 import com.dnc.mprs.reportservice.repository.rowmapper.BathroomRowMapper;
 import com.dnc.mprs.reportservice.repository.rowmapper.ReportRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.List;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -41,6 +45,10 @@ class BathroomRepositoryInternalImpl extends SimpleR2dbcRepository<Bathroom, Lon
     private static final Table entityTable = Table.aliased("bathroom", EntityManager.ENTITY_ALIAS);
     private static final Table reportTable = Table.aliased("report", "report");
 
+    private static final String SELECT_SHAPE = "bathroom LEFT JOIN report";
+    private static final String COUNT_SHAPE = "count";
+    private static final String ID_PARAMETER = "id";
+
     public BathroomRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -63,32 +71,80 @@ class BathroomRepositoryInternalImpl extends SimpleR2dbcRepository<Bathroom, Lon
 
     @Override
     public Flux<Bathroom> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, null, null).map(this::process).all();
+    }
+
+    @Override
+    public Flux<Bathroom> findAllBy(KeysetPageable keyset) {
+        return createKeysetQuery(keyset, null, null).map(this::process).all();
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(Bathroom.class, SELECT_SHAPE, this::createSelectFrom, pageable, whereShape, whereClause);
+        return entityManager.bindPage(db.sql(select), pageable);
+    }
+
+    DatabaseClient.GenericExecuteSpec createKeysetQuery(KeysetPageable keyset, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(Bathroom.class, SELECT_SHAPE, this::createSelectFrom, keyset, whereShape, whereClause);
+        return entityManager.bindKeyset(db.sql(select), Bathroom.class, keyset);
     }
 
-    RowsFetchSpec<Bathroom> createQuery(Pageable pageable, Condition whereClause) {
+    private SelectFromAndJoinCondition createSelectFrom() {
         List<Expression> columns = BathroomSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(ReportSqlHelper.getColumns(reportTable, "report"));
-        SelectFromAndJoinCondition selectFrom = Select.builder()
+        return Select.builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(reportTable)
             .on(Column.create("report_id", entityTable))
             .equals(Column.create("id", reportTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Bathroom.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    }
+
+    @Override
+    public Flux<Bathroom> findByCriteria(BathroomCriteria criteria, Pageable pageable) {
+        FilterConditions filters = createConditions(criteria);
+        return filters.bind(createQuery(pageable, filters.getShape(), filters::getCondition)).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(BathroomCriteria criteria) {
+        FilterConditions filters = createConditions(criteria);
+        String select = entityManager.createSelect(
+            Bathroom.class,
+            COUNT_SHAPE,
+            this::createCountFrom,
+            null,
+            filters.getShape(),
+            filters::getCondition
+        );
+        return filters.bind(db.sql(select)).map(row -> row.get(0, Long.class)).one();
+    }
+
+    private SelectFromAndJoin createCountFrom() {
+        return Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable);
+    }
+
+    private FilterConditions createConditions(BathroomCriteria criteria) {
+        return new FilterConditions(r2dbcEntityTemplate.getDataAccessStrategy())
+            .add(entityTable.column("id"), criteria.getId())
+            .add(entityTable.column("condtion_level"), criteria.getCondtionLevel())
+            .add(entityTable.column("bathroom_size"), criteria.getBathroomSize())
+            .add(entityTable.column("water_pressure"), criteria.getWaterPressure())
+            .add(entityTable.column("floor_and_ceiling"), criteria.getFloorAndCeiling())
+            .add(entityTable.column("report_id"), criteria.getReportId());
     }
 
     @Override
     public Flux<Bathroom> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<Bathroom> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "id", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":" + ID_PARAMETER)))
+            .bind(ID_PARAMETER, id)
+            .map(this::process)
+            .one();
     }
 
     private Bathroom process(Row row, RowMetadata metadata) {
@@ -101,4 +157,19 @@ class BathroomRepositoryInternalImpl extends SimpleR2dbcRepository<Bathroom, Lon
     public <S extends Bathroom> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Long> update(Bathroom entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Long> partialUpdate(Bathroom entity) {
+        return entityManager.update(entity, true);
+    }
+
+    @Override
+    public Flux<Bathroom> insertAll(List<Bathroom> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
@@ -19,6 +19,7 @@ public class BathroomSqlHelper {
         columns.add(Column.aliased("bathtub_presence", table, columnPrefix + "_bathtub_presence"));
         columns.add(Column.aliased("floor_and_ceiling", table, columnPrefix + "_floor_and_ceiling"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.criteria.BedroomCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface BedroomRepository extends ReactiveCrudRepository<Bedroom, Long>
     @Query("SELECT * FROM bedroom entity WHERE entity.report_id = :id")
     Flux<Bedroom> findByReport(Long id);
 
+    @Query("SELECT * FROM bedroom entity WHERE entity.report_id IN (:ids)")
+    Flux<Bedroom> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM bedroom entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM bedroom WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM bedroom entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM bedroom entity WHERE entity.report_id IS NULL")
     Flux<Bedroom> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface BedroomRepository extends ReactiveCrudRepository<Bedroom, Long>
 interface BedroomRepositoryInternal {
     <S extends Bedroom> Mono<S> save(S entity);
 
+    Mono<Long> update(Bedroom entity);
+
+    Mono<Long> partialUpdate(Bedroom entity);
+
+    Flux<Bedroom> insertAll(List<Bedroom> entities);
+
     Flux<Bedroom> findAllBy(Pageable pageable);
 
+    Flux<Bedroom> findAllBy(KeysetPageable keyset);
+
     Flux<Bedroom> findAll();
 
     Mono<Bedroom> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Bedroom> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Bedroom> findByCriteria(BedroomCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(BedroomCriteria criteria);
 }
@@ -19,6 +19,7 @@ public class BedroomSqlHelper {
         columns.add(Column.aliased("window_location", table, columnPrefix + "_window_location"));
         columns.add(Column.aliased("window_size", table, columnPrefix + "_window_size"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
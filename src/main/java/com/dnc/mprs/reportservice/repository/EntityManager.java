@@ -1,25 +1,50 @@
 package com.dnc.mprs.reportservice.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.core.ReactiveDataAccessStrategy;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.data.relational.core.sql.BindMarker;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -36,6 +61,16 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    private static final String ESTIMATE_COUNT_SQL =
+        "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table_name";
+    private static final String KEYSET_ID = "keyset_id";
+    private static final String KEYSET_VALUE = "keyset_value";
+    private static final String LIMIT = "page_limit";
+    private static final String OFFSET = "page_offset";
+    private static final String PAGED = "paged";
+    private static final int SELECT_CACHE_SIZE = 1_000;
+    private static final int MAX_BIND_PARAMETERS = 65_535;
+
     public static class LinkTable {
 
         final String tableName;
@@ -52,16 +87,78 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Identifies a rendered select statement: the entity, the columns and joins, the shape of the condition,
+     * the sort order and the kind of pagination. The values of the query are never part of the key.
+     */
+    private static final class SelectKey {
+
+        private final Class<?> entityType;
+        private final String shape;
+        private final String whereShape;
+        private final Sort sort;
+        private final String paging;
+
+        SelectKey(Class<?> entityType, String shape, String whereShape, Sort sort, String paging) {
+            this.entityType = entityType;
+            this.shape = shape;
+            this.whereShape = whereShape;
+            this.sort = sort;
+            this.paging = paging;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectKey)) {
+                return false;
+            }
+            SelectKey that = (SelectKey) o;
+            return (
+                entityType.equals(that.entityType) &&
+                Objects.equals(shape, that.shape) &&
+                Objects.equals(whereShape, that.whereShape) &&
+                sort.equals(that.sort) &&
+                Objects.equals(paging, that.paging)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, shape, whereShape, sort, paging);
+        }
+    }
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final ConversionService conversionService;
+    private final Cache<SelectKey, String> selectCache;
+    private final Mono<Long> autoIncrementIncrement;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        MeterRegistry meterRegistry
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.conversionService = r2dbcEntityTemplate.getConverter().getConversionService();
+        this.selectCache = Caffeine.newBuilder().maximumSize(SELECT_CACHE_SIZE).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, selectCache, "entityManager.selects");
+        // the step between the ids generated by a statement, more than 1 with a multi-primary setup; read once, retried on failure
+        this.autoIncrementIncrement = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql("SELECT @@auto_increment_increment")
+            .map(row -> conversionService.convert(row.get(0), Long.class))
+            .one()
+            .cache(increment -> Duration.ofMillis(Long.MAX_VALUE), e -> Duration.ZERO, () -> Duration.ZERO);
     }
 
     /**
@@ -128,6 +225,101 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Returns the SQL select statement of the given query shape, with pagination parameters.
+     * The statement is rendered from the fragment the first time the shape is requested, and served from a cache afterwards,
+     * so the condition must only hold bind markers, never literal values. The page itself is selected with bind markers as well,
+     * so every page shares the same statement; they must be bound with {@link #bindPage(GenericExecuteSpec, Pageable)}.
+     * @param entityType the entity type which holds the table name.
+     * @param shape identifies the columns and joins of the fragment, for the entity type.
+     * @param selectFrom supplies a representation of a select statement, only called if the statement is not cached.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param whereShape identifies the condition, or null if there is no condition.
+     * @param where supplies the condition to apply as where clause, only called if the statement is not cached.
+     * @return sql select statement
+     */
+    public String createSelect(
+        Class<?> entityType,
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        Pageable pageable,
+        String whereShape,
+        Supplier<Condition> where
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        SelectKey key = new SelectKey(entityType, shape, whereShape, sort, paged ? PAGED : null);
+        return selectCache.get(key, k -> {
+            SelectWhere select = selectFrom.get();
+            String sql = createSelectImpl(whereShape != null ? select.where(where.get()) : select, entityType, sort);
+            return paged ? sql + " LIMIT :" + LIMIT + " OFFSET :" + OFFSET : sql;
+        });
+    }
+
+    /**
+     * Binds the page of a select created for the given pagination parameters.
+     * @param spec the statement to bind the values to.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @return the statement with the bound values.
+     */
+    public GenericExecuteSpec bindPage(GenericExecuteSpec spec, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return spec;
+        }
+        return spec.bind(LIMIT, pageable.getPageSize()).bind(OFFSET, pageable.getOffset());
+    }
+
+    /**
+     * Returns the SQL select statement of the given query shape, with keyset pagination parameters.
+     * The statement seeks past the last row of the previous page on {@code (sort column, id)}, so no offset is used.
+     * Like {@link #createSelect(Class, String, Supplier, Pageable, String, Supplier)}, the statement is cached by shape;
+     * the values of the seek condition and the page size must be bound with {@link #bindKeyset(GenericExecuteSpec, Class, KeysetPageable)}.
+     * @param entityType the entity type which holds the table name.
+     * @param shape identifies the columns and joins of the fragment, for the entity type.
+     * @param selectFrom supplies a representation of a select statement, only called if the statement is not cached.
+     * @param keyset keyset pagination parameter.
+     * @param whereShape identifies the condition, or null if there is no condition.
+     * @param where supplies the condition to apply as where clause, only called if the statement is not cached.
+     * @return sql select statement
+     */
+    public String createSelect(
+        Class<?> entityType,
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        KeysetPageable keyset,
+        String whereShape,
+        Supplier<Condition> where
+    ) {
+        SelectKey key = new SelectKey(entityType, shape, whereShape, Sort.unsorted(), getKeysetShape(keyset));
+        return selectCache.get(key, k -> {
+            Condition condition = and(whereShape != null ? where.get() : null, createKeysetCondition(entityType, keyset));
+            SelectWhere select = selectFrom.get();
+            String sql = createKeysetSelectImpl(condition != null ? select.where(condition) : select, entityType, keyset);
+            return sql + " LIMIT :" + LIMIT;
+        });
+    }
+
+    /**
+     * Binds the page size and the values of the seek condition of a select created for the given keyset pagination parameters.
+     * @param spec the statement to bind the values to.
+     * @param entityType the entity type which holds the table name.
+     * @param keyset keyset pagination parameter.
+     * @return the statement with the bound values.
+     */
+    public GenericExecuteSpec bindKeyset(GenericExecuteSpec spec, Class<?> entityType, KeysetPageable keyset) {
+        GenericExecuteSpec bound = spec.bind(LIMIT, keyset.getSize());
+        if (!keyset.hasAfter()) {
+            return bound;
+        }
+        bound = bound.bind(KEYSET_ID, keyset.getAfterId());
+        if (!keyset.isOrderedById() && keyset.getAfterValue() != null) {
+            RelationalPersistentProperty property = getKeysetProperty(entityType, keyset);
+            Object value = readKeysetValue(property, keyset.getAfterValue());
+            bound = bound.bind(KEYSET_VALUE, r2dbcEntityTemplate.getDataAccessStrategy().getBindValue(Parameter.from(value)));
+        }
+        return bound;
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -166,6 +358,181 @@ public class EntityManager {
         return r2dbcEntityTemplate.insert(entity);
     }
 
+    /**
+     * Inserts the given entities of the same type into the database with multi-row {@code INSERT ... VALUES (...), (...)}
+     * statements, as many rows per statement as the placeholder limit allows - and sets their ids, if it's an autoincrement
+     * field. The statements are executed on the connection of the current transaction, if any.
+     * @param <S> the type of the persisted entities.
+     * @param entities the entities to be inserted into the database, all of the same type and without id.
+     * @return the persisted entities, in the given order.
+     */
+    public <S> Flux<S> insertAll(List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        ReactiveDataAccessStrategy dataAccessStrategy = r2dbcEntityTemplate.getDataAccessStrategy();
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entities.get(0).getClass());
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        List<OutboundRow> rows = new ArrayList<>(entities.size());
+        for (S bean : entities) {
+            if (entity.hasVersionProperty()) {
+                setInitialVersion(entity, entity.getPropertyAccessor(bean));
+            }
+            OutboundRow row = dataAccessStrategy.getOutboundRow(bean);
+            row.remove(idProperty.getColumnName());
+            rows.add(row);
+        }
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        String insert =
+            "INSERT INTO " +
+            dataAccessStrategy.toSql(entity.getTableName()) +
+            " (" +
+            columns.stream().map(dataAccessStrategy::toSql).collect(Collectors.joining(", ")) +
+            ") VALUES ";
+        String idColumn = dataAccessStrategy.toSql(idProperty.getColumnName());
+        int chunkSize = Math.max(1, MAX_BIND_PARAMETERS / Math.max(1, columns.size()));
+        Flux<Integer> chunks = Flux.range(0, (rows.size() + chunkSize - 1) / chunkSize);
+        return autoIncrementIncrement.flatMapMany(increment -> chunks.concatMap(chunk -> {
+            int from = chunk * chunkSize;
+            int to = Math.min(rows.size(), from + chunkSize);
+            String values = IntStream.range(from, to)
+                .mapToObj(i ->
+                    IntStream.range(0, columns.size()).mapToObj(j -> ":" + bindName(i, j)).collect(Collectors.joining(", ", "(", ")"))
+                )
+                .collect(Collectors.joining(", "));
+            GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient().sql(insert + values);
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < columns.size(); j++) {
+                    spec = spec.bind(bindName(i, j), dataAccessStrategy.getBindValue(rows.get(i).get(columns.get(j))));
+                }
+            }
+            // MySQL allocates the ids of the rows of a single statement one increment apart, and returns the first one
+            return spec
+                .filter(statement -> statement.returnGeneratedValues(idColumn))
+                .map(row -> conversionService.convert(row.get(0), Long.class))
+                .first()
+                .flatMapMany(firstId ->
+                    Flux.range(from, to - from).map(i -> {
+                        S bean = entities.get(i);
+                        Object id = conversionService.convert(firstId + (i - from) * increment, idProperty.getType());
+                        entity.getPropertyAccessor(bean).setProperty(idProperty, id);
+                        return bean;
+                    })
+                );
+        }));
+    }
+
+    private static String bindName(int row, int column) {
+        return "value" + row + "_" + column;
+    }
+
+    /**
+     * Updates the row of the given entity with one {@code UPDATE ... WHERE id = :id} statement, without reading it first.
+     * <p>
+     * For a versioned entity the statement is conditional on the version, {@code WHERE id = :id AND version = :version},
+     * and increments it. Without a version the current one is read first, so the update is applied on top of the latest
+     * committed state of the row, and only fails if another update commits in between.
+     * @param entity the entity to be updated, with its id; its version is incremented once the update succeeded.
+     * @param skipNullValues whether the columns of the {@code null} properties are left unchanged, for partial updates,
+     * instead of being set to {@code NULL}.
+     * @return the number of matched rows: {@code 0} if there is no row with the id of the entity, or an
+     * {@link OptimisticLockingFailureException} if the row has another version.
+     */
+    public Mono<Long> update(Object entity, boolean skipNullValues) {
+        return Mono.defer(() -> {
+            RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entity.getClass());
+            PersistentPropertyAccessor<?> accessor = persistentEntity.getPropertyAccessor(entity);
+            RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+            Object id = Objects.requireNonNull(accessor.getProperty(idProperty));
+            Query byId = Query.query(Criteria.where(idProperty.getName()).is(id));
+            Update update = null;
+            for (RelationalPersistentProperty property : persistentEntity) {
+                Object value = accessor.getProperty(property);
+                if (property.isIdProperty() || property.isVersionProperty() || (skipNullValues && value == null)) {
+                    continue;
+                }
+                update = update == null ? Update.update(property.getName(), value) : update.set(property.getName(), value);
+            }
+            if (!persistentEntity.hasVersionProperty()) {
+                if (update == null) {
+                    // nothing to change, the row only has to exist
+                    return r2dbcEntityTemplate.count(byId, entity.getClass());
+                }
+                // r2dbc-mysql connects with CLIENT_FOUND_ROWS, so rows left unchanged by the update are counted as well
+                return r2dbcEntityTemplate.update(byId, update, entity.getClass());
+            }
+            RelationalPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+            Number version = (Number) accessor.getProperty(versionProperty);
+            Mono<Number> expectedVersion = version != null ? Mono.just(version) : currentVersion(persistentEntity, byId);
+            Update changes = update;
+            return expectedVersion
+                .flatMap(expected -> {
+                    long nextVersion = expected.longValue() + 1;
+                    Query byIdAndVersion = Query.query(
+                        Criteria.where(idProperty.getName()).is(id).and(versionProperty.getName()).is(expected)
+                    );
+                    Update versioned = changes == null
+                        ? Update.update(versionProperty.getName(), nextVersion)
+                        : changes.set(versionProperty.getName(), nextVersion);
+                    return r2dbcEntityTemplate
+                        .update(byIdAndVersion, versioned, entity.getClass())
+                        .flatMap(updated -> {
+                            if (updated > 0) {
+                                accessor.setProperty(versionProperty, conversionService.convert(nextVersion, versionProperty.getType()));
+                                return Mono.just(updated);
+                            }
+                            return r2dbcEntityTemplate
+                                .exists(byId, entity.getClass())
+                                .flatMap(exists -> {
+                                    if (!exists) {
+                                        return Mono.just(0L);
+                                    }
+                                    return Mono.error(
+                                        new OptimisticLockingFailureException(
+                                            String.format("Version %s of %s %s is stale", expected, persistentEntity.getName(), id)
+                                        )
+                                    );
+                                });
+                        });
+                })
+                .defaultIfEmpty(0L);
+        });
+    }
+
+    private Mono<Number> currentVersion(RelationalPersistentEntity<?> persistentEntity, Query byId) {
+        RelationalPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+        return r2dbcEntityTemplate
+            .select(byId.columns(versionProperty.getName()), persistentEntity.getType())
+            .next()
+            .mapNotNull(current -> (Number) persistentEntity.getPropertyAccessor(current).getProperty(versionProperty));
+    }
+
+    private void setInitialVersion(RelationalPersistentEntity<?> persistentEntity, PersistentPropertyAccessor<?> accessor) {
+        RelationalPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+        if (accessor.getProperty(versionProperty) == null) {
+            accessor.setProperty(versionProperty, conversionService.convert(0L, versionProperty.getType()));
+        }
+    }
+
+    /**
+     * Estimates the number of rows of the table of the entity from the table statistics of the database, without scanning the table.
+     * <p>
+     * The estimate comes from {@code information_schema.TABLES}; for InnoDB it is sampled and may be off by a large margin.
+     * @param entityType the entity type which holds the table name.
+     * @return the estimated number of rows, or empty if the database keeps no statistics for the table.
+     */
+    public Mono<Long> estimateCount(Class<?> entityType) {
+        String tableName = r2dbcEntityTemplate.getDataAccessStrategy().toSql(getRequiredPersistentEntity(entityType).getTableName());
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(ESTIMATE_COUNT_SQL)
+            .bind("table_name", tableName)
+            .map(row -> Optional.ofNullable(row.get(0, Number.class)))
+            .one()
+            .flatMap(Mono::justOrEmpty)
+            .map(Number::longValue);
+    }
+
     /**
      * Updates the table, which links the entity with the referred entities.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
@@ -214,6 +581,85 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    private String createKeysetSelectImpl(SelectOrdered selectFrom, Class<?> entityType, KeysetPageable keyset) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        Table table = Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS);
+        Column id = table.column(entity.getRequiredIdProperty().getColumnName());
+        boolean ascending = keyset.getOrder().isAscending();
+        List<OrderByField> fields = new ArrayList<>();
+        if (!keyset.isOrderedById()) {
+            Column column = table.column(getKeysetProperty(entityType, keyset).getColumnName());
+            fields.add(ascending ? OrderByField.from(column).asc() : OrderByField.from(column).desc());
+        }
+        fields.add(ascending ? OrderByField.from(id).asc() : OrderByField.from(id).desc());
+        return createSelect(selectFrom.orderBy(fields).build());
+    }
+
+    private static String getKeysetShape(KeysetPageable keyset) {
+        String after = !keyset.hasAfter() ? "first" : keyset.getAfterValue() == null ? "after-null" : "after";
+        return String.join(":", "keyset", keyset.getOrder().getProperty(), keyset.getOrder().getDirection().name(), after);
+    }
+
+    /**
+     * Creates the condition selecting the rows after the last row of the previous page, in the order of the
+     * sort column and then the id. MySQL sorts {@code NULL} values first in ascending and last in descending order.
+     */
+    private Condition createKeysetCondition(Class<?> entityType, KeysetPageable keyset) {
+        if (!keyset.hasAfter()) {
+            return null;
+        }
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        Table table = Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS);
+        Column id = table.column(entity.getRequiredIdProperty().getColumnName());
+        BindMarker idMarker = SQL.bindMarker(":" + KEYSET_ID);
+        boolean ascending = keyset.getOrder().isAscending();
+        Condition afterId = ascending ? Conditions.isGreater(id, idMarker) : Conditions.isLess(id, idMarker);
+        if (keyset.isOrderedById()) {
+            return afterId;
+        }
+        Column column = table.column(getKeysetProperty(entityType, keyset).getColumnName());
+        if (keyset.getAfterValue() == null) {
+            Condition nullTail = Conditions.nest(Conditions.isNull(column).and(afterId));
+            return ascending ? Conditions.nest(nullTail.or(column.isNotNull())) : nullTail;
+        }
+        BindMarker valueMarker = SQL.bindMarker(":" + KEYSET_VALUE);
+        Condition seek = (ascending ? Conditions.isGreater(column, valueMarker) : Conditions.isLess(column, valueMarker)).or(
+            Conditions.nest(Conditions.isEqual(column, valueMarker).and(afterId))
+        );
+        return Conditions.nest(ascending ? seek : seek.or(Conditions.isNull(column)));
+    }
+
+    private RelationalPersistentProperty getKeysetProperty(Class<?> entityType, KeysetPageable keyset) {
+        RelationalPersistentProperty property = getRequiredPersistentEntity(entityType).getPersistentProperty(
+            keyset.getOrder().getProperty()
+        );
+        if (property == null || property.isTransient() || property.isEntity()) {
+            throw new IllegalArgumentException("Cannot use keyset pagination on property " + keyset.getOrder().getProperty());
+        }
+        return property;
+    }
+
+    private Object readKeysetValue(RelationalPersistentProperty property, String value) {
+        if (Instant.class.equals(property.getActualType())) {
+            return Instant.parse(value);
+        }
+        return conversionService.convert(value, property.getActualType());
+    }
+
+    private static Condition and(Condition left, Condition right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return Conditions.nest(left).and(right);
+    }
+
+    private RelationalPersistentEntity<?> getRequiredPersistentEntity(Class<?> entityType) {
+        return r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.criteria.EntranceCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface EntranceRepository extends ReactiveCrudRepository<Entrance, Lon
     @Query("SELECT * FROM entrance entity WHERE entity.report_id = :id")
     Flux<Entrance> findByReport(Long id);
 
+    @Query("SELECT * FROM entrance entity WHERE entity.report_id IN (:ids)")
+    Flux<Entrance> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM entrance entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM entrance WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM entrance entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM entrance entity WHERE entity.report_id IS NULL")
     Flux<Entrance> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface EntranceRepository extends ReactiveCrudRepository<Entrance, Lon
 interface EntranceRepositoryInternal {
     <S extends Entrance> Mono<S> save(S entity);
 
+    Mono<Long> update(Entrance entity);
+
+    Mono<Long> partialUpdate(Entrance entity);
+
+    Flux<Entrance> insertAll(List<Entrance> entities);
+
     Flux<Entrance> findAllBy(Pageable pageable);
 
+    Flux<Entrance> findAllBy(KeysetPageable keyset);
+
     Flux<Entrance> findAll();
 
     Mono<Entrance> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Entrance> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Entrance> findByCriteria(EntranceCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(EntranceCriteria criteria);
 }
@@ -17,6 +17,7 @@ public class EntranceSqlHelper {
         columns.add(Column.aliased("shoe_rack_size", table, columnPrefix + "_shoe_rack_size"));
         columns.add(Column.aliased("pantry_presence", table, columnPrefix + "_pantry_presence"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.criteria.EnvFactorCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface EnvFactorRepository extends ReactiveCrudRepository<EnvFactor, L
     @Query("SELECT * FROM env_factor entity WHERE entity.report_id = :id")
     Flux<EnvFactor> findByReport(Long id);
 
+    @Query("SELECT * FROM env_factor entity WHERE entity.report_id IN (:ids)")
+    Flux<EnvFactor> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM env_factor entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM env_factor WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM env_factor entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM env_factor entity WHERE entity.report_id IS NULL")
     Flux<EnvFactor> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface EnvFactorRepository extends ReactiveCrudRepository<EnvFactor, L
 interface EnvFactorRepositoryInternal {
     <S extends EnvFactor> Mono<S> save(S entity);
 
+    Mono<Long> update(EnvFactor entity);
+
+    Mono<Long> partialUpdate(EnvFactor entity);
+
+    Flux<EnvFactor> insertAll(List<EnvFactor> entities);
+
     Flux<EnvFactor> findAllBy(Pageable pageable);
 
+    Flux<EnvFactor> findAllBy(KeysetPageable keyset);
+
     Flux<EnvFactor> findAll();
 
     Mono<EnvFactor> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<EnvFactor> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<EnvFactor> findByCriteria(EnvFactorCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(EnvFactorCriteria criteria);
 }
@@ -14,6 +14,7 @@ public class EnvFactorSqlHelper {
         columns.add(Column.aliased("env_factor_name", table, columnPrefix + "_env_factor_name"));
         columns.add(Column.aliased("env_factor_distance", table, columnPrefix + "_env_factor_distance"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
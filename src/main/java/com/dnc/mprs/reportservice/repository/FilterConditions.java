@@ -0,0 +1,134 @@
+package com.dnc.mprs.reportservice.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.springframework.data.r2dbc.core.ReactiveDataAccessStrategy;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.r2dbc.core.Parameter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+
+/**
+ * Renders the {@link Filter}s of a criteria into a where clause of bind markers, for the cached selects of {@link EntityManager}.
+ * <p>
+ * The shape of the clause, which operators are applied to which columns, identifies the cached statement while the values
+ * are bound on each execution. An {@code in} list is bound to a single marker which is expanded to one placeholder per value.
+ */
+final class FilterConditions {
+
+    private static final String MARKER_PREFIX = "filter";
+
+    private final ReactiveDataAccessStrategy dataAccessStrategy;
+
+    private final List<String> shape = new ArrayList<>();
+
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+    FilterConditions(ReactiveDataAccessStrategy dataAccessStrategy) {
+        this.dataAccessStrategy = dataAccessStrategy;
+    }
+
+    /**
+     * Adds the conditions of the given filter on the given column.
+     *
+     * @param column the filtered column.
+     * @param filter the filter, may be {@code null}.
+     * @return this instance.
+     */
+    FilterConditions add(Column column, Filter<?> filter) {
+        if (filter == null) {
+            return this;
+        }
+        if (filter.getEquals() != null) {
+            addValue(column, "=", filter.getEquals(), Conditions::isEqual);
+        }
+        if (filter.getNotEquals() != null) {
+            addValue(column, "<>", filter.getNotEquals(), Conditions::isNotEqual);
+        }
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) {
+            addValue(column, "in", toBindValues(filter.getIn()), Conditions::in);
+        }
+        if (filter.getNotIn() != null && !filter.getNotIn().isEmpty()) {
+            addValue(column, "not in", toBindValues(filter.getNotIn()), Conditions::notIn);
+        }
+        if (filter.getSpecified() != null) {
+            boolean specified = filter.getSpecified();
+            shape.add(column.getName() + (specified ? " is not null" : " is null"));
+            conditions.add(specified ? Conditions.isNull(column).not() : Conditions.isNull(column));
+        }
+        if (filter instanceof RangeFilter<?> range) {
+            if (range.getGreaterThan() != null) {
+                addValue(column, ">", range.getGreaterThan(), Conditions::isGreater);
+            }
+            if (range.getGreaterThanOrEqual() != null) {
+                addValue(column, ">=", range.getGreaterThanOrEqual(), Conditions::isGreaterOrEqualTo);
+            }
+            if (range.getLessThan() != null) {
+                addValue(column, "<", range.getLessThan(), Conditions::isLess);
+            }
+            if (range.getLessThanOrEqual() != null) {
+                addValue(column, "<=", range.getLessThanOrEqual(), Conditions::isLessOrEqualTo);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return whether no condition was added.
+     */
+    boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * @return the shape of the where clause, to be used as cache key of the statement, or {@code null} without conditions.
+     */
+    String getShape() {
+        return isEmpty() ? null : String.join(" and ", shape);
+    }
+
+    /**
+     * @return the conjunction of the conditions.
+     */
+    Condition getCondition() {
+        return conditions.stream().reduce(Condition::and).orElseThrow();
+    }
+
+    /**
+     * Binds the values of the conditions.
+     *
+     * @param spec the statement to bind the values to.
+     * @return the statement with the bound values.
+     */
+    GenericExecuteSpec bind(GenericExecuteSpec spec) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private void addValue(Column column, String operator, Object value, BiFunction<Column, Expression, Condition> condition) {
+        String marker = MARKER_PREFIX + bindings.size();
+        shape.add(column.getName() + " " + operator);
+        conditions.add(condition.apply(column, SQL.bindMarker(":" + marker)));
+        bindings.put(marker, value instanceof List<?> ? value : toBindValue(value));
+    }
+
+    private List<Object> toBindValues(List<?> values) {
+        return values.stream().map(value -> toBindValue(value).getValue()).toList();
+    }
+
+    private Parameter toBindValue(Object value) {
+        return dataAccessStrategy.getBindValue(Parameter.from(value));
+    }
+}
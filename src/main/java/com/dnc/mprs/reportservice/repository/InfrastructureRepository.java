@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.criteria.InfrastructureCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface InfrastructureRepository extends ReactiveCrudRepository<Infrast
     @Query("SELECT * FROM infrastructure entity WHERE entity.report_id = :id")
     Flux<Infrastructure> findByReport(Long id);
 
+    @Query("SELECT * FROM infrastructure entity WHERE entity.report_id IN (:ids)")
+    Flux<Infrastructure> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM infrastructure entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM infrastructure WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM infrastructure entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM infrastructure entity WHERE entity.report_id IS NULL")
     Flux<Infrastructure> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface InfrastructureRepository extends ReactiveCrudRepository<Infrast
 interface InfrastructureRepositoryInternal {
     <S extends Infrastructure> Mono<S> save(S entity);
 
+    Mono<Long> update(Infrastructure entity);
+
+    Mono<Long> partialUpdate(Infrastructure entity);
+
+    Flux<Infrastructure> insertAll(List<Infrastructure> entities);
+
     Flux<Infrastructure> findAllBy(Pageable pageable);
 
+    Flux<Infrastructure> findAllBy(KeysetPageable keyset);
+
     Flux<Infrastructure> findAll();
 
     Mono<Infrastructure> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Infrastructure> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Infrastructure> findByCriteria(InfrastructureCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(InfrastructureCriteria criteria);
 }
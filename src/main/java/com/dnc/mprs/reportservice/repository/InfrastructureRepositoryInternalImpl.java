@@ -1,27 +1,31 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.criteria.InfrastructureCriteria;
 import com.dnc.mprs.reportservice.repository.rowmapper.InfrastructureRowMapper;
 import com.dnc.mprs.reportservice.repository.rowmapper.ReportRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.List;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -41,6 +45,10 @@ class InfrastructureRepositoryInternalImpl extends SimpleR2dbcRepository<Infrast
     private static final Table entityTable = Table.aliased("infrastructure", EntityManager.ENTITY_ALIAS);
     private static final Table reportTable = Table.aliased("report", "report");
 
+    private static final String SELECT_SHAPE = "infrastructure LEFT JOIN report";
+    private static final String COUNT_SHAPE = "count";
+    private static final String ID_PARAMETER = "id";
+
     public InfrastructureRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -63,32 +71,94 @@ class InfrastructureRepositoryInternalImpl extends SimpleR2dbcRepository<Infrast
 
     @Override
     public Flux<Infrastructure> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, null, null).map(this::process).all();
+    }
+
+    @Override
+    public Flux<Infrastructure> findAllBy(KeysetPageable keyset) {
+        return createKeysetQuery(keyset, null, null).map(this::process).all();
     }
 
-    RowsFetchSpec<Infrastructure> createQuery(Pageable pageable, Condition whereClause) {
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(
+            Infrastructure.class,
+            SELECT_SHAPE,
+            this::createSelectFrom,
+            pageable,
+            whereShape,
+            whereClause
+        );
+        return entityManager.bindPage(db.sql(select), pageable);
+    }
+
+    DatabaseClient.GenericExecuteSpec createKeysetQuery(KeysetPageable keyset, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(
+            Infrastructure.class,
+            SELECT_SHAPE,
+            this::createSelectFrom,
+            keyset,
+            whereShape,
+            whereClause
+        );
+        return entityManager.bindKeyset(db.sql(select), Infrastructure.class, keyset);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
         List<Expression> columns = InfrastructureSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(ReportSqlHelper.getColumns(reportTable, "report"));
-        SelectFromAndJoinCondition selectFrom = Select.builder()
+        return Select.builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(reportTable)
             .on(Column.create("report_id", entityTable))
             .equals(Column.create("id", reportTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Infrastructure.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    }
+
+    @Override
+    public Flux<Infrastructure> findByCriteria(InfrastructureCriteria criteria, Pageable pageable) {
+        FilterConditions filters = createConditions(criteria);
+        return filters.bind(createQuery(pageable, filters.getShape(), filters::getCondition)).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(InfrastructureCriteria criteria) {
+        FilterConditions filters = createConditions(criteria);
+        String select = entityManager.createSelect(
+            Infrastructure.class,
+            COUNT_SHAPE,
+            this::createCountFrom,
+            null,
+            filters.getShape(),
+            filters::getCondition
+        );
+        return filters.bind(db.sql(select)).map(row -> row.get(0, Long.class)).one();
+    }
+
+    private SelectFromAndJoin createCountFrom() {
+        return Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable);
+    }
+
+    private FilterConditions createConditions(InfrastructureCriteria criteria) {
+        return new FilterConditions(r2dbcEntityTemplate.getDataAccessStrategy())
+            .add(entityTable.column("id"), criteria.getId())
+            .add(entityTable.column("infra_type"), criteria.getInfraType())
+            .add(entityTable.column("condition_level"), criteria.getConditionLevel())
+            .add(entityTable.column("infra_distance"), criteria.getInfraDistance())
+            .add(entityTable.column("infra_distance_unit"), criteria.getInfraDistanceUnit())
+            .add(entityTable.column("report_id"), criteria.getReportId());
     }
 
     @Override
     public Flux<Infrastructure> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<Infrastructure> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "id", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":" + ID_PARAMETER)))
+            .bind(ID_PARAMETER, id)
+            .map(this::process)
+            .one();
     }
 
     private Infrastructure process(Row row, RowMetadata metadata) {
@@ -101,4 +171,19 @@ class InfrastructureRepositoryInternalImpl extends SimpleR2dbcRepository<Infrast
     public <S extends Infrastructure> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Long> update(Infrastructure entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Long> partialUpdate(Infrastructure entity) {
+        return entityManager.update(entity, true);
+    }
+
+    @Override
+    public Flux<Infrastructure> insertAll(List<Infrastructure> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
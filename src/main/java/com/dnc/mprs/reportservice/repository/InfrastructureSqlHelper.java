@@ -17,6 +17,7 @@ public class InfrastructureSqlHelper {
         columns.add(Column.aliased("infra_distance", table, columnPrefix + "_infra_distance"));
         columns.add(Column.aliased("infra_distance_unit", table, columnPrefix + "_infra_distance_unit"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
@@ -0,0 +1,74 @@
+package com.dnc.mprs.reportservice.repository;
+
+import java.time.Duration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the leases of the scheduled jobs, kept in the {@code job_lock} table.
+ * <p>
+ * A job is leased by one instance at a time, until the lease expires or the instance releases it, so a job scheduled
+ * on every instance of the service runs on a single one. The leases are rows rather than {@code GET_LOCK} locks, which
+ * belong to a single connection, so the job itself can run its work in as many short transactions as it needs.
+ * The leases are written, so they must be taken and released in read-write transactions, on the primary database.
+ */
+@Repository
+public class JobLockRepository {
+
+    private static final String NAME_PARAMETER = "name";
+    private static final String OWNER_PARAMETER = "owner";
+    private static final String LEASE_PARAMETER = "lease";
+
+    private final DatabaseClient db;
+
+    public JobLockRepository(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    /**
+     * Lease a job, unless it is already leased.
+     *
+     * @param name the name of the job.
+     * @param owner the unique name of this run of the job.
+     * @param lease the duration of the lease, longer than the job itself.
+     * @return {@code true} if the job is leased by this run.
+     */
+    public Mono<Boolean> acquire(String name, String owner, Duration lease) {
+        return db
+            .sql("INSERT IGNORE INTO job_lock (name, locked_until) VALUES (:name, CURRENT_TIMESTAMP(6))")
+            .bind(NAME_PARAMETER, name)
+            .fetch()
+            .rowsUpdated()
+            .then(
+                db
+                    .sql(
+                        "UPDATE job_lock SET locked_until = TIMESTAMPADD(MICROSECOND, 1000 * :lease, CURRENT_TIMESTAMP(6)), " +
+                        "locked_by = :owner WHERE name = :name AND locked_until <= CURRENT_TIMESTAMP(6)"
+                    )
+                    .bind(LEASE_PARAMETER, lease.toMillis())
+                    .bind(OWNER_PARAMETER, owner)
+                    .bind(NAME_PARAMETER, name)
+                    .fetch()
+                    .rowsUpdated()
+            )
+            .map(updated -> updated > 0);
+    }
+
+    /**
+     * Release the lease of a job, if it is still held by the given run.
+     *
+     * @param name the name of the job.
+     * @param owner the unique name of the run of the job which leased it.
+     * @return the number of released leases.
+     */
+    public Mono<Long> release(String name, String owner) {
+        return db
+            .sql("UPDATE job_lock SET locked_until = CURRENT_TIMESTAMP(6), locked_by = NULL WHERE name = :name AND locked_by = :owner")
+            .bind(NAME_PARAMETER, name)
+            .bind(OWNER_PARAMETER, owner)
+            .fetch()
+            .rowsUpdated();
+    }
+}
@@ -0,0 +1,207 @@
+package com.dnc.mprs.reportservice.repository;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Objects;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pagination information for keyset (seek) pagination.
+ * <p>
+ * Instead of an offset, a page is described by the sort order and by the sort value and id of the last row
+ * of the previous page, so the database can seek directly to the next row with an index, however deep the page is.
+ * The position is exchanged with clients as an opaque cursor, see {@link #toCursor()} and {@link #of(Pageable, String)}.
+ */
+public final class KeysetPageable {
+
+    private static final String ID_PROPERTY = "id";
+    private static final String SEPARATOR = ",";
+    private static final String VALUE_PREFIX = "v";
+    private static final String NULL_VALUE = "n";
+
+    private final int size;
+
+    private final Sort.Order order;
+
+    private final Long afterId;
+
+    private final String afterValue;
+
+    private KeysetPageable(int size, Sort.Order order, Long afterId, String afterValue) {
+        this.size = size;
+        this.order = order;
+        this.afterId = afterId;
+        this.afterValue = afterValue;
+    }
+
+    /**
+     * Create the keyset pagination information from the requested page and an optional cursor.
+     *
+     * @param pageable the requested page, only the page size is used if a cursor is given, the page number is always ignored.
+     * @param cursor the cursor returned with the previous page, or {@code null} or blank for the first page.
+     * @return the keyset pagination information.
+     * @throws IllegalArgumentException if the sort order or the cursor are invalid.
+     */
+    public static KeysetPageable of(Pageable pageable, String cursor) {
+        int size = pageable.getPageSize();
+        if (cursor == null || cursor.isBlank()) {
+            return new KeysetPageable(size, firstOrder(pageable.getSort()), null, null);
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] parts = decoded.split(SEPARATOR, 4);
+        if (parts.length != 4 || parts[0].isEmpty() || parts[0].contains(".")) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]);
+            Long afterId = Long.valueOf(parts[2]);
+            String afterValue = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(VALUE_PREFIX.length()) : null;
+            return new KeysetPageable(size, order, afterId, afterValue);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Sort.Order firstOrder(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return Sort.Order.asc(ID_PROPERTY);
+        }
+        Sort.Order order = orders.next();
+        if (orders.hasNext() && !ID_PROPERTY.equals(orders.next().getProperty())) {
+            throw new IllegalArgumentException("Keyset pagination supports a single sort property");
+        }
+        if (order.getProperty().contains(".")) {
+            throw new IllegalArgumentException("Keyset pagination does not support sorting by a related entity");
+        }
+        return order;
+    }
+
+    /**
+     * Check that the rows of the given entity type can be paged in this order, from this position: the sort property must
+     * be a column of the entity, and the sort value of the cursor one of its values.
+     *
+     * @param entityType the type of the paged entities.
+     * @return this keyset pagination information.
+     * @throws IllegalArgumentException if the sort property or the cursor are invalid for the entity.
+     */
+    public KeysetPageable validate(Class<?> entityType) {
+        PropertyDescriptor property = BeanUtils.getPropertyDescriptor(entityType, order.getProperty());
+        if (property == null || property.getReadMethod() == null || !BeanUtils.isSimpleValueType(property.getPropertyType())) {
+            throw new IllegalArgumentException("Cannot use keyset pagination on property " + order.getProperty());
+        }
+        if (afterValue != null) {
+            try {
+                // read as the entity manager reads it to bind it
+                Object value = Instant.class.equals(property.getPropertyType())
+                    ? Instant.parse(afterValue)
+                    : DefaultConversionService.getSharedInstance().convert(afterValue, property.getPropertyType());
+                Objects.requireNonNull(value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Create the pagination information of the page following the given row.
+     *
+     * @param last the last entity of the current page.
+     * @return the pagination information of the next page.
+     */
+    public KeysetPageable next(Object last) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(last);
+        Object id = wrapper.getPropertyValue(ID_PROPERTY);
+        Object value = wrapper.getPropertyValue(order.getProperty());
+        return new KeysetPageable(size, order, ((Number) id).longValue(), value != null ? value.toString() : null);
+    }
+
+    /**
+     * @return the opaque cursor of this position, to be passed back by the client to get this page.
+     */
+    public String toCursor() {
+        String value = afterValue != null ? VALUE_PREFIX + afterValue : NULL_VALUE;
+        String raw = String.join(SEPARATOR, order.getProperty(), order.getDirection().name(), String.valueOf(afterId), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return whether the sort property is the id itself, so the id alone determines the position.
+     */
+    public boolean isOrderedById() {
+        return ID_PROPERTY.equals(order.getProperty());
+    }
+
+    /**
+     * @return whether this is a page after a known row, {@code false} for the first page.
+     */
+    public boolean hasAfter() {
+        return afterId != null;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * @return the string representation of the sort value of the last row of the previous page, or {@code null} if it was null.
+     */
+    public String getAfterValue() {
+        return afterValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeysetPageable)) {
+            return false;
+        }
+        KeysetPageable that = (KeysetPageable) o;
+        return (
+            size == that.size &&
+            order.equals(that.order) &&
+            Objects.equals(afterId, that.afterId) &&
+            Objects.equals(afterValue, that.afterValue)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, order, afterId, afterValue);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetPageable{" +
+            "size=" + size +
+            ", order=" + order +
+            ", afterId=" + afterId +
+            ", afterValue='" + afterValue + "'" +
+            "}";
+    }
+}
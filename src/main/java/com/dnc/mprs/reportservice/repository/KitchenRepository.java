@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.criteria.KitchenCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface KitchenRepository extends ReactiveCrudRepository<Kitchen, Long>
     @Query("SELECT * FROM kitchen entity WHERE entity.report_id = :id")
     Flux<Kitchen> findByReport(Long id);
 
+    @Query("SELECT * FROM kitchen entity WHERE entity.report_id IN (:ids)")
+    Flux<Kitchen> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM kitchen entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM kitchen WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM kitchen entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM kitchen entity WHERE entity.report_id IS NULL")
     Flux<Kitchen> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface KitchenRepository extends ReactiveCrudRepository<Kitchen, Long>
 interface KitchenRepositoryInternal {
     <S extends Kitchen> Mono<S> save(S entity);
 
+    Mono<Long> update(Kitchen entity);
+
+    Mono<Long> partialUpdate(Kitchen entity);
+
+    Flux<Kitchen> insertAll(List<Kitchen> entities);
+
     Flux<Kitchen> findAllBy(Pageable pageable);
 
+    Flux<Kitchen> findAllBy(KeysetPageable keyset);
+
     Flux<Kitchen> findAll();
 
     Mono<Kitchen> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Kitchen> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Kitchen> findByCriteria(KitchenCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(KitchenCriteria criteria);
 }
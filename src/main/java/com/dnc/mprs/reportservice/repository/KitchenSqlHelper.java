@@ -18,6 +18,7 @@ public class KitchenSqlHelper {
         columns.add(Column.aliased("ventilation_system", table, columnPrefix + "_ventilation_system"));
         columns.add(Column.aliased("appliance_provision", table, columnPrefix + "_appliance_provision"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
@@ -1,7 +1,11 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.criteria.LivingRoomCriteria;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,6 +23,19 @@ public interface LivingRoomRepository extends ReactiveCrudRepository<LivingRoom,
     @Query("SELECT * FROM living_room entity WHERE entity.report_id = :id")
     Flux<LivingRoom> findByReport(Long id);
 
+    @Query("SELECT * FROM living_room entity WHERE entity.report_id IN (:ids)")
+    Flux<LivingRoom> findByReportIdIn(Collection<Long> ids);
+
+    @Query("SELECT entity.id FROM living_room entity WHERE entity.report_id IN (:reportIds) FOR UPDATE")
+    Flux<Long> lockIdsByReportIdIn(Collection<Long> reportIds);
+
+    @Modifying
+    @Query("DELETE FROM living_room WHERE report_id IN (:reportIds)")
+    Mono<Long> deleteByReportIdIn(Collection<Long> reportIds);
+
+    @Query("SELECT entity.report_id FROM living_room entity WHERE entity.id = :id AND entity.report_id IS NOT NULL")
+    Mono<Long> findReportIdById(Long id);
+
     @Query("SELECT * FROM living_room entity WHERE entity.report_id IS NULL")
     Flux<LivingRoom> findAllWhereReportIsNull();
 
@@ -38,11 +55,21 @@ public interface LivingRoomRepository extends ReactiveCrudRepository<LivingRoom,
 interface LivingRoomRepositoryInternal {
     <S extends LivingRoom> Mono<S> save(S entity);
 
+    Mono<Long> update(LivingRoom entity);
+
+    Mono<Long> partialUpdate(LivingRoom entity);
+
+    Flux<LivingRoom> insertAll(List<LivingRoom> entities);
+
     Flux<LivingRoom> findAllBy(Pageable pageable);
 
+    Flux<LivingRoom> findAllBy(KeysetPageable keyset);
+
     Flux<LivingRoom> findAll();
 
     Mono<LivingRoom> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<LivingRoom> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<LivingRoom> findByCriteria(LivingRoomCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(LivingRoomCriteria criteria);
 }
@@ -18,6 +18,7 @@ public class LivingRoomSqlHelper {
         columns.add(Column.aliased("floor_material", table, columnPrefix + "_floor_material"));
         columns.add(Column.aliased("sunlight", table, columnPrefix + "_sunlight"));
         columns.add(Column.aliased("remarks", table, columnPrefix + "_remarks"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("report_id", table, columnPrefix + "_report_id"));
         return columns;
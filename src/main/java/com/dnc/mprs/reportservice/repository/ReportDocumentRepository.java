@@ -0,0 +1,150 @@
+package com.dnc.mprs.reportservice.repository;
+
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import com.dnc.mprs.reportservice.domain.enumeration.InfraType;
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository reading the summaries of the children of the reports, to build their {@link ReportDocument}s.
+ * <p>
+ * The summaries of a batch of reports are read with one query per child table, whatever the number of reports.
+ * <p>
+ * The {@code search_version} of a report counts the changes of its children, see {@link #incrementSearchVersions(Collection)},
+ * so the version of its document grows with a change of a child as with a change of the report.
+ */
+@Repository
+public class ReportDocumentRepository {
+
+    private static final String REPORT_IDS_PARAMETER = "reportIds";
+
+    private final DatabaseClient db;
+
+    public ReportDocumentRepository(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    /**
+     * Increment the search versions of the given reports, after a change of one of their children.
+     *
+     * @param reportIds the ids of the reports.
+     * @return a {@link Mono} completing when the versions are incremented.
+     */
+    public Mono<Void> incrementSearchVersions(Collection<Long> reportIds) {
+        if (reportIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return db
+            .sql("UPDATE report SET search_version = search_version + 1 WHERE id IN (:" + REPORT_IDS_PARAMETER + ")")
+            .bind(REPORT_IDS_PARAMETER, reportIds)
+            .fetch()
+            .rowsUpdated()
+            .then();
+    }
+
+    /**
+     * Build the search documents of the given reports, with the summaries of their children.
+     *
+     * @param reports the reports.
+     * @return the search documents, in the order of the reports.
+     */
+    public Flux<ReportDocument> findAllByReports(Collection<Report> reports) {
+        if (reports.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<Long, ReportDocument> documents = new LinkedHashMap<>();
+        reports.forEach(report -> documents.put(report.getId(), new ReportDocument(report)));
+        // a transaction holds a single connection, so the tables are read one after the other
+        return Flux.concat(
+            // the version is read with the summaries, so a document and its version are those of the same changes
+            db
+                .sql("SELECT id, version + search_version AS search_version FROM report WHERE id IN (:" + REPORT_IDS_PARAMETER + ")")
+                .bind(REPORT_IDS_PARAMETER, documents.keySet())
+                .map(row -> {
+                    documents.get(row.get("id", Long.class)).setSearchVersion(row.get("search_version", Long.class));
+                    return Boolean.TRUE;
+                })
+                .all()
+                .then(),
+            readRooms("bedroom", "bedroom_name", "condition_level", documents, ReportDocument::getBedrooms),
+            readRooms("kitchen", "kitchen_name", "condition_level", documents, ReportDocument::getKitchens),
+            readRooms("bathroom", "bathroom_name", "condtion_level", documents, ReportDocument::getBathrooms),
+            readRooms("living_room", "living_room_name", "condition_level", documents, ReportDocument::getLivingRooms),
+            readRooms("entrance", "entrance_name", "condtion_level", documents, ReportDocument::getEntrances),
+            read(
+                "SELECT report_id, infra_type, infra_name, condition_level, infra_distance FROM infrastructure",
+                documents,
+                (row, document) ->
+                    document
+                        .getInfrastructures()
+                        .add(
+                            new ReportDocument.InfrastructureSummary()
+                                .infraType(enumValue(InfraType.class, row.get("infra_type", String.class)))
+                                .name(row.get("infra_name", String.class))
+                                .conditionLevel(enumValue(QualityStateType.class, row.get("condition_level", String.class)))
+                                .distance(row.get("infra_distance", Integer.class))
+                        )
+            ),
+            read("SELECT report_id, env_factor_name, env_factor_distance FROM env_factor", documents, (row, document) -> {
+                BigDecimal distance = row.get("env_factor_distance", BigDecimal.class);
+                document
+                    .getEnvFactors()
+                    .add(
+                        new ReportDocument.EnvFactorSummary()
+                            .name(row.get("env_factor_name", String.class))
+                            .distance(distance != null ? distance.doubleValue() : null)
+                    );
+            })
+        ).thenMany(Flux.fromIterable(documents.values()));
+    }
+
+    private Mono<Void> readRooms(
+        String table,
+        String nameColumn,
+        String conditionColumn,
+        Map<Long, ReportDocument> documents,
+        Function<ReportDocument, List<ReportDocument.RoomSummary>> rooms
+    ) {
+        return read(
+            "SELECT report_id, " + nameColumn + ", " + conditionColumn + " FROM " + table,
+            documents,
+            (row, document) ->
+                rooms
+                    .apply(document)
+                    .add(
+                        new ReportDocument.RoomSummary()
+                            .name(row.get(nameColumn, String.class))
+                            .conditionLevel(enumValue(QualityStateType.class, row.get(conditionColumn, String.class)))
+                    )
+        );
+    }
+
+    private Mono<Void> read(String select, Map<Long, ReportDocument> documents, BiConsumer<Readable, ReportDocument> summarize) {
+        return db
+            .sql(select + " WHERE report_id IN (:" + REPORT_IDS_PARAMETER + ") ORDER BY id")
+            .bind(REPORT_IDS_PARAMETER, documents.keySet())
+            .map(row -> {
+                summarize.accept(row, documents.get(row.get("report_id", Long.class)));
+                return Boolean.TRUE;
+            })
+            .all()
+            .then();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+}
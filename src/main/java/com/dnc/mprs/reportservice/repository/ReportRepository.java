@@ -1,7 +1,12 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.criteria.ReportCriteria;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -19,9 +24,26 @@ public interface ReportRepository extends ReactiveCrudRepository<Report, Long>,
     @Query("SELECT * FROM report entity WHERE entity.author_id = :id")
     Flux<Report> findByAuthor(Long id);
 
+    @Query("SELECT entity.id FROM report entity WHERE entity.author_id = :authorId")
+    Flux<Long> findIdsByAuthorId(Long authorId);
+
     @Query("SELECT * FROM report entity WHERE entity.author_id IS NULL")
     Flux<Report> findAllWhereAuthorIsNull();
 
+    Mono<Long> countByComplexId(Long complexId);
+
+    Mono<Long> countByPropertyId(Long propertyId);
+
+    @Query("SELECT entity.id FROM report entity WHERE entity.id = :id FOR UPDATE")
+    Mono<Long> lockById(Long id);
+
+    @Query("SELECT entity.id FROM report entity WHERE entity.complex_id = :complexId FOR UPDATE")
+    Flux<Long> lockIdsByComplexId(Long complexId);
+
+    @Modifying
+    @Query("DELETE FROM report WHERE id IN (:ids)")
+    Mono<Long> deleteByIdIn(Collection<Long> ids);
+
     @Override
     <S extends Report> Mono<S> save(S entity);
 
@@ -38,11 +60,29 @@ public interface ReportRepository extends ReactiveCrudRepository<Report, Long>,
 interface ReportRepositoryInternal {
     <S extends Report> Mono<S> save(S entity);
 
+    Mono<Long> update(Report entity);
+
+    Mono<Long> partialUpdate(Report entity);
+
+    Flux<Report> insertAll(List<Report> entities);
+
     Flux<Report> findAllBy(Pageable pageable);
 
+    Flux<Report> findAllBy(KeysetPageable keyset);
+
+    Flux<Report> findAllBy(Pageable pageable, List<String> columns);
+
+    Flux<Report> findAllByComplexId(Long complexId, Pageable pageable);
+
+    Flux<Report> findAllByPropertyId(Long propertyId, Pageable pageable);
+
+    Flux<Report> findAllForExport(Long complexId, Instant reportDateFrom, Instant reportDateTo);
+
     Flux<Report> findAll();
 
     Mono<Report> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Report> findAllBy(Pageable pageable, Criteria criteria);
+
+    Flux<Report> findByCriteria(ReportCriteria criteria, Pageable pageable);
+
+    Mono<Long> countByCriteria(ReportCriteria criteria);
 }
@@ -1,27 +1,40 @@
 package com.dnc.mprs.reportservice.repository;
 
 import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.criteria.ReportCriteria;
 import com.dnc.mprs.reportservice.repository.rowmapper.AuthorRowMapper;
 import com.dnc.mprs.reportservice.repository.rowmapper.ReportRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.r2dbc.core.Parameter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -41,6 +54,15 @@ class ReportRepositoryInternalImpl extends SimpleR2dbcRepository<Report, Long> i
     private static final Table entityTable = Table.aliased("report", EntityManager.ENTITY_ALIAS);
     private static final Table authorTable = Table.aliased("author", "author");
 
+    private static final String SELECT_SHAPE = "report LEFT JOIN author";
+    private static final String COUNT_SHAPE = "count";
+    private static final String ID_PARAMETER = "id";
+    private static final String COMPLEX_ID_PARAMETER = "complex_id";
+    private static final String PROPERTY_ID_PARAMETER = "property_id";
+    private static final String REPORT_DATE_FROM_PARAMETER = "report_date_from";
+    private static final String REPORT_DATE_TO_PARAMETER = "report_date_to";
+    private static final Pageable EXPORT_ORDER = Pageable.unpaged(Sort.by("id"));
+
     public ReportRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
@@ -63,32 +85,173 @@ class ReportRepositoryInternalImpl extends SimpleR2dbcRepository<Report, Long> i
 
     @Override
     public Flux<Report> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, null, null).map(this::process).all();
+    }
+
+    @Override
+    public Flux<Report> findAllBy(KeysetPageable keyset) {
+        return createKeysetQuery(keyset, null, null).map(this::process).all();
+    }
+
+    @Override
+    public Flux<Report> findAllBy(Pageable pageable, List<String> columns) {
+        // only the given columns are selected, without the author join; the rows are mapped by column name, the others stay null
+        Set<String> selected = new LinkedHashSet<>(columns);
+        // the rows are ordered by the aliases of the selected columns, so the sort columns are selected as well
+        RelationalPersistentEntity<?> entity = r2dbcEntityTemplate
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(Report.class);
+        for (Sort.Order order : pageable.getSort()) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(order.getProperty());
+            if (property != null && !property.isIdProperty()) {
+                selected.add(property.getColumnName().getReference());
+            }
+        }
+        String shape = "report(" + String.join(",", selected) + ")";
+        String select = entityManager.createSelect(
+            Report.class,
+            shape,
+            () -> Select.builder().select(ReportSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, selected)).from(entityTable),
+            pageable,
+            null,
+            null
+        );
+        return entityManager.bindPage(db.sql(select), pageable).map((row, metadata) -> reportMapper.apply(row, "e")).all();
+    }
+
+    @Override
+    public Flux<Report> findAllByComplexId(Long complexId, Pageable pageable) {
+        return createQuery(pageable, COMPLEX_ID_PARAMETER, () -> createCondition(COMPLEX_ID_PARAMETER))
+            .bind(COMPLEX_ID_PARAMETER, complexId)
+            .map(this::process)
+            .all();
+    }
+
+    @Override
+    public Flux<Report> findAllByPropertyId(Long propertyId, Pageable pageable) {
+        return createQuery(pageable, PROPERTY_ID_PARAMETER, () -> createCondition(PROPERTY_ID_PARAMETER))
+            .bind(PROPERTY_ID_PARAMETER, propertyId)
+            .map(this::process)
+            .all();
+    }
+
+    @Override
+    public Flux<Report> findAllForExport(Long complexId, Instant reportDateFrom, Instant reportDateTo) {
+        // one statement for the whole export, its rows are read as the subscriber requests them
+        Map<String, Object> filters = new LinkedHashMap<>();
+        if (complexId != null) {
+            filters.put(COMPLEX_ID_PARAMETER, complexId);
+        }
+        if (reportDateFrom != null) {
+            filters.put(REPORT_DATE_FROM_PARAMETER, reportDateFrom);
+        }
+        if (reportDateTo != null) {
+            filters.put(REPORT_DATE_TO_PARAMETER, reportDateTo);
+        }
+        String whereShape = filters.isEmpty() ? null : String.join(" AND ", filters.keySet());
+        DatabaseClient.GenericExecuteSpec query = createQuery(EXPORT_ORDER, whereShape, () ->
+            filters.keySet().stream().map(this::createCondition).reduce(Condition::and).orElseThrow()
+        );
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            query = query.bind(
+                filter.getKey(),
+                r2dbcEntityTemplate.getDataAccessStrategy().getBindValue(Parameter.from(filter.getValue()))
+            );
+        }
+        return query.map(this::process).all();
+    }
+
+    private Condition createCondition(String parameter) {
+        switch (parameter) {
+            case COMPLEX_ID_PARAMETER:
+                return Conditions.isEqual(entityTable.column("complex_id"), SQL.bindMarker(":" + parameter));
+            case PROPERTY_ID_PARAMETER:
+                return Conditions.isEqual(entityTable.column("property_id"), SQL.bindMarker(":" + parameter));
+            case REPORT_DATE_FROM_PARAMETER:
+                return Conditions.isGreaterOrEqualTo(entityTable.column("report_date"), SQL.bindMarker(":" + parameter));
+            default:
+                return Conditions.isLess(entityTable.column("report_date"), SQL.bindMarker(":" + parameter));
+        }
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(Report.class, SELECT_SHAPE, this::createSelectFrom, pageable, whereShape, whereClause);
+        return entityManager.bindPage(db.sql(select), pageable);
     }
 
-    RowsFetchSpec<Report> createQuery(Pageable pageable, Condition whereClause) {
+    DatabaseClient.GenericExecuteSpec createKeysetQuery(KeysetPageable keyset, String whereShape, Supplier<Condition> whereClause) {
+        String select = entityManager.createSelect(Report.class, SELECT_SHAPE, this::createSelectFrom, keyset, whereShape, whereClause);
+        return entityManager.bindKeyset(db.sql(select), Report.class, keyset);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
         List<Expression> columns = ReportSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(AuthorSqlHelper.getColumns(authorTable, "author"));
-        SelectFromAndJoinCondition selectFrom = Select.builder()
+        return Select.builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(authorTable)
             .on(Column.create("author_id", entityTable))
             .equals(Column.create("id", authorTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Report.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+    }
+
+    @Override
+    public Flux<Report> findByCriteria(ReportCriteria criteria, Pageable pageable) {
+        FilterConditions filters = createConditions(criteria);
+        return filters.bind(createQuery(pageable, filters.getShape(), filters::getCondition)).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(ReportCriteria criteria) {
+        FilterConditions filters = createConditions(criteria);
+        String select = entityManager.createSelect(
+            Report.class,
+            COUNT_SHAPE,
+            this::createCountFrom,
+            null,
+            filters.getShape(),
+            filters::getCondition
+        );
+        return filters.bind(db.sql(select)).map(row -> row.get(0, Long.class)).one();
+    }
+
+    private SelectFromAndJoin createCountFrom() {
+        return Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable);
+    }
+
+    private FilterConditions createConditions(ReportCriteria criteria) {
+        return new FilterConditions(r2dbcEntityTemplate.getDataAccessStrategy())
+            .add(entityTable.column("id"), criteria.getId())
+            .add(entityTable.column("report_date"), criteria.getReportDate())
+            .add(entityTable.column("exterior_state"), criteria.getExteriorState())
+            .add(entityTable.column("construction_year"), criteria.getConstructionYear())
+            .add(entityTable.column("maintenance_state"), criteria.getMaintenanceState())
+            .add(entityTable.column("parking_count"), criteria.getParkingCount())
+            .add(entityTable.column("elevator_state"), criteria.getElevatorState())
+            .add(entityTable.column("noise_state"), criteria.getNoiseState())
+            .add(entityTable.column("homepad_state"), criteria.getHomepadState())
+            .add(entityTable.column("fire_safety_state"), criteria.getFireSafetyState())
+            .add(entityTable.column("door_security_state"), criteria.getDoorSecurityState())
+            .add(entityTable.column("maintenance_fee"), criteria.getMaintenanceFee())
+            .add(entityTable.column("complex_id"), criteria.getComplexId())
+            .add(entityTable.column("property_id"), criteria.getPropertyId())
+            .add(entityTable.column("created_at"), criteria.getCreatedAt())
+            .add(entityTable.column("updated_at"), criteria.getUpdatedAt())
+            .add(entityTable.column("author_id"), criteria.getAuthorId());
     }
 
     @Override
     public Flux<Report> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<Report> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "id", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":" + ID_PARAMETER)))
+            .bind(ID_PARAMETER, id)
+            .map(this::process)
+            .one();
     }
 
     private Report process(Row row, RowMetadata metadata) {
@@ -101,4 +264,19 @@ class ReportRepositoryInternalImpl extends SimpleR2dbcRepository<Report, Long> i
     public <S extends Report> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Long> update(Report entity) {
+        return entityManager.update(entity, false);
+    }
+
+    @Override
+    public Mono<Long> partialUpdate(Report entity) {
+        return entityManager.update(entity, true);
+    }
+
+    @Override
+    public Flux<Report> insertAll(List<Report> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
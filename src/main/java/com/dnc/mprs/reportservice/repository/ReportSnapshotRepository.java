@@ -0,0 +1,72 @@
+package com.dnc.mprs.reportservice.repository;
+
+import java.util.Collection;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the JSON snapshots of the report aggregates, stored in the {@code report_snapshot} side table.
+ * <p>
+ * The snapshots are stored and read as raw bytes, keyed by the id of the report, and are deleted together with their report.
+ */
+@Repository
+public class ReportSnapshotRepository {
+
+    private static final String REPORT_ID_PARAMETER = "reportId";
+    private static final String CONTENT_PARAMETER = "content";
+
+    private final DatabaseClient db;
+
+    public ReportSnapshotRepository(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    /**
+     * Get the snapshot of a report.
+     *
+     * @param reportId the id of the report.
+     * @return the JSON document of the snapshot, or empty if there is none.
+     */
+    public Mono<byte[]> findContentById(Long reportId) {
+        return db
+            .sql("SELECT content FROM report_snapshot WHERE report_id = :" + REPORT_ID_PARAMETER)
+            .bind(REPORT_ID_PARAMETER, reportId)
+            .map(row -> row.get("content", byte[].class))
+            .one();
+    }
+
+    /**
+     * Insert or replace the snapshot of a report.
+     *
+     * @param reportId the id of the report.
+     * @param content the JSON document of the snapshot.
+     * @return the number of affected rows.
+     */
+    public Mono<Long> save(Long reportId, byte[] content) {
+        return db
+            .sql(
+                "INSERT INTO report_snapshot (report_id, content, updated_at) VALUES (:reportId, :content, CURRENT_TIMESTAMP(6)) " +
+                "ON DUPLICATE KEY UPDATE content = VALUES(content), updated_at = VALUES(updated_at)"
+            )
+            .bind(REPORT_ID_PARAMETER, reportId)
+            .bind(CONTENT_PARAMETER, content)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Delete the snapshots of the given reports.
+     *
+     * @param reportIds the ids of the reports.
+     * @return the number of deleted snapshots.
+     */
+    public Mono<Long> deleteByReportIdIn(Collection<Long> reportIds) {
+        return db
+            .sql("DELETE FROM report_snapshot WHERE report_id IN (:" + REPORT_ID_PARAMETER + ")")
+            .bind(REPORT_ID_PARAMETER, reportIds)
+            .fetch()
+            .rowsUpdated();
+    }
+}
@@ -1,6 +1,7 @@
 package com.dnc.mprs.reportservice.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
@@ -35,8 +36,18 @@ public class ReportSqlHelper {
         columns.add(Column.aliased("property_name", table, columnPrefix + "_property_name"));
         columns.add(Column.aliased("created_at", table, columnPrefix + "_created_at"));
         columns.add(Column.aliased("updated_at", table, columnPrefix + "_updated_at"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         columns.add(Column.aliased("author_id", table, columnPrefix + "_author_id"));
         return columns;
     }
+
+    public static List<Expression> getColumns(Table table, String columnPrefix, Collection<String> columnNames) {
+        List<Expression> columns = new ArrayList<>();
+        columns.add(Column.aliased("id", table, columnPrefix + "_id"));
+        for (String columnName : columnNames) {
+            columns.add(Column.aliased(columnName, table, columnPrefix + "_" + columnName));
+        }
+        return columns;
+    }
 }
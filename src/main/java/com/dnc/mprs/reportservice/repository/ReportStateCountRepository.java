@@ -0,0 +1,202 @@
+package com.dnc.mprs.reportservice.repository;
+
+import com.dnc.mprs.reportservice.domain.ReportStateCount;
+import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import io.r2dbc.spi.Readable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link ReportStateCount} rollups, kept in the {@code report_state_count} table.
+ * <p>
+ * The counts are computed by the database from the report rows themselves: the quality state columns of the reports
+ * are unpivoted into one {@code (complex_id, period, field, state)} row each and grouped, then added to the stored counts
+ * with an upsert, in a single statement whatever the number of reports.
+ */
+@Repository
+public class ReportStateCountRepository {
+
+    private static final String IDS_PARAMETER = "ids";
+    private static final String DELTA_PARAMETER = "delta";
+    private static final String COMPLEX_ID_PARAMETER = "complexId";
+    private static final String FROM_PARAMETER = "from";
+    private static final String TO_PARAMETER = "to";
+    private static final String PERIOD_PARAMETER = "period";
+    private static final String FIELD_PARAMETER = "field";
+    private static final String STATE_PARAMETER = "state";
+    private static final String COUNT_PARAMETER = "count";
+
+    /**
+     * The counted fields: their JSON property names, by column.
+     */
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("exterior_state", "exteriorState");
+        FIELDS.put("maintenance_state", "maintenanceState");
+        FIELDS.put("elevator_state", "elevatorState");
+        FIELDS.put("noise_state", "noiseState");
+        FIELDS.put("homepad_state", "homepadState");
+        FIELDS.put("fire_safety_state", "fireSafetyState");
+        FIELDS.put("door_security_state", "doorSecurityState");
+    }
+
+    private static final String STATES_SELECT =
+        "SELECT r.complex_id, YEAR(COALESCE(r.report_date, r.created_at)) AS period, f.field, CASE f.field " +
+        FIELDS.entrySet().stream().map(e -> "WHEN '" + e.getValue() + "' THEN r." + e.getKey()).collect(Collectors.joining(" ")) +
+        " END AS state FROM report r CROSS JOIN (" +
+        FIELDS.values().stream().map(field -> "SELECT '" + field + "' AS field").collect(Collectors.joining(" UNION ALL ")) +
+        ") f";
+
+    private static final String GROUP_STATES =
+        "SELECT s.complex_id, s.period, s.field, s.state, COUNT(*) AS report_count FROM (" +
+        STATES_SELECT +
+        " WHERE r.id IN (:" +
+        IDS_PARAMETER +
+        ")) s GROUP BY s.complex_id, s.period, s.field, s.state";
+
+    private static final String UPSERT_COUNTS =
+        "INSERT INTO report_state_count (complex_id, period, field, state, report_count) " +
+        "SELECT s.complex_id, s.period, s.field, s.state, %s FROM (" +
+        STATES_SELECT +
+        "%s) s GROUP BY s.complex_id, s.period, s.field, s.state " +
+        "ON DUPLICATE KEY UPDATE report_count = report_count + VALUES(report_count)";
+
+    private final DatabaseClient db;
+
+    public ReportStateCountRepository(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    /**
+     * Add the given reports, as they are currently stored, to the counts.
+     *
+     * @param reportIds the ids of the reports.
+     * @param delta {@code 1} to count the reports, {@code -1} to remove them from the counts.
+     * @return the number of affected rows.
+     */
+    public Mono<Long> addAll(Collection<Long> reportIds, long delta) {
+        return db
+            .sql(String.format(UPSERT_COUNTS, ":" + DELTA_PARAMETER + " * COUNT(*)", " WHERE r.id IN (:" + IDS_PARAMETER + ")"))
+            .bind(DELTA_PARAMETER, delta)
+            .bind(IDS_PARAMETER, reportIds)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Count the given reports, as they are currently stored, with a plain read: the reports are not locked.
+     *
+     * @param reportIds the ids of the reports.
+     * @return the counts of the reports, by complex, year, field and state.
+     */
+    public Flux<ReportStateCount> countAll(Collection<Long> reportIds) {
+        return db.sql(GROUP_STATES).bind(IDS_PARAMETER, reportIds).map(ReportStateCountRepository::toCount).all();
+    }
+
+    /**
+     * Add the given counts, read by {@link #countAll(Collection)}, to the stored counts, with a single statement.
+     *
+     * @param counts the counts.
+     * @param delta {@code 1} to add the counts, {@code -1} to subtract them.
+     * @return the number of affected rows.
+     */
+    public Mono<Long> addCounts(List<ReportStateCount> counts, long delta) {
+        if (counts.isEmpty()) {
+            return Mono.just(0L);
+        }
+        String values = IntStream.range(0, counts.size())
+            .mapToObj(i ->
+                "(:" + COMPLEX_ID_PARAMETER + i + ", :" + PERIOD_PARAMETER + i + ", :" + FIELD_PARAMETER + i + ", :" + STATE_PARAMETER + i +
+                ", :" + COUNT_PARAMETER + i + ")"
+            )
+            .collect(Collectors.joining(", "));
+        DatabaseClient.GenericExecuteSpec spec = db.sql(
+            "INSERT INTO report_state_count (complex_id, period, field, state, report_count) VALUES " +
+            values +
+            " ON DUPLICATE KEY UPDATE report_count = report_count + VALUES(report_count)"
+        );
+        for (int i = 0; i < counts.size(); i++) {
+            ReportStateCount count = counts.get(i);
+            spec = spec
+                .bind(COMPLEX_ID_PARAMETER + i, count.getComplexId())
+                .bind(PERIOD_PARAMETER + i, count.getPeriod())
+                .bind(FIELD_PARAMETER + i, count.getField())
+                .bind(STATE_PARAMETER + i, count.getState().name())
+                .bind(COUNT_PARAMETER + i, delta * count.getCount());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * Get the ids of the complexes with reports or with counts.
+     *
+     * @return the ids of the complexes.
+     */
+    public Flux<Long> findAllComplexIds() {
+        return db
+            .sql("SELECT complex_id FROM report UNION SELECT complex_id FROM report_state_count")
+            .map(row -> row.get("complex_id", Long.class))
+            .all();
+    }
+
+    /**
+     * Compute the counts of a complex again from its reports.
+     *
+     * @param complexId the id of the complex.
+     * @return the number of stored counts.
+     */
+    public Mono<Long> rebuildByComplexId(Long complexId) {
+        return db
+            .sql("DELETE FROM report_state_count WHERE complex_id = :complexId")
+            .bind(COMPLEX_ID_PARAMETER, complexId)
+            .fetch()
+            .rowsUpdated()
+            .then(
+                db
+                    .sql(String.format(UPSERT_COUNTS, "COUNT(*)", " WHERE r.complex_id = :" + COMPLEX_ID_PARAMETER))
+                    .bind(COMPLEX_ID_PARAMETER, complexId)
+                    .fetch()
+                    .rowsUpdated()
+            );
+    }
+
+    /**
+     * Get the non-zero counts of a complex, over a range of years.
+     *
+     * @param complexId the id of the complex.
+     * @param from the first year.
+     * @param to the last year.
+     * @return the counts, by year, field and state.
+     */
+    public Flux<ReportStateCount> findAllByComplexId(Long complexId, int from, int to) {
+        return db
+            .sql(
+                "SELECT complex_id, period, field, state, report_count FROM report_state_count " +
+                "WHERE complex_id = :complexId AND period BETWEEN :from AND :to AND report_count > 0 ORDER BY period, field, state"
+            )
+            .bind(COMPLEX_ID_PARAMETER, complexId)
+            .bind(FROM_PARAMETER, from)
+            .bind(TO_PARAMETER, to)
+            .map(ReportStateCountRepository::toCount)
+            .all();
+    }
+
+    private static ReportStateCount toCount(Readable row) {
+        return new ReportStateCount()
+            .complexId(row.get("complex_id", Long.class))
+            .period(row.get("period", Integer.class))
+            .field(row.get("field", String.class))
+            .state(QualityStateType.valueOf(row.get("state", String.class)))
+            .count(row.get("report_count", Long.class));
+    }
+}
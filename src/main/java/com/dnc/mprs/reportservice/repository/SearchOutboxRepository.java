@@ -0,0 +1,166 @@
+package com.dnc.mprs.reportservice.repository;
+
+import com.dnc.mprs.reportservice.domain.SearchOutboxEntry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link SearchOutboxEntry} entries, kept in the {@code search_outbox} table.
+ * <p>
+ * The entries are claimed with {@code FOR UPDATE SKIP LOCKED}, so several instances of the service drain the outbox
+ * side by side without waiting for each other nor shipping the same entry twice.
+ */
+@Repository
+public class SearchOutboxRepository {
+
+    private static final String ENTITY_TYPE_PARAMETER = "entityType";
+    private static final String ENTITY_ID_PARAMETER = "entityId";
+    private static final String IDS_PARAMETER = "ids";
+    private static final String LIMIT_PARAMETER = "limit";
+    private static final String BACKOFF_PARAMETER = "backoff";
+    private static final String MAX_BACKOFF_PARAMETER = "maxBackoff";
+    private static final String LEASE_PARAMETER = "lease";
+
+    private final DatabaseClient db;
+
+    public SearchOutboxRepository(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    /**
+     * Insert one entry per changed entity, with a single statement.
+     *
+     * @param idsByType the ids of the changed entities, by entity type.
+     * @return the number of inserted entries.
+     */
+    public Mono<Long> insertAll(Map<String, ? extends Collection<Long>> idsByType) {
+        List<Map.Entry<String, Long>> entries = idsByType
+            .entrySet()
+            .stream()
+            .flatMap(type -> type.getValue().stream().map(id -> Map.entry(type.getKey(), id)))
+            .toList();
+        if (entries.isEmpty()) {
+            return Mono.just(0L);
+        }
+        String values = IntStream.range(0, entries.size())
+            .mapToObj(i ->
+                "(:" + ENTITY_TYPE_PARAMETER + i + ", :" + ENTITY_ID_PARAMETER + i + ", CURRENT_TIMESTAMP(6), 0, CURRENT_TIMESTAMP(6))"
+            )
+            .collect(Collectors.joining(", "));
+        DatabaseClient.GenericExecuteSpec spec = db.sql(
+            "INSERT INTO search_outbox (entity_type, entity_id, created_at, attempts, next_attempt_at) VALUES " + values
+        );
+        for (int i = 0; i < entries.size(); i++) {
+            spec = spec.bind(ENTITY_TYPE_PARAMETER + i, entries.get(i).getKey()).bind(ENTITY_ID_PARAMETER + i, entries.get(i).getValue());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * Claim the oldest entries which are due, until the end of the current transaction.
+     *
+     * @param limit the maximum number of entries.
+     * @return the claimed entries, oldest first; the entries claimed by other transactions are skipped.
+     */
+    public Flux<SearchOutboxEntry> lockDue(int limit) {
+        return db
+            .sql(
+                "SELECT id, entity_type, entity_id, attempts FROM search_outbox " +
+                "WHERE next_attempt_at <= CURRENT_TIMESTAMP(6) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED"
+            )
+            .bind(LIMIT_PARAMETER, limit)
+            .map(row ->
+                new SearchOutboxEntry()
+                    .id(row.get("id", Long.class))
+                    .entityType(row.get("entity_type", String.class))
+                    .entityId(row.get("entity_id", Long.class))
+                    .attempts(row.get("attempts", Integer.class))
+            )
+            .all();
+    }
+
+    /**
+     * Lease the given entries, claimed by {@link #lockDue(int)}: they are not due again for the duration of the lease, so
+     * they can be shipped once the claiming transaction is committed, and are claimed again if they are never completed.
+     *
+     * @param ids the ids of the entries.
+     * @param lease the duration of the lease.
+     * @return the number of leased entries.
+     */
+    public Mono<Long> leaseByIdIn(Collection<Long> ids, Duration lease) {
+        return db
+            .sql(
+                "UPDATE search_outbox SET next_attempt_at = TIMESTAMPADD(MICROSECOND, 1000 * :lease, CURRENT_TIMESTAMP(6)) " +
+                "WHERE id IN (:ids)"
+            )
+            .bind(LEASE_PARAMETER, lease.toMillis())
+            .bind(IDS_PARAMETER, ids)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Delete the given entries, once they are shipped.
+     *
+     * @param ids the ids of the entries.
+     * @return the number of deleted entries.
+     */
+    public Mono<Long> deleteByIdIn(Collection<Long> ids) {
+        return db.sql("DELETE FROM search_outbox WHERE id IN (:" + IDS_PARAMETER + ")").bind(IDS_PARAMETER, ids).fetch().rowsUpdated();
+    }
+
+    /**
+     * Postpone the given entries after a failure, by a backoff doubling with every attempt.
+     *
+     * @param ids the ids of the entries.
+     * @param backoff the backoff after the first failure.
+     * @param maxBackoff the maximum backoff.
+     * @return the number of postponed entries.
+     */
+    public Mono<Long> postponeByIdIn(Collection<Long> ids, Duration backoff, Duration maxBackoff) {
+        return db
+            .sql(
+                "UPDATE search_outbox SET next_attempt_at = TIMESTAMPADD(MICROSECOND, " +
+                "1000 * LEAST(:maxBackoff, :backoff * POW(2, LEAST(attempts, 30))), CURRENT_TIMESTAMP(6)), attempts = attempts + 1 " +
+                "WHERE id IN (:ids)"
+            )
+            .bind(BACKOFF_PARAMETER, backoff.toMillis())
+            .bind(MAX_BACKOFF_PARAMETER, maxBackoff.toMillis())
+            .bind(IDS_PARAMETER, ids)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Get how long the oldest entry has been waiting, by the clock of the database which stamped it.
+     *
+     * @return the age of the oldest entry, or empty if the outbox is empty.
+     */
+    public Mono<Duration> findOldestAge() {
+        return db
+            .sql("SELECT TIMESTAMPDIFF(MICROSECOND, MIN(created_at), CURRENT_TIMESTAMP(6)) AS age FROM search_outbox")
+            .map(row -> Optional.ofNullable(row.get("age", Long.class)))
+            .one()
+            .flatMap(Mono::justOrEmpty)
+            .map(age -> Duration.ofNanos(1000 * age));
+    }
+
+    /**
+     * Count the entries.
+     *
+     * @return the number of entries.
+     */
+    public Mono<Long> count() {
+        return db.sql("SELECT COUNT(*) AS total FROM search_outbox").map(row -> row.get("total", Long.class)).one();
+    }
+}
@@ -11,22 +11,22 @@ import org.springframework.stereotype.Service;
 @Service
 public class AuthorRowMapper implements BiFunction<Row, String, Author> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<Author> mapping;
 
     public AuthorRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, Author::new)
+            .column("id", Long.class, Author::setId)
+            .column("name", String.class, Author::setName)
+            .column("contact_info", String.class, Author::setContactInfo)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link Author} stored in the database.
      */
     @Override
     public Author apply(Row row, String prefix) {
-        Author entity = new Author();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setContactInfo(converter.fromRow(row, prefix + "_contact_info", String.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
@@ -13,29 +13,30 @@ import org.springframework.stereotype.Service;
 @Service
 public class BathroomRowMapper implements BiFunction<Row, String, Bathroom> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<Bathroom> mapping;
 
     public BathroomRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, Bathroom::new)
+            .column("id", Long.class, Bathroom::setId)
+            .column("bathroom_name", String.class, Bathroom::setBathroomName)
+            .column("condtion_level", QualityStateType.class, Bathroom::setCondtionLevel)
+            .column("bathroom_size", BigDecimal.class, Bathroom::setBathroomSize)
+            .column("water_pressure", QualityStateType.class, Bathroom::setWaterPressure)
+            .column("shower_booth_presence", String.class, Bathroom::setShowerBoothPresence)
+            .column("bathtub_presence", String.class, Bathroom::setBathtubPresence)
+            .column("floor_and_ceiling", QualityStateType.class, Bathroom::setFloorAndCeiling)
+            .column("remarks", String.class, Bathroom::setRemarks)
+            .column("version", Long.class, Bathroom::setVersion)
+            .column("report_id", Long.class, Bathroom::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link Bathroom} stored in the database.
      */
     @Override
     public Bathroom apply(Row row, String prefix) {
-        Bathroom entity = new Bathroom();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setBathroomName(converter.fromRow(row, prefix + "_bathroom_name", String.class));
-        entity.setCondtionLevel(converter.fromRow(row, prefix + "_condtion_level", QualityStateType.class));
-        entity.setBathroomSize(converter.fromRow(row, prefix + "_bathroom_size", BigDecimal.class));
-        entity.setWaterPressure(converter.fromRow(row, prefix + "_water_pressure", QualityStateType.class));
-        entity.setShowerBoothPresence(converter.fromRow(row, prefix + "_shower_booth_presence", String.class));
-        entity.setBathtubPresence(converter.fromRow(row, prefix + "_bathtub_presence", String.class));
-        entity.setFloorAndCeiling(converter.fromRow(row, prefix + "_floor_and_ceiling", QualityStateType.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
@@ -13,29 +13,30 @@ import org.springframework.stereotype.Service;
 @Service
 public class BedroomRowMapper implements BiFunction<Row, String, Bedroom> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<Bedroom> mapping;
 
     public BedroomRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, Bedroom::new)
+            .column("id", Long.class, Bedroom::setId)
+            .column("bedroom_name", String.class, Bedroom::setBedroomName)
+            .column("condition_level", QualityStateType.class, Bedroom::setConditionLevel)
+            .column("room_size", BigDecimal.class, Bedroom::setRoomSize)
+            .column("closet_yn", String.class, Bedroom::setClosetYn)
+            .column("ac_yn", String.class, Bedroom::setAcYn)
+            .column("window_location", String.class, Bedroom::setWindowLocation)
+            .column("window_size", String.class, Bedroom::setWindowSize)
+            .column("remarks", String.class, Bedroom::setRemarks)
+            .column("version", Long.class, Bedroom::setVersion)
+            .column("report_id", Long.class, Bedroom::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link Bedroom} stored in the database.
      */
     @Override
     public Bedroom apply(Row row, String prefix) {
-        Bedroom entity = new Bedroom();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setBedroomName(converter.fromRow(row, prefix + "_bedroom_name", String.class));
-        entity.setConditionLevel(converter.fromRow(row, prefix + "_condition_level", QualityStateType.class));
-        entity.setRoomSize(converter.fromRow(row, prefix + "_room_size", BigDecimal.class));
-        entity.setClosetYn(converter.fromRow(row, prefix + "_closet_yn", String.class));
-        entity.setAcYn(converter.fromRow(row, prefix + "_ac_yn", String.class));
-        entity.setWindowLocation(converter.fromRow(row, prefix + "_window_location", String.class));
-        entity.setWindowSize(converter.fromRow(row, prefix + "_window_size", String.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
@@ -1,6 +1,7 @@
 package com.dnc.mprs.reportservice.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import java.util.function.Function;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
@@ -48,6 +49,28 @@ public class ColumnConverter implements ColumnConverterReactive {
         return conversionService.convert(value, target);
     }
 
+    /**
+     * Resolves the conversion of the values of a column to the target class, so that it can be applied to every row
+     * of a result without being looked up again. Values of an unexpected class fall back on {@link #convert(Object, Class)}.
+     * @param source the class of the values returned by the driver, or null if it is unknown.
+     * @param target class.
+     * @param <T> the parameter for the intended type.
+     * @return the conversion of the column values.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Function<Object, T> converterFor(@Nullable Class<?> source, Class<T> target) {
+        if (source == null) {
+            return value -> convert(value, target);
+        }
+        if (ClassUtils.isAssignable(target, source)) {
+            return value -> ClassUtils.isAssignableValue(target, value) ? (T) value : convert(value, target);
+        }
+        if (!conversions.hasCustomReadTarget(source, target) && Enum.class.isAssignableFrom(target)) {
+            return value -> value == null ? null : (T) Enum.valueOf((Class<Enum>) target, value.toString());
+        }
+        return value -> conversionService.convert(value, target);
+    }
+
     /**
      * Convert a value from the {@link Row} to a type - throws an exception, if it's impossible.
      * @param row which contains the column values.
@@ -13,27 +13,28 @@ import org.springframework.stereotype.Service;
 @Service
 public class EntranceRowMapper implements BiFunction<Row, String, Entrance> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<Entrance> mapping;
 
     public EntranceRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, Entrance::new)
+            .column("id", Long.class, Entrance::setId)
+            .column("entrance_name", String.class, Entrance::setEntranceName)
+            .column("condtion_level", QualityStateType.class, Entrance::setCondtionLevel)
+            .column("entrance_size", BigDecimal.class, Entrance::setEntranceSize)
+            .column("shoe_rack_size", BigDecimal.class, Entrance::setShoeRackSize)
+            .column("pantry_presence", String.class, Entrance::setPantryPresence)
+            .column("remarks", String.class, Entrance::setRemarks)
+            .column("version", Long.class, Entrance::setVersion)
+            .column("report_id", Long.class, Entrance::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link Entrance} stored in the database.
      */
     @Override
     public Entrance apply(Row row, String prefix) {
-        Entrance entity = new Entrance();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setEntranceName(converter.fromRow(row, prefix + "_entrance_name", String.class));
-        entity.setCondtionLevel(converter.fromRow(row, prefix + "_condtion_level", QualityStateType.class));
-        entity.setEntranceSize(converter.fromRow(row, prefix + "_entrance_size", BigDecimal.class));
-        entity.setShoeRackSize(converter.fromRow(row, prefix + "_shoe_rack_size", BigDecimal.class));
-        entity.setPantryPresence(converter.fromRow(row, prefix + "_pantry_presence", String.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
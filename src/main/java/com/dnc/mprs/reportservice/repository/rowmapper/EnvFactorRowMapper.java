@@ -12,24 +12,25 @@ import org.springframework.stereotype.Service;
 @Service
 public class EnvFactorRowMapper implements BiFunction<Row, String, EnvFactor> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<EnvFactor> mapping;
 
     public EnvFactorRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, EnvFactor::new)
+            .column("id", Long.class, EnvFactor::setId)
+            .column("env_factor_name", String.class, EnvFactor::setEnvFactorName)
+            .column("env_factor_distance", BigDecimal.class, EnvFactor::setEnvFactorDistance)
+            .column("remarks", String.class, EnvFactor::setRemarks)
+            .column("version", Long.class, EnvFactor::setVersion)
+            .column("report_id", Long.class, EnvFactor::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link EnvFactor} stored in the database.
      */
     @Override
     public EnvFactor apply(Row row, String prefix) {
-        EnvFactor entity = new EnvFactor();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setEnvFactorName(converter.fromRow(row, prefix + "_env_factor_name", String.class));
-        entity.setEnvFactorDistance(converter.fromRow(row, prefix + "_env_factor_distance", BigDecimal.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
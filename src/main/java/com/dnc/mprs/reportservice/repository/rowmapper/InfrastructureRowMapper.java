@@ -13,27 +13,28 @@ import org.springframework.stereotype.Service;
 @Service
 public class InfrastructureRowMapper implements BiFunction<Row, String, Infrastructure> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<Infrastructure> mapping;
 
     public InfrastructureRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, Infrastructure::new)
+            .column("id", Long.class, Infrastructure::setId)
+            .column("infra_type", InfraType.class, Infrastructure::setInfraType)
+            .column("infra_name", String.class, Infrastructure::setInfraName)
+            .column("condition_level", QualityStateType.class, Infrastructure::setConditionLevel)
+            .column("infra_distance", Integer.class, Infrastructure::setInfraDistance)
+            .column("infra_distance_unit", QualityStateType.class, Infrastructure::setInfraDistanceUnit)
+            .column("remarks", String.class, Infrastructure::setRemarks)
+            .column("version", Long.class, Infrastructure::setVersion)
+            .column("report_id", Long.class, Infrastructure::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link Infrastructure} stored in the database.
      */
     @Override
     public Infrastructure apply(Row row, String prefix) {
-        Infrastructure entity = new Infrastructure();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setInfraType(converter.fromRow(row, prefix + "_infra_type", InfraType.class));
-        entity.setInfraName(converter.fromRow(row, prefix + "_infra_name", String.class));
-        entity.setConditionLevel(converter.fromRow(row, prefix + "_condition_level", QualityStateType.class));
-        entity.setInfraDistance(converter.fromRow(row, prefix + "_infra_distance", Integer.class));
-        entity.setInfraDistanceUnit(converter.fromRow(row, prefix + "_infra_distance_unit", QualityStateType.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
@@ -12,28 +12,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class KitchenRowMapper implements BiFunction<Row, String, Kitchen> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<Kitchen> mapping;
 
     public KitchenRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, Kitchen::new)
+            .column("id", Long.class, Kitchen::setId)
+            .column("kitchen_name", String.class, Kitchen::setKitchenName)
+            .column("condition_level", QualityStateType.class, Kitchen::setConditionLevel)
+            .column("built_in_cabinet", String.class, Kitchen::setBuiltInCabinet)
+            .column("sink_condition", QualityStateType.class, Kitchen::setSinkCondition)
+            .column("ventilation_system", String.class, Kitchen::setVentilationSystem)
+            .column("appliance_provision", String.class, Kitchen::setApplianceProvision)
+            .column("remarks", String.class, Kitchen::setRemarks)
+            .column("version", Long.class, Kitchen::setVersion)
+            .column("report_id", Long.class, Kitchen::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link Kitchen} stored in the database.
      */
     @Override
     public Kitchen apply(Row row, String prefix) {
-        Kitchen entity = new Kitchen();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setKitchenName(converter.fromRow(row, prefix + "_kitchen_name", String.class));
-        entity.setConditionLevel(converter.fromRow(row, prefix + "_condition_level", QualityStateType.class));
-        entity.setBuiltInCabinet(converter.fromRow(row, prefix + "_built_in_cabinet", String.class));
-        entity.setSinkCondition(converter.fromRow(row, prefix + "_sink_condition", QualityStateType.class));
-        entity.setVentilationSystem(converter.fromRow(row, prefix + "_ventilation_system", String.class));
-        entity.setApplianceProvision(converter.fromRow(row, prefix + "_appliance_provision", String.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
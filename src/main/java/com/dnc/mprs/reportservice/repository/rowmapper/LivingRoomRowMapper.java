@@ -13,28 +13,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class LivingRoomRowMapper implements BiFunction<Row, String, LivingRoom> {
 
-    private final ColumnConverter converter;
+    private final RowMapping<LivingRoom> mapping;
 
     public LivingRoomRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.mapping = RowMapping.builder(converter, LivingRoom::new)
+            .column("id", Long.class, LivingRoom::setId)
+            .column("living_room_name", String.class, LivingRoom::setLivingRoomName)
+            .column("condition_level", QualityStateType.class, LivingRoom::setConditionLevel)
+            .column("room_size", BigDecimal.class, LivingRoom::setRoomSize)
+            .column("wall_state", QualityStateType.class, LivingRoom::setWallState)
+            .column("floor_material", String.class, LivingRoom::setFloorMaterial)
+            .column("sunlight", String.class, LivingRoom::setSunlight)
+            .column("remarks", String.class, LivingRoom::setRemarks)
+            .column("version", Long.class, LivingRoom::setVersion)
+            .column("report_id", Long.class, LivingRoom::setReportId)
+            .build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and a column prefix, and extract all the fields, by column position.
      * @return the {@link LivingRoom} stored in the database.
      */
     @Override
     public LivingRoom apply(Row row, String prefix) {
-        LivingRoom entity = new LivingRoom();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setLivingRoomName(converter.fromRow(row, prefix + "_living_room_name", String.class));
-        entity.setConditionLevel(converter.fromRow(row, prefix + "_condition_level", QualityStateType.class));
-        entity.setRoomSize(converter.fromRow(row, prefix + "_room_size", BigDecimal.class));
-        entity.setWallState(converter.fromRow(row, prefix + "_wall_state", QualityStateType.class));
-        entity.setFloorMaterial(converter.fromRow(row, prefix + "_floor_material", String.class));
-        entity.setSunlight(converter.fromRow(row, prefix + "_sunlight", String.class));
-        entity.setRemarks(converter.fromRow(row, prefix + "_remarks", String.class));
-        entity.setReportId(converter.fromRow(row, prefix + "_report_id", Long.class));
-        return entity;
+        return mapping.map(row, prefix);
     }
 }
@@ -0,0 +1,195 @@
+package com.dnc.mprs.reportservice.repository.rowmapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Maps the columns of a {@link Row} to an entity by column position.
+ * <p>
+ * The columns of the entity are declared once. The first time a result of a given {@link RowMetadata} shape is mapped,
+ * the position of every column and the conversion from the driver type to the field type are resolved and cached,
+ * so the rows themselves are read by index, without building column names or falling back on exceptions.
+ * Columns missing from the result are left unset.
+ *
+ * @param <E> the type of the entity.
+ */
+public final class RowMapping<E> {
+
+    private static final int MAX_SHAPES = 256;
+
+    private final ColumnConverter converter;
+    private final Supplier<E> factory;
+    private final List<ColumnMapping<E, ?>> columns;
+    private final Cache<ShapeKey, List<BiConsumer<Row, E>>> plans;
+
+    /**
+     * The plan of the last mapped result: all the rows of a result share the same {@link RowMetadata} instance,
+     * so the cache is only looked up once per result.
+     */
+    private volatile LastPlan<E> lastPlan;
+
+    private RowMapping(ColumnConverter converter, Supplier<E> factory, List<ColumnMapping<E, ?>> columns) {
+        this.converter = converter;
+        this.factory = factory;
+        this.columns = List.copyOf(columns);
+        this.plans = Caffeine.newBuilder().maximumSize(MAX_SHAPES).build();
+    }
+
+    /**
+     * Start declaring the columns of an entity.
+     * @param converter the converter used to resolve the conversions of the column values.
+     * @param factory creates a new instance of the entity.
+     * @param <E> the type of the entity.
+     * @return the builder.
+     */
+    public static <E> Builder<E> builder(ColumnConverter converter, Supplier<E> factory) {
+        return new Builder<>(converter, factory);
+    }
+
+    /**
+     * Map the columns with the given prefix to a new entity.
+     * @param row which contains the column values.
+     * @param prefix the prefix of the column names, the column names are {@code prefix + "_" + column}.
+     * @return the entity.
+     */
+    public E map(Row row, String prefix) {
+        RowMetadata metadata = row.getMetadata();
+        LastPlan<E> last = lastPlan;
+        List<BiConsumer<Row, E>> plan;
+        if (last != null && last.metadata == metadata && last.prefix.equals(prefix)) {
+            plan = last.plan;
+        } else {
+            plan = plans.get(new ShapeKey(prefix, metadata), key -> createPlan(prefix, metadata));
+            lastPlan = new LastPlan<>(metadata, prefix, plan);
+        }
+        E entity = factory.get();
+        for (BiConsumer<Row, E> reader : plan) {
+            reader.accept(row, entity);
+        }
+        return entity;
+    }
+
+    private List<BiConsumer<Row, E>> createPlan(String prefix, RowMetadata metadata) {
+        List<? extends ColumnMetadata> columnMetadatas = metadata.getColumnMetadatas();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columnMetadatas.size(); i++) {
+            indexes.putIfAbsent(columnMetadatas.get(i).getName().toLowerCase(Locale.ROOT), i);
+        }
+        List<BiConsumer<Row, E>> plan = new ArrayList<>();
+        for (ColumnMapping<E, ?> column : columns) {
+            Integer index = indexes.get((prefix + "_" + column.name).toLowerCase(Locale.ROOT));
+            if (index != null) {
+                plan.add(column.bind(index, columnMetadatas.get(index).getJavaType(), converter));
+            }
+        }
+        return List.copyOf(plan);
+    }
+
+    /**
+     * Declares the columns of an entity.
+     *
+     * @param <E> the type of the entity.
+     */
+    public static final class Builder<E> {
+
+        private final ColumnConverter converter;
+        private final Supplier<E> factory;
+        private final List<ColumnMapping<E, ?>> columns = new ArrayList<>();
+
+        private Builder(ColumnConverter converter, Supplier<E> factory) {
+            this.converter = converter;
+            this.factory = factory;
+        }
+
+        /**
+         * Declare a column of the entity.
+         * @param name the name of the column, without prefix.
+         * @param type the type of the field.
+         * @param setter sets the field of the entity.
+         * @param <T> the type of the field.
+         * @return this builder.
+         */
+        public <T> Builder<E> column(String name, Class<T> type, BiConsumer<E, T> setter) {
+            columns.add(new ColumnMapping<>(name, type, setter));
+            return this;
+        }
+
+        public RowMapping<E> build() {
+            return new RowMapping<>(converter, factory, columns);
+        }
+    }
+
+    private static final class ColumnMapping<E, T> {
+
+        private final String name;
+        private final Class<T> type;
+        private final BiConsumer<E, T> setter;
+
+        private ColumnMapping(String name, Class<T> type, BiConsumer<E, T> setter) {
+            this.name = name;
+            this.type = type;
+            this.setter = setter;
+        }
+
+        private BiConsumer<Row, E> bind(int index, Class<?> source, ColumnConverter converter) {
+            Function<Object, T> conversion = converter.converterFor(source, type);
+            return (row, entity) -> setter.accept(entity, conversion.apply(row.get(index)));
+        }
+    }
+
+    /**
+     * Identifies a result shape: the prefix and the column names of the result, in order.
+     */
+    private static final class ShapeKey {
+
+        private final String prefix;
+        private final List<String> names;
+
+        private ShapeKey(String prefix, RowMetadata metadata) {
+            this.prefix = prefix;
+            this.names = metadata.getColumnMetadatas().stream().map(ColumnMetadata::getName).toList();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShapeKey)) {
+                return false;
+            }
+            ShapeKey that = (ShapeKey) o;
+            return prefix.equals(that.prefix) && names.equals(that.names);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(prefix, names);
+        }
+    }
+
+    private static final class LastPlan<E> {
+
+        private final RowMetadata metadata;
+        private final String prefix;
+        private final List<BiConsumer<Row, E>> plan;
+
+        private LastPlan(RowMetadata metadata, String prefix, List<BiConsumer<Row, E>> plan) {
+            this.metadata = metadata;
+            this.prefix = prefix;
+            this.plan = plan;
+        }
+    }
+}
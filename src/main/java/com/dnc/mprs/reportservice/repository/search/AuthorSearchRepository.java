@@ -1,14 +1,17 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.Author;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Author} entity.
@@ -16,7 +19,9 @@ import reactor.core.publisher.Flux;
 public interface AuthorSearchRepository extends ReactiveElasticsearchRepository<Author, Long>, AuthorSearchRepositoryInternal {}
 
 interface AuthorSearchRepositoryInternal {
-    Flux<Author> search(String query, Pageable pageable);
+    Mono<SearchPage<Author>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<Author>> search(String query, SearchCursor cursor);
 
     Flux<Author> search(Query query);
 }
@@ -25,15 +30,32 @@ class AuthorSearchRepositoryInternalImpl implements AuthorSearchRepositoryIntern
 
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    AuthorSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    AuthorSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<Author> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Author>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Author.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Author>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, Author.class);
     }
 
     @Override
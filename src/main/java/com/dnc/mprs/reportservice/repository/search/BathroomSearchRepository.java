@@ -1,14 +1,19 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.criteria.BathroomCriteria;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Bathroom} entity.
@@ -16,24 +21,62 @@ import reactor.core.publisher.Flux;
 public interface BathroomSearchRepository extends ReactiveElasticsearchRepository<Bathroom, Long>, BathroomSearchRepositoryInternal {}
 
 interface BathroomSearchRepositoryInternal {
-    Flux<Bathroom> search(String query, Pageable pageable);
+    Mono<SearchPage<Bathroom>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<Bathroom>> search(String query, SearchCursor cursor);
+
+    Mono<SearchPage<Bathroom>> searchByCriteria(String text, BathroomCriteria criteria, Pageable pageable);
 
     Flux<Bathroom> search(Query query);
 }
 
 class BathroomSearchRepositoryInternalImpl implements BathroomSearchRepositoryInternal {
 
+    private static final List<String> TEXT_FIELDS = List.of("bathroomName", "showerBoothPresence", "bathtubPresence", "remarks");
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    BathroomSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    BathroomSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<Bathroom> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Bathroom>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Bathroom.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Bathroom>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, Bathroom.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Bathroom>> searchByCriteria(String text, BathroomCriteria criteria, Pageable pageable) {
+        FilterQueryBuilder filters = new FilterQueryBuilder()
+            .range("id", criteria.getId())
+            .term("condtionLevel", criteria.getCondtionLevel())
+            .range("bathroomSize", criteria.getBathroomSize())
+            .term("waterPressure", criteria.getWaterPressure())
+            .term("floorAndCeiling", criteria.getFloorAndCeiling())
+            .range("reportId", criteria.getReportId());
+        NativeQuery nativeQuery = new NativeQuery(filters.build(text, TEXT_FIELDS));
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Bathroom.class);
     }
 
     @Override
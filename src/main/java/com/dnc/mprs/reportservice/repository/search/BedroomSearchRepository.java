@@ -1,14 +1,19 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.criteria.BedroomCriteria;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Bedroom} entity.
@@ -16,24 +21,60 @@ import reactor.core.publisher.Flux;
 public interface BedroomSearchRepository extends ReactiveElasticsearchRepository<Bedroom, Long>, BedroomSearchRepositoryInternal {}
 
 interface BedroomSearchRepositoryInternal {
-    Flux<Bedroom> search(String query, Pageable pageable);
+    Mono<SearchPage<Bedroom>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<Bedroom>> search(String query, SearchCursor cursor);
+
+    Mono<SearchPage<Bedroom>> searchByCriteria(String text, BedroomCriteria criteria, Pageable pageable);
 
     Flux<Bedroom> search(Query query);
 }
 
 class BedroomSearchRepositoryInternalImpl implements BedroomSearchRepositoryInternal {
 
+    private static final List<String> TEXT_FIELDS = List.of("bedroomName", "closetYn", "acYn", "windowLocation", "windowSize", "remarks");
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    BedroomSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    BedroomSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<Bedroom> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Bedroom>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Bedroom.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Bedroom>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, Bedroom.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Bedroom>> searchByCriteria(String text, BedroomCriteria criteria, Pageable pageable) {
+        FilterQueryBuilder filters = new FilterQueryBuilder()
+            .range("id", criteria.getId())
+            .term("conditionLevel", criteria.getConditionLevel())
+            .range("roomSize", criteria.getRoomSize())
+            .range("reportId", criteria.getReportId());
+        NativeQuery nativeQuery = new NativeQuery(filters.build(text, TEXT_FIELDS));
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Bedroom.class);
     }
 
     @Override
@@ -0,0 +1,235 @@
+package com.dnc.mprs.reportservice.repository.search;
+
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data Elasticsearch repository indexing and deleting documents of several entity types with a single bulk request.
+ * <p>
+ * Every document is sent to the index of its own entity, so a report and its children are indexed, or deleted, in one round trip.
+ * While an entity type is reindexed, its documents are written to its new index as well.
+ */
+@Repository
+public class BulkSearchRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkSearchRepository.class);
+
+    private static final int VERSION_CONFLICT_STATUS = 409;
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    private final Map<Class<?>, String> dualWriteIndices = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Set<Long>> dualWrittenIds = new ConcurrentHashMap<>();
+
+    public BulkSearchRepository(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+    }
+
+    /**
+     * Also write the documents of an entity type to another index, e.g. the new index of a reindex, until
+     * {@link #stopDualWrites(Class)}: the changes made while the new index is being filled are not lost. The ids of the
+     * documents written to the other index are recorded, see {@link #takeDualWrittenIds(Class)}.
+     *
+     * @param entityType the type of the entities.
+     * @param index the name of the other index.
+     */
+    public void startDualWrites(Class<?> entityType, String index) {
+        dualWrittenIds.put(entityType, ConcurrentHashMap.newKeySet());
+        dualWriteIndices.put(entityType, index);
+    }
+
+    /**
+     * Stop writing the documents of an entity type to the index of {@link #startDualWrites(Class, String)}.
+     *
+     * @param entityType the type of the entities.
+     */
+    public void stopDualWrites(Class<?> entityType) {
+        dualWriteIndices.remove(entityType);
+        dualWrittenIds.remove(entityType);
+    }
+
+    /**
+     * Take the ids of the documents of an entity type written to the index of {@link #startDualWrites(Class, String)}
+     * since the previous call: the documents indexed or deleted by a change which the new index may have missed.
+     *
+     * @param entityType the type of the entities.
+     * @return the ids of the documents, which are no longer recorded; empty if the documents are not written twice.
+     */
+    public Set<Long> takeDualWrittenIds(Class<?> entityType) {
+        Set<Long> ids = dualWrittenIds.get(entityType);
+        if (ids == null) {
+            return Set.of();
+        }
+        Set<Long> taken = new HashSet<>(ids);
+        ids.removeAll(taken);
+        return taken;
+    }
+
+    /**
+     * Index the given entities and delete the documents with the given ids, of any indexed type, with a single bulk request.
+     * <p>
+     * The versioned entities are indexed with external versioning, so an older version never overwrites a newer one:
+     * such a version conflict means the document is already up to date, and is no failure. Deleting a document which
+     * is not indexed is no failure either.
+     *
+     * @param entities the entities to index, with their ids.
+     * @param deletedIdsByType the ids of the documents to delete, by entity type.
+     * @return the ids of the documents which could not be indexed or deleted, by entity type; empty if all succeeded.
+     */
+    public Mono<Map<Class<?>, Set<Long>>> writeAll(List<?> entities, Map<Class<?>, ? extends Collection<Long>> deletedIdsByType) {
+        // the items of the response are in the order of the operations
+        List<BulkOperation> operations = new ArrayList<>();
+        List<Map.Entry<Class<?>, Long>> documents = new ArrayList<>();
+        for (Object entity : entities) {
+            IndexCoordinates index = reactiveElasticsearchTemplate.getIndexCoordinatesFor(entity.getClass());
+            Long id = addIndexOperation(operations, documents, index, entity);
+            String dualWriteIndex = dualWriteIndices.get(entity.getClass());
+            if (dualWriteIndex != null) {
+                addIndexOperation(operations, documents, IndexCoordinates.of(dualWriteIndex), entity);
+                recordDualWrite(entity.getClass(), id);
+            }
+        }
+        deletedIdsByType.forEach((type, ids) -> {
+            String index = reactiveElasticsearchTemplate.getIndexCoordinatesFor(type).getIndexName();
+            String dualWriteIndex = dualWriteIndices.get(type);
+            for (Long id : ids) {
+                addDeleteOperation(operations, documents, index, type, id);
+                if (dualWriteIndex != null) {
+                    addDeleteOperation(operations, documents, dualWriteIndex, type, id);
+                    recordDualWrite(type, id);
+                }
+            }
+        });
+        return execute(operations, documents);
+    }
+
+    /**
+     * Index the given entities and delete the documents with the given ids in the given index, with a single bulk
+     * request, versioned as by {@link #writeAll(List, Map)}.
+     *
+     * @param index the name of the index.
+     * @param entities the entities to index, with their ids.
+     * @param deletedIdsByType the ids of the documents to delete, by entity type.
+     * @return the ids of the documents which could not be indexed or deleted, by entity type; empty if all succeeded.
+     */
+    public Mono<Map<Class<?>, Set<Long>>> writeAll(
+        String index,
+        List<?> entities,
+        Map<Class<?>, ? extends Collection<Long>> deletedIdsByType
+    ) {
+        List<BulkOperation> operations = new ArrayList<>();
+        List<Map.Entry<Class<?>, Long>> documents = new ArrayList<>();
+        IndexCoordinates coordinates = IndexCoordinates.of(index);
+        for (Object entity : entities) {
+            addIndexOperation(operations, documents, coordinates, entity);
+        }
+        deletedIdsByType.forEach((type, ids) -> ids.forEach(id -> addDeleteOperation(operations, documents, index, type, id)));
+        return execute(operations, documents);
+    }
+
+    private void recordDualWrite(Class<?> type, Long id) {
+        Set<Long> ids = dualWrittenIds.get(type);
+        if (ids != null) {
+            ids.add(id);
+        }
+    }
+
+    private Long addIndexOperation(
+        List<BulkOperation> operations,
+        List<Map.Entry<Class<?>, Long>> documents,
+        IndexCoordinates index,
+        Object entity
+    ) {
+        ElasticsearchPersistentEntity<?> persistentEntity = reactiveElasticsearchTemplate
+            .getElasticsearchConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(entity.getClass());
+        Long id = (Long) persistentEntity.getIdentifierAccessor(entity).getRequiredIdentifier();
+        Document document = reactiveElasticsearchTemplate.getElasticsearchConverter().mapObject(entity);
+        Number version = versionOf(persistentEntity, entity);
+        operations.add(
+            BulkOperation.of(operation ->
+                operation.index(indexOperation -> {
+                    indexOperation.index(index.getIndexName()).id(id.toString()).document(document);
+                    if (version != null) {
+                        indexOperation.version(version.longValue()).versionType(VersionType.External);
+                    }
+                    return indexOperation;
+                })
+            )
+        );
+        documents.add(Map.entry(entity.getClass(), id));
+        return id;
+    }
+
+    private static Number versionOf(ElasticsearchPersistentEntity<?> persistentEntity, Object entity) {
+        // the version of a report does not change with its children, which its document embeds
+        if (entity instanceof ReportDocument reportDocument && reportDocument.getSearchVersion() != null) {
+            return reportDocument.getSearchVersion();
+        }
+        return persistentEntity.hasVersionProperty()
+            ? (Number) persistentEntity.getPropertyAccessor(entity).getProperty(persistentEntity.getVersionProperty())
+            : null;
+    }
+
+    private void addDeleteOperation(
+        List<BulkOperation> operations,
+        List<Map.Entry<Class<?>, Long>> documents,
+        String index,
+        Class<?> type,
+        Long id
+    ) {
+        operations.add(BulkOperation.of(operation -> operation.delete(delete -> delete.index(index).id(id.toString()))));
+        documents.add(Map.entry(type, id));
+    }
+
+    private Mono<Map<Class<?>, Set<Long>>> execute(List<BulkOperation> operations, List<Map.Entry<Class<?>, Long>> documents) {
+        if (operations.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        BulkRequest request = BulkRequest.of(bulk -> bulk.operations(operations));
+        return Mono.from(reactiveElasticsearchTemplate.execute(client -> client.bulk(request))).map(response -> {
+            Map<Class<?>, Set<Long>> failures = new HashMap<>();
+            if (response.errors()) {
+                List<BulkResponseItem> items = response.items();
+                for (int i = 0; i < items.size(); i++) {
+                    BulkResponseItem item = items.get(i);
+                    if (item.error() == null || (item.operationType() == OperationType.Index && item.status() == VERSION_CONFLICT_STATUS)) {
+                        continue;
+                    }
+                    Map.Entry<Class<?>, Long> document = documents.get(i);
+                    LOG.warn(
+                        "Could not write {} {} to the index {}: {}",
+                        document.getKey().getSimpleName(),
+                        document.getValue(),
+                        item.index(),
+                        item.error().reason()
+                    );
+                    failures.computeIfAbsent(document.getKey(), type -> new HashSet<>()).add(document.getValue());
+                }
+            }
+            return failures;
+        });
+    }
+}
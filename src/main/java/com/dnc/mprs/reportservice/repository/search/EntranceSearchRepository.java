@@ -1,14 +1,19 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.criteria.EntranceCriteria;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Entrance} entity.
@@ -16,24 +21,61 @@ import reactor.core.publisher.Flux;
 public interface EntranceSearchRepository extends ReactiveElasticsearchRepository<Entrance, Long>, EntranceSearchRepositoryInternal {}
 
 interface EntranceSearchRepositoryInternal {
-    Flux<Entrance> search(String query, Pageable pageable);
+    Mono<SearchPage<Entrance>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<Entrance>> search(String query, SearchCursor cursor);
+
+    Mono<SearchPage<Entrance>> searchByCriteria(String text, EntranceCriteria criteria, Pageable pageable);
 
     Flux<Entrance> search(Query query);
 }
 
 class EntranceSearchRepositoryInternalImpl implements EntranceSearchRepositoryInternal {
 
+    private static final List<String> TEXT_FIELDS = List.of("entranceName", "pantryPresence", "remarks");
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    EntranceSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    EntranceSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<Entrance> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Entrance>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Entrance.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Entrance>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, Entrance.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Entrance>> searchByCriteria(String text, EntranceCriteria criteria, Pageable pageable) {
+        FilterQueryBuilder filters = new FilterQueryBuilder()
+            .range("id", criteria.getId())
+            .term("condtionLevel", criteria.getCondtionLevel())
+            .range("entranceSize", criteria.getEntranceSize())
+            .range("shoeRackSize", criteria.getShoeRackSize())
+            .range("reportId", criteria.getReportId());
+        NativeQuery nativeQuery = new NativeQuery(filters.build(text, TEXT_FIELDS));
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Entrance.class);
     }
 
     @Override
@@ -1,14 +1,19 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.criteria.EnvFactorCriteria;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link EnvFactor} entity.
@@ -16,24 +21,59 @@ import reactor.core.publisher.Flux;
 public interface EnvFactorSearchRepository extends ReactiveElasticsearchRepository<EnvFactor, Long>, EnvFactorSearchRepositoryInternal {}
 
 interface EnvFactorSearchRepositoryInternal {
-    Flux<EnvFactor> search(String query, Pageable pageable);
+    Mono<SearchPage<EnvFactor>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<EnvFactor>> search(String query, SearchCursor cursor);
+
+    Mono<SearchPage<EnvFactor>> searchByCriteria(String text, EnvFactorCriteria criteria, Pageable pageable);
 
     Flux<EnvFactor> search(Query query);
 }
 
 class EnvFactorSearchRepositoryInternalImpl implements EnvFactorSearchRepositoryInternal {
 
+    private static final List<String> TEXT_FIELDS = List.of("envFactorName", "remarks");
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    EnvFactorSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    EnvFactorSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<EnvFactor> search(String query, Pageable pageable) {
+    public Mono<SearchPage<EnvFactor>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, EnvFactor.class);
+    }
+
+    @Override
+    public Mono<SearchPage<EnvFactor>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, EnvFactor.class);
+    }
+
+    @Override
+    public Mono<SearchPage<EnvFactor>> searchByCriteria(String text, EnvFactorCriteria criteria, Pageable pageable) {
+        FilterQueryBuilder filters = new FilterQueryBuilder()
+            .range("id", criteria.getId())
+            .range("envFactorDistance", criteria.getEnvFactorDistance())
+            .range("reportId", criteria.getReportId());
+        NativeQuery nativeQuery = new NativeQuery(filters.build(text, TEXT_FIELDS));
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, EnvFactor.class);
     }
 
     @Override
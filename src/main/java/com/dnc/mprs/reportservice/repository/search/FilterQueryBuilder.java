@@ -0,0 +1,210 @@
+package com.dnc.mprs.reportservice.repository.search;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.ChildScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import co.elastic.clients.json.JsonData;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Builder of the Elasticsearch queries of the JHipster {@link Filter}s of a criteria.
+ * <p>
+ * The filters only restrict the hits, so they are rendered as {@code filter} and {@code must_not} clauses of a
+ * {@code bool} query: they are not scored, and their results are cached by the nodes.
+ */
+final class FilterQueryBuilder {
+
+    private final String prefix;
+
+    private final List<Query> filter = new ArrayList<>();
+
+    private final List<Query> mustNot = new ArrayList<>();
+
+    FilterQueryBuilder() {
+        this("");
+    }
+
+    private FilterQueryBuilder(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Match the values of a keyword, enum or numeric field exactly.
+     */
+    FilterQueryBuilder term(String field, Filter<?> criteria) {
+        if (criteria == null) {
+            return this;
+        }
+        String name = prefix + field;
+        if (criteria.getEquals() != null) {
+            filter.add(termQuery(name, criteria.getEquals()));
+        }
+        if (criteria.getNotEquals() != null) {
+            mustNot.add(termQuery(name, criteria.getNotEquals()));
+        }
+        if (criteria.getIn() != null) {
+            filter.add(termsQuery(name, criteria.getIn()));
+        }
+        if (criteria.getNotIn() != null) {
+            mustNot.add(termsQuery(name, criteria.getNotIn()));
+        }
+        if (criteria.getSpecified() != null) {
+            Query exists = Query.of(query -> query.exists(e -> e.field(name)));
+            (criteria.getSpecified() ? filter : mustNot).add(exists);
+        }
+        return this;
+    }
+
+    /**
+     * Match the values of a numeric or date field exactly, or within bounds.
+     */
+    FilterQueryBuilder range(String field, RangeFilter<?> criteria) {
+        if (criteria == null) {
+            return this;
+        }
+        term(field, criteria);
+        if (
+            criteria.getGreaterThan() != null ||
+            criteria.getGreaterThanOrEqual() != null ||
+            criteria.getLessThan() != null ||
+            criteria.getLessThanOrEqual() != null
+        ) {
+            RangeQuery.Builder range = new RangeQuery.Builder().field(prefix + field);
+            if (criteria.getGreaterThan() != null) {
+                range.gt(JsonData.of(value(criteria.getGreaterThan())));
+            }
+            if (criteria.getGreaterThanOrEqual() != null) {
+                range.gte(JsonData.of(value(criteria.getGreaterThanOrEqual())));
+            }
+            if (criteria.getLessThan() != null) {
+                range.lt(JsonData.of(value(criteria.getLessThan())));
+            }
+            if (criteria.getLessThanOrEqual() != null) {
+                range.lte(JsonData.of(value(criteria.getLessThanOrEqual())));
+            }
+            filter.add(range.build()._toQuery());
+        }
+        return this;
+    }
+
+    /**
+     * Match the words of a text field: {@code equals} as a phrase, {@code contains} as all the words in any order.
+     */
+    FilterQueryBuilder text(String field, StringFilter criteria) {
+        if (criteria == null) {
+            return this;
+        }
+        String name = prefix + field;
+        if (criteria.getEquals() != null) {
+            filter.add(Query.of(query -> query.matchPhrase(match -> match.field(name).query(criteria.getEquals()))));
+        }
+        if (criteria.getNotEquals() != null) {
+            mustNot.add(Query.of(query -> query.matchPhrase(match -> match.field(name).query(criteria.getNotEquals()))));
+        }
+        if (criteria.getContains() != null) {
+            filter.add(matchQuery(name, criteria.getContains()));
+        }
+        if (criteria.getDoesNotContain() != null) {
+            mustNot.add(matchQuery(name, criteria.getDoesNotContain()));
+        }
+        if (criteria.getSpecified() != null) {
+            Query exists = Query.of(query -> query.exists(e -> e.field(name)));
+            (criteria.getSpecified() ? filter : mustNot).add(exists);
+        }
+        return this;
+    }
+
+    /**
+     * Match the documents of which one nested object, of the given path, matches all the filters added by {@code filters}.
+     */
+    FilterQueryBuilder nested(String path, Consumer<FilterQueryBuilder> filters) {
+        FilterQueryBuilder nested = new FilterQueryBuilder(prefix + path + ".");
+        filters.accept(nested);
+        if (!nested.isEmpty()) {
+            Query query = nested.build();
+            filter.add(Query.of(q -> q.nested(n -> n.path(prefix + path).scoreMode(ChildScoreMode.None).query(query))));
+        }
+        return this;
+    }
+
+    boolean isEmpty() {
+        return filter.isEmpty() && mustNot.isEmpty();
+    }
+
+    /**
+     * Add the filters to a {@code bool} query, next to its scored clauses.
+     */
+    BoolQuery.Builder applyTo(BoolQuery.Builder bool) {
+        return bool.filter(filter).mustNot(mustNot);
+    }
+
+    /**
+     * @return the query matching all the filters, or all the documents if there is none.
+     */
+    Query build() {
+        return isEmpty() ? Query.of(query -> query.matchAll(all -> all)) : Query.of(query -> query.bool(bool -> applyTo(bool)));
+    }
+
+    /**
+     * Build the query of a structured search: the hits match all the filters, and are scored by the given text only.
+     *
+     * @param text the text typed by the user, searched as is in the given fields, or {@code null} or blank to score all
+     * the hits the same.
+     * @param fields the text fields of the documents.
+     * @return the query.
+     */
+    Query build(String text, List<String> fields) {
+        if (text == null || text.isBlank()) {
+            return build();
+        }
+        Query match = MultiMatchQuery.of(multiMatch -> multiMatch.query(text).fields(fields))._toQuery();
+        return Query.of(query -> query.bool(bool -> applyTo(bool).must(match)));
+    }
+
+    private static Query termQuery(String field, Object value) {
+        return Query.of(query -> query.term(term -> term.field(field).value(fieldValue(value))));
+    }
+
+    private static Query termsQuery(String field, List<?> values) {
+        List<FieldValue> fieldValues = values.stream().map(FilterQueryBuilder::fieldValue).toList();
+        return Query.of(query -> query.terms(terms -> terms.field(field).terms(t -> t.value(fieldValues))));
+    }
+
+    private static Query matchQuery(String field, String text) {
+        return Query.of(query -> query.match(match -> match.field(field).query(text).operator(Operator.And)));
+    }
+
+    private static FieldValue fieldValue(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            return FieldValue.of(((Number) value).longValue());
+        }
+        if (value instanceof Number number) {
+            return FieldValue.of(number.doubleValue());
+        }
+        if (value instanceof Boolean bool) {
+            return FieldValue.of(bool);
+        }
+        return FieldValue.of(value(value).toString());
+    }
+
+    private static Object value(Object value) {
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        // the dates are indexed as ISO-8601 strings
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return value;
+    }
+}
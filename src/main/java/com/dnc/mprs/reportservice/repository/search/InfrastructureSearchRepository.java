@@ -1,14 +1,19 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.criteria.InfrastructureCriteria;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Infrastructure} entity.
@@ -17,24 +22,62 @@ public interface InfrastructureSearchRepository
     extends ReactiveElasticsearchRepository<Infrastructure, Long>, InfrastructureSearchRepositoryInternal {}
 
 interface InfrastructureSearchRepositoryInternal {
-    Flux<Infrastructure> search(String query, Pageable pageable);
+    Mono<SearchPage<Infrastructure>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<Infrastructure>> search(String query, SearchCursor cursor);
+
+    Mono<SearchPage<Infrastructure>> searchByCriteria(String text, InfrastructureCriteria criteria, Pageable pageable);
 
     Flux<Infrastructure> search(Query query);
 }
 
 class InfrastructureSearchRepositoryInternalImpl implements InfrastructureSearchRepositoryInternal {
 
+    private static final List<String> TEXT_FIELDS = List.of("infraName", "remarks");
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    InfrastructureSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    InfrastructureSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<Infrastructure> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Infrastructure>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Infrastructure.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Infrastructure>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, Infrastructure.class);
+    }
+
+    @Override
+    public Mono<SearchPage<Infrastructure>> searchByCriteria(String text, InfrastructureCriteria criteria, Pageable pageable) {
+        FilterQueryBuilder filters = new FilterQueryBuilder()
+            .range("id", criteria.getId())
+            .term("infraType", criteria.getInfraType())
+            .term("conditionLevel", criteria.getConditionLevel())
+            .range("infraDistance", criteria.getInfraDistance())
+            .term("infraDistanceUnit", criteria.getInfraDistanceUnit())
+            .range("reportId", criteria.getReportId());
+        NativeQuery nativeQuery = new NativeQuery(filters.build(text, TEXT_FIELDS));
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, Infrastructure.class);
     }
 
     @Override
@@ -1,14 +1,19 @@
 package com.dnc.mprs.reportservice.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
 import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.criteria.LivingRoomCriteria;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link LivingRoom} entity.
@@ -16,24 +21,61 @@ import reactor.core.publisher.Flux;
 public interface LivingRoomSearchRepository extends ReactiveElasticsearchRepository<LivingRoom, Long>, LivingRoomSearchRepositoryInternal {}
 
 interface LivingRoomSearchRepositoryInternal {
-    Flux<LivingRoom> search(String query, Pageable pageable);
+    Mono<SearchPage<LivingRoom>> search(String query, Pageable pageable);
+
+    Mono<SearchPage<LivingRoom>> search(String query, SearchCursor cursor);
+
+    Mono<SearchPage<LivingRoom>> searchByCriteria(String text, LivingRoomCriteria criteria, Pageable pageable);
 
     Flux<LivingRoom> search(Query query);
 }
 
 class LivingRoomSearchRepositoryInternalImpl implements LivingRoomSearchRepositoryInternal {
 
+    private static final List<String> TEXT_FIELDS = List.of("livingRoomName", "floorMaterial", "sunlight", "remarks");
+
     private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
 
-    LivingRoomSearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+    private final int trackTotalHitsUpTo;
+
+    private final PointInTimeSearch pointInTimeSearch;
+
+    LivingRoomSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
         this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.pointInTimeSearch = new PointInTimeSearch(reactiveElasticsearchTemplate, applicationProperties);
     }
 
     @Override
-    public Flux<LivingRoom> search(String query, Pageable pageable) {
+    public Mono<SearchPage<LivingRoom>> search(String query, Pageable pageable) {
         NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
         nativeQuery.setPageable(pageable);
-        return search(nativeQuery);
+        // the hits and the total of the query come from the same request, the total being exact up to the cap
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, LivingRoom.class);
+    }
+
+    @Override
+    public Mono<SearchPage<LivingRoom>> search(String query, SearchCursor cursor) {
+        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        return pointInTimeSearch.search(nativeQuery, cursor, LivingRoom.class);
+    }
+
+    @Override
+    public Mono<SearchPage<LivingRoom>> searchByCriteria(String text, LivingRoomCriteria criteria, Pageable pageable) {
+        FilterQueryBuilder filters = new FilterQueryBuilder()
+            .range("id", criteria.getId())
+            .term("conditionLevel", criteria.getConditionLevel())
+            .range("roomSize", criteria.getRoomSize())
+            .term("wallState", criteria.getWallState())
+            .range("reportId", criteria.getReportId());
+        NativeQuery nativeQuery = new NativeQuery(filters.build(text, TEXT_FIELDS));
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, LivingRoom.class);
     }
 
     @Override
@@ -0,0 +1,66 @@
+package com.dnc.mprs.reportservice.repository.search;
+
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import java.time.Duration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.query.Query;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cursor search of an index, with {@code search_after} on a point in time, see {@link SearchCursor}.
+ * <p>
+ * The point in time is opened with the first page and closed with the last one; the point in time of a walk which is
+ * abandoned expires when no page was requested for {@code application.search.cursor-keep-alive}.
+ */
+final class PointInTimeSearch {
+
+    private static final String SCORE_PROPERTY = "_score";
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    private final Duration keepAlive;
+
+    private final int trackTotalHitsUpTo;
+
+    PointInTimeSearch(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate, ApplicationProperties applicationProperties) {
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.keepAlive = applicationProperties.getSearch().getCursorKeepAlive();
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+    }
+
+    /**
+     * Search for the page of hits of the given cursor.
+     *
+     * @param query the query, which must be the same for all the pages of a walk.
+     * @param cursor the cursor of the page.
+     * @param type the type of the documents.
+     * @return the page of hits, with the total number of documents matching the query and the id of the point in time.
+     */
+    <T> Mono<SearchPage<T>> search(NativeQuery query, SearchCursor cursor, Class<T> type) {
+        Mono<String> pointInTimeId = cursor.hasAfter()
+            ? Mono.just(cursor.getPointInTimeId())
+            : reactiveElasticsearchTemplate.openPointInTime(reactiveElasticsearchTemplate.getIndexCoordinatesFor(type), keepAlive, false);
+        return pointInTimeId.flatMap(id -> {
+            // the hits are tied by their position in the shards, which is added to the sort values of a point in time search
+            Sort sort = cursor.getSort().isSorted() ? cursor.getSort() : Sort.by(Sort.Direction.DESC, SCORE_PROPERTY);
+            query.setPointInTime(new Query.PointInTime(id, keepAlive));
+            query.setPageable(PageRequest.of(0, cursor.getSize(), sort));
+            if (cursor.hasAfter()) {
+                query.setSearchAfter(cursor.getSearchAfter());
+            }
+            query.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+            return reactiveElasticsearchTemplate
+                .searchForPage(query, type)
+                .flatMap(page -> page.getNumberOfElements() < cursor.getSize() ? close(page, id) : Mono.just(page));
+        });
+    }
+
+    private <T> Mono<SearchPage<T>> close(SearchPage<T> page, String id) {
+        String pointInTimeId = page.getSearchHits().getPointInTimeId();
+        return reactiveElasticsearchTemplate.closePointInTime(pointInTimeId != null ? pointInTimeId : id).thenReturn(page);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dnc.mprs.reportservice.repository.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import com.dnc.mprs.reportservice.domain.criteria.ReportCriteria;
+import com.dnc.mprs.reportservice.domain.criteria.ReportDocumentCriteria;
+import com.dnc.mprs.reportservice.domain.criteria.ReportDocumentCriteria.RoomSummaryCriteria;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data Elasticsearch repository for the {@link ReportDocument} search documents of the {@code report} index.
+ */
+public interface ReportDocumentSearchRepository
+    extends ReactiveElasticsearchRepository<ReportDocument, Long>, ReportDocumentSearchRepositoryInternal {}
+
+interface ReportDocumentSearchRepositoryInternal {
+    Mono<SearchPage<ReportDocument>> search(String query, ReportDocumentCriteria criteria, Pageable pageable);
+
+    Mono<SearchPage<ReportDocument>> searchByCriteria(String text, ReportDocumentCriteria criteria, Pageable pageable);
+}
+
+class ReportDocumentSearchRepositoryInternalImpl implements ReportDocumentSearchRepositoryInternal {
+
+    private static final List<String> TEXT_FIELDS = List.of(
+        "reportTitle",
+        "summary",
+        "parkingFacility",
+        "cctvYn",
+        "redevelopmentYn",
+        "rentalDemand",
+        "communityRules",
+        "complexName",
+        "propertyName"
+    );
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    private final int trackTotalHitsUpTo;
+
+    ReportDocumentSearchRepositoryInternalImpl(
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        ApplicationProperties applicationProperties
+    ) {
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+    }
+
+    @Override
+    public Mono<SearchPage<ReportDocument>> search(String query, ReportDocumentCriteria criteria, Pageable pageable) {
+        // the whole question is answered by a single query: only the text is scored, the filters match by the same child
+        BoolQuery.Builder bool = filters(criteria).applyTo(new BoolQuery.Builder());
+        if (query != null && !query.isBlank()) {
+            bool.must(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
+        }
+        return search(new NativeQuery(bool.build()._toQuery()), pageable);
+    }
+
+    @Override
+    public Mono<SearchPage<ReportDocument>> searchByCriteria(String text, ReportDocumentCriteria criteria, Pageable pageable) {
+        return search(new NativeQuery(filters(criteria).build(text, TEXT_FIELDS)), pageable);
+    }
+
+    private Mono<SearchPage<ReportDocument>> search(NativeQuery nativeQuery, Pageable pageable) {
+        nativeQuery.setPageable(pageable);
+        nativeQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        return reactiveElasticsearchTemplate.searchForPage(nativeQuery, ReportDocument.class);
+    }
+
+    private static FilterQueryBuilder filters(ReportDocumentCriteria criteria) {
+        return report(new FilterQueryBuilder(), criteria)
+            .nested("bedrooms", rooms -> rooms(rooms, criteria.getBedrooms()))
+            .nested("kitchens", rooms -> rooms(rooms, criteria.getKitchens()))
+            .nested("bathrooms", rooms -> rooms(rooms, criteria.getBathrooms()))
+            .nested("livingRooms", rooms -> rooms(rooms, criteria.getLivingRooms()))
+            .nested("entrances", rooms -> rooms(rooms, criteria.getEntrances()))
+            .nested("infrastructures", infrastructures ->
+                criteria
+                    .optionalInfrastructures()
+                    .ifPresent(infrastructure ->
+                        infrastructures
+                            .term("infraType", infrastructure.getInfraType())
+                            .term("conditionLevel", infrastructure.getConditionLevel())
+                            .range("distance", infrastructure.getDistance())
+                            .text("name", infrastructure.getName())
+                    )
+            )
+            .nested("envFactors", envFactors ->
+                criteria
+                    .optionalEnvFactors()
+                    .ifPresent(envFactor -> envFactors.range("distance", envFactor.getDistance()).text("name", envFactor.getName()))
+            );
+    }
+
+    private static FilterQueryBuilder report(FilterQueryBuilder filters, ReportCriteria criteria) {
+        return filters
+            .range("id", criteria.getId())
+            .range("reportDate", criteria.getReportDate())
+            .term("exteriorState", criteria.getExteriorState())
+            .range("constructionYear", criteria.getConstructionYear())
+            .term("maintenanceState", criteria.getMaintenanceState())
+            .range("parkingCount", criteria.getParkingCount())
+            .term("elevatorState", criteria.getElevatorState())
+            .term("noiseState", criteria.getNoiseState())
+            .term("homepadState", criteria.getHomepadState())
+            .term("fireSafetyState", criteria.getFireSafetyState())
+            .term("doorSecurityState", criteria.getDoorSecurityState())
+            .range("maintenanceFee", criteria.getMaintenanceFee())
+            .range("complexId", criteria.getComplexId())
+            .range("propertyId", criteria.getPropertyId())
+            .range("createdAt", criteria.getCreatedAt())
+            .range("updatedAt", criteria.getUpdatedAt())
+            .range("authorId", criteria.getAuthorId());
+    }
+
+    private static void rooms(FilterQueryBuilder rooms, RoomSummaryCriteria criteria) {
+        if (criteria != null) {
+            rooms.term("conditionLevel", criteria.getConditionLevel()).text("name", criteria.getName());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.dnc.mprs.reportservice.repository.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pagination information for cursor (search after) pagination of the search results.
+ * <p>
+ * Instead of an offset, a page is described by a point in time of the searched index, which keeps the results of the
+ * first page stable during the whole walk, and by the sort values of the last hit of the previous page, so Elasticsearch
+ * resumes directly after that hit, however deep the page is. The position is exchanged with clients as an opaque cursor,
+ * see {@link #toCursor()} and {@link #of(Pageable, String)}.
+ */
+public final class SearchCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String POINT_IN_TIME_FIELD = "pit";
+    private static final String SORT_FIELD = "sort";
+    private static final String AFTER_FIELD = "after";
+    private static final String SEPARATOR = ",";
+
+    private final int size;
+
+    private final Sort sort;
+
+    private final String pointInTimeId;
+
+    private final List<Object> searchAfter;
+
+    private SearchCursor(int size, Sort sort, String pointInTimeId, List<Object> searchAfter) {
+        this.size = size;
+        this.sort = sort;
+        this.pointInTimeId = pointInTimeId;
+        this.searchAfter = searchAfter;
+    }
+
+    /**
+     * Create the cursor pagination information from the requested page and an optional cursor.
+     *
+     * @param pageable the requested page, only the page size is used if a cursor is given, the page number is always ignored.
+     * @param cursor the cursor returned with the previous page, or {@code null} or blank for the first page.
+     * @return the cursor pagination information.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public static SearchCursor of(Pageable pageable, String cursor) {
+        int size = pageable.getPageSize();
+        if (cursor == null || cursor.isBlank()) {
+            return new SearchCursor(size, pageable.getSort(), null, null);
+        }
+        try {
+            JsonNode node = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+            String pointInTimeId = node.path(POINT_IN_TIME_FIELD).textValue();
+            if (pointInTimeId == null || !node.path(SORT_FIELD).isArray() || node.path(AFTER_FIELD).isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            List<Sort.Order> orders = new ArrayList<>();
+            for (JsonNode order : node.path(SORT_FIELD)) {
+                String[] parts = order.asText().split(SEPARATOR, 2);
+                if (parts.length != 2 || parts[1].isEmpty()) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                orders.add(new Sort.Order(Sort.Direction.fromString(parts[0]), parts[1]));
+            }
+            List<Object> searchAfter = new ArrayList<>();
+            for (JsonNode value : node.path(AFTER_FIELD)) {
+                searchAfter.add(MAPPER.treeToValue(value, Object.class));
+            }
+            return new SearchCursor(size, Sort.by(orders), pointInTimeId, searchAfter);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Create the pagination information of the page following the given hit.
+     *
+     * @param pointInTimeId the id of the point in time returned with the current page, which may change between pages.
+     * @param sortValues the sort values of the last hit of the current page.
+     * @return the pagination information of the next page.
+     */
+    public SearchCursor next(String pointInTimeId, List<Object> sortValues) {
+        return new SearchCursor(size, sort, pointInTimeId, new ArrayList<>(sortValues));
+    }
+
+    /**
+     * @return the opaque cursor of this position, to be passed back by the client to get this page.
+     * @throws IllegalStateException if this is the first page, which has no position yet.
+     */
+    public String toCursor() {
+        if (!hasAfter()) {
+            throw new IllegalStateException("The first page has no cursor");
+        }
+        ObjectNode node = MAPPER.createObjectNode().put(POINT_IN_TIME_FIELD, pointInTimeId);
+        ArrayNode orders = node.putArray(SORT_FIELD);
+        sort.forEach(order -> orders.add(order.getDirection().name() + SEPARATOR + order.getProperty()));
+        node.set(AFTER_FIELD, MAPPER.valueToTree(searchAfter));
+        try {
+            byte[] raw = MAPPER.writeValueAsString(node).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the sort order of the walk, by relevance if unsorted; the hits are always tied by their position in the shards.
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return whether this is a page after a known hit, {@code false} for the first page.
+     */
+    public boolean hasAfter() {
+        return pointInTimeId != null;
+    }
+
+    public String getPointInTimeId() {
+        return pointInTimeId;
+    }
+
+    /**
+     * @return the sort values of the last hit of the previous page, or {@code null} for the first page.
+     */
+    public List<Object> getSearchAfter() {
+        return searchAfter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchCursor)) {
+            return false;
+        }
+        SearchCursor that = (SearchCursor) o;
+        return (
+            size == that.size &&
+            sort.equals(that.sort) &&
+            Objects.equals(pointInTimeId, that.pointInTimeId) &&
+            Objects.equals(searchAfter, that.searchAfter)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, sort, pointInTimeId, searchAfter);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchCursor{" +
+            "size=" + size +
+            ", sort=" + sort +
+            ", pointInTimeId='" + pointInTimeId + "'" +
+            ", searchAfter=" + searchAfter +
+            "}";
+    }
+}
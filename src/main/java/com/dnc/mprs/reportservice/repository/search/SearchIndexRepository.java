@@ -0,0 +1,134 @@
+package com.dnc.mprs.reportservice.repository.search;
+
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.elasticsearch.client.elc.ReactiveElasticsearchTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data Elasticsearch repository managing the versioned indices of the entity types.
+ * <p>
+ * The name of the index of an entity type, e.g. {@code report}, is used by the rest of the application as an alias,
+ * pointing at a versioned index such as {@code report-v1760742000000}; a reindex fills a new versioned index, then swaps
+ * the alias to it atomically, so searches and writes never see a missing or partial index.
+ */
+@Repository
+public class SearchIndexRepository {
+
+    private static final String VERSION_SEPARATOR = "-v";
+
+    private static final Time DISABLED_REFRESH_INTERVAL = Time.of(time -> time.time("-1"));
+
+    private static final Time DEFAULT_REFRESH_INTERVAL = Time.of(time -> time.time("1s"));
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    public SearchIndexRepository(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+    }
+
+    /**
+     * Create a new versioned index for an entity type, with the mapping of the entity and without refresh while it is filled.
+     *
+     * @param entityType the type of the entities.
+     * @param version the version of the index, e.g. the current time in milliseconds.
+     * @return the name of the created index.
+     */
+    public Mono<String> createVersionedIndex(Class<?> entityType, long version) {
+        String index = aliasOf(entityType) + VERSION_SEPARATOR + version;
+        return reactiveElasticsearchTemplate
+            .indexOps(entityType)
+            .createMapping()
+            .flatMap(mapping ->
+                Mono.from(
+                    reactiveElasticsearchTemplate.execute(client ->
+                        client
+                            .indices()
+                            .create(create ->
+                                create
+                                    .index(index)
+                                    .mappings(mappings -> mappings.withJson(new StringReader(mapping.toJson())))
+                                    .settings(settings -> settings.refreshInterval(DISABLED_REFRESH_INTERVAL))
+                            )
+                    )
+                )
+            )
+            .thenReturn(index);
+    }
+
+    /**
+     * Make a filled index searchable: enable its refresh again, and refresh it.
+     *
+     * @param index the name of the index.
+     * @return a {@link Mono} completing when the index is refreshed.
+     */
+    public Mono<Void> refresh(String index) {
+        return Mono.from(
+            reactiveElasticsearchTemplate.execute(client ->
+                client
+                    .indices()
+                    .putSettings(put -> put.index(index).settings(settings -> settings.refreshInterval(DEFAULT_REFRESH_INTERVAL)))
+            )
+        )
+            .then(Mono.from(reactiveElasticsearchTemplate.execute(client -> client.indices().refresh(refresh -> refresh.index(index)))))
+            .then();
+    }
+
+    /**
+     * Point the alias of an entity type at the given index, in a single atomic request, then delete the indices it pointed at.
+     * <p>
+     * An index named as the alias, as created by the first start of the application, is replaced by the alias.
+     *
+     * @param entityType the type of the entities.
+     * @param index the name of the new index.
+     * @return the names of the deleted indices.
+     */
+    public Mono<Set<String>> swapAlias(Class<?> entityType, String index) {
+        String alias = aliasOf(entityType);
+        return Mono.from(
+            reactiveElasticsearchTemplate.execute(client -> client.indices().get(get -> get.index(alias).ignoreUnavailable(true)))
+        )
+            .map(response -> response.result().keySet())
+            .flatMap(previous -> {
+                List<Action> actions = new ArrayList<>();
+                actions.add(Action.of(action -> action.add(add -> add.index(index).alias(alias))));
+                List<String> stale = new ArrayList<>();
+                for (String previousIndex : previous) {
+                    if (previousIndex.equals(alias)) {
+                        actions.add(Action.of(action -> action.removeIndex(remove -> remove.index(previousIndex))));
+                    } else if (!previousIndex.equals(index)) {
+                        actions.add(Action.of(action -> action.remove(remove -> remove.index(previousIndex).alias(alias))));
+                        stale.add(previousIndex);
+                    }
+                }
+                Mono<?> swap = Mono.from(
+                    reactiveElasticsearchTemplate.execute(client -> client.indices().updateAliases(update -> update.actions(actions)))
+                );
+                Mono<?> cleanup = stale.isEmpty()
+                    ? Mono.empty()
+                    : Mono.from(reactiveElasticsearchTemplate.execute(client -> client.indices().delete(delete -> delete.index(stale))));
+                return swap.then(cleanup).thenReturn(Set.copyOf(previous));
+            });
+    }
+
+    /**
+     * Delete an index, e.g. the new index of a failed reindex.
+     *
+     * @param index the name of the index.
+     * @return a {@link Mono} completing when the index is deleted.
+     */
+    public Mono<Void> deleteIndex(String index) {
+        return Mono.from(
+            reactiveElasticsearchTemplate.execute(client -> client.indices().delete(delete -> delete.index(index).ignoreUnavailable(true)))
+        ).then();
+    }
+
+    private String aliasOf(Class<?> entityType) {
+        return reactiveElasticsearchTemplate.getIndexCoordinatesFor(entityType).getIndexName();
+    }
+}
@@ -1,11 +1,15 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.domain.criteria.AuthorCriteria;
 import com.dnc.mprs.reportservice.repository.AuthorRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.search.AuthorSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +28,24 @@ public class AuthorService {
 
     private final AuthorSearchRepository authorSearchRepository;
 
-    public AuthorService(AuthorRepository authorRepository, AuthorSearchRepository authorSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public AuthorService(
+        AuthorRepository authorRepository,
+        AuthorSearchRepository authorSearchRepository,
+        SearchOutboxService searchOutboxService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.authorRepository = authorRepository;
         this.authorSearchRepository = authorSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,46 +56,41 @@ public class AuthorService {
      */
     public Mono<Author> save(Author author) {
         LOG.debug("Request to save Author : {}", author);
-        return authorRepository.save(author).flatMap(authorSearchRepository::save);
+        return authorRepository
+            .save(author)
+            .flatMap(saved -> searchOutboxService.enqueue(Author.class, saved.getId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Author.class, 1));
     }
 
     /**
-     * Update a author.
+     * Update a author with a single {@code UPDATE} statement.
      *
      * @param author the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Author> update(Author author) {
         LOG.debug("Request to update Author : {}", author);
-        return authorRepository.save(author).flatMap(authorSearchRepository::save);
+        return authorRepository
+            .update(author)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(Author.class, author.getId()).thenReturn(author))
+            .flatMap(saved -> reportSnapshotService.refreshByAuthor(saved.getId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a author.
+     * Partially update a author: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param author the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Author> partialUpdate(Author author) {
         LOG.debug("Request to partially update Author : {}", author);
-
         return authorRepository
-            .findById(author.getId())
-            .map(existingAuthor -> {
-                if (author.getName() != null) {
-                    existingAuthor.setName(author.getName());
-                }
-                if (author.getContactInfo() != null) {
-                    existingAuthor.setContactInfo(author.getContactInfo());
-                }
-
-                return existingAuthor;
-            })
-            .flatMap(authorRepository::save)
-            .flatMap(savedAuthor -> {
-                authorSearchRepository.save(savedAuthor);
-                return Mono.just(savedAuthor);
-            });
+            .partialUpdate(author)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> authorRepository.findById(author.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Author.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refreshByAuthor(saved.getId()).thenReturn(saved));
     }
 
     /**
@@ -91,6 +105,31 @@ public class AuthorService {
         return authorRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the authors matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Author> findByCriteria(AuthorCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Authors by criteria : {}", criteria);
+        return authorRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the authors using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Author> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Authors : {}", keyset);
+        return authorRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of authors available.
      * @return the number of entities in the database.
@@ -101,11 +140,29 @@ public class AuthorService {
     }
 
     /**
-     * Returns the number of authors available in search repository.
+     * Returns the number of authors available, computed as requested.
+     *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
+     */
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Author.class, mode, authorRepository::count);
+    }
+
+    /**
+     * Returns the number of authors matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
      *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return authorSearchRepository.count();
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(AuthorCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new AuthorCriteria())) {
+            return countAll(mode);
+        }
+        return authorRepository.countByCriteria(criteria);
     }
 
     /**
@@ -128,7 +185,10 @@ public class AuthorService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Author : {}", id);
-        return authorRepository.deleteById(id).then(authorSearchRepository.deleteById(id));
+        return authorRepository
+            .deleteById(id)
+            .then(searchOutboxService.enqueue(Author.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Author.class));
     }
 
     /**
@@ -136,11 +196,24 @@ public class AuthorService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Author> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Author>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Authors for query {}", query);
         return authorSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the author corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Author>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Authors for query {}", query);
+        return authorSearchRepository.search(query, cursor);
+    }
 }
@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.criteria.BathroomCriteria;
 import com.dnc.mprs.reportservice.repository.BathroomRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.search.BathroomSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +30,28 @@ public class BathroomService {
 
     private final BathroomSearchRepository bathroomSearchRepository;
 
-    public BathroomService(BathroomRepository bathroomRepository, BathroomSearchRepository bathroomSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public BathroomService(
+        BathroomRepository bathroomRepository,
+        BathroomSearchRepository bathroomSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.bathroomRepository = bathroomRepository;
         this.bathroomSearchRepository = bathroomSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,64 +62,70 @@ public class BathroomService {
      */
     public Mono<Bathroom> save(Bathroom bathroom) {
         LOG.debug("Request to save Bathroom : {}", bathroom);
-        return bathroomRepository.save(bathroom).flatMap(bathroomSearchRepository::save);
+        return bathroomRepository
+            .save(bathroom)
+            .flatMap(saved -> searchOutboxService.enqueue(Bathroom.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Bathroom.class, 1));
     }
 
     /**
-     * Update a bathroom.
+     * Save a batch of new bathrooms.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param bathrooms the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<Bathroom>> saveAll(List<Bathroom> bathrooms) {
+        LOG.debug("Request to save a batch of {} Bathrooms", bathrooms.size());
+        return bulkCreateService
+            .createAll(
+                bathrooms,
+                Bathroom.class,
+                Bathroom::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(Bathroom::getReportId).toList())
+                        .thenMany(bathroomRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(Bathroom.class));
+    }
+
+    /**
+     * Update a bathroom with a single {@code UPDATE} statement.
      *
      * @param bathroom the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Bathroom> update(Bathroom bathroom) {
         LOG.debug("Request to update Bathroom : {}", bathroom);
-        return bathroomRepository.save(bathroom).flatMap(bathroomSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the bathroom is moved to another report
+        return bathroomRepository
+            .findReportIdById(bathroom.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(bathroomRepository.update(bathroom))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(Bathroom.class, bathroom.getId()).thenReturn(bathroom))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a bathroom.
+     * Partially update a bathroom: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param bathroom the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Bathroom> partialUpdate(Bathroom bathroom) {
         LOG.debug("Request to partially update Bathroom : {}", bathroom);
-
         return bathroomRepository
-            .findById(bathroom.getId())
-            .map(existingBathroom -> {
-                if (bathroom.getBathroomName() != null) {
-                    existingBathroom.setBathroomName(bathroom.getBathroomName());
-                }
-                if (bathroom.getCondtionLevel() != null) {
-                    existingBathroom.setCondtionLevel(bathroom.getCondtionLevel());
-                }
-                if (bathroom.getBathroomSize() != null) {
-                    existingBathroom.setBathroomSize(bathroom.getBathroomSize());
-                }
-                if (bathroom.getWaterPressure() != null) {
-                    existingBathroom.setWaterPressure(bathroom.getWaterPressure());
-                }
-                if (bathroom.getShowerBoothPresence() != null) {
-                    existingBathroom.setShowerBoothPresence(bathroom.getShowerBoothPresence());
-                }
-                if (bathroom.getBathtubPresence() != null) {
-                    existingBathroom.setBathtubPresence(bathroom.getBathtubPresence());
-                }
-                if (bathroom.getFloorAndCeiling() != null) {
-                    existingBathroom.setFloorAndCeiling(bathroom.getFloorAndCeiling());
-                }
-                if (bathroom.getRemarks() != null) {
-                    existingBathroom.setRemarks(bathroom.getRemarks());
-                }
-
-                return existingBathroom;
-            })
-            .flatMap(bathroomRepository::save)
-            .flatMap(savedBathroom -> {
-                bathroomSearchRepository.save(savedBathroom);
-                return Mono.just(savedBathroom);
-            });
+            .findReportIdById(bathroom.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(bathroomRepository.partialUpdate(bathroom))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> bathroomRepository.findById(bathroom.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Bathroom.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -109,6 +140,31 @@ public class BathroomService {
         return bathroomRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the bathrooms matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Bathroom> findByCriteria(BathroomCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Bathrooms by criteria : {}", criteria);
+        return bathroomRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the bathrooms using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Bathroom> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Bathrooms : {}", keyset);
+        return bathroomRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of bathrooms available.
      * @return the number of entities in the database.
@@ -119,11 +175,29 @@ public class BathroomService {
     }
 
     /**
-     * Returns the number of bathrooms available in search repository.
+     * Returns the number of bathrooms available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return bathroomSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Bathroom.class, mode, bathroomRepository::count);
+    }
+
+    /**
+     * Returns the number of bathrooms matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(BathroomCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new BathroomCriteria())) {
+            return countAll(mode);
+        }
+        return bathroomRepository.countByCriteria(criteria);
     }
 
     /**
@@ -146,7 +220,12 @@ public class BathroomService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Bathroom : {}", id);
-        return bathroomRepository.deleteById(id).then(bathroomSearchRepository.deleteById(id));
+        return bathroomRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(bathroomRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(Bathroom.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Bathroom.class));
     }
 
     /**
@@ -154,11 +233,38 @@ public class BathroomService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Bathroom> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Bathroom>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Bathrooms for query {}", query);
         return bathroomSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the bathroom corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Bathroom>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Bathrooms for query {}", query);
+        return bathroomSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the bathroom matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Bathroom>> searchByCriteria(String text, BathroomCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Bathrooms for text {} and criteria {}", text, criteria);
+        return bathroomSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.criteria.BedroomCriteria;
 import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.search.BedroomSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +30,28 @@ public class BedroomService {
 
     private final BedroomSearchRepository bedroomSearchRepository;
 
-    public BedroomService(BedroomRepository bedroomRepository, BedroomSearchRepository bedroomSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public BedroomService(
+        BedroomRepository bedroomRepository,
+        BedroomSearchRepository bedroomSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.bedroomRepository = bedroomRepository;
         this.bedroomSearchRepository = bedroomSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,64 +62,70 @@ public class BedroomService {
      */
     public Mono<Bedroom> save(Bedroom bedroom) {
         LOG.debug("Request to save Bedroom : {}", bedroom);
-        return bedroomRepository.save(bedroom).flatMap(bedroomSearchRepository::save);
+        return bedroomRepository
+            .save(bedroom)
+            .flatMap(saved -> searchOutboxService.enqueue(Bedroom.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Bedroom.class, 1));
     }
 
     /**
-     * Update a bedroom.
+     * Save a batch of new bedrooms.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param bedrooms the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<Bedroom>> saveAll(List<Bedroom> bedrooms) {
+        LOG.debug("Request to save a batch of {} Bedrooms", bedrooms.size());
+        return bulkCreateService
+            .createAll(
+                bedrooms,
+                Bedroom.class,
+                Bedroom::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(Bedroom::getReportId).toList())
+                        .thenMany(bedroomRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(Bedroom.class));
+    }
+
+    /**
+     * Update a bedroom with a single {@code UPDATE} statement.
      *
      * @param bedroom the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Bedroom> update(Bedroom bedroom) {
         LOG.debug("Request to update Bedroom : {}", bedroom);
-        return bedroomRepository.save(bedroom).flatMap(bedroomSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the bedroom is moved to another report
+        return bedroomRepository
+            .findReportIdById(bedroom.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(bedroomRepository.update(bedroom))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(Bedroom.class, bedroom.getId()).thenReturn(bedroom))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a bedroom.
+     * Partially update a bedroom: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param bedroom the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Bedroom> partialUpdate(Bedroom bedroom) {
         LOG.debug("Request to partially update Bedroom : {}", bedroom);
-
         return bedroomRepository
-            .findById(bedroom.getId())
-            .map(existingBedroom -> {
-                if (bedroom.getBedroomName() != null) {
-                    existingBedroom.setBedroomName(bedroom.getBedroomName());
-                }
-                if (bedroom.getConditionLevel() != null) {
-                    existingBedroom.setConditionLevel(bedroom.getConditionLevel());
-                }
-                if (bedroom.getRoomSize() != null) {
-                    existingBedroom.setRoomSize(bedroom.getRoomSize());
-                }
-                if (bedroom.getClosetYn() != null) {
-                    existingBedroom.setClosetYn(bedroom.getClosetYn());
-                }
-                if (bedroom.getAcYn() != null) {
-                    existingBedroom.setAcYn(bedroom.getAcYn());
-                }
-                if (bedroom.getWindowLocation() != null) {
-                    existingBedroom.setWindowLocation(bedroom.getWindowLocation());
-                }
-                if (bedroom.getWindowSize() != null) {
-                    existingBedroom.setWindowSize(bedroom.getWindowSize());
-                }
-                if (bedroom.getRemarks() != null) {
-                    existingBedroom.setRemarks(bedroom.getRemarks());
-                }
-
-                return existingBedroom;
-            })
-            .flatMap(bedroomRepository::save)
-            .flatMap(savedBedroom -> {
-                bedroomSearchRepository.save(savedBedroom);
-                return Mono.just(savedBedroom);
-            });
+            .findReportIdById(bedroom.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(bedroomRepository.partialUpdate(bedroom))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> bedroomRepository.findById(bedroom.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Bedroom.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -109,6 +140,31 @@ public class BedroomService {
         return bedroomRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the bedrooms matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Bedroom> findByCriteria(BedroomCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Bedrooms by criteria : {}", criteria);
+        return bedroomRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the bedrooms using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Bedroom> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Bedrooms : {}", keyset);
+        return bedroomRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of bedrooms available.
      * @return the number of entities in the database.
@@ -119,11 +175,29 @@ public class BedroomService {
     }
 
     /**
-     * Returns the number of bedrooms available in search repository.
+     * Returns the number of bedrooms available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return bedroomSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Bedroom.class, mode, bedroomRepository::count);
+    }
+
+    /**
+     * Returns the number of bedrooms matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(BedroomCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new BedroomCriteria())) {
+            return countAll(mode);
+        }
+        return bedroomRepository.countByCriteria(criteria);
     }
 
     /**
@@ -146,7 +220,12 @@ public class BedroomService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Bedroom : {}", id);
-        return bedroomRepository.deleteById(id).then(bedroomSearchRepository.deleteById(id));
+        return bedroomRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(bedroomRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(Bedroom.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Bedroom.class));
     }
 
     /**
@@ -154,11 +233,38 @@ public class BedroomService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Bedroom> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Bedroom>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Bedrooms for query {}", query);
         return bedroomSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the bedroom corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Bedroom>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Bedrooms for query {}", query);
+        return bedroomSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the bedroom matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Bedroom>> searchByCriteria(String text, BedroomCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Bedrooms for text {} and criteria {}", text, criteria);
+        return bedroomSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
@@ -0,0 +1,91 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service Implementation for creating batches of entities.
+ * <p>
+ * Every item is validated on its own, and only the valid items are created: they are inserted with one batched statement,
+ * and recorded in the search outbox with another one, to be indexed with one bulk request. This service does not open
+ * a transaction itself; it joins the transaction of the calling entity service, so the whole batch is inserted or none of it.
+ */
+@Service
+public class BulkCreateService {
+
+    /**
+     * The maximum number of items of one bulk request.
+     */
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    private final Validator validator;
+
+    private final SearchOutboxService searchOutboxService;
+
+    public BulkCreateService(Validator validator, SearchOutboxService searchOutboxService) {
+        this.validator = validator;
+        this.searchOutboxService = searchOutboxService;
+    }
+
+    /**
+     * Create a batch of new entities.
+     *
+     * @param entities the entities to create.
+     * @param entityType the type of the entities.
+     * @param getId returns the id of an entity, which must be {@code null}.
+     * @param insertAll inserts the valid entities, and sets their ids.
+     * @param <T> the type of the entities.
+     * @return the result of every item, in the order of the batch.
+     */
+    public <T> Flux<BulkItemResultDTO<T>> createAll(
+        List<T> entities,
+        Class<T> entityType,
+        Function<T, Long> getId,
+        Function<List<T>, Flux<T>> insertAll
+    ) {
+        List<BulkItemResultDTO<T>> results = new ArrayList<>(entities.size());
+        List<T> valid = new ArrayList<>(entities.size());
+        for (int index = 0; index < entities.size(); index++) {
+            T entity = entities.get(index);
+            List<String> errors = validate(entity, getId);
+            if (errors.isEmpty()) {
+                results.add(BulkItemResultDTO.created(index, entity));
+                valid.add(entity);
+            } else {
+                results.add(BulkItemResultDTO.invalid(index, errors));
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromIterable(results);
+        }
+        // the ids are set on the entities themselves, which the results refer to
+        return insertAll
+            .apply(valid)
+            .collectList()
+            .flatMap(inserted -> searchOutboxService.enqueueAll(entityType, inserted.stream().map(getId).toList()))
+            .thenMany(Flux.fromIterable(results));
+    }
+
+    private <T> List<String> validate(T entity, Function<T, Long> getId) {
+        List<String> errors = new ArrayList<>();
+        if (entity == null) {
+            errors.add("The item is empty");
+            return errors;
+        }
+        if (getId.apply(entity) != null) {
+            errors.add("A new entity cannot already have an ID");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        for (ConstraintViolation<T> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,44 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Service Implementation for applying again the updates without a version which lost an optimistic locking race.
+ * <p>
+ * An update without a version, full or partial, is written on top of the version read just before; a partial update only
+ * writes its own columns. When a concurrent update commits in between, it can be applied again on top of the new version,
+ * which merges both edits instead of failing with {@code 409 (Conflict)}. Each attempt has to run in its own transaction, so that it reads the
+ * latest committed version: the retry wraps the call of the transactional service.
+ */
+@Service
+public class ConflictRetryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConflictRetryService.class);
+
+    private final Retry retry;
+
+    public ConflictRetryService(ApplicationProperties applicationProperties) {
+        ApplicationProperties.OptimisticLocking optimisticLocking = applicationProperties.getOptimisticLocking();
+        this.retry = Retry.backoff(optimisticLocking.getPatchRetries(), optimisticLocking.getRetryBackoff())
+            .filter(OptimisticLockingFailureException.class::isInstance)
+            .doBeforeRetry(signal -> LOG.debug("Applying an update again after a conflict, attempt {}", signal.totalRetries() + 2))
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Subscribe again to the given update while it fails with an {@link OptimisticLockingFailureException}.
+     *
+     * @param update the update, which reads the current version on each subscription.
+     * @param <T> the type of the updated entity.
+     * @return the result of the first attempt which did not conflict, or the last conflict.
+     */
+    public <T> Mono<T> retryOnConflict(Mono<T> update) {
+        return update.retryWhen(retry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dnc.mprs.reportservice.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * How the total count of a paginated list is computed.
+ */
+public enum CountMode {
+    /**
+     * The count of the cache, counted again once it is older than the configured staleness bound.
+     */
+    CACHED("cached"),
+    /**
+     * A fresh {@code COUNT(*)}, which also refreshes the cache.
+     */
+    EXACT("exact"),
+    /**
+     * The row count of the table statistics of the database, which needs no table scan but may be off by a large margin.
+     */
+    ESTIMATE("estimate"),
+    /**
+     * No count at all.
+     */
+    NONE("none");
+
+    private final String value;
+
+    CountMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Resolve a count mode from its name, e.g. {@code estimate}.
+     *
+     * @param value the name of the count mode, case insensitive.
+     * @return the matching count mode, or empty if there is none.
+     */
+    public static Optional<CountMode> fromValue(String value) {
+        return Arrays.stream(values()).filter(mode -> mode.value.equalsIgnoreCase(value.trim())).findFirst();
+    }
+}
@@ -0,0 +1,122 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import com.dnc.mprs.reportservice.repository.EntityManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for the total counts of the paginated lists.
+ * <p>
+ * Counting a whole table on every page request is expensive, so the counts are cached per entity type for at most
+ * {@code application.count-cache.max-staleness}. The entity services adjust the cached count when they create an entity,
+ * and drop it when they delete entities or create a batch of them; the staleness bound caps the error of the writes
+ * which bypass the services, or which are rolled back after the count was adjusted.
+ */
+@Service
+public class EntityCountService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCountService.class);
+
+    private final EntityManager entityManager;
+
+    private final Cache<Class<?>, Long> counts;
+
+    public EntityCountService(EntityManager entityManager, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.counts = Caffeine.newBuilder()
+            .expireAfter(new CountExpiry(applicationProperties.getCountCache().getMaxStaleness()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "entityCounts");
+    }
+
+    /**
+     * Count the entities of the given type.
+     *
+     * @param entityType the type of the entities.
+     * @param mode how to count the entities.
+     * @param countAll counts the entities with a {@code COUNT(*)} query.
+     * @return the number of entities, or empty for {@link CountMode#NONE}.
+     */
+    public Mono<Long> count(Class<?> entityType, CountMode mode, Supplier<Mono<Long>> countAll) {
+        switch (mode) {
+            case NONE:
+                return Mono.empty();
+            case ESTIMATE:
+                return entityManager
+                    .estimateCount(entityType)
+                    .switchIfEmpty(Mono.defer(() -> count(entityType, CountMode.CACHED, countAll)));
+            case EXACT:
+                return countAll
+                    .get()
+                    .doOnNext(count -> {
+                        // a fresh count restarts the staleness clock, which an update of the entry would not do
+                        counts.invalidate(entityType);
+                        counts.put(entityType, count);
+                    });
+            default:
+                return Mono.fromSupplier(() -> counts.getIfPresent(entityType)).switchIfEmpty(
+                    Mono.defer(() -> count(entityType, CountMode.EXACT, countAll))
+                );
+        }
+    }
+
+    /**
+     * Adjust the cached count of the given type, if there is one.
+     *
+     * @param entityType the type of the entities.
+     * @param delta the number of entities created, negative for removed entities.
+     */
+    public void adjust(Class<?> entityType, long delta) {
+        counts.asMap().computeIfPresent(entityType, (type, count) -> Math.max(0, count + delta));
+    }
+
+    /**
+     * Drop the cached counts of the given types.
+     *
+     * @param entityTypes the types of the entities.
+     */
+    public void invalidate(Class<?>... entityTypes) {
+        for (Class<?> entityType : entityTypes) {
+            LOG.debug("Invalidate cached count of {}", entityType.getSimpleName());
+            counts.invalidate(entityType);
+        }
+    }
+
+    /**
+     * Expires a count once it is older than the staleness bound; adjusting a count does not make it any fresher.
+     */
+    private static final class CountExpiry implements Expiry<Class<?>, Long> {
+
+        private final long maxStalenessNanos;
+
+        CountExpiry(Duration maxStaleness) {
+            this.maxStalenessNanos = maxStaleness.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Class<?> key, Long value, long currentTime) {
+            return maxStalenessNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Class<?> key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Class<?> key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
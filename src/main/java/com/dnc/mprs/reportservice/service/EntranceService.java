@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.criteria.EntranceCriteria;
 import com.dnc.mprs.reportservice.repository.EntranceRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.search.EntranceSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +30,28 @@ public class EntranceService {
 
     private final EntranceSearchRepository entranceSearchRepository;
 
-    public EntranceService(EntranceRepository entranceRepository, EntranceSearchRepository entranceSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public EntranceService(
+        EntranceRepository entranceRepository,
+        EntranceSearchRepository entranceSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.entranceRepository = entranceRepository;
         this.entranceSearchRepository = entranceSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,58 +62,70 @@ public class EntranceService {
      */
     public Mono<Entrance> save(Entrance entrance) {
         LOG.debug("Request to save Entrance : {}", entrance);
-        return entranceRepository.save(entrance).flatMap(entranceSearchRepository::save);
+        return entranceRepository
+            .save(entrance)
+            .flatMap(saved -> searchOutboxService.enqueue(Entrance.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Entrance.class, 1));
     }
 
     /**
-     * Update a entrance.
+     * Save a batch of new entrances.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param entrances the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<Entrance>> saveAll(List<Entrance> entrances) {
+        LOG.debug("Request to save a batch of {} Entrances", entrances.size());
+        return bulkCreateService
+            .createAll(
+                entrances,
+                Entrance.class,
+                Entrance::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(Entrance::getReportId).toList())
+                        .thenMany(entranceRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(Entrance.class));
+    }
+
+    /**
+     * Update a entrance with a single {@code UPDATE} statement.
      *
      * @param entrance the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Entrance> update(Entrance entrance) {
         LOG.debug("Request to update Entrance : {}", entrance);
-        return entranceRepository.save(entrance).flatMap(entranceSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the entrance is moved to another report
+        return entranceRepository
+            .findReportIdById(entrance.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(entranceRepository.update(entrance))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(Entrance.class, entrance.getId()).thenReturn(entrance))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a entrance.
+     * Partially update a entrance: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param entrance the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Entrance> partialUpdate(Entrance entrance) {
         LOG.debug("Request to partially update Entrance : {}", entrance);
-
         return entranceRepository
-            .findById(entrance.getId())
-            .map(existingEntrance -> {
-                if (entrance.getEntranceName() != null) {
-                    existingEntrance.setEntranceName(entrance.getEntranceName());
-                }
-                if (entrance.getCondtionLevel() != null) {
-                    existingEntrance.setCondtionLevel(entrance.getCondtionLevel());
-                }
-                if (entrance.getEntranceSize() != null) {
-                    existingEntrance.setEntranceSize(entrance.getEntranceSize());
-                }
-                if (entrance.getShoeRackSize() != null) {
-                    existingEntrance.setShoeRackSize(entrance.getShoeRackSize());
-                }
-                if (entrance.getPantryPresence() != null) {
-                    existingEntrance.setPantryPresence(entrance.getPantryPresence());
-                }
-                if (entrance.getRemarks() != null) {
-                    existingEntrance.setRemarks(entrance.getRemarks());
-                }
-
-                return existingEntrance;
-            })
-            .flatMap(entranceRepository::save)
-            .flatMap(savedEntrance -> {
-                entranceSearchRepository.save(savedEntrance);
-                return Mono.just(savedEntrance);
-            });
+            .findReportIdById(entrance.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(entranceRepository.partialUpdate(entrance))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> entranceRepository.findById(entrance.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Entrance.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -103,6 +140,31 @@ public class EntranceService {
         return entranceRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the entrances matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Entrance> findByCriteria(EntranceCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Entrances by criteria : {}", criteria);
+        return entranceRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the entrances using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Entrance> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Entrances : {}", keyset);
+        return entranceRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of entrances available.
      * @return the number of entities in the database.
@@ -113,11 +175,29 @@ public class EntranceService {
     }
 
     /**
-     * Returns the number of entrances available in search repository.
+     * Returns the number of entrances available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return entranceSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Entrance.class, mode, entranceRepository::count);
+    }
+
+    /**
+     * Returns the number of entrances matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(EntranceCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new EntranceCriteria())) {
+            return countAll(mode);
+        }
+        return entranceRepository.countByCriteria(criteria);
     }
 
     /**
@@ -140,7 +220,12 @@ public class EntranceService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Entrance : {}", id);
-        return entranceRepository.deleteById(id).then(entranceSearchRepository.deleteById(id));
+        return entranceRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(entranceRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(Entrance.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Entrance.class));
     }
 
     /**
@@ -148,11 +233,38 @@ public class EntranceService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Entrance> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Entrance>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Entrances for query {}", query);
         return entranceSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the entrance corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Entrance>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Entrances for query {}", query);
+        return entranceSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the entrance matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Entrance>> searchByCriteria(String text, EntranceCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Entrances for text {} and criteria {}", text, criteria);
+        return entranceSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.criteria.EnvFactorCriteria;
 import com.dnc.mprs.reportservice.repository.EnvFactorRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.search.EnvFactorSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +30,28 @@ public class EnvFactorService {
 
     private final EnvFactorSearchRepository envFactorSearchRepository;
 
-    public EnvFactorService(EnvFactorRepository envFactorRepository, EnvFactorSearchRepository envFactorSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public EnvFactorService(
+        EnvFactorRepository envFactorRepository,
+        EnvFactorSearchRepository envFactorSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.envFactorRepository = envFactorRepository;
         this.envFactorSearchRepository = envFactorSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,49 +62,70 @@ public class EnvFactorService {
      */
     public Mono<EnvFactor> save(EnvFactor envFactor) {
         LOG.debug("Request to save EnvFactor : {}", envFactor);
-        return envFactorRepository.save(envFactor).flatMap(envFactorSearchRepository::save);
+        return envFactorRepository
+            .save(envFactor)
+            .flatMap(saved -> searchOutboxService.enqueue(EnvFactor.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(EnvFactor.class, 1));
     }
 
     /**
-     * Update a envFactor.
+     * Save a batch of new envFactors.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param envFactors the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<EnvFactor>> saveAll(List<EnvFactor> envFactors) {
+        LOG.debug("Request to save a batch of {} EnvFactors", envFactors.size());
+        return bulkCreateService
+            .createAll(
+                envFactors,
+                EnvFactor.class,
+                EnvFactor::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(EnvFactor::getReportId).toList())
+                        .thenMany(envFactorRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(EnvFactor.class));
+    }
+
+    /**
+     * Update a envFactor with a single {@code UPDATE} statement.
      *
      * @param envFactor the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<EnvFactor> update(EnvFactor envFactor) {
         LOG.debug("Request to update EnvFactor : {}", envFactor);
-        return envFactorRepository.save(envFactor).flatMap(envFactorSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the envFactor is moved to another report
+        return envFactorRepository
+            .findReportIdById(envFactor.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(envFactorRepository.update(envFactor))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(EnvFactor.class, envFactor.getId()).thenReturn(envFactor))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a envFactor.
+     * Partially update a envFactor: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param envFactor the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<EnvFactor> partialUpdate(EnvFactor envFactor) {
         LOG.debug("Request to partially update EnvFactor : {}", envFactor);
-
         return envFactorRepository
-            .findById(envFactor.getId())
-            .map(existingEnvFactor -> {
-                if (envFactor.getEnvFactorName() != null) {
-                    existingEnvFactor.setEnvFactorName(envFactor.getEnvFactorName());
-                }
-                if (envFactor.getEnvFactorDistance() != null) {
-                    existingEnvFactor.setEnvFactorDistance(envFactor.getEnvFactorDistance());
-                }
-                if (envFactor.getRemarks() != null) {
-                    existingEnvFactor.setRemarks(envFactor.getRemarks());
-                }
-
-                return existingEnvFactor;
-            })
-            .flatMap(envFactorRepository::save)
-            .flatMap(savedEnvFactor -> {
-                envFactorSearchRepository.save(savedEnvFactor);
-                return Mono.just(savedEnvFactor);
-            });
+            .findReportIdById(envFactor.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(envFactorRepository.partialUpdate(envFactor))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> envFactorRepository.findById(envFactor.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(EnvFactor.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -94,6 +140,31 @@ public class EnvFactorService {
         return envFactorRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the envFactors matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<EnvFactor> findByCriteria(EnvFactorCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get EnvFactors by criteria : {}", criteria);
+        return envFactorRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the envFactors using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<EnvFactor> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of EnvFactors : {}", keyset);
+        return envFactorRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of envFactors available.
      * @return the number of entities in the database.
@@ -104,11 +175,29 @@ public class EnvFactorService {
     }
 
     /**
-     * Returns the number of envFactors available in search repository.
+     * Returns the number of envFactors available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return envFactorSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(EnvFactor.class, mode, envFactorRepository::count);
+    }
+
+    /**
+     * Returns the number of envFactors matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(EnvFactorCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new EnvFactorCriteria())) {
+            return countAll(mode);
+        }
+        return envFactorRepository.countByCriteria(criteria);
     }
 
     /**
@@ -131,7 +220,12 @@ public class EnvFactorService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete EnvFactor : {}", id);
-        return envFactorRepository.deleteById(id).then(envFactorSearchRepository.deleteById(id));
+        return envFactorRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(envFactorRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(EnvFactor.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(EnvFactor.class));
     }
 
     /**
@@ -139,11 +233,38 @@ public class EnvFactorService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<EnvFactor> search(String query, Pageable pageable) {
+    public Mono<SearchPage<EnvFactor>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of EnvFactors for query {}", query);
         return envFactorSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the envFactor corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<EnvFactor>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of EnvFactors for query {}", query);
+        return envFactorSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the envFactor matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<EnvFactor>> searchByCriteria(String text, EnvFactorCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of EnvFactors for text {} and criteria {}", text, criteria);
+        return envFactorSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.criteria.InfrastructureCriteria;
 import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.search.InfrastructureSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,12 +30,28 @@ public class InfrastructureService {
 
     private final InfrastructureSearchRepository infrastructureSearchRepository;
 
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
     public InfrastructureService(
         InfrastructureRepository infrastructureRepository,
-        InfrastructureSearchRepository infrastructureSearchRepository
+        InfrastructureSearchRepository infrastructureSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
     ) {
         this.infrastructureRepository = infrastructureRepository;
         this.infrastructureSearchRepository = infrastructureSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -40,58 +62,70 @@ public class InfrastructureService {
      */
     public Mono<Infrastructure> save(Infrastructure infrastructure) {
         LOG.debug("Request to save Infrastructure : {}", infrastructure);
-        return infrastructureRepository.save(infrastructure).flatMap(infrastructureSearchRepository::save);
+        return infrastructureRepository
+            .save(infrastructure)
+            .flatMap(saved -> searchOutboxService.enqueue(Infrastructure.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Infrastructure.class, 1));
     }
 
     /**
-     * Update a infrastructure.
+     * Save a batch of new infrastructures.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param infrastructures the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<Infrastructure>> saveAll(List<Infrastructure> infrastructures) {
+        LOG.debug("Request to save a batch of {} Infrastructures", infrastructures.size());
+        return bulkCreateService
+            .createAll(
+                infrastructures,
+                Infrastructure.class,
+                Infrastructure::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(Infrastructure::getReportId).toList())
+                        .thenMany(infrastructureRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(Infrastructure.class));
+    }
+
+    /**
+     * Update a infrastructure with a single {@code UPDATE} statement.
      *
      * @param infrastructure the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Infrastructure> update(Infrastructure infrastructure) {
         LOG.debug("Request to update Infrastructure : {}", infrastructure);
-        return infrastructureRepository.save(infrastructure).flatMap(infrastructureSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the infrastructure is moved to another report
+        return infrastructureRepository
+            .findReportIdById(infrastructure.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(infrastructureRepository.update(infrastructure))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(Infrastructure.class, infrastructure.getId()).thenReturn(infrastructure))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a infrastructure.
+     * Partially update a infrastructure: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param infrastructure the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Infrastructure> partialUpdate(Infrastructure infrastructure) {
         LOG.debug("Request to partially update Infrastructure : {}", infrastructure);
-
         return infrastructureRepository
-            .findById(infrastructure.getId())
-            .map(existingInfrastructure -> {
-                if (infrastructure.getInfraType() != null) {
-                    existingInfrastructure.setInfraType(infrastructure.getInfraType());
-                }
-                if (infrastructure.getInfraName() != null) {
-                    existingInfrastructure.setInfraName(infrastructure.getInfraName());
-                }
-                if (infrastructure.getConditionLevel() != null) {
-                    existingInfrastructure.setConditionLevel(infrastructure.getConditionLevel());
-                }
-                if (infrastructure.getInfraDistance() != null) {
-                    existingInfrastructure.setInfraDistance(infrastructure.getInfraDistance());
-                }
-                if (infrastructure.getInfraDistanceUnit() != null) {
-                    existingInfrastructure.setInfraDistanceUnit(infrastructure.getInfraDistanceUnit());
-                }
-                if (infrastructure.getRemarks() != null) {
-                    existingInfrastructure.setRemarks(infrastructure.getRemarks());
-                }
-
-                return existingInfrastructure;
-            })
-            .flatMap(infrastructureRepository::save)
-            .flatMap(savedInfrastructure -> {
-                infrastructureSearchRepository.save(savedInfrastructure);
-                return Mono.just(savedInfrastructure);
-            });
+            .findReportIdById(infrastructure.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(infrastructureRepository.partialUpdate(infrastructure))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> infrastructureRepository.findById(infrastructure.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Infrastructure.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -106,6 +140,31 @@ public class InfrastructureService {
         return infrastructureRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the infrastructures matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Infrastructure> findByCriteria(InfrastructureCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Infrastructures by criteria : {}", criteria);
+        return infrastructureRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the infrastructures using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Infrastructure> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Infrastructures : {}", keyset);
+        return infrastructureRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of infrastructures available.
      * @return the number of entities in the database.
@@ -116,11 +175,29 @@ public class InfrastructureService {
     }
 
     /**
-     * Returns the number of infrastructures available in search repository.
+     * Returns the number of infrastructures available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return infrastructureSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Infrastructure.class, mode, infrastructureRepository::count);
+    }
+
+    /**
+     * Returns the number of infrastructures matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(InfrastructureCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new InfrastructureCriteria())) {
+            return countAll(mode);
+        }
+        return infrastructureRepository.countByCriteria(criteria);
     }
 
     /**
@@ -143,7 +220,12 @@ public class InfrastructureService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Infrastructure : {}", id);
-        return infrastructureRepository.deleteById(id).then(infrastructureSearchRepository.deleteById(id));
+        return infrastructureRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(infrastructureRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(Infrastructure.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Infrastructure.class));
     }
 
     /**
@@ -151,11 +233,38 @@ public class InfrastructureService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Infrastructure> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Infrastructure>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Infrastructures for query {}", query);
         return infrastructureSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the infrastructure corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Infrastructure>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Infrastructures for query {}", query);
+        return infrastructureSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the infrastructure matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Infrastructure>> searchByCriteria(String text, InfrastructureCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Infrastructures for text {} and criteria {}", text, criteria);
+        return infrastructureSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
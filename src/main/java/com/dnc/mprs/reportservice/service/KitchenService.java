@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.criteria.KitchenCriteria;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.KitchenRepository;
 import com.dnc.mprs.reportservice.repository.search.KitchenSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +30,28 @@ public class KitchenService {
 
     private final KitchenSearchRepository kitchenSearchRepository;
 
-    public KitchenService(KitchenRepository kitchenRepository, KitchenSearchRepository kitchenSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public KitchenService(
+        KitchenRepository kitchenRepository,
+        KitchenSearchRepository kitchenSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.kitchenRepository = kitchenRepository;
         this.kitchenSearchRepository = kitchenSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,61 +62,70 @@ public class KitchenService {
      */
     public Mono<Kitchen> save(Kitchen kitchen) {
         LOG.debug("Request to save Kitchen : {}", kitchen);
-        return kitchenRepository.save(kitchen).flatMap(kitchenSearchRepository::save);
+        return kitchenRepository
+            .save(kitchen)
+            .flatMap(saved -> searchOutboxService.enqueue(Kitchen.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Kitchen.class, 1));
     }
 
     /**
-     * Update a kitchen.
+     * Save a batch of new kitchens.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param kitchens the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<Kitchen>> saveAll(List<Kitchen> kitchens) {
+        LOG.debug("Request to save a batch of {} Kitchens", kitchens.size());
+        return bulkCreateService
+            .createAll(
+                kitchens,
+                Kitchen.class,
+                Kitchen::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(Kitchen::getReportId).toList())
+                        .thenMany(kitchenRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(Kitchen.class));
+    }
+
+    /**
+     * Update a kitchen with a single {@code UPDATE} statement.
      *
      * @param kitchen the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Kitchen> update(Kitchen kitchen) {
         LOG.debug("Request to update Kitchen : {}", kitchen);
-        return kitchenRepository.save(kitchen).flatMap(kitchenSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the kitchen is moved to another report
+        return kitchenRepository
+            .findReportIdById(kitchen.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(kitchenRepository.update(kitchen))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(Kitchen.class, kitchen.getId()).thenReturn(kitchen))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a kitchen.
+     * Partially update a kitchen: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param kitchen the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Kitchen> partialUpdate(Kitchen kitchen) {
         LOG.debug("Request to partially update Kitchen : {}", kitchen);
-
         return kitchenRepository
-            .findById(kitchen.getId())
-            .map(existingKitchen -> {
-                if (kitchen.getKitchenName() != null) {
-                    existingKitchen.setKitchenName(kitchen.getKitchenName());
-                }
-                if (kitchen.getConditionLevel() != null) {
-                    existingKitchen.setConditionLevel(kitchen.getConditionLevel());
-                }
-                if (kitchen.getBuiltInCabinet() != null) {
-                    existingKitchen.setBuiltInCabinet(kitchen.getBuiltInCabinet());
-                }
-                if (kitchen.getSinkCondition() != null) {
-                    existingKitchen.setSinkCondition(kitchen.getSinkCondition());
-                }
-                if (kitchen.getVentilationSystem() != null) {
-                    existingKitchen.setVentilationSystem(kitchen.getVentilationSystem());
-                }
-                if (kitchen.getApplianceProvision() != null) {
-                    existingKitchen.setApplianceProvision(kitchen.getApplianceProvision());
-                }
-                if (kitchen.getRemarks() != null) {
-                    existingKitchen.setRemarks(kitchen.getRemarks());
-                }
-
-                return existingKitchen;
-            })
-            .flatMap(kitchenRepository::save)
-            .flatMap(savedKitchen -> {
-                kitchenSearchRepository.save(savedKitchen);
-                return Mono.just(savedKitchen);
-            });
+            .findReportIdById(kitchen.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(kitchenRepository.partialUpdate(kitchen))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> kitchenRepository.findById(kitchen.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Kitchen.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -106,6 +140,31 @@ public class KitchenService {
         return kitchenRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the kitchens matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Kitchen> findByCriteria(KitchenCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Kitchens by criteria : {}", criteria);
+        return kitchenRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the kitchens using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Kitchen> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Kitchens : {}", keyset);
+        return kitchenRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of kitchens available.
      * @return the number of entities in the database.
@@ -116,11 +175,29 @@ public class KitchenService {
     }
 
     /**
-     * Returns the number of kitchens available in search repository.
+     * Returns the number of kitchens available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return kitchenSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Kitchen.class, mode, kitchenRepository::count);
+    }
+
+    /**
+     * Returns the number of kitchens matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(KitchenCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new KitchenCriteria())) {
+            return countAll(mode);
+        }
+        return kitchenRepository.countByCriteria(criteria);
     }
 
     /**
@@ -143,7 +220,12 @@ public class KitchenService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Kitchen : {}", id);
-        return kitchenRepository.deleteById(id).then(kitchenSearchRepository.deleteById(id));
+        return kitchenRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(kitchenRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(Kitchen.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Kitchen.class));
     }
 
     /**
@@ -151,11 +233,38 @@ public class KitchenService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Kitchen> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Kitchen>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Kitchens for query {}", query);
         return kitchenSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the kitchen corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Kitchen>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Kitchens for query {}", query);
+        return kitchenSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the kitchen matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Kitchen>> searchByCriteria(String text, KitchenCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Kitchens for text {} and criteria {}", text, criteria);
+        return kitchenSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
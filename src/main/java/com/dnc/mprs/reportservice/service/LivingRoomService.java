@@ -1,11 +1,17 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.criteria.LivingRoomCriteria;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.LivingRoomRepository;
 import com.dnc.mprs.reportservice.repository.search.LivingRoomSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,9 +30,28 @@ public class LivingRoomService {
 
     private final LivingRoomSearchRepository livingRoomSearchRepository;
 
-    public LivingRoomService(LivingRoomRepository livingRoomRepository, LivingRoomSearchRepository livingRoomSearchRepository) {
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public LivingRoomService(
+        LivingRoomRepository livingRoomRepository,
+        LivingRoomSearchRepository livingRoomSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.livingRoomRepository = livingRoomRepository;
         this.livingRoomSearchRepository = livingRoomSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -37,61 +62,70 @@ public class LivingRoomService {
      */
     public Mono<LivingRoom> save(LivingRoom livingRoom) {
         LOG.debug("Request to save LivingRoom : {}", livingRoom);
-        return livingRoomRepository.save(livingRoom).flatMap(livingRoomSearchRepository::save);
+        return livingRoomRepository
+            .save(livingRoom)
+            .flatMap(saved -> searchOutboxService.enqueue(LivingRoom.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(LivingRoom.class, 1));
     }
 
     /**
-     * Update a livingRoom.
+     * Save a batch of new livingRooms.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param livingRooms the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<LivingRoom>> saveAll(List<LivingRoom> livingRooms) {
+        LOG.debug("Request to save a batch of {} LivingRooms", livingRooms.size());
+        return bulkCreateService
+            .createAll(
+                livingRooms,
+                LivingRoom.class,
+                LivingRoom::getId,
+                valid ->
+                    reportSnapshotService
+                        .refresh(valid.stream().map(LivingRoom::getReportId).toList())
+                        .thenMany(livingRoomRepository.insertAll(valid))
+            )
+            .doOnComplete(() -> entityCountService.invalidate(LivingRoom.class));
+    }
+
+    /**
+     * Update a livingRoom with a single {@code UPDATE} statement.
      *
      * @param livingRoom the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<LivingRoom> update(LivingRoom livingRoom) {
         LOG.debug("Request to update LivingRoom : {}", livingRoom);
-        return livingRoomRepository.save(livingRoom).flatMap(livingRoomSearchRepository::save);
+        // the report of the previous version is refreshed too, in case the livingRoom is moved to another report
+        return livingRoomRepository
+            .findReportIdById(livingRoom.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(livingRoomRepository.update(livingRoom))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> searchOutboxService.enqueue(LivingRoom.class, livingRoom.getId()).thenReturn(livingRoom))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a livingRoom.
+     * Partially update a livingRoom: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param livingRoom the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<LivingRoom> partialUpdate(LivingRoom livingRoom) {
         LOG.debug("Request to partially update LivingRoom : {}", livingRoom);
-
         return livingRoomRepository
-            .findById(livingRoom.getId())
-            .map(existingLivingRoom -> {
-                if (livingRoom.getLivingRoomName() != null) {
-                    existingLivingRoom.setLivingRoomName(livingRoom.getLivingRoomName());
-                }
-                if (livingRoom.getConditionLevel() != null) {
-                    existingLivingRoom.setConditionLevel(livingRoom.getConditionLevel());
-                }
-                if (livingRoom.getRoomSize() != null) {
-                    existingLivingRoom.setRoomSize(livingRoom.getRoomSize());
-                }
-                if (livingRoom.getWallState() != null) {
-                    existingLivingRoom.setWallState(livingRoom.getWallState());
-                }
-                if (livingRoom.getFloorMaterial() != null) {
-                    existingLivingRoom.setFloorMaterial(livingRoom.getFloorMaterial());
-                }
-                if (livingRoom.getSunlight() != null) {
-                    existingLivingRoom.setSunlight(livingRoom.getSunlight());
-                }
-                if (livingRoom.getRemarks() != null) {
-                    existingLivingRoom.setRemarks(livingRoom.getRemarks());
-                }
-
-                return existingLivingRoom;
-            })
-            .flatMap(livingRoomRepository::save)
-            .flatMap(savedLivingRoom -> {
-                livingRoomSearchRepository.save(savedLivingRoom);
-                return Mono.just(savedLivingRoom);
-            });
+            .findReportIdById(livingRoom.getId())
+            .flatMap(reportSnapshotService::refresh)
+            .then(livingRoomRepository.partialUpdate(livingRoom))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> livingRoomRepository.findById(livingRoom.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(LivingRoom.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getReportId()).thenReturn(saved));
     }
 
     /**
@@ -106,6 +140,31 @@ public class LivingRoomService {
         return livingRoomRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the livingRooms matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<LivingRoom> findByCriteria(LivingRoomCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get LivingRooms by criteria : {}", criteria);
+        return livingRoomRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get a slice of the livingRooms using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<LivingRoom> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of LivingRooms : {}", keyset);
+        return livingRoomRepository.findAllBy(keyset);
+    }
+
     /**
      * Returns the number of livingRooms available.
      * @return the number of entities in the database.
@@ -116,11 +175,29 @@ public class LivingRoomService {
     }
 
     /**
-     * Returns the number of livingRooms available in search repository.
+     * Returns the number of livingRooms available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return livingRoomSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(LivingRoom.class, mode, livingRoomRepository::count);
+    }
+
+    /**
+     * Returns the number of livingRooms matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(LivingRoomCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new LivingRoomCriteria())) {
+            return countAll(mode);
+        }
+        return livingRoomRepository.countByCriteria(criteria);
     }
 
     /**
@@ -143,7 +220,12 @@ public class LivingRoomService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete LivingRoom : {}", id);
-        return livingRoomRepository.deleteById(id).then(livingRoomSearchRepository.deleteById(id));
+        return livingRoomRepository
+            .findReportIdById(id)
+            .flatMap(reportSnapshotService::refresh)
+            .then(livingRoomRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(LivingRoom.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(LivingRoom.class));
     }
 
     /**
@@ -151,11 +233,38 @@ public class LivingRoomService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<LivingRoom> search(String query, Pageable pageable) {
+    public Mono<SearchPage<LivingRoom>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of LivingRooms for query {}", query);
         return livingRoomSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the livingRoom corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<LivingRoom>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of LivingRooms for query {}", query);
+        return livingRoomSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the livingRoom matching the criteria, scored by the text only.
+     *
+     * @param text the text searched in the text fields; may be blank to only filter.
+     * @param criteria the filters, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the total number of entities matching the criteria and the text.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<LivingRoom>> searchByCriteria(String text, LivingRoomCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of LivingRooms for text {} and criteria {}", text, criteria);
+        return livingRoomSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
 }
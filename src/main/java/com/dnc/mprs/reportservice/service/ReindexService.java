@@ -0,0 +1,428 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import com.dnc.mprs.reportservice.repository.AuthorRepository;
+import com.dnc.mprs.reportservice.repository.BathroomRepository;
+import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.EntranceRepository;
+import com.dnc.mprs.reportservice.repository.EnvFactorRepository;
+import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.KitchenRepository;
+import com.dnc.mprs.reportservice.repository.LivingRoomRepository;
+import com.dnc.mprs.reportservice.repository.ReportDocumentRepository;
+import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.repository.search.BulkSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchIndexRepository;
+import com.dnc.mprs.reportservice.service.dto.ReindexStatusDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Service Implementation for the full reindex of an indexed entity type from the database.
+ * <p>
+ * A reindex creates a new versioned index, streams all the rows of the entity into it in keyset order, page after page,
+ * with bulk requests of which a bounded number are in flight at once, then swaps the alias of the entity to the new index
+ * in a single atomic request and deletes the previous index. Searches keep using the previous index until the swap.
+ * From the creation of the new index, the search outbox writes the changes to both indices. A page read before a change
+ * may still reach the new index after it, e.g. a deleted row or an unversioned document, so once all the pages are indexed
+ * the rows changed since the start are read again and written to the new index, round after round until no change is
+ * left or {@code application.reindex.catch-up-rounds} rounds are done. The rows changed during the last round are then
+ * recorded in the search outbox again once the alias is swapped, so the drainer ships their latest version to the new index.
+ * <p>
+ * The jobs run in the background; their progress is kept in memory, by entity, until the next reindex of the entity.
+ */
+@Service
+public class ReindexService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReindexService.class);
+
+    private final BulkSearchRepository bulkSearchRepository;
+
+    private final SearchIndexRepository searchIndexRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final ApplicationProperties.Reindex properties;
+
+    private final TransactionalOperator readTransaction;
+
+    private final Map<String, IndexedType<?>> indexedTypes = new LinkedHashMap<>();
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ReindexService(
+        AuthorRepository authorRepository,
+        ReportRepository reportRepository,
+        BedroomRepository bedroomRepository,
+        KitchenRepository kitchenRepository,
+        BathroomRepository bathroomRepository,
+        LivingRoomRepository livingRoomRepository,
+        EntranceRepository entranceRepository,
+        InfrastructureRepository infrastructureRepository,
+        EnvFactorRepository envFactorRepository,
+        ReportDocumentRepository reportDocumentRepository,
+        BulkSearchRepository bulkSearchRepository,
+        SearchIndexRepository searchIndexRepository,
+        SearchOutboxService searchOutboxService,
+        ApplicationProperties applicationProperties,
+        ReactiveTransactionManager transactionManager
+    ) {
+        this.bulkSearchRepository = bulkSearchRepository;
+        this.searchIndexRepository = searchIndexRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.properties = applicationProperties.getReindex();
+        this.readTransaction = TransactionalOperator.create(transactionManager);
+        register(Author.class, authorRepository::findAllBy, authorRepository::findAllById, Author::getId, authorRepository::count);
+        register(
+            Report.class,
+            ReportDocument.class,
+            keyset -> reportRepository.findAllBy(keyset).collectList().flatMapMany(reportDocumentRepository::findAllByReports),
+            ids -> reportRepository.findAllById(ids).collectList().flatMapMany(reportDocumentRepository::findAllByReports),
+            ReportDocument::getId,
+            reportRepository::count
+        );
+        register(Bedroom.class, bedroomRepository::findAllBy, bedroomRepository::findAllById, Bedroom::getId, bedroomRepository::count);
+        register(Kitchen.class, kitchenRepository::findAllBy, kitchenRepository::findAllById, Kitchen::getId, kitchenRepository::count);
+        register(
+            Bathroom.class,
+            bathroomRepository::findAllBy,
+            bathroomRepository::findAllById,
+            Bathroom::getId,
+            bathroomRepository::count
+        );
+        register(
+            LivingRoom.class,
+            livingRoomRepository::findAllBy,
+            livingRoomRepository::findAllById,
+            LivingRoom::getId,
+            livingRoomRepository::count
+        );
+        register(
+            Entrance.class,
+            entranceRepository::findAllBy,
+            entranceRepository::findAllById,
+            Entrance::getId,
+            entranceRepository::count
+        );
+        register(
+            Infrastructure.class,
+            infrastructureRepository::findAllBy,
+            infrastructureRepository::findAllById,
+            Infrastructure::getId,
+            infrastructureRepository::count
+        );
+        register(
+            EnvFactor.class,
+            envFactorRepository::findAllBy,
+            envFactorRepository::findAllById,
+            EnvFactor::getId,
+            envFactorRepository::count
+        );
+    }
+
+    @Override
+    public void destroy() {
+        jobs.values().forEach(Job::cancel);
+    }
+
+    /**
+     * @return the names of the entities which can be reindexed, e.g. {@code report}.
+     */
+    public Set<String> getEntities() {
+        return indexedTypes.keySet();
+    }
+
+    /**
+     * Start the reindex of an entity in the background, unless it is already running.
+     *
+     * @param entity the name of the entity, see {@link #getEntities()}.
+     * @return the status of the started reindex, or of the one already running.
+     * @throws IllegalArgumentException if the entity is not indexed.
+     */
+    public Mono<ReindexStatusDTO> start(String entity) {
+        LOG.debug("Request to reindex : {}", entity);
+        IndexedType<?> type = indexedTypes.get(entity);
+        if (type == null) {
+            return Mono.error(new IllegalArgumentException("Not an indexed entity: " + entity));
+        }
+        return Mono.fromSupplier(() -> {
+            Job started = new Job(entity);
+            Job job = jobs.compute(entity, (key, current) -> current != null && current.isRunning() ? current : started);
+            if (job == started) {
+                job.disposable = run(type, job).subscribe();
+            }
+            return job.toDTO();
+        });
+    }
+
+    /**
+     * Get the status of the reindex of every entity which was reindexed since the start of the application.
+     *
+     * @return the statuses, by entity name.
+     */
+    public List<ReindexStatusDTO> findAll() {
+        return indexedTypes.keySet().stream().map(jobs::get).filter(Objects::nonNull).map(Job::toDTO).toList();
+    }
+
+    /**
+     * Get the status of the reindex of an entity.
+     *
+     * @param entity the name of the entity.
+     * @return the status, empty if the entity was not reindexed since the start of the application.
+     */
+    public Optional<ReindexStatusDTO> findOne(String entity) {
+        return Optional.ofNullable(jobs.get(entity)).map(Job::toDTO);
+    }
+
+    private <T> Mono<Void> run(IndexedType<T> type, Job job) {
+        return searchIndexRepository
+            .createVersionedIndex(type.type(), job.startedAt.toEpochMilli())
+            .flatMap(index -> {
+                job.index = index;
+                // the changes committed from now on reach the new index, those committed before are read by the stream
+                bulkSearchRepository.startDualWrites(type.type(), index);
+                return type
+                    .count()
+                    .get()
+                    .as(readTransaction::transactional)
+                    .doOnNext(job.total::set)
+                    .thenMany(stream(type))
+                    .flatMap(page -> indexPage(index, page), properties.getConcurrency())
+                    .doOnNext(job.indexed::addAndGet)
+                    .then(Mono.defer(() -> reindexChanges(type, index, job)))
+                    .then(searchIndexRepository.refresh(index))
+                    .then(searchIndexRepository.swapAlias(type.type(), index))
+                    .flatMap(previous -> {
+                        // the changes of the last round may have raced with it, they are shipped again through the alias
+                        Set<Long> remaining = bulkSearchRepository.takeDualWrittenIds(type.type());
+                        // the alias now points at the new index, so the changes reach it without writing them twice
+                        bulkSearchRepository.stopDualWrites(type.type());
+                        return enqueueChanges(type, remaining).thenReturn(previous);
+                    });
+            })
+            .doOnNext(previous -> {
+                job.complete(null);
+                LOG.info("Reindexed {} {} documents into {}, replacing {}", job.indexed.get(), job.entity, job.index, previous);
+            })
+            .then()
+            .onErrorResume(e -> {
+                LOG.warn("Could not reindex {}: {}", job.entity, e.getMessage());
+                // stop writing to the new index before deleting it, or the writes would create it again
+                bulkSearchRepository.stopDualWrites(type.type());
+                job.complete(e.getMessage());
+                return job.index != null
+                    ? searchIndexRepository.deleteIndex(job.index).onErrorResume(ignored -> Mono.empty())
+                    : Mono.<Void>empty();
+            })
+            .doOnCancel(() -> bulkSearchRepository.stopDualWrites(type.type()));
+    }
+
+    private <T> Flux<List<T>> stream(IndexedType<T> type) {
+        KeysetPageable first = KeysetPageable.of(PageRequest.of(0, properties.getBatchSize()), null);
+        return readPage(type, first)
+            .expand(page -> page.size() < first.getSize() ? Mono.empty() : readPage(type, first.next(page.get(page.size() - 1))))
+            .filter(page -> !page.isEmpty());
+    }
+
+    private <T> Mono<List<T>> readPage(IndexedType<T> type, KeysetPageable keyset) {
+        // read from the primary, as the replicas may lag behind the changes already written to the new index
+        return type.findAllBy().apply(keyset).collectList().as(readTransaction::transactional);
+    }
+
+    private Mono<Integer> indexPage(String index, List<?> page) {
+        return write(index, page, Map.of()).thenReturn(page.size());
+    }
+
+    private <T> Mono<Void> reindexChanges(IndexedType<T> type, String index, Job job) {
+        // an entity changed all day long always has new changes: the last ones are left to the search outbox
+        if (job.catchUpRounds.get() >= properties.getCatchUpRounds()) {
+            return Mono.empty();
+        }
+        // the changes of this round are written again by the next one, so a stale read of this round does not win either
+        Set<Long> changed = bulkSearchRepository.takeDualWrittenIds(type.type());
+        if (changed.isEmpty()) {
+            return Mono.empty();
+        }
+        job.catchUpRounds.incrementAndGet();
+        LOG.debug("Reindexing {} {} documents changed during the reindex", changed.size(), type.type().getSimpleName());
+        return Flux.fromIterable(changed)
+            .buffer(properties.getBatchSize())
+            .concatMap(ids ->
+                type
+                    .findAllById()
+                    .apply(ids)
+                    .collectList()
+                    .as(readTransaction::transactional)
+                    .flatMap(entities -> {
+                        Set<Long> deleted = new HashSet<>(ids);
+                        entities.forEach(entity -> deleted.remove(type.getId().apply(entity)));
+                        return write(index, entities, deleted.isEmpty() ? Map.of() : Map.of(type.type(), deleted));
+                    })
+            )
+            .then(Mono.defer(() -> reindexChanges(type, index, job)));
+    }
+
+    private Mono<Void> enqueueChanges(IndexedType<?> type, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        // the new index is live already, so a failure is only logged: the next change of these rows reindexes them
+        return searchOutboxService
+            .enqueueAll(type.entityType(), ids)
+            .as(readTransaction::transactional)
+            .onErrorResume(e -> {
+                LOG.warn("Could not record the {} changes left by the reindex of {}: {}", ids.size(), type.entityType(), e.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    private Mono<Void> write(String index, List<?> entities, Map<Class<?>, Set<Long>> deletedIdsByType) {
+        return bulkSearchRepository
+            .writeAll(index, entities, deletedIdsByType)
+            .retryWhen(Retry.backoff(properties.getRetries(), properties.getRetryBackoff()))
+            .flatMap(failures -> {
+                int failed = failures.values().stream().mapToInt(Set::size).sum();
+                return failed == 0
+                    ? Mono.<Void>empty()
+                    : Mono.error(new IllegalStateException("Could not index " + failed + " documents into " + index));
+            });
+    }
+
+    private <T> void register(
+        Class<T> type,
+        Function<KeysetPageable, Flux<T>> findAllBy,
+        Function<Collection<Long>, Flux<T>> findAllById,
+        Function<T, Long> getId,
+        Supplier<Mono<Long>> count
+    ) {
+        register(type, type, findAllBy, findAllById, getId, count);
+    }
+
+    private <T> void register(
+        Class<?> entityType,
+        Class<T> documentType,
+        Function<KeysetPageable, Flux<T>> findAllBy,
+        Function<Collection<Long>, Flux<T>> findAllById,
+        Function<T, Long> getId,
+        Supplier<Mono<Long>> count
+    ) {
+        indexedTypes.put(
+            entityType.getSimpleName().toLowerCase(Locale.ROOT),
+            new IndexedType<>(entityType, documentType, findAllBy, findAllById, getId, count)
+        );
+    }
+
+    private record IndexedType<T>(
+        Class<?> entityType,
+        Class<T> type,
+        Function<KeysetPageable, Flux<T>> findAllBy,
+        Function<Collection<Long>, Flux<T>> findAllById,
+        Function<T, Long> getId,
+        Supplier<Mono<Long>> count
+    ) {}
+
+    /**
+     * The progress of the reindex of an entity.
+     */
+    private static final class Job {
+
+        private final String entity;
+
+        private final Instant startedAt = Instant.now();
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicLong indexed = new AtomicLong();
+
+        private final AtomicInteger catchUpRounds = new AtomicInteger();
+
+        private volatile String index;
+
+        private volatile Instant finishedAt;
+
+        private volatile String error;
+
+        private volatile Disposable disposable;
+
+        Job(String entity) {
+            this.entity = entity;
+        }
+
+        boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        void complete(String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+        }
+
+        void cancel() {
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        }
+
+        ReindexStatusDTO toDTO() {
+            ReindexStatusDTO status = new ReindexStatusDTO();
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long done = indexed.get();
+            double elapsedSeconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            double rate = done / elapsedSeconds;
+            status.setEntity(entity);
+            status.setIndex(index);
+            if (isRunning()) {
+                status.setStatus(ReindexStatusDTO.Status.RUNNING);
+            } else {
+                status.setStatus(error == null ? ReindexStatusDTO.Status.COMPLETED : ReindexStatusDTO.Status.FAILED);
+            }
+            status.setTotal(total.get());
+            status.setIndexed(done);
+            status.setCatchUpRounds(catchUpRounds.get());
+            status.setStartedAt(startedAt);
+            status.setFinishedAt(finishedAt);
+            status.setDocumentsPerSecond(rate);
+            if (isRunning() && rate > 0) {
+                status.setEtaSeconds(Math.round(Math.max(total.get() - done, 0) / rate));
+            }
+            status.setError(error);
+            return status;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.repository.BathroomRepository;
+import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.EntranceRepository;
+import com.dnc.mprs.reportservice.repository.EnvFactorRepository;
+import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KitchenRepository;
+import com.dnc.mprs.reportservice.repository.LivingRoomRepository;
+import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.service.dto.ReportAggregateDTO;
+import com.dnc.mprs.reportservice.service.dto.ReportAggregateDTO.Section;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for reading a {@link com.dnc.mprs.reportservice.domain.Report} together with its child collections.
+ * <p>
+ * The reads are deliberately not {@code @Transactional}: a reactive transaction binds a single connection,
+ * which would serialize the child queries. Without it every collection is read on its own pooled connection,
+ * so all of them are fetched concurrently. Only the creation and the deletion of whole reports run in a transaction.
+ */
+@Service
+public class ReportAggregateService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportAggregateService.class);
+
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private final ReportService reportService;
+
+    private final ReportRepository reportRepository;
+
+    private final BedroomRepository bedroomRepository;
+
+    private final KitchenRepository kitchenRepository;
+
+    private final BathroomRepository bathroomRepository;
+
+    private final LivingRoomRepository livingRoomRepository;
+
+    private final EntranceRepository entranceRepository;
+
+    private final InfrastructureRepository infrastructureRepository;
+
+    private final EnvFactorRepository envFactorRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportStatisticsService reportStatisticsService;
+
+    public ReportAggregateService(
+        ReportService reportService,
+        ReportRepository reportRepository,
+        BedroomRepository bedroomRepository,
+        KitchenRepository kitchenRepository,
+        BathroomRepository bathroomRepository,
+        LivingRoomRepository livingRoomRepository,
+        EntranceRepository entranceRepository,
+        InfrastructureRepository infrastructureRepository,
+        EnvFactorRepository envFactorRepository,
+        SearchOutboxService searchOutboxService,
+        EntityCountService entityCountService,
+        ReportStatisticsService reportStatisticsService
+    ) {
+        this.reportService = reportService;
+        this.reportRepository = reportRepository;
+        this.bedroomRepository = bedroomRepository;
+        this.kitchenRepository = kitchenRepository;
+        this.bathroomRepository = bathroomRepository;
+        this.livingRoomRepository = livingRoomRepository;
+        this.entranceRepository = entranceRepository;
+        this.infrastructureRepository = infrastructureRepository;
+        this.envFactorRepository = envFactorRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.entityCountService = entityCountService;
+        this.reportStatisticsService = reportStatisticsService;
+    }
+
+    /**
+     * Create a report together with its child collections, in one transaction.
+     * <p>
+     * The report is inserted first to get its id, then each child collection with one batched insert,
+     * and finally the report and all its children are recorded in the search outbox with a single statement.
+     *
+     * @param aggregate the report and its children, all without id.
+     * @return the persisted report and children.
+     */
+    @Transactional
+    public Mono<ReportAggregateDTO> create(ReportAggregateDTO aggregate) {
+        LOG.debug("Request to create Report aggregate : {}", aggregate);
+        return reportRepository
+            .save(aggregate.getReport())
+            .flatMap(report -> reportStatisticsService.addAll(List.of(report.getId())).thenReturn(report))
+            .flatMap(report -> {
+                aggregate.setReport(report);
+                Long id = report.getId();
+                return Flux.<Object>concat(
+                    insertChildren(aggregate.getBedrooms(), id, Bedroom::setReportId, bedroomRepository::insertAll),
+                    insertChildren(aggregate.getKitchens(), id, Kitchen::setReportId, kitchenRepository::insertAll),
+                    insertChildren(aggregate.getBathrooms(), id, Bathroom::setReportId, bathroomRepository::insertAll),
+                    insertChildren(aggregate.getLivingRooms(), id, LivingRoom::setReportId, livingRoomRepository::insertAll),
+                    insertChildren(aggregate.getEntrances(), id, Entrance::setReportId, entranceRepository::insertAll),
+                    insertChildren(aggregate.getInfrastructures(), id, Infrastructure::setReportId, infrastructureRepository::insertAll),
+                    insertChildren(aggregate.getEnvFactors(), id, EnvFactor::setReportId, envFactorRepository::insertAll)
+                )
+                    // the children are inserted in place, so the aggregate holds their ids
+                    .then(Mono.defer(() -> searchOutboxService.enqueueAll(documents(aggregate))))
+                    .thenReturn(aggregate);
+            })
+            .doOnSuccess(created -> invalidateCounts());
+    }
+
+    /**
+     * Get one report by id, with the requested child collections.
+     *
+     * @param id the id of the report.
+     * @param sections the child collections to load.
+     * @return the report and its children, or empty if the report does not exist.
+     */
+    public Mono<ReportAggregateDTO> findOne(Long id, Set<Section> sections) {
+        LOG.debug("Request to get Report aggregate : {}, {}", id, sections);
+        return reportService.findOne(id).flatMap(report -> {
+            ReportAggregateDTO aggregate = new ReportAggregateDTO(report);
+            // the parent is already loaded, so the children are read with the plain report_id lookups, without joining report again
+            List<Mono<?>> loads = new ArrayList<>();
+            if (sections.contains(Section.BEDROOMS)) {
+                loads.add(bedroomRepository.findByReport(id).collectList().doOnNext(aggregate::setBedrooms));
+            }
+            if (sections.contains(Section.KITCHENS)) {
+                loads.add(kitchenRepository.findByReport(id).collectList().doOnNext(aggregate::setKitchens));
+            }
+            if (sections.contains(Section.BATHROOMS)) {
+                loads.add(bathroomRepository.findByReport(id).collectList().doOnNext(aggregate::setBathrooms));
+            }
+            if (sections.contains(Section.LIVING_ROOMS)) {
+                loads.add(livingRoomRepository.findByReport(id).collectList().doOnNext(aggregate::setLivingRooms));
+            }
+            if (sections.contains(Section.ENTRANCES)) {
+                loads.add(entranceRepository.findByReport(id).collectList().doOnNext(aggregate::setEntrances));
+            }
+            if (sections.contains(Section.INFRASTRUCTURES)) {
+                loads.add(infrastructureRepository.findByReport(id).collectList().doOnNext(aggregate::setInfrastructures));
+            }
+            if (sections.contains(Section.ENV_FACTORS)) {
+                loads.add(envFactorRepository.findByReport(id).collectList().doOnNext(aggregate::setEnvFactors));
+            }
+            return Mono.when(loads).thenReturn(aggregate);
+        });
+    }
+
+    /**
+     * Get a page of reports, with the requested child collections.
+     *
+     * @param pageable the pagination information.
+     * @param sections the child collections to load.
+     * @return the reports and their children.
+     */
+    public Flux<ReportAggregateDTO> findAll(Pageable pageable, Set<Section> sections) {
+        LOG.debug("Request to get all Report aggregates : {}", sections);
+        return reportService.findAll(pageable).collectList().flatMapMany(reports -> attachChildren(reports, sections));
+    }
+
+    /**
+     * Attach the requested child collections to the given reports.
+     * <p>
+     * Each child type is read with a single {@code report_id IN (...)} query for the whole list of reports,
+     * and the rows are grouped by report in memory.
+     *
+     * @param reports the reports to expand.
+     * @param sections the child collections to load.
+     * @return the reports and their children, in the order of the given list.
+     */
+    public Flux<ReportAggregateDTO> attachChildren(List<Report> reports, Set<Section> sections) {
+        Map<Long, ReportAggregateDTO> aggregates = new LinkedHashMap<>();
+        reports.forEach(report -> aggregates.put(report.getId(), new ReportAggregateDTO(report)));
+        if (aggregates.isEmpty() || sections.isEmpty()) {
+            return Flux.fromIterable(aggregates.values());
+        }
+        List<Long> ids = new ArrayList<>(aggregates.keySet());
+        List<Mono<?>> loads = new ArrayList<>();
+        if (sections.contains(Section.BEDROOMS)) {
+            loads.add(
+                attach(bedroomRepository.findByReportIdIn(ids), Bedroom::getReportId, aggregates, ReportAggregateDTO::setBedrooms)
+            );
+        }
+        if (sections.contains(Section.KITCHENS)) {
+            loads.add(
+                attach(kitchenRepository.findByReportIdIn(ids), Kitchen::getReportId, aggregates, ReportAggregateDTO::setKitchens)
+            );
+        }
+        if (sections.contains(Section.BATHROOMS)) {
+            loads.add(
+                attach(bathroomRepository.findByReportIdIn(ids), Bathroom::getReportId, aggregates, ReportAggregateDTO::setBathrooms)
+            );
+        }
+        if (sections.contains(Section.LIVING_ROOMS)) {
+            loads.add(
+                attach(
+                    livingRoomRepository.findByReportIdIn(ids),
+                    LivingRoom::getReportId,
+                    aggregates,
+                    ReportAggregateDTO::setLivingRooms
+                )
+            );
+        }
+        if (sections.contains(Section.ENTRANCES)) {
+            loads.add(
+                attach(entranceRepository.findByReportIdIn(ids), Entrance::getReportId, aggregates, ReportAggregateDTO::setEntrances)
+            );
+        }
+        if (sections.contains(Section.INFRASTRUCTURES)) {
+            loads.add(
+                attach(
+                    infrastructureRepository.findByReportIdIn(ids),
+                    Infrastructure::getReportId,
+                    aggregates,
+                    ReportAggregateDTO::setInfrastructures
+                )
+            );
+        }
+        if (sections.contains(Section.ENV_FACTORS)) {
+            loads.add(
+                attach(envFactorRepository.findByReportIdIn(ids), EnvFactor::getReportId, aggregates, ReportAggregateDTO::setEnvFactors)
+            );
+        }
+        return Mono.when(loads).thenMany(Flux.fromIterable(aggregates.values()));
+    }
+
+    /**
+     * Delete a report together with its child collections, in one transaction.
+     * <p>
+     * Each child table is cleared with one {@code DELETE ... WHERE report_id IN (...)}, after locking the child rows
+     * to collect their ids, then the report and all its children are recorded in the search outbox, to be removed from the indices.
+     *
+     * @param id the id of the report.
+     * @return the number of deleted reports: {@code 0} if there is no report with this id.
+     */
+    @Transactional
+    public Mono<Long> delete(Long id) {
+        LOG.debug("Request to delete Report aggregate : {}", id);
+        // the row is locked first, so that the quality state counts removed are the ones of its latest version
+        return reportRepository
+            .lockById(id)
+            .then(deleteAll(List.of(id)))
+            .doOnSuccess(deleted -> invalidateCounts());
+    }
+
+    /**
+     * Delete all the reports of a complex together with their child collections, in one transaction.
+     * <p>
+     * The reports are deleted by batches of {@value #DELETE_BATCH_SIZE}, each with one statement per table and
+     * one statement to the search outbox.
+     *
+     * @param complexId the id of the complex.
+     * @return the number of deleted reports.
+     */
+    @Transactional
+    public Mono<Long> deleteAllByComplex(Long complexId) {
+        LOG.debug("Request to delete all Report aggregates of complex : {}", complexId);
+        return reportRepository
+            .lockIdsByComplexId(complexId)
+            // the locking read is drained before the first delete: a transaction has a single connection, which can not
+            // run a statement while the rows of another one are still streamed
+            .collectList()
+            .flatMapMany(ids -> Flux.fromIterable(ids).buffer(DELETE_BATCH_SIZE))
+            .concatMap(this::deleteAll)
+            .reduce(0L, Long::sum)
+            .doOnSuccess(deleted -> invalidateCounts());
+    }
+
+    private Mono<Long> deleteAll(List<Long> reportIds) {
+        Map<Class<?>, List<Long>> documents = new LinkedHashMap<>();
+        documents.put(Report.class, reportIds);
+        return reportStatisticsService
+            .removeAll(reportIds)
+            .thenMany(
+                Flux.concat(
+                    deleteChildren(
+                        Bedroom.class,
+                        reportIds,
+                        bedroomRepository::lockIdsByReportIdIn,
+                        bedroomRepository::deleteByReportIdIn,
+                        documents
+                    ),
+                    deleteChildren(
+                        Kitchen.class,
+                        reportIds,
+                        kitchenRepository::lockIdsByReportIdIn,
+                        kitchenRepository::deleteByReportIdIn,
+                        documents
+                    ),
+                    deleteChildren(
+                        Bathroom.class,
+                        reportIds,
+                        bathroomRepository::lockIdsByReportIdIn,
+                        bathroomRepository::deleteByReportIdIn,
+                        documents
+                    ),
+                    deleteChildren(
+                        LivingRoom.class,
+                        reportIds,
+                        livingRoomRepository::lockIdsByReportIdIn,
+                        livingRoomRepository::deleteByReportIdIn,
+                        documents
+                    ),
+                    deleteChildren(
+                        Entrance.class,
+                        reportIds,
+                        entranceRepository::lockIdsByReportIdIn,
+                        entranceRepository::deleteByReportIdIn,
+                        documents
+                    ),
+                    deleteChildren(
+                        Infrastructure.class,
+                        reportIds,
+                        infrastructureRepository::lockIdsByReportIdIn,
+                        infrastructureRepository::deleteByReportIdIn,
+                        documents
+                    ),
+                    deleteChildren(
+                        EnvFactor.class,
+                        reportIds,
+                        envFactorRepository::lockIdsByReportIdIn,
+                        envFactorRepository::deleteByReportIdIn,
+                        documents
+                    )
+                )
+            )
+            .then(reportRepository.deleteByIdIn(reportIds))
+            .flatMap(deleted -> searchOutboxService.enqueueAll(documents).thenReturn(deleted));
+    }
+
+    private void invalidateCounts() {
+        entityCountService.invalidate(
+            Report.class,
+            Bedroom.class,
+            Kitchen.class,
+            Bathroom.class,
+            LivingRoom.class,
+            Entrance.class,
+            Infrastructure.class,
+            EnvFactor.class
+        );
+    }
+
+    private static Mono<Long> deleteChildren(
+        Class<?> type,
+        List<Long> reportIds,
+        Function<List<Long>, Flux<Long>> lockIds,
+        Function<List<Long>, Mono<Long>> deleteAll,
+        Map<Class<?>, List<Long>> documents
+    ) {
+        // the locks also keep concurrent inserts out of the range, so the collected ids are all the deleted rows
+        return lockIds
+            .apply(reportIds)
+            .collectList()
+            .filter(ids -> !ids.isEmpty())
+            .flatMap(ids -> {
+                documents.put(type, ids);
+                return deleteAll.apply(reportIds);
+            });
+    }
+
+    private static Map<Class<?>, List<Long>> documents(ReportAggregateDTO aggregate) {
+        Map<Class<?>, List<Long>> documents = new LinkedHashMap<>();
+        documents.put(Report.class, List.of(aggregate.getReport().getId()));
+        putIds(documents, Bedroom.class, aggregate.getBedrooms(), Bedroom::getId);
+        putIds(documents, Kitchen.class, aggregate.getKitchens(), Kitchen::getId);
+        putIds(documents, Bathroom.class, aggregate.getBathrooms(), Bathroom::getId);
+        putIds(documents, LivingRoom.class, aggregate.getLivingRooms(), LivingRoom::getId);
+        putIds(documents, Entrance.class, aggregate.getEntrances(), Entrance::getId);
+        putIds(documents, Infrastructure.class, aggregate.getInfrastructures(), Infrastructure::getId);
+        putIds(documents, EnvFactor.class, aggregate.getEnvFactors(), EnvFactor::getId);
+        return documents;
+    }
+
+    private static <T> void putIds(Map<Class<?>, List<Long>> documents, Class<T> type, List<T> children, Function<T, Long> getId) {
+        if (children != null && !children.isEmpty()) {
+            documents.put(type, children.stream().map(getId).toList());
+        }
+    }
+
+    private static <T> Flux<T> insertChildren(
+        List<T> children,
+        Long reportId,
+        BiConsumer<T, Long> setReportId,
+        Function<List<T>, Flux<T>> insertAll
+    ) {
+        if (children == null || children.isEmpty()) {
+            return Flux.empty();
+        }
+        children.forEach(child -> setReportId.accept(child, reportId));
+        return insertAll.apply(children);
+    }
+
+    private static <T> Mono<Void> attach(
+        Flux<T> children,
+        Function<T, Long> reportId,
+        Map<Long, ReportAggregateDTO> aggregates,
+        BiConsumer<ReportAggregateDTO, List<T>> setter
+    ) {
+        return children
+            .collectMultimap(reportId)
+            .doOnNext(byReport ->
+                aggregates.forEach((id, aggregate) -> {
+                    Collection<T> rows = byReport.get(id);
+                    setter.accept(aggregate, rows != null ? new ArrayList<>(rows) : new ArrayList<>());
+                })
+            )
+            .then();
+    }
+}
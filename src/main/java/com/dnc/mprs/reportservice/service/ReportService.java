@@ -1,11 +1,28 @@
 package com.dnc.mprs.reportservice.service;
 
 import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import com.dnc.mprs.reportservice.domain.criteria.ReportCriteria;
+import com.dnc.mprs.reportservice.domain.criteria.ReportDocumentCriteria;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.repository.search.ReportDocumentSearchRepository;
 import com.dnc.mprs.reportservice.repository.search.ReportSearchRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import com.dnc.mprs.reportservice.service.dto.ReportField;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -20,13 +37,44 @@ public class ReportService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ReportService.class);
 
+    private static final int EXPORT_BATCH_SIZE = 256;
+
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("reportDate"), Sort.Order.desc("id"));
+
     private final ReportRepository reportRepository;
 
     private final ReportSearchRepository reportSearchRepository;
 
-    public ReportService(ReportRepository reportRepository, ReportSearchRepository reportSearchRepository) {
+    private final ReportDocumentSearchRepository reportDocumentSearchRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkCreateService bulkCreateService;
+
+    private final EntityCountService entityCountService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    private final ReportStatisticsService reportStatisticsService;
+
+    public ReportService(
+        ReportRepository reportRepository,
+        ReportSearchRepository reportSearchRepository,
+        ReportDocumentSearchRepository reportDocumentSearchRepository,
+        SearchOutboxService searchOutboxService,
+        BulkCreateService bulkCreateService,
+        EntityCountService entityCountService,
+        ReportSnapshotService reportSnapshotService,
+        ReportStatisticsService reportStatisticsService
+    ) {
         this.reportRepository = reportRepository;
         this.reportSearchRepository = reportSearchRepository;
+        this.reportDocumentSearchRepository = reportDocumentSearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkCreateService = bulkCreateService;
+        this.entityCountService = entityCountService;
+        this.reportSnapshotService = reportSnapshotService;
+        this.reportStatisticsService = reportStatisticsService;
     }
 
     /**
@@ -37,112 +85,104 @@ public class ReportService {
      */
     public Mono<Report> save(Report report) {
         LOG.debug("Request to save Report : {}", report);
-        return reportRepository.save(report).flatMap(reportSearchRepository::save);
+        return reportRepository
+            .save(report)
+            .flatMap(saved -> reportStatisticsService.addAll(List.of(saved.getId())).thenReturn(saved))
+            .flatMap(saved -> searchOutboxService.enqueue(Report.class, saved.getId()).thenReturn(saved))
+            .doOnNext(saved -> entityCountService.adjust(Report.class, 1));
     }
 
     /**
-     * Update a report.
+     * Save a batch of new reports.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted with one batched statement and indexed with one bulk request.
+     *
+     * @param reports the entities to save.
+     * @return the result of every item, in the order of the batch.
+     */
+    public Flux<BulkItemResultDTO<Report>> saveAll(List<Report> reports) {
+        LOG.debug("Request to save a batch of {} Reports", reports.size());
+        return bulkCreateService
+            .createAll(
+                reports,
+                Report.class,
+                Report::getId,
+                valid ->
+                    reportRepository
+                        .insertAll(valid)
+                        .collectList()
+                        .flatMapMany(inserted ->
+                            reportStatisticsService
+                                .addAll(inserted.stream().map(Report::getId).toList())
+                                .thenMany(Flux.fromIterable(inserted))
+                        )
+            )
+            .doOnComplete(() -> entityCountService.invalidate(Report.class));
+    }
+
+    /**
+     * Update a report with a single {@code UPDATE} statement.
      *
      * @param report the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Report> update(Report report) {
         LOG.debug("Request to update Report : {}", report);
-        return reportRepository.save(report).flatMap(reportSearchRepository::save);
+        return updateCounted(report, reportRepository.update(report))
+            .flatMap(updated -> searchOutboxService.enqueue(Report.class, report.getId()).thenReturn(report))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getId()).thenReturn(saved));
     }
 
     /**
-     * Partially update a report.
+     * Partially update a report: the non-null fields are written with a single {@code UPDATE} statement.
      *
      * @param report the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
     public Mono<Report> partialUpdate(Report report) {
         LOG.debug("Request to partially update Report : {}", report);
+        return updateCounted(report, reportRepository.partialUpdate(report))
+            .flatMap(updated -> reportRepository.findById(report.getId()))
+            .flatMap(saved -> searchOutboxService.enqueue(Report.class, saved.getId()).thenReturn(saved))
+            .flatMap(saved -> reportSnapshotService.refresh(saved.getId()).thenReturn(saved));
+    }
 
+    /**
+     * Run an update of a report, and move the report from the quality state counts of the version it replaces to the
+     * counts of its new version.
+     * <p>
+     * The row is not locked: the replaced version and its counts are both read from the snapshot of the transaction,
+     * and the update only writes on top of that version. If the row changed since, the update fails with a conflict
+     * and the transaction, counts included, is rolled back.
+     *
+     * @param report the entity to update.
+     * @param update the update of the row.
+     * @return the number of updated rows, or empty if the report does not exist.
+     */
+    private Mono<Long> updateCounted(Report report, Mono<Long> update) {
+        List<Long> ids = List.of(report.getId());
         return reportRepository
             .findById(report.getId())
-            .map(existingReport -> {
-                if (report.getReportTitle() != null) {
-                    existingReport.setReportTitle(report.getReportTitle());
-                }
-                if (report.getReportDate() != null) {
-                    existingReport.setReportDate(report.getReportDate());
-                }
-                if (report.getSummary() != null) {
-                    existingReport.setSummary(report.getSummary());
-                }
-                if (report.getExteriorState() != null) {
-                    existingReport.setExteriorState(report.getExteriorState());
-                }
-                if (report.getConstructionYear() != null) {
-                    existingReport.setConstructionYear(report.getConstructionYear());
-                }
-                if (report.getMaintenanceState() != null) {
-                    existingReport.setMaintenanceState(report.getMaintenanceState());
-                }
-                if (report.getParkingFacility() != null) {
-                    existingReport.setParkingFacility(report.getParkingFacility());
-                }
-                if (report.getParkingCount() != null) {
-                    existingReport.setParkingCount(report.getParkingCount());
-                }
-                if (report.getElevatorState() != null) {
-                    existingReport.setElevatorState(report.getElevatorState());
-                }
-                if (report.getNoiseState() != null) {
-                    existingReport.setNoiseState(report.getNoiseState());
-                }
-                if (report.getHomepadState() != null) {
-                    existingReport.setHomepadState(report.getHomepadState());
-                }
-                if (report.getCctvYn() != null) {
-                    existingReport.setCctvYn(report.getCctvYn());
-                }
-                if (report.getFireSafetyState() != null) {
-                    existingReport.setFireSafetyState(report.getFireSafetyState());
-                }
-                if (report.getDoorSecurityState() != null) {
-                    existingReport.setDoorSecurityState(report.getDoorSecurityState());
-                }
-                if (report.getMaintenanceFee() != null) {
-                    existingReport.setMaintenanceFee(report.getMaintenanceFee());
+            .flatMap(previous -> {
+                if (report.getVersion() != null && !report.getVersion().equals(previous.getVersion())) {
+                    return Mono.error(
+                        new OptimisticLockingFailureException(
+                            String.format("Version %s of Report %s is stale", report.getVersion(), report.getId())
+                        )
+                    );
                 }
-                if (report.getRedevelopmentYn() != null) {
-                    existingReport.setRedevelopmentYn(report.getRedevelopmentYn());
-                }
-                if (report.getRentalDemand() != null) {
-                    existingReport.setRentalDemand(report.getRentalDemand());
-                }
-                if (report.getCommunityRules() != null) {
-                    existingReport.setCommunityRules(report.getCommunityRules());
-                }
-                if (report.getComplexId() != null) {
-                    existingReport.setComplexId(report.getComplexId());
-                }
-                if (report.getComplexName() != null) {
-                    existingReport.setComplexName(report.getComplexName());
-                }
-                if (report.getPropertyId() != null) {
-                    existingReport.setPropertyId(report.getPropertyId());
-                }
-                if (report.getPropertyName() != null) {
-                    existingReport.setPropertyName(report.getPropertyName());
-                }
-                if (report.getCreatedAt() != null) {
-                    existingReport.setCreatedAt(report.getCreatedAt());
-                }
-                if (report.getUpdatedAt() != null) {
-                    existingReport.setUpdatedAt(report.getUpdatedAt());
-                }
-
-                return existingReport;
+                return reportStatisticsService.countAll(ids);
             })
-            .flatMap(reportRepository::save)
-            .flatMap(savedReport -> {
-                reportSearchRepository.save(savedReport);
-                return Mono.just(savedReport);
-            });
+            .flatMap(previousCounts ->
+                update
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated ->
+                        reportStatisticsService
+                            .removeCounts(previousCounts)
+                            .then(reportStatisticsService.addAll(ids))
+                            .thenReturn(updated)
+                    )
+            );
     }
 
     /**
@@ -157,6 +197,120 @@ public class ReportService {
         return reportRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the reports matching the criteria.
+     *
+     * @param criteria the filters on the columns.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Report> findByCriteria(ReportCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to get Reports by criteria : {}", criteria);
+        return reportRepository.findByCriteria(criteria, pageable);
+    }
+
+    /**
+     * Get all the reports, with only the given fields.
+     * <p>
+     * Only the columns of the fields are selected, so large text columns such as {@code community_rules} are neither
+     * read nor sent when they are not requested.
+     *
+     * @param pageable the pagination information.
+     * @param fields the fields to return, besides the id.
+     * @return the list of projections, by field name, in the order of the given fields.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Map<String, Object>> findAll(Pageable pageable, Set<ReportField> fields) {
+        LOG.debug("Request to get all Reports with fields : {}", fields);
+        List<String> columns = fields.stream().map(ReportField::getColumn).toList();
+        return reportRepository
+            .findAllBy(pageable, columns)
+            .map(report -> {
+                Map<String, Object> projection = new LinkedHashMap<>();
+                projection.put("id", report.getId());
+                fields.forEach(field -> projection.put(field.getValue(), field.get(report)));
+                return projection;
+            });
+    }
+
+    /**
+     * Get a slice of the reports using keyset pagination.
+     *
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Report> findAll(KeysetPageable keyset) {
+        LOG.debug("Request to get a keyset page of Reports : {}", keyset);
+        return reportRepository.findAllBy(keyset);
+    }
+
+    /**
+     * Get the reports of a complex, latest first unless another order is requested.
+     *
+     * @param complexId the id of the complex.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Report> findAllByComplex(Long complexId, Pageable pageable) {
+        LOG.debug("Request to get Reports of complex : {}", complexId);
+        return reportRepository.findAllByComplexId(complexId, latestFirstByDefault(pageable));
+    }
+
+    /**
+     * Returns the number of reports of a complex.
+     *
+     * @param complexId the id of the complex.
+     * @return the number of entities in the database.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByComplex(Long complexId) {
+        return reportRepository.countByComplexId(complexId);
+    }
+
+    /**
+     * Get the report history of a property, latest first unless another order is requested.
+     *
+     * @param propertyId the id of the property.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Report> findAllByProperty(Long propertyId, Pageable pageable) {
+        LOG.debug("Request to get Reports of property : {}", propertyId);
+        return reportRepository.findAllByPropertyId(propertyId, latestFirstByDefault(pageable));
+    }
+
+    /**
+     * Returns the number of reports of a property.
+     *
+     * @param propertyId the id of the property.
+     * @return the number of entities in the database.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByProperty(Long propertyId) {
+        return reportRepository.countByPropertyId(propertyId);
+    }
+
+    /**
+     * Stream the reports matching the filters, ordered by id.
+     * <p>
+     * The rows are requested from the database in batches of {@value #EXPORT_BATCH_SIZE}, as the subscriber consumes them,
+     * so only a bounded number of reports is held in memory however many are exported.
+     *
+     * @param complexId the complex of the reports, or {@code null} for all complexes.
+     * @param reportDateFrom the inclusive lower bound of the report date, or {@code null}.
+     * @param reportDateTo the exclusive upper bound of the report date, or {@code null}.
+     * @return the stream of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Report> export(Long complexId, Instant reportDateFrom, Instant reportDateTo) {
+        LOG.debug("Request to export Reports : {}, {}, {}", complexId, reportDateFrom, reportDateTo);
+        return reportRepository.findAllForExport(complexId, reportDateFrom, reportDateTo).limitRate(EXPORT_BATCH_SIZE);
+    }
+
     /**
      * Returns the number of reports available.
      * @return the number of entities in the database.
@@ -167,11 +321,29 @@ public class ReportService {
     }
 
     /**
-     * Returns the number of reports available in search repository.
+     * Returns the number of reports available, computed as requested.
      *
+     * @param mode how to count the entities.
+     * @return the number of entities in the database, or empty for {@link CountMode#NONE}.
      */
-    public Mono<Long> searchCount() {
-        return reportSearchRepository.count();
+    public Mono<Long> countAll(CountMode mode) {
+        return entityCountService.count(Report.class, mode, reportRepository::count);
+    }
+
+    /**
+     * Returns the number of reports matching the criteria. Without any filter, the count is computed as requested
+     * like {@link #countAll(CountMode)}, otherwise it is an exact count of the matching rows.
+     *
+     * @param criteria the filters on the columns.
+     * @param mode how to count the entities.
+     * @return the number of matching entities, or empty for {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(ReportCriteria criteria, CountMode mode) {
+        if (mode == CountMode.NONE || criteria.equals(new ReportCriteria())) {
+            return countAll(mode);
+        }
+        return reportRepository.countByCriteria(criteria);
     }
 
     /**
@@ -194,7 +366,12 @@ public class ReportService {
      */
     public Mono<Void> delete(Long id) {
         LOG.debug("Request to delete Report : {}", id);
-        return reportRepository.deleteById(id).then(reportSearchRepository.deleteById(id));
+        return reportRepository
+            .lockById(id)
+            .then(reportStatisticsService.removeAll(List.of(id)))
+            .then(reportRepository.deleteById(id))
+            .then(searchOutboxService.enqueue(Report.class, id))
+            .doOnSuccess(deleted -> entityCountService.invalidate(Report.class));
     }
 
     /**
@@ -202,11 +379,60 @@ public class ReportService {
      *
      * @param query the query of the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of hits, with the total number of entities matching the query.
      */
     @Transactional(readOnly = true)
-    public Flux<Report> search(String query, Pageable pageable) {
+    public Mono<SearchPage<Report>> search(String query, Pageable pageable) {
         LOG.debug("Request to search for a page of Reports for query {}", query);
         return reportSearchRepository.search(query, pageable);
     }
+
+    /**
+     * Search for the report corresponding to the query, page after page with a cursor.
+     *
+     * @param query the query of the search.
+     * @param cursor the cursor pagination information.
+     * @return the page of hits, with the total number of entities matching the query.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<Report>> search(String query, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Reports for query {}", query);
+        return reportSearchRepository.search(query, cursor);
+    }
+
+    /**
+     * Search for the reports matching the criteria on themselves and on their children, with a single query.
+     *
+     * @param query the text query, scored; may be blank to only filter.
+     * @param criteria the filters on the reports and on the summaries of their children.
+     * @param pageable the pagination information.
+     * @return the page of hits, the search documents of the reports with their children summaries.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<ReportDocument>> searchDocuments(String query, ReportDocumentCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Report documents for query {} and criteria {}", query, criteria);
+        return reportDocumentSearchRepository.search(query, criteria, pageable);
+    }
+
+    /**
+     * Search for the reports matching the criteria on themselves and on their children, scored by the text only.
+     *
+     * @param text the text searched in the text fields of the reports; may be blank to only filter.
+     * @param criteria the filters on the reports and on the summaries of their children, which are not scored.
+     * @param pageable the pagination information.
+     * @return the page of hits, the search documents of the reports with their children summaries.
+     */
+    @Transactional(readOnly = true)
+    public Mono<SearchPage<ReportDocument>> searchByCriteria(String text, ReportDocumentCriteria criteria, Pageable pageable) {
+        LOG.debug("Request to search for a page of Report documents for text {} and criteria {}", text, criteria);
+        return reportDocumentSearchRepository.searchByCriteria(text, criteria, pageable);
+    }
+
+    private static Pageable latestFirstByDefault(Pageable pageable) {
+        // the (complex_id, report_date) and (property_id, report_date) indexes serve this order without sorting
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), LATEST_FIRST);
+    }
 }
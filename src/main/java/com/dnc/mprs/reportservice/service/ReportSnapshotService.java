@@ -0,0 +1,232 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.repository.BathroomRepository;
+import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.EntranceRepository;
+import com.dnc.mprs.reportservice.repository.EnvFactorRepository;
+import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KitchenRepository;
+import com.dnc.mprs.reportservice.repository.LivingRoomRepository;
+import com.dnc.mprs.reportservice.repository.ReportDocumentRepository;
+import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.repository.ReportSnapshotRepository;
+import com.dnc.mprs.reportservice.service.dto.ReportAggregateDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for the JSON snapshots of the {@link com.dnc.mprs.reportservice.domain.Report} aggregates.
+ * <p>
+ * A snapshot holds a report, its author and all its child collections, serialized once, so that reading it is a single
+ * primary key lookup which returns the stored bytes. The services refresh the snapshot on every change of a report
+ * or of one of its children: the snapshot is deleted in the transaction of the change, and rebuilt in a new transaction
+ * once the change is committed. A rebuild locks the report row before reading, so concurrent rebuilds of a report
+ * are serialized and the last one reads all the committed changes. A missing snapshot is built on its first read.
+ * <p>
+ * A refresh also records the change of the report in the search outbox, as its search document embeds its children,
+ * and increments the search version of the report, which versions that document.
+ */
+@Service
+public class ReportSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportSnapshotService.class);
+
+    private final ReportRepository reportRepository;
+
+    private final BedroomRepository bedroomRepository;
+
+    private final KitchenRepository kitchenRepository;
+
+    private final BathroomRepository bathroomRepository;
+
+    private final LivingRoomRepository livingRoomRepository;
+
+    private final EntranceRepository entranceRepository;
+
+    private final InfrastructureRepository infrastructureRepository;
+
+    private final EnvFactorRepository envFactorRepository;
+
+    private final ReportSnapshotRepository reportSnapshotRepository;
+
+    private final ReportDocumentRepository reportDocumentRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionalOperator rebuildTransaction;
+
+    public ReportSnapshotService(
+        ReportRepository reportRepository,
+        BedroomRepository bedroomRepository,
+        KitchenRepository kitchenRepository,
+        BathroomRepository bathroomRepository,
+        LivingRoomRepository livingRoomRepository,
+        EntranceRepository entranceRepository,
+        InfrastructureRepository infrastructureRepository,
+        EnvFactorRepository envFactorRepository,
+        ReportSnapshotRepository reportSnapshotRepository,
+        ReportDocumentRepository reportDocumentRepository,
+        SearchOutboxService searchOutboxService,
+        ObjectMapper objectMapper,
+        ReactiveTransactionManager transactionManager
+    ) {
+        this.reportRepository = reportRepository;
+        this.bedroomRepository = bedroomRepository;
+        this.kitchenRepository = kitchenRepository;
+        this.bathroomRepository = bathroomRepository;
+        this.livingRoomRepository = livingRoomRepository;
+        this.entranceRepository = entranceRepository;
+        this.infrastructureRepository = infrastructureRepository;
+        this.envFactorRepository = envFactorRepository;
+        this.reportSnapshotRepository = reportSnapshotRepository;
+        this.reportDocumentRepository = reportDocumentRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.objectMapper = objectMapper;
+        // a rebuild runs after the commit of the change, so it cannot join its transaction
+        this.rebuildTransaction = TransactionalOperator.create(
+            transactionManager,
+            new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW)
+        );
+    }
+
+    /**
+     * Get the snapshot of a report, building it if there is none yet.
+     *
+     * @param id the id of the report.
+     * @return the JSON document of the report and all its children, or empty if the report does not exist.
+     */
+    public Mono<byte[]> findOne(Long id) {
+        LOG.debug("Request to get Report snapshot : {}", id);
+        return reportSnapshotRepository.findContentById(id).switchIfEmpty(Mono.defer(() -> rebuild(id)));
+    }
+
+    /**
+     * Refresh the snapshot of a report, after a change of the report or of one of its children.
+     *
+     * @param reportId the id of the report, may be {@code null} for a child without report.
+     * @return a {@link Mono} completing when the snapshot is deleted; it is rebuilt once the current transaction is committed.
+     */
+    public Mono<Void> refresh(Long reportId) {
+        return reportId != null ? refresh(Set.of(reportId)) : Mono.empty();
+    }
+
+    /**
+     * Refresh the snapshots of the given reports, after a change of the reports or of their children.
+     *
+     * @param reportIds the ids of the reports, {@code null} ids are ignored.
+     * @return a {@link Mono} completing when the snapshots are deleted; they are rebuilt once the current transaction is committed.
+     */
+    public Mono<Void> refresh(Collection<Long> reportIds) {
+        Set<Long> ids = reportIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        LOG.debug("Request to refresh Report snapshots : {}", ids);
+        return reportSnapshotRepository
+            .deleteByReportIdIn(ids)
+            // the search documents of the reports embed the summaries of their children too, and are versioned with them
+            .then(reportDocumentRepository.incrementSearchVersions(ids))
+            .then(searchOutboxService.enqueueAll(Report.class, ids))
+            .then(TransactionSynchronizationManager.forCurrentTransaction())
+            .flatMap(synchronizationManager -> rebuildAfterCommit(synchronizationManager, ids))
+            .onErrorResume(NoTransactionException.class, e -> rebuildAll(ids));
+    }
+
+    /**
+     * Refresh the snapshots of the reports of an author, after a change of the author.
+     *
+     * @param authorId the id of the author.
+     * @return a {@link Mono} completing when the snapshots are deleted; they are rebuilt once the current transaction is committed.
+     */
+    public Mono<Void> refreshByAuthor(Long authorId) {
+        return reportRepository.findIdsByAuthorId(authorId).collectList().flatMap(this::refresh);
+    }
+
+    private Mono<Void> rebuildAfterCommit(TransactionSynchronizationManager synchronizationManager, Set<Long> ids) {
+        if (!synchronizationManager.isSynchronizationActive()) {
+            return rebuildAll(ids);
+        }
+        // one rebuild per report and transaction, however many of its rows were changed
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) synchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> scheduled = new LinkedHashSet<>();
+            synchronizationManager.bindResource(this, scheduled);
+            synchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return rebuildAll(scheduled);
+                    }
+
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        synchronizationManager.unbindResourceIfPossible(ReportSnapshotService.this);
+                        return Mono.empty();
+                    }
+                }
+            );
+            pending = scheduled;
+        }
+        pending.addAll(ids);
+        return Mono.empty();
+    }
+
+    private Mono<Void> rebuildAll(Set<Long> ids) {
+        // the change itself is committed, a failed rebuild only leaves the snapshot to be built on its next read
+        return Flux.fromIterable(ids)
+            .concatMap(id ->
+                rebuild(id).onErrorResume(e -> {
+                    LOG.warn("Could not rebuild the snapshot of Report {}: {}", id, e.getMessage());
+                    return Mono.empty();
+                })
+            )
+            .then();
+    }
+
+    private Mono<byte[]> rebuild(Long id) {
+        return reportRepository
+            .lockById(id)
+            .flatMap(locked -> load(id))
+            .flatMap(aggregate -> Mono.fromCallable(() -> objectMapper.writeValueAsBytes(aggregate)))
+            .flatMap(content -> reportSnapshotRepository.save(id, content).thenReturn(content))
+            .as(rebuildTransaction::transactional);
+    }
+
+    private Mono<ReportAggregateDTO> load(Long id) {
+        return reportRepository
+            .findById(id)
+            .flatMap(report -> {
+                ReportAggregateDTO aggregate = new ReportAggregateDTO(report);
+                // a transaction holds a single connection, so the children are read one after the other
+                return Flux.<Object>concat(
+                    bedroomRepository.findByReport(id).collectList().doOnNext(aggregate::setBedrooms),
+                    kitchenRepository.findByReport(id).collectList().doOnNext(aggregate::setKitchens),
+                    bathroomRepository.findByReport(id).collectList().doOnNext(aggregate::setBathrooms),
+                    livingRoomRepository.findByReport(id).collectList().doOnNext(aggregate::setLivingRooms),
+                    entranceRepository.findByReport(id).collectList().doOnNext(aggregate::setEntrances),
+                    infrastructureRepository.findByReport(id).collectList().doOnNext(aggregate::setInfrastructures),
+                    envFactorRepository.findByReport(id).collectList().doOnNext(aggregate::setEnvFactors)
+                ).then(Mono.just(aggregate));
+            });
+    }
+}
@@ -0,0 +1,171 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import com.dnc.mprs.reportservice.domain.ReportStateCount;
+import com.dnc.mprs.reportservice.repository.JobLockRepository;
+import com.dnc.mprs.reportservice.repository.ReportStateCountRepository;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for the quality state statistics of the {@link com.dnc.mprs.reportservice.domain.Report}s.
+ * <p>
+ * The statistics are {@link ReportStateCount} rollups by complex and year, maintained incrementally by the report services
+ * in the transaction of each change: the counts of a report are removed before it is updated or deleted, and added
+ * once it is inserted or updated. Reading them never scans the reports. A scheduled job computes them again from scratch,
+ * to repair any drift: one complex at a time, in short transactions, and on a single instance of the service at a time.
+ */
+@Service
+@Transactional
+public class ReportStatisticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportStatisticsService.class);
+
+    private static final int FIRST_PERIOD = 0;
+
+    private static final int LAST_PERIOD = 9999;
+
+    private static final String REBUILD_JOB = "report_state_count_rebuild";
+
+    private final ReportStateCountRepository reportStateCountRepository;
+
+    private final JobLockRepository jobLockRepository;
+
+    private final Duration rebuildLease;
+
+    private final TransactionalOperator lockTransaction;
+
+    private final TransactionalOperator rebuildTransaction;
+
+    public ReportStatisticsService(
+        ReportStateCountRepository reportStateCountRepository,
+        JobLockRepository jobLockRepository,
+        ApplicationProperties applicationProperties,
+        ReactiveTransactionManager transactionManager
+    ) {
+        this.reportStateCountRepository = reportStateCountRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.rebuildLease = applicationProperties.getReportStatistics().getRebuildLease();
+        this.lockTransaction = TransactionalOperator.create(transactionManager);
+        // the counts of a complex are read from the committed reports, without locking them against their updates
+        DefaultTransactionDefinition rebuildDefinition = new DefaultTransactionDefinition();
+        rebuildDefinition.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.rebuildTransaction = TransactionalOperator.create(transactionManager, rebuildDefinition);
+    }
+
+    /**
+     * Count the given reports, once they are inserted or updated.
+     *
+     * @param reportIds the ids of the reports.
+     * @return a {@link Mono} completing when the counts are updated.
+     */
+    public Mono<Void> addAll(Collection<Long> reportIds) {
+        return reportIds.isEmpty() ? Mono.empty() : reportStateCountRepository.addAll(reportIds, 1).then();
+    }
+
+    /**
+     * Remove the given reports from the counts, before they are updated or deleted.
+     *
+     * @param reportIds the ids of the reports.
+     * @return a {@link Mono} completing when the counts are updated.
+     */
+    public Mono<Void> removeAll(Collection<Long> reportIds) {
+        return reportIds.isEmpty() ? Mono.empty() : reportStateCountRepository.addAll(reportIds, -1).then();
+    }
+
+    /**
+     * Count the given reports as they are seen by the current transaction, without locking them: the counts of the
+     * version of the reports read by the transaction, to be removed by {@link #removeCounts(List)} once it is replaced.
+     *
+     * @param reportIds the ids of the reports.
+     * @return the counts of the reports.
+     */
+    public Mono<List<ReportStateCount>> countAll(Collection<Long> reportIds) {
+        return reportIds.isEmpty() ? Mono.just(List.of()) : reportStateCountRepository.countAll(reportIds).collectList();
+    }
+
+    /**
+     * Remove the given counts, read by {@link #countAll(Collection)}, from the counts.
+     *
+     * @param counts the counts of the reports.
+     * @return a {@link Mono} completing when the counts are updated.
+     */
+    public Mono<Void> removeCounts(List<ReportStateCount> counts) {
+        return reportStateCountRepository.addCounts(counts, -1).then();
+    }
+
+    /**
+     * Get the quality state counts of the reports of a complex.
+     *
+     * @param complexId the id of the complex.
+     * @param from the first year, unbounded if {@code null}.
+     * @param to the last year, unbounded if {@code null}.
+     * @return the counts, by year, field and state.
+     */
+    @Transactional(readOnly = true)
+    public Flux<ReportStateCount> findAllByComplex(Long complexId, Integer from, Integer to) {
+        LOG.debug("Request to get the Report statistics of complex : {}, from {} to {}", complexId, from, to);
+        return reportStateCountRepository.findAllByComplexId(
+            complexId,
+            from != null ? from : FIRST_PERIOD,
+            to != null ? to : LAST_PERIOD
+        );
+    }
+
+    /**
+     * Compute all the counts again from the reports, one complex at a time, each in its own transaction.
+     * <p>
+     * This is scheduled by the {@code application.report-statistics.rebuild-cron} property, on every instance of the
+     * service: the instance which leases the rebuild runs it, the others skip it.
+     *
+     * @return the number of stored counts, or empty if the rebuild is already running on another instance.
+     */
+    @Scheduled(cron = "${application.report-statistics.rebuild-cron:0 0 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<Long> rebuild() {
+        LOG.debug("Request to rebuild the Report statistics");
+        String owner = UUID.randomUUID().toString();
+        return Mono.usingWhen(
+            jobLockRepository
+                .acquire(REBUILD_JOB, owner, rebuildLease)
+                .as(lockTransaction::transactional)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.fromRunnable(() -> LOG.debug("The Report statistics are rebuilt by another instance"))),
+            locked -> rebuildAll(),
+            locked -> jobLockRepository.release(REBUILD_JOB, owner).as(lockTransaction::transactional)
+        ).doOnNext(count -> LOG.info("Rebuilt {} Report statistics", count));
+    }
+
+    private Mono<Long> rebuildAll() {
+        return reportStateCountRepository
+            .findAllComplexIds()
+            // the ids are read at once, so that no connection is held from one complex to the next
+            .collectList()
+            .flatMapMany(Flux::fromIterable)
+            .concatMap(complexId ->
+                reportStateCountRepository
+                    .rebuildByComplexId(complexId)
+                    .as(rebuildTransaction::transactional)
+                    // the counts of the complex are only repaired by the next rebuild
+                    .onErrorResume(e -> {
+                        LOG.warn("Could not rebuild the Report statistics of complex {}: {}", complexId, e.getMessage());
+                        return Mono.empty();
+                    })
+            )
+            .reduce(0L, Long::sum);
+    }
+}
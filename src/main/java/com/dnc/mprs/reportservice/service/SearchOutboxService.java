@@ -0,0 +1,333 @@
+package com.dnc.mprs.reportservice.service;
+
+import com.dnc.mprs.reportservice.config.ApplicationProperties;
+import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import com.dnc.mprs.reportservice.domain.SearchOutboxEntry;
+import com.dnc.mprs.reportservice.repository.AuthorRepository;
+import com.dnc.mprs.reportservice.repository.BathroomRepository;
+import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.EntranceRepository;
+import com.dnc.mprs.reportservice.repository.EnvFactorRepository;
+import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KitchenRepository;
+import com.dnc.mprs.reportservice.repository.LivingRoomRepository;
+import com.dnc.mprs.reportservice.repository.ReportDocumentRepository;
+import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.repository.SearchOutboxRepository;
+import com.dnc.mprs.reportservice.repository.search.BulkSearchRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Service Implementation for the transactional outbox of the changes to index in Elasticsearch.
+ * <p>
+ * The entity services do not index their changes themselves: they write an entry naming each changed entity into the
+ * {@code search_outbox} table, in the transaction of the change, so a write never waits for Elasticsearch and no
+ * committed change can be lost. A background drainer claims the due entries batch after batch, reads the current rows
+ * of the changed entities, and ships them with a single bulk request per batch: the rows which still exist are indexed,
+ * the others are deleted from the index. A bulk request which fails as a whole is retried at once with a backoff;
+ * the entries of the documents which still fail are postponed, by a backoff doubling with every attempt.
+ * <p>
+ * No transaction is open during a bulk request: the entries are claimed by leasing them in a short transaction, and are
+ * deleted or postponed in another one once shipped, so the locks of the claim never make a write wait for Elasticsearch.
+ * <p>
+ * The {@code search.outbox.lag} gauge is the age of the oldest entry, that is how far the index is behind the database,
+ * and {@code search.outbox.pending} the number of entries.
+ */
+@Service
+public class SearchOutboxService implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchOutboxService.class);
+
+    private final SearchOutboxRepository searchOutboxRepository;
+
+    private final BulkSearchRepository bulkSearchRepository;
+
+    private final ApplicationProperties.SearchOutbox properties;
+
+    private final TransactionalOperator drainTransaction;
+
+    private final Map<String, IndexedType<?>> indexedTypes = new HashMap<>();
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private Disposable drainer;
+
+    public SearchOutboxService(
+        AuthorRepository authorRepository,
+        ReportRepository reportRepository,
+        BedroomRepository bedroomRepository,
+        KitchenRepository kitchenRepository,
+        BathroomRepository bathroomRepository,
+        LivingRoomRepository livingRoomRepository,
+        EntranceRepository entranceRepository,
+        InfrastructureRepository infrastructureRepository,
+        EnvFactorRepository envFactorRepository,
+        ReportDocumentRepository reportDocumentRepository,
+        SearchOutboxRepository searchOutboxRepository,
+        BulkSearchRepository bulkSearchRepository,
+        ApplicationProperties applicationProperties,
+        ReactiveTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.bulkSearchRepository = bulkSearchRepository;
+        this.properties = applicationProperties.getSearchOutbox();
+        this.drainTransaction = TransactionalOperator.create(transactionManager);
+        register(Author.class, authorRepository::findAllById, Author::getId);
+        // the search document of a report embeds the summaries of its children, so it is read with them
+        register(
+            Report.class,
+            ReportDocument.class,
+            ids -> reportRepository.findAllById(ids).collectList().flatMapMany(reportDocumentRepository::findAllByReports),
+            ReportDocument::getId
+        );
+        register(Bedroom.class, bedroomRepository::findAllById, Bedroom::getId);
+        register(Kitchen.class, kitchenRepository::findAllById, Kitchen::getId);
+        register(Bathroom.class, bathroomRepository::findAllById, Bathroom::getId);
+        register(LivingRoom.class, livingRoomRepository::findAllById, LivingRoom::getId);
+        register(Entrance.class, entranceRepository::findAllById, Entrance::getId);
+        register(Infrastructure.class, infrastructureRepository::findAllById, Infrastructure::getId);
+        register(EnvFactor.class, envFactorRepository::findAllById, EnvFactor::getId);
+        Gauge.builder("search.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+            .description("How long the oldest change waiting in the search outbox has been waiting")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("search.outbox.pending", pending, AtomicLong::get)
+            .description("The number of changes waiting in the search outbox")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        drainer = Flux.interval(properties.getPollInterval())
+            .onBackpressureDrop()
+            .concatMap(tick ->
+                drain().onErrorResume(e -> {
+                    LOG.warn("Could not drain the search outbox: {}", e.getMessage());
+                    return Mono.empty();
+                })
+            )
+            .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (drainer != null) {
+            drainer.dispose();
+        }
+    }
+
+    /**
+     * Record the change of an entity, in the transaction of the change.
+     *
+     * @param entityType the type of the entity.
+     * @param id the id of the entity.
+     * @return a {@link Mono} completing when the change is recorded; it is indexed once the transaction is committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<Void> enqueue(Class<?> entityType, Long id) {
+        return enqueueAll(Map.of(entityType, List.of(id)));
+    }
+
+    /**
+     * Record the changes of entities of one type, in the transaction of the changes.
+     *
+     * @param entityType the type of the entities.
+     * @param ids the ids of the entities.
+     * @return a {@link Mono} completing when the changes are recorded; they are indexed once the transaction is committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<Void> enqueueAll(Class<?> entityType, Collection<Long> ids) {
+        return enqueueAll(Map.of(entityType, ids));
+    }
+
+    /**
+     * Record the changes of entities of any indexed type, with a single statement, in the transaction of the changes.
+     *
+     * @param idsByType the ids of the entities, by entity type.
+     * @return a {@link Mono} completing when the changes are recorded; they are indexed once the transaction is committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<Void> enqueueAll(Map<Class<?>, ? extends Collection<Long>> idsByType) {
+        Map<String, Collection<Long>> ids = new LinkedHashMap<>();
+        idsByType.forEach((type, typeIds) -> {
+            if (!indexedTypes.containsKey(type.getSimpleName())) {
+                throw new IllegalArgumentException("Not an indexed type: " + type.getName());
+            }
+            if (!typeIds.isEmpty()) {
+                ids.put(type.getSimpleName(), typeIds);
+            }
+        });
+        return searchOutboxRepository.insertAll(ids).then();
+    }
+
+    /**
+     * Ship the due changes of the outbox to Elasticsearch, batch after batch until none is due, then update the metrics.
+     *
+     * @return the number of drained entries.
+     */
+    public Mono<Long> drain() {
+        return drainBatch()
+            .expand(drained -> drained == properties.getBatchSize() ? drainBatch() : Mono.empty())
+            .reduce(0L, Long::sum)
+            .flatMap(drained -> updateMetrics().thenReturn(drained));
+    }
+
+    private Mono<Long> drainBatch() {
+        return claim().flatMap(entries -> entries.isEmpty() ? Mono.just(0L) : ship(entries).thenReturn((long) entries.size()));
+    }
+
+    private Mono<List<SearchOutboxEntry>> claim() {
+        return searchOutboxRepository
+            .lockDue(properties.getBatchSize())
+            .collectList()
+            .flatMap(entries ->
+                entries.isEmpty()
+                    ? Mono.just(entries)
+                    : searchOutboxRepository
+                        .leaseByIdIn(entries.stream().map(SearchOutboxEntry::getId).toList(), properties.getLease())
+                        .thenReturn(entries)
+            )
+            .as(drainTransaction::transactional);
+    }
+
+    private Mono<Void> ship(List<SearchOutboxEntry> entries) {
+        // the changes of an entity are coalesced: its row is read once, with its latest version
+        Map<IndexedType<?>, Set<Long>> idsByType = new LinkedHashMap<>();
+        List<Long> unknown = new ArrayList<>();
+        for (SearchOutboxEntry entry : entries) {
+            IndexedType<?> type = indexedTypes.get(entry.getEntityType());
+            if (type == null) {
+                LOG.warn("Dropping the search outbox entry of unknown type {}", entry);
+                unknown.add(entry.getId());
+            } else {
+                idsByType.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(entry.getEntityId());
+            }
+        }
+        List<Object> indexed = new ArrayList<>();
+        Map<Class<?>, Set<Long>> deleted = new HashMap<>();
+        // a transaction holds a single connection, so the types are read one after the other
+        return Flux.fromIterable(idsByType.entrySet())
+            .concatMap(typeIds -> typeIds.getKey().load(typeIds.getValue(), indexed, deleted))
+            .then()
+            // read from the primary, which has all the committed changes
+            .as(drainTransaction::transactional)
+            .then(
+                Mono.defer(() ->
+                    bulkSearchRepository
+                        .writeAll(indexed, deleted)
+                        .retryWhen(Retry.backoff(properties.getRetries(), properties.getRetryBackoff()))
+                )
+            )
+            .onErrorResume(e -> {
+                LOG.warn("Could not ship {} search outbox entries: {}", entries.size(), e.getMessage());
+                Map<Class<?>, Set<Long>> failures = new HashMap<>();
+                idsByType.forEach((type, ids) -> failures.put(type.type(), ids));
+                return Mono.just(failures);
+            })
+            .flatMap(failures -> {
+                List<Long> shipped = new ArrayList<>(unknown);
+                List<Long> failed = new ArrayList<>();
+                for (SearchOutboxEntry entry : entries) {
+                    IndexedType<?> type = indexedTypes.get(entry.getEntityType());
+                    if (type == null) {
+                        continue;
+                    }
+                    if (failures.getOrDefault(type.type(), Set.of()).contains(entry.getEntityId())) {
+                        failed.add(entry.getId());
+                    } else {
+                        shipped.add(entry.getId());
+                    }
+                }
+                return Flux.concat(
+                    shipped.isEmpty() ? Mono.empty() : searchOutboxRepository.deleteByIdIn(shipped),
+                    failed.isEmpty()
+                        ? Mono.empty()
+                        : searchOutboxRepository.postponeByIdIn(failed, properties.getRetryBackoff(), properties.getMaxRetryBackoff())
+                )
+                    .then()
+                    .as(drainTransaction::transactional);
+            });
+    }
+
+    private Mono<Void> updateMetrics() {
+        return Flux.concat(
+            searchOutboxRepository.findOldestAge().map(Duration::toMillis).defaultIfEmpty(0L).doOnNext(lagMillis::set),
+            searchOutboxRepository.count().doOnNext(pending::set)
+        )
+            .then()
+            // read from the primary, as the replicas may lag behind the outbox
+            .as(drainTransaction::transactional);
+    }
+
+    private <T> void register(Class<T> type, Function<Collection<Long>, Flux<T>> findAllById, Function<T, Long> getId) {
+        register(type, type, findAllById, getId);
+    }
+
+    private <T> void register(
+        Class<?> entityType,
+        Class<T> documentType,
+        Function<Collection<Long>, Flux<T>> findAllById,
+        Function<T, Long> getId
+    ) {
+        indexedTypes.put(entityType.getSimpleName(), new IndexedType<>(documentType, findAllById, getId));
+    }
+
+    private record IndexedType<T>(Class<T> type, Function<Collection<Long>, Flux<T>> findAllById, Function<T, Long> getId) {
+        /**
+         * Read the current rows of the given entities: the existing ones are to be indexed, the others deleted.
+         */
+        Mono<Void> load(Set<Long> ids, List<Object> indexed, Map<Class<?>, Set<Long>> deleted) {
+            return findAllById
+                .apply(ids)
+                .collectList()
+                .doOnNext(entities -> {
+                    Set<Long> missing = new LinkedHashSet<>(ids);
+                    for (T entity : entities) {
+                        indexed.add(entity);
+                        missing.remove(getId.apply(entity));
+                    }
+                    if (!missing.isEmpty()) {
+                        deleted.put(type, missing);
+                    }
+                })
+                .then();
+        }
+    }
+}
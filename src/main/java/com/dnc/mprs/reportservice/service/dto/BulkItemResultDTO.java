@@ -0,0 +1,96 @@
+package com.dnc.mprs.reportservice.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The outcome of one item of a bulk request: the created entity, or the reasons why the item was rejected.
+ *
+ * @param <T> the type of the entity.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The status of a bulk item.
+     */
+    public enum Status {
+        CREATED,
+        INVALID,
+    }
+
+    private int index;
+
+    private Status status;
+
+    private T entity;
+
+    private List<String> errors;
+
+    public BulkItemResultDTO() {}
+
+    public static <T> BulkItemResultDTO<T> created(int index, T entity) {
+        BulkItemResultDTO<T> result = new BulkItemResultDTO<>();
+        result.setIndex(index);
+        result.setStatus(Status.CREATED);
+        result.setEntity(entity);
+        return result;
+    }
+
+    public static <T> BulkItemResultDTO<T> invalid(int index, List<String> errors) {
+        BulkItemResultDTO<T> result = new BulkItemResultDTO<>();
+        result.setIndex(index);
+        result.setStatus(Status.INVALID);
+        result.setErrors(errors);
+        return result;
+    }
+
+    /**
+     * @return the position of the item in the request.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public void setEntity(T entity) {
+        this.entity = entity;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", status=" + getStatus() +
+            ", entity=" + getEntity() +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
@@ -0,0 +1,169 @@
+package com.dnc.mprs.reportservice.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The progress of the reindex of an entity type: how many of its rows are indexed, how fast, and when it should complete.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReindexStatusDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The status of a reindex.
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private String entity;
+
+    private String index;
+
+    private Status status;
+
+    private long total;
+
+    private long indexed;
+
+    private int catchUpRounds;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private double documentsPerSecond;
+
+    private Long etaSeconds;
+
+    private String error;
+
+    /**
+     * @return the name of the reindexed entity, e.g. {@code report}, which is also the alias of its index.
+     */
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * @return the name of the new versioned index, once it is created.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    public void setIndex(String index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the number of rows when the reindex started.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(long indexed) {
+        this.indexed = indexed;
+    }
+
+    /**
+     * @return the number of rounds which indexed again the rows changed during the reindex, once all the rows were indexed.
+     */
+    public int getCatchUpRounds() {
+        return catchUpRounds;
+    }
+
+    public void setCatchUpRounds(int catchUpRounds) {
+        this.catchUpRounds = catchUpRounds;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * @return the average throughput since the start.
+     */
+    public double getDocumentsPerSecond() {
+        return documentsPerSecond;
+    }
+
+    public void setDocumentsPerSecond(double documentsPerSecond) {
+        this.documentsPerSecond = documentsPerSecond;
+    }
+
+    /**
+     * @return the estimated time to index the remaining rows at the average throughput, {@code null} if unknown or not running.
+     */
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReindexStatusDTO{" +
+            "entity='" + getEntity() + "'" +
+            ", index='" + getIndex() + "'" +
+            ", status=" + getStatus() +
+            ", total=" + getTotal() +
+            ", indexed=" + getIndexed() +
+            ", catchUpRounds=" + getCatchUpRounds() +
+            ", startedAt='" + getStartedAt() + "'" +
+            ", finishedAt='" + getFinishedAt() + "'" +
+            ", documentsPerSecond=" + getDocumentsPerSecond() +
+            ", etaSeconds=" + getEtaSeconds() +
+            ", error='" + getError() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,171 @@
+package com.dnc.mprs.reportservice.service.dto;
+
+import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.LivingRoom;
+import com.dnc.mprs.reportservice.domain.Report;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link Report} together with its room and factor collections, as returned or created by a single request.
+ * Collections which were not requested are left {@code null} and omitted from the JSON document.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportAggregateDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The child collections which can be attached to a report.
+     */
+    public enum Section {
+        BEDROOMS("bedrooms"),
+        KITCHENS("kitchens"),
+        BATHROOMS("bathrooms"),
+        LIVING_ROOMS("livingRooms"),
+        ENTRANCES("entrances"),
+        INFRASTRUCTURES("infrastructures"),
+        ENV_FACTORS("envFactors");
+
+        private final String value;
+
+        Section(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Resolve a section from its JSON property name, e.g. {@code livingRooms}.
+         *
+         * @param value the name of the section, case insensitive.
+         * @return the matching section, or empty if there is none.
+         */
+        public static Optional<Section> fromValue(String value) {
+            return Arrays.stream(values()).filter(section -> section.value.equalsIgnoreCase(value.trim())).findFirst();
+        }
+    }
+
+    @NotNull(message = "must not be null")
+    @Valid
+    private Report report;
+
+    @Valid
+    private List<Bedroom> bedrooms;
+
+    @Valid
+    private List<Kitchen> kitchens;
+
+    @Valid
+    private List<Bathroom> bathrooms;
+
+    @Valid
+    private List<LivingRoom> livingRooms;
+
+    @Valid
+    private List<Entrance> entrances;
+
+    @Valid
+    private List<Infrastructure> infrastructures;
+
+    @Valid
+    private List<EnvFactor> envFactors;
+
+    public ReportAggregateDTO() {}
+
+    public ReportAggregateDTO(Report report) {
+        this.report = report;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public void setReport(Report report) {
+        this.report = report;
+    }
+
+    public List<Bedroom> getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(List<Bedroom> bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public List<Kitchen> getKitchens() {
+        return kitchens;
+    }
+
+    public void setKitchens(List<Kitchen> kitchens) {
+        this.kitchens = kitchens;
+    }
+
+    public List<Bathroom> getBathrooms() {
+        return bathrooms;
+    }
+
+    public void setBathrooms(List<Bathroom> bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+
+    public List<LivingRoom> getLivingRooms() {
+        return livingRooms;
+    }
+
+    public void setLivingRooms(List<LivingRoom> livingRooms) {
+        this.livingRooms = livingRooms;
+    }
+
+    public List<Entrance> getEntrances() {
+        return entrances;
+    }
+
+    public void setEntrances(List<Entrance> entrances) {
+        this.entrances = entrances;
+    }
+
+    public List<Infrastructure> getInfrastructures() {
+        return infrastructures;
+    }
+
+    public void setInfrastructures(List<Infrastructure> infrastructures) {
+        this.infrastructures = infrastructures;
+    }
+
+    public List<EnvFactor> getEnvFactors() {
+        return envFactors;
+    }
+
+    public void setEnvFactors(List<EnvFactor> envFactors) {
+        this.envFactors = envFactors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportAggregateDTO{" +
+            "report=" + getReport() +
+            ", bedrooms=" + getBedrooms() +
+            ", kitchens=" + getKitchens() +
+            ", bathrooms=" + getBathrooms() +
+            ", livingRooms=" + getLivingRooms() +
+            ", entrances=" + getEntrances() +
+            ", infrastructures=" + getInfrastructures() +
+            ", envFactors=" + getEnvFactors() +
+            "}";
+    }
+}
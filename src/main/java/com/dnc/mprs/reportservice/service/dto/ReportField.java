@@ -0,0 +1,78 @@
+package com.dnc.mprs.reportservice.service.dto;
+
+import com.dnc.mprs.reportservice.domain.Report;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The columns of a {@link Report} which can be selected on their own, for the projections of the report list.
+ */
+public enum ReportField {
+    REPORT_TITLE("reportTitle", "report_title", Report::getReportTitle),
+    REPORT_DATE("reportDate", "report_date", Report::getReportDate),
+    SUMMARY("summary", "summary", Report::getSummary),
+    EXTERIOR_STATE("exteriorState", "exterior_state", Report::getExteriorState),
+    CONSTRUCTION_YEAR("constructionYear", "construction_year", Report::getConstructionYear),
+    MAINTENANCE_STATE("maintenanceState", "maintenance_state", Report::getMaintenanceState),
+    PARKING_FACILITY("parkingFacility", "parking_facility", Report::getParkingFacility),
+    PARKING_COUNT("parkingCount", "parking_count", Report::getParkingCount),
+    ELEVATOR_STATE("elevatorState", "elevator_state", Report::getElevatorState),
+    NOISE_STATE("noiseState", "noise_state", Report::getNoiseState),
+    HOMEPAD_STATE("homepadState", "homepad_state", Report::getHomepadState),
+    CCTV_YN("cctvYn", "cctv_yn", Report::getCctvYn),
+    FIRE_SAFETY_STATE("fireSafetyState", "fire_safety_state", Report::getFireSafetyState),
+    DOOR_SECURITY_STATE("doorSecurityState", "door_security_state", Report::getDoorSecurityState),
+    MAINTENANCE_FEE("maintenanceFee", "maintenance_fee", Report::getMaintenanceFee),
+    REDEVELOPMENT_YN("redevelopmentYn", "redevelopment_yn", Report::getRedevelopmentYn),
+    RENTAL_DEMAND("rentalDemand", "rental_demand", Report::getRentalDemand),
+    COMMUNITY_RULES("communityRules", "community_rules", Report::getCommunityRules),
+    COMPLEX_ID("complexId", "complex_id", Report::getComplexId),
+    COMPLEX_NAME("complexName", "complex_name", Report::getComplexName),
+    PROPERTY_ID("propertyId", "property_id", Report::getPropertyId),
+    PROPERTY_NAME("propertyName", "property_name", Report::getPropertyName),
+    CREATED_AT("createdAt", "created_at", Report::getCreatedAt),
+    UPDATED_AT("updatedAt", "updated_at", Report::getUpdatedAt),
+    AUTHOR_ID("authorId", "author_id", Report::getAuthorId),
+    VERSION("version", "version", Report::getVersion);
+
+    private final String value;
+
+    private final String column;
+
+    private final Function<Report, Object> getter;
+
+    ReportField(String value, String column, Function<Report, Object> getter) {
+        this.value = value;
+        this.column = column;
+        this.getter = getter;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Read the field from a report.
+     *
+     * @param report the report, with at least the column of this field selected.
+     * @return the value of the field.
+     */
+    public Object get(Report report) {
+        return getter.apply(report);
+    }
+
+    /**
+     * Resolve a field from its JSON property name, e.g. {@code reportTitle}.
+     *
+     * @param value the name of the field, case insensitive.
+     * @return the matching field, or empty if there is none.
+     */
+    public static Optional<ReportField> fromValue(String value) {
+        return Arrays.stream(values()).filter(field -> field.value.equalsIgnoreCase(value.trim())).findFirst();
+    }
+}
@@ -1,32 +1,34 @@
 package com.dnc.mprs.reportservice.web.rest;
 
 import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.domain.criteria.AuthorCriteria;
 import com.dnc.mprs.reportservice.repository.AuthorRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
 import com.dnc.mprs.reportservice.service.AuthorService;
+import com.dnc.mprs.reportservice.service.CountMode;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -101,22 +103,14 @@ public class AuthorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return authorRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return authorService
-                    .update(author)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return authorService
+            .update(author)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -143,53 +137,82 @@ public class AuthorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return authorRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Author> result = authorService.partialUpdate(author);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return authorService
+            .partialUpdate(author)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /authors} : get all the authors.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of authors in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<Author>>> getAllAuthors(
+        AuthorCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Authors");
+        LOG.debug("REST request to get a page of Authors by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return authorService
-            .countAll()
-            .zipWith(authorService.findAll(pageable).collectList())
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(authorService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /authors?after=:cursor} : get a keyset page of the authors.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of authors in body.
+     */
+    @GetMapping(value = "", params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Author>>> getAllAuthorsAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of Authors");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, Author.class, ENTITY_NAME);
+        return authorService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /authors/:id} : get the "id" author.
      *
@@ -230,24 +253,54 @@ public class AuthorResource {
      * @param query the query of the author search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<Author>>> searchAuthors(
+    public Mono<ResponseEntity<List<Author>>> searchAuthors(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of Authors for query {}", query);
         return authorService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
-                )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(authorService.search(query, pageable)));
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /authors/_search?query=:query&cursor=:cursor} : search for the author corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the author search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<Author>>> searchAuthorsAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of Authors for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return authorService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
     }
 }
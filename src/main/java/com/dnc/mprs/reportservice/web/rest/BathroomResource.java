@@ -1,32 +1,37 @@
 package com.dnc.mprs.reportservice.web.rest;
 
 import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.criteria.BathroomCriteria;
 import com.dnc.mprs.reportservice.repository.BathroomRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
 import com.dnc.mprs.reportservice.service.BathroomService;
+import com.dnc.mprs.reportservice.service.BulkCreateService;
+import com.dnc.mprs.reportservice.service.ConflictRetryService;
+import com.dnc.mprs.reportservice.service.CountMode;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -47,9 +52,16 @@ public class BathroomResource {
 
     private final BathroomRepository bathroomRepository;
 
-    public BathroomResource(BathroomService bathroomService, BathroomRepository bathroomRepository) {
+    private final ConflictRetryService conflictRetryService;
+
+    public BathroomResource(
+        BathroomService bathroomService,
+        BathroomRepository bathroomRepository,
+        ConflictRetryService conflictRetryService
+    ) {
         this.bathroomService = bathroomService;
         this.bathroomRepository = bathroomRepository;
+        this.conflictRetryService = conflictRetryService;
     }
 
     /**
@@ -78,6 +90,28 @@ public class BathroomResource {
             });
     }
 
+    /**
+     * {@code POST  /bathrooms/_bulk} : Create a batch of new bathrooms.
+     * <p>
+     * Every item is validated on its own; the valid items are created in one transaction, the invalid ones are reported.
+     *
+     * @param bathrooms the bathrooms to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in the order of the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/_bulk")
+    public Mono<ResponseEntity<List<BulkItemResultDTO<Bathroom>>>> createBathrooms(@RequestBody List<Bathroom> bathrooms) {
+        LOG.debug("REST request to save a batch of {} Bathrooms", bathrooms.size());
+        if (bathrooms.size() > BulkCreateService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BulkCreateService.MAX_BATCH_SIZE + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+        return bathroomService.saveAll(bathrooms).collectList().map(results -> ResponseEntity.ok().body(results));
+    }
+
     /**
      * {@code PUT  /bathrooms/:id} : Updates an existing bathroom.
      *
@@ -85,6 +119,7 @@ public class BathroomResource {
      * @param bathroom the bathroom to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated bathroom,
      * or with status {@code 400 (Bad Request)} if the bathroom is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the bathroom is stale,
      * or with status {@code 500 (Internal Server Error)} if the bathroom couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -101,22 +136,19 @@ public class BathroomResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return bathroomRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<Bathroom> result = bathroomService.update(bathroom);
+        if (bathroom.getVersion() == null) {
+            // written on top of the latest version, so a concurrent edit is no conflict: the update is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return bathroomService
-                    .update(bathroom)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -127,6 +159,7 @@ public class BathroomResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated bathroom,
      * or with status {@code 400 (Bad Request)} if the bathroom is not valid,
      * or with status {@code 404 (Not Found)} if the bathroom is not found,
+     * or with status {@code 409 (Conflict)} if the version of the bathroom is stale,
      * or with status {@code 500 (Internal Server Error)} if the bathroom couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -143,53 +176,87 @@ public class BathroomResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return bathroomRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Bathroom> result = bathroomService.partialUpdate(bathroom);
+        Mono<Bathroom> result = bathroomService.partialUpdate(bathroom);
+        if (bathroom.getVersion() == null) {
+            // merged into the latest version, so a concurrent edit is no conflict: the patch is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /bathrooms} : get all the bathrooms.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bathrooms in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<Bathroom>>> getAllBathrooms(
+        BathroomCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Bathrooms");
+        LOG.debug("REST request to get a page of Bathrooms by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return bathroomService
-            .countAll()
-            .zipWith(bathroomService.findAll(pageable).collectList())
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(bathroomService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /bathrooms?after=:cursor} : get a keyset page of the bathrooms.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bathrooms in body.
+     */
+    @GetMapping(value = "", params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Bathroom>>> getAllBathroomsAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of Bathrooms");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, Bathroom.class, ENTITY_NAME);
+        return bathroomService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /bathrooms/:id} : get the "id" bathroom.
      *
@@ -230,24 +297,85 @@ public class BathroomResource {
      * @param query the query of the bathroom search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<Bathroom>>> searchBathrooms(
+    public Mono<ResponseEntity<List<Bathroom>>> searchBathrooms(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of Bathrooms for query {}", query);
         return bathroomService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
-                )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(bathroomService.search(query, pageable)));
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /bathrooms/_search?query=:query&cursor=:cursor} : search for the bathroom corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the bathroom search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<Bathroom>>> searchBathroomsAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of Bathrooms for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return bathroomService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /bathrooms/_search/filter?text=:text} : search for the bathroom matching the criteria, e.g.
+     * {@code waterPressure.equals=LOW&bathroomSize.greaterThan=5}, scored by the text only.
+     * <p>
+     * The criteria are filters of the query, which are not scored and are cached by Elasticsearch, and the text is searched
+     * as is in the text fields, without any query syntax.
+     *
+     * @param text the optional text of the bathroom search.
+     * @param criteria the criteria which the bathroom should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/filter")
+    public Mono<ResponseEntity<List<Bathroom>>> searchBathroomsByCriteria(
+        @RequestParam(value = "text", required = false) String text,
+        BathroomCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of Bathrooms for text {} and criteria {}", text, criteria);
+        return bathroomService
+            .searchByCriteria(text, criteria, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
     }
 }
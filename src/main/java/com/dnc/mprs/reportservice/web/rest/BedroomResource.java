@@ -1,32 +1,37 @@
 package com.dnc.mprs.reportservice.web.rest;
 
 import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.criteria.BedroomCriteria;
 import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
 import com.dnc.mprs.reportservice.service.BedroomService;
+import com.dnc.mprs.reportservice.service.BulkCreateService;
+import com.dnc.mprs.reportservice.service.ConflictRetryService;
+import com.dnc.mprs.reportservice.service.CountMode;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -47,9 +52,12 @@ public class BedroomResource {
 
     private final BedroomRepository bedroomRepository;
 
-    public BedroomResource(BedroomService bedroomService, BedroomRepository bedroomRepository) {
+    private final ConflictRetryService conflictRetryService;
+
+    public BedroomResource(BedroomService bedroomService, BedroomRepository bedroomRepository, ConflictRetryService conflictRetryService) {
         this.bedroomService = bedroomService;
         this.bedroomRepository = bedroomRepository;
+        this.conflictRetryService = conflictRetryService;
     }
 
     /**
@@ -78,6 +86,28 @@ public class BedroomResource {
             });
     }
 
+    /**
+     * {@code POST  /bedrooms/_bulk} : Create a batch of new bedrooms.
+     * <p>
+     * Every item is validated on its own; the valid items are created in one transaction, the invalid ones are reported.
+     *
+     * @param bedrooms the bedrooms to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in the order of the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/_bulk")
+    public Mono<ResponseEntity<List<BulkItemResultDTO<Bedroom>>>> createBedrooms(@RequestBody List<Bedroom> bedrooms) {
+        LOG.debug("REST request to save a batch of {} Bedrooms", bedrooms.size());
+        if (bedrooms.size() > BulkCreateService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BulkCreateService.MAX_BATCH_SIZE + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+        return bedroomService.saveAll(bedrooms).collectList().map(results -> ResponseEntity.ok().body(results));
+    }
+
     /**
      * {@code PUT  /bedrooms/:id} : Updates an existing bedroom.
      *
@@ -85,6 +115,7 @@ public class BedroomResource {
      * @param bedroom the bedroom to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated bedroom,
      * or with status {@code 400 (Bad Request)} if the bedroom is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the bedroom is stale,
      * or with status {@code 500 (Internal Server Error)} if the bedroom couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -101,22 +132,19 @@ public class BedroomResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return bedroomRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<Bedroom> result = bedroomService.update(bedroom);
+        if (bedroom.getVersion() == null) {
+            // written on top of the latest version, so a concurrent edit is no conflict: the update is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return bedroomService
-                    .update(bedroom)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -127,6 +155,7 @@ public class BedroomResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated bedroom,
      * or with status {@code 400 (Bad Request)} if the bedroom is not valid,
      * or with status {@code 404 (Not Found)} if the bedroom is not found,
+     * or with status {@code 409 (Conflict)} if the version of the bedroom is stale,
      * or with status {@code 500 (Internal Server Error)} if the bedroom couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -143,53 +172,87 @@ public class BedroomResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return bedroomRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Bedroom> result = bedroomService.partialUpdate(bedroom);
+        Mono<Bedroom> result = bedroomService.partialUpdate(bedroom);
+        if (bedroom.getVersion() == null) {
+            // merged into the latest version, so a concurrent edit is no conflict: the patch is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /bedrooms} : get all the bedrooms.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bedrooms in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<Bedroom>>> getAllBedrooms(
+        BedroomCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Bedrooms");
+        LOG.debug("REST request to get a page of Bedrooms by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return bedroomService
-            .countAll()
-            .zipWith(bedroomService.findAll(pageable).collectList())
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(bedroomService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /bedrooms?after=:cursor} : get a keyset page of the bedrooms.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bedrooms in body.
+     */
+    @GetMapping(value = "", params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Bedroom>>> getAllBedroomsAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of Bedrooms");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, Bedroom.class, ENTITY_NAME);
+        return bedroomService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /bedrooms/:id} : get the "id" bedroom.
      *
@@ -230,24 +293,85 @@ public class BedroomResource {
      * @param query the query of the bedroom search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<Bedroom>>> searchBedrooms(
+    public Mono<ResponseEntity<List<Bedroom>>> searchBedrooms(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of Bedrooms for query {}", query);
         return bedroomService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
-                )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(bedroomService.search(query, pageable)));
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /bedrooms/_search?query=:query&cursor=:cursor} : search for the bedroom corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the bedroom search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<Bedroom>>> searchBedroomsAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of Bedrooms for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return bedroomService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /bedrooms/_search/filter?text=:text} : search for the bedroom matching the criteria, e.g.
+     * {@code conditionLevel.equals=LOW&roomSize.greaterThan=10}, scored by the text only.
+     * <p>
+     * The criteria are filters of the query, which are not scored and are cached by Elasticsearch, and the text is searched
+     * as is in the text fields, without any query syntax.
+     *
+     * @param text the optional text of the bedroom search.
+     * @param criteria the criteria which the bedroom should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/filter")
+    public Mono<ResponseEntity<List<Bedroom>>> searchBedroomsByCriteria(
+        @RequestParam(value = "text", required = false) String text,
+        BedroomCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of Bedrooms for text {} and criteria {}", text, criteria);
+        return bedroomService
+            .searchByCriteria(text, criteria, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
     }
 }
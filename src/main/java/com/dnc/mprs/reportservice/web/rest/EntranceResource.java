@@ -1,32 +1,37 @@
 package com.dnc.mprs.reportservice.web.rest;
 
 import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.criteria.EntranceCriteria;
 import com.dnc.mprs.reportservice.repository.EntranceRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.BulkCreateService;
+import com.dnc.mprs.reportservice.service.ConflictRetryService;
+import com.dnc.mprs.reportservice.service.CountMode;
 import com.dnc.mprs.reportservice.service.EntranceService;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -47,9 +52,16 @@ public class EntranceResource {
 
     private final EntranceRepository entranceRepository;
 
-    public EntranceResource(EntranceService entranceService, EntranceRepository entranceRepository) {
+    private final ConflictRetryService conflictRetryService;
+
+    public EntranceResource(
+        EntranceService entranceService,
+        EntranceRepository entranceRepository,
+        ConflictRetryService conflictRetryService
+    ) {
         this.entranceService = entranceService;
         this.entranceRepository = entranceRepository;
+        this.conflictRetryService = conflictRetryService;
     }
 
     /**
@@ -78,6 +90,28 @@ public class EntranceResource {
             });
     }
 
+    /**
+     * {@code POST  /entrances/_bulk} : Create a batch of new entrances.
+     * <p>
+     * Every item is validated on its own; the valid items are created in one transaction, the invalid ones are reported.
+     *
+     * @param entrances the entrances to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in the order of the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/_bulk")
+    public Mono<ResponseEntity<List<BulkItemResultDTO<Entrance>>>> createEntrances(@RequestBody List<Entrance> entrances) {
+        LOG.debug("REST request to save a batch of {} Entrances", entrances.size());
+        if (entrances.size() > BulkCreateService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BulkCreateService.MAX_BATCH_SIZE + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+        return entranceService.saveAll(entrances).collectList().map(results -> ResponseEntity.ok().body(results));
+    }
+
     /**
      * {@code PUT  /entrances/:id} : Updates an existing entrance.
      *
@@ -85,6 +119,7 @@ public class EntranceResource {
      * @param entrance the entrance to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entrance,
      * or with status {@code 400 (Bad Request)} if the entrance is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the entrance is stale,
      * or with status {@code 500 (Internal Server Error)} if the entrance couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -101,22 +136,19 @@ public class EntranceResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return entranceRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<Entrance> result = entranceService.update(entrance);
+        if (entrance.getVersion() == null) {
+            // written on top of the latest version, so a concurrent edit is no conflict: the update is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return entranceService
-                    .update(entrance)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -127,6 +159,7 @@ public class EntranceResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entrance,
      * or with status {@code 400 (Bad Request)} if the entrance is not valid,
      * or with status {@code 404 (Not Found)} if the entrance is not found,
+     * or with status {@code 409 (Conflict)} if the version of the entrance is stale,
      * or with status {@code 500 (Internal Server Error)} if the entrance couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -143,53 +176,87 @@ public class EntranceResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return entranceRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Entrance> result = entranceService.partialUpdate(entrance);
+        Mono<Entrance> result = entranceService.partialUpdate(entrance);
+        if (entrance.getVersion() == null) {
+            // merged into the latest version, so a concurrent edit is no conflict: the patch is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /entrances} : get all the entrances.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entrances in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<Entrance>>> getAllEntrances(
+        EntranceCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Entrances");
+        LOG.debug("REST request to get a page of Entrances by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return entranceService
-            .countAll()
-            .zipWith(entranceService.findAll(pageable).collectList())
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(entranceService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /entrances?after=:cursor} : get a keyset page of the entrances.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entrances in body.
+     */
+    @GetMapping(value = "", params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Entrance>>> getAllEntrancesAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of Entrances");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, Entrance.class, ENTITY_NAME);
+        return entranceService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /entrances/:id} : get the "id" entrance.
      *
@@ -230,24 +297,85 @@ public class EntranceResource {
      * @param query the query of the entrance search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<Entrance>>> searchEntrances(
+    public Mono<ResponseEntity<List<Entrance>>> searchEntrances(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of Entrances for query {}", query);
         return entranceService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
-                )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(entranceService.search(query, pageable)));
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /entrances/_search?query=:query&cursor=:cursor} : search for the entrance corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the entrance search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<Entrance>>> searchEntrancesAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of Entrances for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return entranceService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /entrances/_search/filter?text=:text} : search for the entrance matching the criteria, e.g.
+     * {@code condtionLevel.equals=LOW&shoeRackSize.greaterThan=1}, scored by the text only.
+     * <p>
+     * The criteria are filters of the query, which are not scored and are cached by Elasticsearch, and the text is searched
+     * as is in the text fields, without any query syntax.
+     *
+     * @param text the optional text of the entrance search.
+     * @param criteria the criteria which the entrance should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/filter")
+    public Mono<ResponseEntity<List<Entrance>>> searchEntrancesByCriteria(
+        @RequestParam(value = "text", required = false) String text,
+        EntranceCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of Entrances for text {} and criteria {}", text, criteria);
+        return entranceService
+            .searchByCriteria(text, criteria, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
     }
 }
@@ -1,32 +1,37 @@
 package com.dnc.mprs.reportservice.web.rest;
 
 import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.criteria.EnvFactorCriteria;
 import com.dnc.mprs.reportservice.repository.EnvFactorRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.BulkCreateService;
+import com.dnc.mprs.reportservice.service.ConflictRetryService;
+import com.dnc.mprs.reportservice.service.CountMode;
 import com.dnc.mprs.reportservice.service.EnvFactorService;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -47,9 +52,16 @@ public class EnvFactorResource {
 
     private final EnvFactorRepository envFactorRepository;
 
-    public EnvFactorResource(EnvFactorService envFactorService, EnvFactorRepository envFactorRepository) {
+    private final ConflictRetryService conflictRetryService;
+
+    public EnvFactorResource(
+        EnvFactorService envFactorService,
+        EnvFactorRepository envFactorRepository,
+        ConflictRetryService conflictRetryService
+    ) {
         this.envFactorService = envFactorService;
         this.envFactorRepository = envFactorRepository;
+        this.conflictRetryService = conflictRetryService;
     }
 
     /**
@@ -78,6 +90,28 @@ public class EnvFactorResource {
             });
     }
 
+    /**
+     * {@code POST  /env-factors/_bulk} : Create a batch of new envFactors.
+     * <p>
+     * Every item is validated on its own; the valid items are created in one transaction, the invalid ones are reported.
+     *
+     * @param envFactors the envFactors to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in the order of the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/_bulk")
+    public Mono<ResponseEntity<List<BulkItemResultDTO<EnvFactor>>>> createEnvFactors(@RequestBody List<EnvFactor> envFactors) {
+        LOG.debug("REST request to save a batch of {} EnvFactors", envFactors.size());
+        if (envFactors.size() > BulkCreateService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BulkCreateService.MAX_BATCH_SIZE + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+        return envFactorService.saveAll(envFactors).collectList().map(results -> ResponseEntity.ok().body(results));
+    }
+
     /**
      * {@code PUT  /env-factors/:id} : Updates an existing envFactor.
      *
@@ -85,6 +119,7 @@ public class EnvFactorResource {
      * @param envFactor the envFactor to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated envFactor,
      * or with status {@code 400 (Bad Request)} if the envFactor is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the envFactor is stale,
      * or with status {@code 500 (Internal Server Error)} if the envFactor couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -101,22 +136,19 @@ public class EnvFactorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return envFactorRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<EnvFactor> result = envFactorService.update(envFactor);
+        if (envFactor.getVersion() == null) {
+            // written on top of the latest version, so a concurrent edit is no conflict: the update is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return envFactorService
-                    .update(envFactor)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -127,6 +159,7 @@ public class EnvFactorResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated envFactor,
      * or with status {@code 400 (Bad Request)} if the envFactor is not valid,
      * or with status {@code 404 (Not Found)} if the envFactor is not found,
+     * or with status {@code 409 (Conflict)} if the version of the envFactor is stale,
      * or with status {@code 500 (Internal Server Error)} if the envFactor couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -143,53 +176,87 @@ public class EnvFactorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return envFactorRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<EnvFactor> result = envFactorService.partialUpdate(envFactor);
+        Mono<EnvFactor> result = envFactorService.partialUpdate(envFactor);
+        if (envFactor.getVersion() == null) {
+            // merged into the latest version, so a concurrent edit is no conflict: the patch is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /env-factors} : get all the envFactors.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of envFactors in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<EnvFactor>>> getAllEnvFactors(
+        EnvFactorCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of EnvFactors");
+        LOG.debug("REST request to get a page of EnvFactors by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return envFactorService
-            .countAll()
-            .zipWith(envFactorService.findAll(pageable).collectList())
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(envFactorService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /env-factors?after=:cursor} : get a keyset page of the envFactors.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of envFactors in body.
+     */
+    @GetMapping(value = "", params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<EnvFactor>>> getAllEnvFactorsAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of EnvFactors");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, EnvFactor.class, ENTITY_NAME);
+        return envFactorService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /env-factors/:id} : get the "id" envFactor.
      *
@@ -230,24 +297,85 @@ public class EnvFactorResource {
      * @param query the query of the envFactor search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<EnvFactor>>> searchEnvFactors(
+    public Mono<ResponseEntity<List<EnvFactor>>> searchEnvFactors(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of EnvFactors for query {}", query);
         return envFactorService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
-                )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(envFactorService.search(query, pageable)));
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /env-factors/_search?query=:query&cursor=:cursor} : search for the envFactor corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the envFactor search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<EnvFactor>>> searchEnvFactorsAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of EnvFactors for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return envFactorService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /env-factors/_search/filter?text=:text} : search for the envFactor matching the criteria, e.g.
+     * {@code envFactorDistance.lessThanOrEqual=1000}, scored by the text only.
+     * <p>
+     * The criteria are filters of the query, which are not scored and are cached by Elasticsearch, and the text is searched
+     * as is in the text fields, without any query syntax.
+     *
+     * @param text the optional text of the envFactor search.
+     * @param criteria the criteria which the envFactor should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/filter")
+    public Mono<ResponseEntity<List<EnvFactor>>> searchEnvFactorsByCriteria(
+        @RequestParam(value = "text", required = false) String text,
+        EnvFactorCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of EnvFactors for text {} and criteria {}", text, criteria);
+        return envFactorService
+            .searchByCriteria(text, criteria, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
     }
 }
@@ -1,32 +1,37 @@
 package com.dnc.mprs.reportservice.web.rest;
 
 import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.criteria.InfrastructureCriteria;
 import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.BulkCreateService;
+import com.dnc.mprs.reportservice.service.ConflictRetryService;
+import com.dnc.mprs.reportservice.service.CountMode;
 import com.dnc.mprs.reportservice.service.InfrastructureService;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -47,9 +52,16 @@ public class InfrastructureResource {
 
     private final InfrastructureRepository infrastructureRepository;
 
-    public InfrastructureResource(InfrastructureService infrastructureService, InfrastructureRepository infrastructureRepository) {
+    private final ConflictRetryService conflictRetryService;
+
+    public InfrastructureResource(
+        InfrastructureService infrastructureService,
+        InfrastructureRepository infrastructureRepository,
+        ConflictRetryService conflictRetryService
+    ) {
         this.infrastructureService = infrastructureService;
         this.infrastructureRepository = infrastructureRepository;
+        this.conflictRetryService = conflictRetryService;
     }
 
     /**
@@ -79,6 +91,30 @@ public class InfrastructureResource {
             });
     }
 
+    /**
+     * {@code POST  /infrastructures/_bulk} : Create a batch of new infrastructures.
+     * <p>
+     * Every item is validated on its own; the valid items are created in one transaction, the invalid ones are reported.
+     *
+     * @param infrastructures the infrastructures to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in the order of the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/_bulk")
+    public Mono<ResponseEntity<List<BulkItemResultDTO<Infrastructure>>>> createInfrastructures(
+        @RequestBody List<Infrastructure> infrastructures
+    ) {
+        LOG.debug("REST request to save a batch of {} Infrastructures", infrastructures.size());
+        if (infrastructures.size() > BulkCreateService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BulkCreateService.MAX_BATCH_SIZE + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+        return infrastructureService.saveAll(infrastructures).collectList().map(results -> ResponseEntity.ok().body(results));
+    }
+
     /**
      * {@code PUT  /infrastructures/:id} : Updates an existing infrastructure.
      *
@@ -86,6 +122,7 @@ public class InfrastructureResource {
      * @param infrastructure the infrastructure to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated infrastructure,
      * or with status {@code 400 (Bad Request)} if the infrastructure is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the infrastructure is stale,
      * or with status {@code 500 (Internal Server Error)} if the infrastructure couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -102,22 +139,19 @@ public class InfrastructureResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return infrastructureRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<Infrastructure> result = infrastructureService.update(infrastructure);
+        if (infrastructure.getVersion() == null) {
+            // written on top of the latest version, so a concurrent edit is no conflict: the update is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return infrastructureService
-                    .update(infrastructure)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -128,6 +162,7 @@ public class InfrastructureResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated infrastructure,
      * or with status {@code 400 (Bad Request)} if the infrastructure is not valid,
      * or with status {@code 404 (Not Found)} if the infrastructure is not found,
+     * or with status {@code 409 (Conflict)} if the version of the infrastructure is stale,
      * or with status {@code 500 (Internal Server Error)} if the infrastructure couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -144,53 +179,87 @@ public class InfrastructureResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return infrastructureRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Infrastructure> result = infrastructureService.partialUpdate(infrastructure);
+        Mono<Infrastructure> result = infrastructureService.partialUpdate(infrastructure);
+        if (infrastructure.getVersion() == null) {
+            // merged into the latest version, so a concurrent edit is no conflict: the patch is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /infrastructures} : get all the infrastructures.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of infrastructures in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<Infrastructure>>> getAllInfrastructures(
+        InfrastructureCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Infrastructures");
+        LOG.debug("REST request to get a page of Infrastructures by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return infrastructureService
-            .countAll()
-            .zipWith(infrastructureService.findAll(pageable).collectList())
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(infrastructureService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /infrastructures?after=:cursor} : get a keyset page of the infrastructures.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of infrastructures in body.
+     */
+    @GetMapping(value = "", params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Infrastructure>>> getAllInfrastructuresAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of Infrastructures");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, Infrastructure.class, ENTITY_NAME);
+        return infrastructureService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /infrastructures/:id} : get the "id" infrastructure.
      *
@@ -231,24 +300,85 @@ public class InfrastructureResource {
      * @param query the query of the infrastructure search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<Infrastructure>>> searchInfrastructures(
+    public Mono<ResponseEntity<List<Infrastructure>>> searchInfrastructures(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of Infrastructures for query {}", query);
         return infrastructureService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
-                )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(infrastructureService.search(query, pageable)));
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /infrastructures/_search?query=:query&cursor=:cursor} : search for the infrastructure corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the infrastructure search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<Infrastructure>>> searchInfrastructuresAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of Infrastructures for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return infrastructureService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /infrastructures/_search/filter?text=:text} : search for the infrastructure matching the criteria, e.g.
+     * {@code infraType.equals=SCHOOL&infraDistance.lessThanOrEqual=500}, scored by the text only.
+     * <p>
+     * The criteria are filters of the query, which are not scored and are cached by Elasticsearch, and the text is searched
+     * as is in the text fields, without any query syntax.
+     *
+     * @param text the optional text of the infrastructure search.
+     * @param criteria the criteria which the infrastructure should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/filter")
+    public Mono<ResponseEntity<List<Infrastructure>>> searchInfrastructuresByCriteria(
+        @RequestParam(value = "text", required = false) String text,
+        InfrastructureCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of Infrastructures for text {} and criteria {}", text, criteria);
+        return infrastructureService
+            .searchByCriteria(text, criteria, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
     }
 }
@@ -1,32 +1,58 @@
 package com.dnc.mprs.reportservice.web.rest;
 
+import com.dnc.mprs.reportservice.domain.Bathroom;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Entrance;
+import com.dnc.mprs.reportservice.domain.EnvFactor;
+import com.dnc.mprs.reportservice.domain.Infrastructure;
+import com.dnc.mprs.reportservice.domain.Kitchen;
+import com.dnc.mprs.reportservice.domain.LivingRoom;
 import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.ReportDocument;
+import com.dnc.mprs.reportservice.domain.criteria.ReportCriteria;
+import com.dnc.mprs.reportservice.domain.criteria.ReportDocumentCriteria;
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
 import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.service.BulkCreateService;
+import com.dnc.mprs.reportservice.service.ConflictRetryService;
+import com.dnc.mprs.reportservice.service.CountMode;
+import com.dnc.mprs.reportservice.service.ReportAggregateService;
 import com.dnc.mprs.reportservice.service.ReportService;
+import com.dnc.mprs.reportservice.service.ReportSnapshotService;
+import com.dnc.mprs.reportservice.service.dto.BulkItemResultDTO;
+import com.dnc.mprs.reportservice.service.dto.ReportAggregateDTO;
+import com.dnc.mprs.reportservice.service.dto.ReportField;
 import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.CsvUtil;
+import com.dnc.mprs.reportservice.web.util.KeysetPaginationUtil;
+import com.dnc.mprs.reportservice.web.util.SearchPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.ForwardedHeaderUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -40,6 +66,37 @@ public class ReportResource {
 
     private static final String ENTITY_NAME = "reportserviceReport";
 
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private static final String CSV_HEADER = CsvUtil.toRecord(
+        "id",
+        "report_title",
+        "report_date",
+        "summary",
+        "exterior_state",
+        "construction_year",
+        "maintenance_state",
+        "parking_facility",
+        "parking_count",
+        "elevator_state",
+        "noise_state",
+        "homepad_state",
+        "cctv_yn",
+        "fire_safety_state",
+        "door_security_state",
+        "maintenance_fee",
+        "redevelopment_yn",
+        "rental_demand",
+        "community_rules",
+        "complex_id",
+        "complex_name",
+        "property_id",
+        "property_name",
+        "created_at",
+        "updated_at",
+        "author_id"
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -47,9 +104,24 @@ public class ReportResource {
 
     private final ReportRepository reportRepository;
 
-    public ReportResource(ReportService reportService, ReportRepository reportRepository) {
+    private final ReportAggregateService reportAggregateService;
+
+    private final ConflictRetryService conflictRetryService;
+
+    private final ReportSnapshotService reportSnapshotService;
+
+    public ReportResource(
+        ReportService reportService,
+        ReportRepository reportRepository,
+        ReportAggregateService reportAggregateService,
+        ConflictRetryService conflictRetryService,
+        ReportSnapshotService reportSnapshotService
+    ) {
         this.reportService = reportService;
         this.reportRepository = reportRepository;
+        this.reportAggregateService = reportAggregateService;
+        this.conflictRetryService = conflictRetryService;
+        this.reportSnapshotService = reportSnapshotService;
     }
 
     /**
@@ -78,6 +150,63 @@ public class ReportResource {
             });
     }
 
+    /**
+     * {@code POST  /reports/_bulk} : Create a batch of new reports.
+     * <p>
+     * Every item is validated on its own; the valid items are created in one transaction, the invalid ones are reported.
+     *
+     * @param reports the reports to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every item, in the order of the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/_bulk")
+    public Mono<ResponseEntity<List<BulkItemResultDTO<Report>>>> createReports(@RequestBody List<Report> reports) {
+        LOG.debug("REST request to save a batch of {} Reports", reports.size());
+        if (reports.size() > BulkCreateService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BulkCreateService.MAX_BATCH_SIZE + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+        return reportService.saveAll(reports).collectList().map(results -> ResponseEntity.ok().body(results));
+    }
+
+    /**
+     * {@code POST  /reports/aggregate} : Create a new report together with its rooms, infrastructures and environment factors.
+     * <p>
+     * Everything is created in one transaction, and indexed with one bulk request.
+     *
+     * @param aggregate the report and its children to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new report aggregate,
+     * or with status {@code 400 (Bad Request)} if the report or one of its children has already an ID.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/aggregate")
+    public Mono<ResponseEntity<ReportAggregateDTO>> createReportAggregate(@Valid @RequestBody ReportAggregateDTO aggregate)
+        throws URISyntaxException {
+        LOG.debug("REST request to save Report aggregate : {}", aggregate);
+        if (aggregate.getReport().getId() != null) {
+            throw new BadRequestAlertException("A new report cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        if (hasInvalidChild(aggregate)) {
+            throw new BadRequestAlertException("A new report cannot have empty children or children with an ID", ENTITY_NAME, "idexists");
+        }
+        return reportAggregateService
+            .create(aggregate)
+            .map(result -> {
+                try {
+                    return ResponseEntity.created(new URI("/api/reports/" + result.getReport().getId() + "/aggregate"))
+                        .headers(
+                            HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getReport().getId().toString())
+                        )
+                        .body(result);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
     /**
      * {@code PUT  /reports/:id} : Updates an existing report.
      *
@@ -85,6 +214,7 @@ public class ReportResource {
      * @param report the report to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated report,
      * or with status {@code 400 (Bad Request)} if the report is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the report is stale,
      * or with status {@code 500 (Internal Server Error)} if the report couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -101,22 +231,19 @@ public class ReportResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return reportRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<Report> result = reportService.update(report);
+        if (report.getVersion() == null) {
+            // written on top of the latest version, so a concurrent edit is no conflict: the update is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return reportService
-                    .update(report)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -127,6 +254,7 @@ public class ReportResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated report,
      * or with status {@code 400 (Bad Request)} if the report is not valid,
      * or with status {@code 404 (Not Found)} if the report is not found,
+     * or with status {@code 409 (Conflict)} if the version of the report is stale,
      * or with status {@code 500 (Internal Server Error)} if the report couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -143,47 +271,162 @@ public class ReportResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return reportRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Report> result = reportService.partialUpdate(report);
+        Mono<Report> result = reportService.partialUpdate(report);
+        if (report.getVersion() == null) {
+            // merged into the latest version, so a concurrent edit is no conflict: the patch is applied again on top of it
+            result = conflictRetryService.retryOnConflict(result);
+        }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity.ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity.ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /reports} : get all the reports.
      *
+     * @param criteria the filters on the enum, numeric and date columns.
      * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
      * @param request a {@link ServerHttpRequest} request.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reports in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<Report>>> getAllReports(
+        ReportCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a page of Reports by criteria: {}", criteria);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
+        return reportService
+            .countByCriteria(criteria, countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(reportService.findByCriteria(criteria, pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity.ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /reports?fields=:fields} : get all the reports, with only the given fields.
+     * <p>
+     * Only the columns of the requested fields are selected, e.g. {@code fields=reportTitle,reportDate,complexName,propertyName}
+     * for the report list, so the large text columns are neither read nor sent.
+     *
+     * @param fields the fields to return, besides the id.
+     * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of report projections in body.
+     */
+    @GetMapping(value = "", params = { "fields", "!after", "!expand" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Map<String, Object>>>> getAllReportFields(
+        @RequestParam("fields") List<String> fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a page of Reports with fields {}", fields);
+        Set<ReportField> reportFields = toFields(fields);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
+        return reportService
+            .countAll(countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(reportService.findAll(pageable, reportFields).collectList())
+            .map(countWithEntities ->
+                ResponseEntity.ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /reports?after=:cursor} : get a keyset page of the reports.
+     * <p>
+     * No total count is returned; a {@code Link} header with {@code rel="next"} points to the next page while there is one.
+     *
+     * @param after the cursor of the page, taken from the {@code next} link of the previous page, empty for the first page.
+     * @param pageable the page size and sort order, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reports in body.
+     */
+    @GetMapping(value = "", params = { "after", "!expand" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Report>>> getAllReportsAfter(
+        @RequestParam("after") String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a keyset page of Reports");
+        KeysetPageable keyset = KeysetPaginationUtil.parse(pageable, after, Report.class, ENTITY_NAME);
+        return reportService
+            .findAll(keyset)
+            .collectList()
+            .map(entities ->
+                ResponseEntity.ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(request, keyset, entities))
+                    .body(entities)
+            );
+    }
+
+    /**
+     * {@code GET  /reports?expand=:sections} : get all the reports, with the given child collections attached.
+     *
+     * @param expand the child collections to attach, e.g. {@code bedrooms,kitchens}; all of them if the value is empty.
+     * @param pageable the pagination information.
+     * @param count how to count the total of the {@code X-Total-Count} header: {@code exact}, {@code estimate} from the table
+     * statistics, or {@code none} to skip it; a cached count by default.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of report aggregates in body.
+     */
+    @GetMapping(value = "", params = "expand", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<ReportAggregateDTO>>> getAllReportsExpanded(
+        @RequestParam("expand") List<String> expand,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
         ServerHttpRequest request
     ) {
-        LOG.debug("REST request to get a page of Reports");
+        LOG.debug("REST request to get a page of Reports expanded with {}", expand);
+        Set<ReportAggregateDTO.Section> sections = toSections(expand);
+        CountMode countMode = CountPaginationUtil.parse(count, ENTITY_NAME);
         return reportService
-            .countAll()
-            .zipWith(reportService.findAll(pageable).collectList())
+            .countAll(countMode)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(reportAggregateService.findAll(pageable, sections).collectList())
             .map(countWithEntities ->
                 ResponseEntity.ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
@@ -204,7 +447,38 @@ public class ReportResource {
     }
 
     /**
-     * {@code DELETE  /reports/:id} : delete the "id" report.
+     * {@code GET  /reports/:id/aggregate} : get the "id" report together with its rooms, infrastructures and environment factors.
+     *
+     * @param id the id of the report to retrieve.
+     * @param include the child collections to load, e.g. {@code bedrooms,kitchens}; all of them if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the report aggregate, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/aggregate")
+    public Mono<ResponseEntity<ReportAggregateDTO>> getReportAggregate(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "include", required = false) List<String> include
+    ) {
+        LOG.debug("REST request to get Report aggregate : {}, {}", id, include);
+        Mono<ReportAggregateDTO> aggregate = reportAggregateService.findOne(id, toSections(include));
+        return ResponseUtil.wrapOrNotFound(aggregate);
+    }
+
+    /**
+     * {@code GET  /reports/:id/snapshot} : get the stored JSON snapshot of the "id" report, with its author and all its child collections.
+     * <p>
+     * The document has the shape of {@code GET /reports/:id/aggregate} with every collection, and is served as stored.
+     *
+     * @param id the id of the report to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the JSON snapshot, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}/snapshot", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getReportSnapshot(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get Report snapshot : {}", id);
+        return ResponseUtil.wrapOrNotFound(reportSnapshotService.findOne(id));
+    }
+
+    /**
+     * {@code DELETE  /reports/:id} : delete the "id" report, together with its child collections.
      *
      * @param id the id of the report to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
@@ -212,7 +486,7 @@ public class ReportResource {
     @DeleteMapping("/{id}")
     public Mono<ResponseEntity<Void>> deleteReport(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Report : {}", id);
-        return reportService
+        return reportAggregateService
             .delete(id)
             .then(
                 Mono.just(
@@ -223,6 +497,49 @@ public class ReportResource {
             );
     }
 
+    /**
+     * {@code GET  /reports/_export} : export the reports as newline delimited JSON, ordered by id.
+     * <p>
+     * The reports are streamed from the database to the response with backpressure, without paging or counting.
+     *
+     * @param complexId the complex of the reports to export, all complexes if absent.
+     * @param reportDateFrom the inclusive lower bound of the report date, if any.
+     * @param reportDateTo the exclusive upper bound of the report date, if any.
+     * @return the stream of reports, one JSON document per line.
+     */
+    @GetMapping(value = "/_export", params = "format!=csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Report> exportReports(
+        @RequestParam(value = "complexId", required = false) Long complexId,
+        @RequestParam(value = "reportDateFrom", required = false) Instant reportDateFrom,
+        @RequestParam(value = "reportDateTo", required = false) Instant reportDateTo
+    ) {
+        LOG.debug("REST request to export Reports as NDJSON");
+        return reportService.export(complexId, reportDateFrom, reportDateTo);
+    }
+
+    /**
+     * {@code GET  /reports/_export?format=csv} : export the reports as CSV, ordered by id.
+     * <p>
+     * The first record holds the column names; like the NDJSON export, the rows are streamed with backpressure.
+     *
+     * @param complexId the complex of the reports to export, all complexes if absent.
+     * @param reportDateFrom the inclusive lower bound of the report date, if any.
+     * @param reportDateTo the exclusive upper bound of the report date, if any.
+     * @return the stream of CSV records.
+     */
+    @GetMapping(value = "/_export", params = "format=csv", produces = CSV_MEDIA_TYPE)
+    public Flux<String> exportReportsAsCsv(
+        @RequestParam(value = "complexId", required = false) Long complexId,
+        @RequestParam(value = "reportDateFrom", required = false) Instant reportDateFrom,
+        @RequestParam(value = "reportDateTo", required = false) Instant reportDateTo
+    ) {
+        LOG.debug("REST request to export Reports as CSV");
+        return Flux.concat(
+            Mono.just(CSV_HEADER),
+            reportService.export(complexId, reportDateFrom, reportDateTo).map(ReportResource::toCsvRecord)
+        );
+    }
+
     /**
      * {@code SEARCH  /reports/_search?query=:query} : search for the report corresponding
      * to the query.
@@ -230,24 +547,192 @@ public class ReportResource {
      * @param query the query of the report search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search")
-    public Mono<ResponseEntity<Flux<Report>>> searchReports(
+    public Mono<ResponseEntity<List<Report>>> searchReports(
         @RequestParam("query") String query,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         LOG.debug("REST request to search for a page of Reports for query {}", query);
         return reportService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /reports/_search?query=:query&cursor=:cursor} : search for the report corresponding
+     * to the query, page after page with a cursor.
+     * <p>
+     * The cost of a page does not depend on its depth; a {@code X-Search-Cursor} header has the cursor of the next page
+     * while there is one, which sees the hits as they were when the first page was searched.
+     *
+     * @param query the query of the report search, the same for all the pages.
+     * @param cursor the cursor of the page, taken from the previous page, empty for the first page.
+     * @param pageable the page size and sort order of the first page, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hits in body, with the total number of hits
+     * of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search", params = "cursor")
+    public Mono<ResponseEntity<List<Report>>> searchReportsAfter(
+        @RequestParam("query") String query,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a cursor page of Reports for query {}", query);
+        SearchCursor searchCursor = SearchPaginationUtil.parseCursor(pageable, cursor, ENTITY_NAME);
+        return reportService
+            .search(query, searchCursor)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generateCursorPaginationHttpHeaders(request, searchCursor, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /reports/_search/documents?query=:query} : search for the reports matching the criteria on themselves
+     * and on their children, e.g. {@code kitchens.conditionLevel.equals=LOW&infrastructures.infraType.equals=SCHOOL}, with
+     * a single query: the criteria of a child collection must all be matched by the same child.
+     *
+     * @param query the optional text query of the report search.
+     * @param criteria the criteria which the reports and their children should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the search documents of the reports in body, with
+     * the summaries of their children, and the total number of hits in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/documents")
+    public Mono<ResponseEntity<List<ReportDocument>>> searchReportDocuments(
+        @RequestParam(value = "query", required = false) String query,
+        ReportDocumentCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of Report documents for query {} and criteria {}", query, criteria);
+        return reportService
+            .searchDocuments(query, criteria, pageable)
+            .map(page ->
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /reports/_search/filter?text=:text} : search for the reports matching the criteria on themselves and on
+     * their children, e.g. {@code elevatorState.in=HIGH,MIDDLE&constructionYear.greaterThanOrEqual=2000}, scored by the text
+     * only.
+     * <p>
+     * The criteria are filters of the query, which are not scored and are cached by Elasticsearch, so that the same
+     * filters of a dashboard are cheap to repeat; the text is searched as is in the text fields, without any query syntax.
+     *
+     * @param text the optional text of the report search.
+     * @param criteria the criteria which the reports and their children should match.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the search documents of the reports in body, with
+     * the summaries of their children, and the total number of hits in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/filter")
+    public Mono<ResponseEntity<List<ReportDocument>>> searchReportsByCriteria(
+        @RequestParam(value = "text", required = false) String text,
+        ReportDocumentCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to search for a page of Report documents for text {} and criteria {}", text, criteria);
+        return reportService
+            .searchByCriteria(text, criteria, pageable)
             .map(page ->
-                PaginationUtil.generatePaginationHttpHeaders(
-                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                    page
+                ResponseEntity.ok()
+                    .headers(SearchPaginationUtil.generatePaginationHttpHeaders(request, page))
+                    .body(page.getContent().stream().map(SearchHit::getContent).toList())
+            );
+    }
+
+    private static boolean hasInvalidChild(ReportAggregateDTO aggregate) {
+        return (
+            hasInvalidChild(aggregate.getBedrooms(), Bedroom::getId) ||
+            hasInvalidChild(aggregate.getKitchens(), Kitchen::getId) ||
+            hasInvalidChild(aggregate.getBathrooms(), Bathroom::getId) ||
+            hasInvalidChild(aggregate.getLivingRooms(), LivingRoom::getId) ||
+            hasInvalidChild(aggregate.getEntrances(), Entrance::getId) ||
+            hasInvalidChild(aggregate.getInfrastructures(), Infrastructure::getId) ||
+            hasInvalidChild(aggregate.getEnvFactors(), EnvFactor::getId)
+        );
+    }
+
+    private static <T> boolean hasInvalidChild(List<T> children, Function<T, Long> getId) {
+        return children != null && children.stream().anyMatch(child -> child == null || getId.apply(child) != null);
+    }
+
+    private static Set<ReportAggregateDTO.Section> toSections(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EnumSet.allOf(ReportAggregateDTO.Section.class);
+        }
+        Set<ReportAggregateDTO.Section> sections = EnumSet.noneOf(ReportAggregateDTO.Section.class);
+        for (String name : names) {
+            sections.add(
+                ReportAggregateDTO.Section.fromValue(name).orElseThrow(() ->
+                    new BadRequestAlertException("Unknown report section: " + name, ENTITY_NAME, "sectioninvalid")
                 )
-            )
-            .map(headers -> ResponseEntity.ok().headers(headers).body(reportService.search(query, pageable)));
+            );
+        }
+        return sections;
+    }
+
+    private static Set<ReportField> toFields(List<String> names) {
+        Set<ReportField> fields = new LinkedHashSet<>();
+        for (String name : names) {
+            if ("id".equals(name.trim())) {
+                continue;
+            }
+            fields.add(
+                ReportField.fromValue(name).orElseThrow(() ->
+                    new BadRequestAlertException("Unknown report field: " + name, ENTITY_NAME, "fieldinvalid")
+                )
+            );
+        }
+        return fields;
+    }
+
+    private static String toCsvRecord(Report report) {
+        return CsvUtil.toRecord(
+            report.getId(),
+            report.getReportTitle(),
+            report.getReportDate(),
+            report.getSummary(),
+            report.getExteriorState(),
+            report.getConstructionYear(),
+            report.getMaintenanceState(),
+            report.getParkingFacility(),
+            report.getParkingCount(),
+            report.getElevatorState(),
+            report.getNoiseState(),
+            report.getHomepadState(),
+            report.getCctvYn(),
+            report.getFireSafetyState(),
+            report.getDoorSecurityState(),
+            report.getMaintenanceFee(),
+            report.getRedevelopmentYn(),
+            report.getRentalDemand(),
+            report.getCommunityRules(),
+            report.getComplexId(),
+            report.getComplexName(),
+            report.getPropertyId(),
+            report.getPropertyName(),
+            report.getCreatedAt(),
+            report.getUpdatedAt(),
+            report.getAuthorId()
+        );
     }
 }
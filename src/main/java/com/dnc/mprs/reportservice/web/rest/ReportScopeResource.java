@@ -0,0 +1,162 @@
+package com.dnc.mprs.reportservice.web.rest;
+
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.ReportStateCount;
+import com.dnc.mprs.reportservice.service.CountMode;
+import com.dnc.mprs.reportservice.service.ReportAggregateService;
+import com.dnc.mprs.reportservice.service.ReportService;
+import com.dnc.mprs.reportservice.service.ReportStatisticsService;
+import com.dnc.mprs.reportservice.web.util.CountPaginationUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for the reports of a complex or a property, served by the {@code (complex_id, report_date)}
+ * and {@code (property_id, report_date)} indexes.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReportScopeResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportScopeResource.class);
+
+    private static final String ENTITY_NAME = "reportserviceReport";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ReportService reportService;
+
+    private final ReportAggregateService reportAggregateService;
+
+    private final ReportStatisticsService reportStatisticsService;
+
+    public ReportScopeResource(
+        ReportService reportService,
+        ReportAggregateService reportAggregateService,
+        ReportStatisticsService reportStatisticsService
+    ) {
+        this.reportService = reportService;
+        this.reportAggregateService = reportAggregateService;
+        this.reportStatisticsService = reportStatisticsService;
+    }
+
+    /**
+     * {@code GET  /complexes/:id/reports} : get the reports of the "id" complex, latest first by default.
+     *
+     * @param id the id of the complex.
+     * @param pageable the pagination information.
+     * @param count {@code none} to skip the {@code X-Total-Count} header; any other mode counts with the index.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reports in body.
+     */
+    @GetMapping(value = "/complexes/{id}/reports", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Report>>> getComplexReports(
+        @PathVariable("id") Long id,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a page of Reports of complex : {}", id);
+        return toResponse(count, () -> reportService.countByComplex(id), reportService.findAllByComplex(id, pageable), pageable, request);
+    }
+
+    /**
+     * {@code GET  /properties/:id/reports} : get the report history of the "id" property, latest first by default.
+     *
+     * @param id the id of the property.
+     * @param pageable the pagination information.
+     * @param count {@code none} to skip the {@code X-Total-Count} header; any other mode counts with the index.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reports in body.
+     */
+    @GetMapping(value = "/properties/{id}/reports", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Report>>> getPropertyReports(
+        @PathVariable("id") Long id,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", required = false) String count,
+        ServerHttpRequest request
+    ) {
+        LOG.debug("REST request to get a page of Reports of property : {}", id);
+        return toResponse(count, () -> reportService.countByProperty(id), reportService.findAllByProperty(id, pageable), pageable, request);
+    }
+
+    /**
+     * {@code GET  /complexes/:id/report-statistics} : get the quality state counts of the reports of the "id" complex,
+     * read from the rollups only.
+     *
+     * @param id the id of the complex.
+     * @param from the first year, unbounded if missing.
+     * @param to the last year, unbounded if missing.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the non-zero counts by year, field and state in body.
+     */
+    @GetMapping(value = "/complexes/{id}/report-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<ReportStateCount>>> getComplexReportStatistics(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "from", required = false) Integer from,
+        @RequestParam(value = "to", required = false) Integer to
+    ) {
+        LOG.debug("REST request to get the Report statistics of complex : {}", id);
+        return reportStatisticsService.findAllByComplex(id, from, to).collectList().map(ResponseEntity::ok);
+    }
+
+    /**
+     * {@code DELETE  /complexes/:id/reports} : delete all the reports of the "id" complex, together with their child collections.
+     *
+     * @param id the id of the complex.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * and the number of deleted reports as parameter of the alert.
+     */
+    @DeleteMapping("/complexes/{id}/reports")
+    public Mono<ResponseEntity<Void>> deleteComplexReports(@PathVariable("id") Long id) {
+        LOG.debug("REST request to delete all Reports of complex : {}", id);
+        return reportAggregateService
+            .deleteAllByComplex(id)
+            .map(deleted ->
+                ResponseEntity.noContent()
+                    .headers(
+                        HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".complexDeleted", deleted.toString())
+                    )
+                    .build()
+            );
+    }
+
+    private static Mono<ResponseEntity<List<Report>>> toResponse(
+        String count,
+        Supplier<Mono<Long>> countAll,
+        Flux<Report> reports,
+        Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        // the scoped counts are cheap index range scans, so they are neither cached nor estimated
+        Mono<Long> total = CountPaginationUtil.parse(count, ENTITY_NAME) == CountMode.NONE ? Mono.empty() : countAll.get();
+        return total
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .zipWith(reports.collectList())
+            .map(countWithEntities ->
+                ResponseEntity.ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            request,
+                            pageable,
+                            countWithEntities.getT2(),
+                            countWithEntities.getT1()
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+}
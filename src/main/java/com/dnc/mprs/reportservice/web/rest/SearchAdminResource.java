@@ -0,0 +1,51 @@
+package com.dnc.mprs.reportservice.web.rest;
+
+import com.dnc.mprs.reportservice.service.ReindexService;
+import com.dnc.mprs.reportservice.service.dto.ReindexStatusDTO;
+import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the administration of the Elasticsearch indices, restricted to the administrators.
+ */
+@RestController
+@RequestMapping("/api/admin/search")
+public class SearchAdminResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchAdminResource.class);
+
+    private static final String ENTITY_NAME = "reportserviceSearch";
+
+    private final ReindexService reindexService;
+
+    public SearchAdminResource(ReindexService reindexService) {
+        this.reindexService = reindexService;
+    }
+
+    /**
+     * {@code POST  /admin/search/reindex?entity=} : rebuild the index of an entity from the database, in the background.
+     * <p>
+     * The rows are indexed into a new index, which replaces the current one once it is complete; the progress is
+     * reported by the {@code /management/reindex} endpoint. A reindex already running is not started again.
+     *
+     * @param entity the name of the entity, e.g. {@code report}.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the status of the reindex in body,
+     * or with status {@code 400 (Bad Request)} if the entity is not indexed.
+     */
+    @PostMapping("/reindex")
+    public Mono<ResponseEntity<ReindexStatusDTO>> reindex(@RequestParam("entity") String entity) {
+        LOG.debug("REST request to reindex : {}", entity);
+        if (!reindexService.getEntities().contains(entity)) {
+            throw new BadRequestAlertException(
+                "Not an indexed entity, expected one of " + reindexService.getEntities(),
+                ENTITY_NAME,
+                "entityinvalid"
+            );
+        }
+        return reindexService.start(entity).map(status -> ResponseEntity.accepted().body(status));
+    }
+}
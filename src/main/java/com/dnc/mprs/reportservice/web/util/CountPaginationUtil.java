@@ -0,0 +1,85 @@
+package com.dnc.mprs.reportservice.web.util;
+
+import com.dnc.mprs.reportservice.service.CountMode;
+import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.ForwardedHeaderUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for handling the {@code count} parameter of the paginated lists.
+ * <p>
+ * With a total count the usual {@code X-Total-Count} and {@code Link} headers are returned. Without one, only the
+ * {@code next} and {@code prev} links are, the {@code next} link as long as the page is full.
+ */
+public final class CountPaginationUtil {
+
+    private static final String PAGE_PARAM = "page";
+    private static final String SIZE_PARAM = "size";
+
+    private CountPaginationUtil() {}
+
+    /**
+     * Parse the requested count mode.
+     *
+     * @param count the requested count mode, {@code null} for the cached count.
+     * @param entityName the name of the entity, used in the error response.
+     * @return the count mode.
+     * @throws BadRequestAlertException if the count mode is unknown.
+     */
+    public static CountMode parse(String count, String entityName) {
+        if (count == null) {
+            return CountMode.CACHED;
+        }
+        return CountMode.fromValue(count).orElseThrow(() ->
+            new BadRequestAlertException("Unknown count mode: " + count, entityName, "countinvalid")
+        );
+    }
+
+    /**
+     * Generate the pagination headers of a page.
+     *
+     * @param request the current request.
+     * @param pageable the pagination information of the current page.
+     * @param content the content of the current page.
+     * @param total the total count, or empty if it was not counted.
+     * @return the http headers.
+     */
+    public static HttpHeaders generatePaginationHttpHeaders(
+        ServerHttpRequest request,
+        Pageable pageable,
+        List<?> content,
+        Optional<Long> total
+    ) {
+        UriComponentsBuilder uriBuilder = ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders());
+        if (total.isPresent()) {
+            return PaginationUtil.generatePaginationHttpHeaders(uriBuilder, new PageImpl<>(content, pageable, total.get()));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        List<String> links = new ArrayList<>(2);
+        int page = pageable.getPageNumber();
+        int size = pageable.getPageSize();
+        if (!content.isEmpty() && content.size() >= size) {
+            links.add(createLink(uriBuilder, page + 1, size, "next"));
+        }
+        if (page > 0) {
+            links.add(createLink(uriBuilder, page - 1, size, "prev"));
+        }
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String createLink(UriComponentsBuilder uriBuilder, int page, int size, String relType) {
+        String link = uriBuilder.replaceQueryParam(PAGE_PARAM, page).replaceQueryParam(SIZE_PARAM, size).toUriString();
+        return "<" + link + ">; rel=\"" + relType + "\"";
+    }
+}
@@ -0,0 +1,36 @@
+package com.dnc.mprs.reportservice.web.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for writing CSV records, as described by RFC 4180.
+ */
+public final class CsvUtil {
+
+    private static final String SEPARATOR = ",";
+    private static final String LINE_BREAK = "\r\n";
+
+    private CsvUtil() {}
+
+    /**
+     * Format one CSV record.
+     *
+     * @param values the values of the record; {@code null} values are written as empty fields.
+     * @return the record, terminated by a line break.
+     */
+    public static String toRecord(Object... values) {
+        return Arrays.stream(values).map(CsvUtil::toField).collect(Collectors.joining(SEPARATOR, "", LINE_BREAK));
+    }
+
+    private static String toField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String field = value.toString();
+        if (field.contains(SEPARATOR) || field.contains("\"") || field.contains("\r") || field.contains("\n")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+}
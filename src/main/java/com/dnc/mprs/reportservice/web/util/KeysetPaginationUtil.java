@@ -0,0 +1,67 @@
+package com.dnc.mprs.reportservice.web.util;
+
+import com.dnc.mprs.reportservice.repository.KeysetPageable;
+import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.ForwardedHeaderUtils;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * Keyset pages only link to the next page, with an opaque cursor in the {@code after} query parameter,
+ * and carry no total count, so reading a page never needs a {@code COUNT(*)} query.
+ */
+public final class KeysetPaginationUtil {
+
+    private static final String AFTER_PARAM = "after";
+    private static final String SIZE_PARAM = "size";
+    private static final String PAGE_PARAM = "page";
+    private static final String SORT_PARAM = "sort";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Parse the requested keyset page.
+     *
+     * @param pageable the requested page size and sort order.
+     * @param after the cursor returned with the previous page, blank for the first page.
+     * @param entityType the type of the paged entities, whose properties the sort order and the cursor must match.
+     * @param entityName the name of the entity, used in the error response.
+     * @return the keyset pagination information.
+     * @throws BadRequestAlertException if the cursor or the sort order can not be used for keyset pagination.
+     */
+    public static KeysetPageable parse(Pageable pageable, String after, Class<?> entityType, String entityName) {
+        try {
+            return KeysetPageable.of(pageable, after).validate(entityType);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the pagination headers of a keyset page: a {@code Link} header to the next page when the page is full.
+     *
+     * @param request the current request.
+     * @param keyset the pagination information of the current page.
+     * @param content the content of the current page.
+     * @return the http headers.
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(ServerHttpRequest request, KeysetPageable keyset, List<?> content) {
+        HttpHeaders headers = new HttpHeaders();
+        if (content.isEmpty() || content.size() < keyset.getSize()) {
+            return headers;
+        }
+        KeysetPageable next = keyset.next(content.get(content.size() - 1));
+        String link = ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders())
+            .replaceQueryParam(AFTER_PARAM, next.toCursor())
+            .replaceQueryParam(SIZE_PARAM, keyset.getSize())
+            .replaceQueryParam(PAGE_PARAM)
+            .replaceQueryParam(SORT_PARAM)
+            .toUriString();
+        headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        return headers;
+    }
+}
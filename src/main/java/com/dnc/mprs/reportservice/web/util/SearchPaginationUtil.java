@@ -0,0 +1,104 @@
+package com.dnc.mprs.reportservice.web.util;
+
+import com.dnc.mprs.reportservice.repository.search.SearchCursor;
+import com.dnc.mprs.reportservice.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.ForwardedHeaderUtils;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for the pagination headers of the search results.
+ * <p>
+ * The {@code X-Total-Count} header is the number of hits of the query, as returned with the hits themselves.
+ * Elasticsearch counts them exactly up to {@code application.search.track-total-hits-up-to} only; beyond, the total
+ * is a lower bound, and the {@value #TOTAL_COUNT_RELATION_HEADER} header is {@code gte}.
+ * <p>
+ * Cursor pages are not numbered: while there is a next page, its opaque cursor is returned in the
+ * {@value #CURSOR_HEADER} header, and a {@code Link} header with {@code rel="next"} points to it.
+ */
+public final class SearchPaginationUtil {
+
+    public static final String TOTAL_COUNT_RELATION_HEADER = "X-Total-Count-Relation";
+
+    public static final String CURSOR_HEADER = "X-Search-Cursor";
+
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String CURSOR_PARAM = "cursor";
+    private static final String SIZE_PARAM = "size";
+    private static final String PAGE_PARAM = "page";
+    private static final String SORT_PARAM = "sort";
+
+    private SearchPaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a page of hits.
+     *
+     * @param request the current request.
+     * @param page the page of hits.
+     * @return the http headers.
+     */
+    public static HttpHeaders generatePaginationHttpHeaders(ServerHttpRequest request, SearchPage<?> page) {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+            ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+            page
+        );
+        if (page.getSearchHits().getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO) {
+            headers.add(TOTAL_COUNT_RELATION_HEADER, "gte");
+        }
+        return headers;
+    }
+
+    /**
+     * Parse the requested cursor page.
+     *
+     * @param pageable the requested page size and sort order.
+     * @param cursor the cursor returned with the previous page, blank for the first page.
+     * @param entityName the name of the entity, used in the error response.
+     * @return the cursor pagination information.
+     * @throws BadRequestAlertException if the cursor is invalid.
+     */
+    public static SearchCursor parseCursor(Pageable pageable, String cursor, String entityName) {
+        try {
+            return SearchCursor.of(pageable, cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the pagination headers of a cursor page of hits: the total number of hits, and the cursor of the next
+     * page when the page is full.
+     *
+     * @param request the current request.
+     * @param cursor the cursor pagination information of the current page.
+     * @param page the page of hits.
+     * @return the http headers.
+     */
+    public static HttpHeaders generateCursorPaginationHttpHeaders(ServerHttpRequest request, SearchCursor cursor, SearchPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, Long.toString(page.getTotalElements()));
+        if (page.getSearchHits().getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO) {
+            headers.add(TOTAL_COUNT_RELATION_HEADER, "gte");
+        }
+        List<? extends SearchHit<?>> hits = page.getContent();
+        if (hits.isEmpty() || hits.size() < cursor.getSize()) {
+            return headers;
+        }
+        String next = cursor.next(page.getSearchHits().getPointInTimeId(), hits.get(hits.size() - 1).getSortValues()).toCursor();
+        String link = ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders())
+            .replaceQueryParam(CURSOR_PARAM, next)
+            .replaceQueryParam(SIZE_PARAM, cursor.getSize())
+            .replaceQueryParam(PAGE_PARAM)
+            .replaceQueryParam(SORT_PARAM)
+            .toUriString();
+        headers.add(CURSOR_HEADER, next);
+        headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        return headers;
+    }
+}
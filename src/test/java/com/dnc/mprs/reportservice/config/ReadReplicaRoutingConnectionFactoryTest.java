@@ -0,0 +1,163 @@
+package com.dnc.mprs.reportservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link ReadReplicaRoutingConnectionFactory}, with a stub replica whose health and lag are set by each test.
+ */
+class ReadReplicaRoutingConnectionFactoryTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(10);
+
+    private static final Duration CHECK_INTERVAL = Duration.ofMillis(50);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private final AtomicReference<Long> replicaLag = new AtomicReference<>(0L);
+
+    private final AtomicBoolean replicaReplicating = new AtomicBoolean(true);
+
+    private final AtomicBoolean replicaDown = new AtomicBoolean();
+
+    private ReadReplicaRoutingConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory primary = mock(ConnectionFactory.class);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        ConnectionFactory replica = mock(ConnectionFactory.class);
+        doAnswer(invocation ->
+            replicaDown.get() ? Mono.error(new IllegalStateException("Replica is down")) : Mono.just(replicaConnection)
+        )
+            .when(replica)
+            .create();
+        Row row = mock(Row.class);
+        when(row.get("Seconds_Behind_Source", Long.class)).thenAnswer(invocation -> replicaLag.get());
+        Result result = mock(Result.class);
+        when(result.map(any(BiFunction.class))).thenAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, ?> mapping = invocation.getArgument(0);
+            // a server which is not replicating has no replica status row
+            return replicaReplicating.get() ? Flux.just(mapping.apply(row, mock(RowMetadata.class))) : Flux.empty();
+        });
+        Statement statement = mock(Statement.class);
+        doAnswer(invocation -> Flux.just(result)).when(statement).execute();
+        when(replicaConnection.createStatement(anyString())).thenReturn(statement);
+        doReturn(Mono.empty()).when(replicaConnection).close();
+
+        connectionFactory = new ReadReplicaRoutingConnectionFactory(primary, Map.of("replica", replica), MAX_LAG, CHECK_INTERVAL);
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.dispose();
+    }
+
+    @Test
+    void readWriteTransactionGoesToPrimary() {
+        awaitRoutedToReplica();
+
+        assertThat(connectionFor(false)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        awaitRoutedToReplica();
+
+        assertThat(connectionFor(true)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void connectionOutsideOfTransactionGoesToReplica() {
+        awaitRoutedToReplica();
+
+        assertThat(connectionFor(null)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void serverNotReplicatingIsHealthy() {
+        replicaReplicating.set(false);
+
+        awaitRoutedToReplica();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        awaitRoutedToReplica();
+
+        replicaLag.set(MAX_LAG.toSeconds() + 1);
+
+        awaitRoutedToPrimary();
+        assertThat(connectionFor(true)).isSameAs(primaryConnection);
+
+        // the replica is used again once it has caught up
+        replicaLag.set(MAX_LAG.toSeconds());
+        awaitRoutedToReplica();
+    }
+
+    @Test
+    void stoppedReplicationFallsBackToPrimary() {
+        awaitRoutedToReplica();
+
+        // the lag is NULL while the replication threads are stopped
+        replicaLag.set(null);
+
+        awaitRoutedToPrimary();
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        awaitRoutedToReplica();
+
+        replicaDown.set(true);
+
+        awaitRoutedToPrimary();
+        assertThat(connectionFor(true)).isSameAs(primaryConnection);
+    }
+
+    private Connection connectionFor(Boolean readOnly) {
+        Mono<Connection> connection = Mono.from(connectionFactory.create());
+        if (readOnly != null) {
+            connection = connection.contextWrite(context ->
+                context.put(ReadReplicaRoutingConnectionFactory.READ_ONLY_CONTEXT_KEY, readOnly)
+            );
+        }
+        return connection.block();
+    }
+
+    private void awaitRoutedToReplica() {
+        await().atMost(5, TimeUnit.SECONDS).ignoreExceptions().until(() -> connectionFor(null) == replicaConnection);
+    }
+
+    private void awaitRoutedToPrimary() {
+        await().atMost(5, TimeUnit.SECONDS).ignoreExceptions().until(() -> connectionFor(null) == primaryConnection);
+    }
+}
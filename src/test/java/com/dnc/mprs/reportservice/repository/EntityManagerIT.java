@@ -0,0 +1,167 @@
+package com.dnc.mprs.reportservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dnc.mprs.reportservice.IntegrationTest;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.web.rest.BedroomResourceIT;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
+import org.springframework.data.relational.core.sql.Table;
+
+/**
+ * Integration tests for the {@link EntityManager}.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    private static final int MAX_BIND_PARAMETERS = 65_535;
+
+    private static final Table BEDROOM = Table.aliased("bedroom", EntityManager.ENTITY_ALIAS);
+
+    private static final String SELECT_BEDROOM = "SELECT e.id, e.bedroom_name FROM bedroom e";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Autowired
+    private BedroomRepository bedroomRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    /**
+     * A shape of its own for each test, so that no statement is cached before the test.
+     */
+    private final String shape = "bedroom names " + UUID.randomUUID();
+
+    @AfterEach
+    public void cleanup() {
+        BedroomResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void insertAllMoreRowsThanOneStatement() {
+        RelationalPersistentEntity<?> entity = r2dbcEntityTemplate
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(Bedroom.class);
+        int columns = 0;
+        for (RelationalPersistentProperty property : entity) {
+            columns += property.isIdProperty() ? 0 : 1;
+        }
+        // one row more than a statement holds, so the rows are inserted with two statements
+        int rowCount = MAX_BIND_PARAMETERS / columns + 1;
+        List<Bedroom> bedrooms = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            bedrooms.add(BedroomResourceIT.createEntity().bedroomName("bedroom-" + i));
+        }
+
+        List<Bedroom> inserted = em.insertAll(bedrooms).collectList().block();
+
+        assertThat(inserted).hasSize(rowCount);
+        assertThat(inserted).extracting(Bedroom::getId).doesNotContainNull().doesNotHaveDuplicates();
+        // every returned id is the one of the stored row with the same values
+        Map<Long, String> stored = bedroomRepository
+            .findAllById(inserted.stream().map(Bedroom::getId).toList())
+            .collectMap(Bedroom::getId, Bedroom::getBedroomName)
+            .block();
+        assertThat(stored).hasSize(rowCount);
+        for (Bedroom bedroom : inserted) {
+            assertThat(stored).containsEntry(bedroom.getId(), bedroom.getBedroomName());
+        }
+    }
+
+    @Test
+    void createSelectRendersEachShapeOnce() {
+        double missesBefore = selects("miss");
+        double hitsBefore = selects("hit");
+
+        String firstPage = em.createSelect(Bedroom.class, shape, this::selectFrom, PageRequest.of(0, 20), "id", this::byId);
+        String otherPage = em.createSelect(Bedroom.class, shape, this::selectFrom, PageRequest.of(3, 50), "id", this::byId);
+
+        // the ids and the page are bound, so every query of the shape runs the same statement
+        assertThat(firstPage).isEqualTo(SELECT_BEDROOM + " WHERE e.id = :id LIMIT :page_limit OFFSET :page_offset");
+        assertThat(otherPage).isSameAs(firstPage);
+        assertThat(renders).hasValue(1);
+        // other queries may run in the background, so the counters grow at least by those of the test
+        assertThat(selects("miss") - missesBefore).isGreaterThanOrEqualTo(1);
+        assertThat(selects("hit") - hitsBefore).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void createSelectRendersEachShapeOnItsOwn() {
+        PageRequest byName = PageRequest.of(0, 20, Sort.by("bedroomName"));
+        PageRequest byNameDesc = byName.withSort(Sort.Direction.DESC, "bedroomName");
+
+        String unpaged = em.createSelect(Bedroom.class, shape, this::selectFrom, (Pageable) null, null, null);
+        String paged = em.createSelect(Bedroom.class, shape, this::selectFrom, PageRequest.of(0, 20), null, null);
+        String sorted = em.createSelect(Bedroom.class, shape, this::selectFrom, byName, null, null);
+        String sortedDesc = em.createSelect(Bedroom.class, shape, this::selectFrom, byNameDesc, null, null);
+        String filtered = em.createSelect(Bedroom.class, shape, this::selectFrom, byName, "id", this::byId);
+
+        assertThat(unpaged).isEqualTo(SELECT_BEDROOM);
+        assertThat(paged).isEqualTo(SELECT_BEDROOM + " LIMIT :page_limit OFFSET :page_offset");
+        assertThat(sorted).startsWith(SELECT_BEDROOM + " ORDER BY ").contains("bedroom_name ASC");
+        assertThat(sortedDesc).startsWith(SELECT_BEDROOM + " ORDER BY ").contains("bedroom_name DESC");
+        assertThat(filtered).startsWith(SELECT_BEDROOM + " WHERE e.id = :id ORDER BY ");
+        assertThat(List.of(unpaged, paged, sorted, sortedDesc, filtered)).doesNotHaveDuplicates();
+        assertThat(renders).hasValue(5);
+    }
+
+    @Test
+    void createKeysetSelectReusesStatementForEveryCursor() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        String first = em.createSelect(Bedroom.class, shape, this::selectFrom, KeysetPageable.of(pageable, null), null, null);
+        String afterFive = em.createSelect(Bedroom.class, shape, this::selectFrom, KeysetPageable.of(pageable, cursor(5)), null, null);
+        String afterNine = em.createSelect(Bedroom.class, shape, this::selectFrom, KeysetPageable.of(pageable, cursor(9)), null, null);
+
+        assertThat(first).isEqualTo(SELECT_BEDROOM + " ORDER BY e.id ASC LIMIT :page_limit");
+        assertThat(afterFive).isEqualTo(SELECT_BEDROOM + " WHERE e.id > :keyset_id ORDER BY e.id ASC LIMIT :page_limit");
+        assertThat(afterNine).isSameAs(afterFive);
+        assertThat(renders).hasValue(2);
+    }
+
+    private SelectWhere selectFrom() {
+        renders.incrementAndGet();
+        return Select.builder().select(BEDROOM.column("id"), BEDROOM.column("bedroom_name")).from(BEDROOM);
+    }
+
+    private Condition byId() {
+        return Conditions.isEqual(BEDROOM.column("id"), SQL.bindMarker(":id"));
+    }
+
+    private static String cursor(long afterId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("id,ASC," + afterId + ",n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double selects(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "entityManager.selects", "result", result).functionCounter().count();
+    }
+}
@@ -4,6 +4,7 @@ import static com.dnc.mprs.reportservice.domain.AuthorAsserts.*;
 import static com.dnc.mprs.reportservice.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
@@ -15,6 +16,9 @@ import com.dnc.mprs.reportservice.repository.AuthorRepository;
 import com.dnc.mprs.reportservice.repository.EntityManager;
 import com.dnc.mprs.reportservice.repository.search.AuthorSearchRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
@@ -26,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -245,6 +250,136 @@ class AuthorResourceIT {
             .value(hasItem(DEFAULT_CONTACT_INFO));
     }
 
+    @Test
+    void getAllAuthorsByKeyset() {
+        // Initialize the database
+        insertedAuthor = authorRepository.save(author).block();
+        Author otherAuthor = authorRepository.save(createUpdatedEntity()).block();
+
+        try {
+            // Get the first keyset page
+            String link = webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?after=&size=1&sort=id,asc")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .value(HttpHeaders.LINK, containsString("rel=\"next\""))
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(1)
+                .jsonPath("$.[0].id")
+                .isEqualTo(insertedAuthor.getId().intValue())
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(HttpHeaders.LINK);
+
+            // Follow the next link
+            String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+            webTestClient
+                .get()
+                .uri(URI.create(next))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(1)
+                .jsonPath("$.[0].id")
+                .isEqualTo(otherAuthor.getId().intValue())
+                .jsonPath("$.[0].name")
+                .isEqualTo(UPDATED_NAME);
+        } finally {
+            authorRepository.delete(otherAuthor).block();
+        }
+    }
+
+    @Test
+    void getAllAuthorsWithInvalidKeysetCursor() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after=not-a-cursor")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllAuthorsWithKeysetSortOnUnknownProperty() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after=&size=1&sort=doesNotExist,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllAuthorsWithEditedKeysetCursor() {
+        Base64.Encoder encoder = Base64.getUrlEncoder();
+        for (String edited : List.of("doesNotExist,ASC,1,vx", "id,ASC,1,vnot-an-id")) {
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?after=" + encoder.encodeToString(edited.getBytes(StandardCharsets.UTF_8)))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+        }
+    }
+
+    @Test
+    void getAllAuthorsWithExactCount() {
+        // Initialize the database
+        insertedAuthor = authorRepository.save(author).block();
+        long count = authorRepository.count().block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?count=exact&sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", String.valueOf(count));
+    }
+
+    @Test
+    void getAllAuthorsWithoutCount() {
+        // Initialize the database
+        insertedAuthor = authorRepository.save(author).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?count=none&sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(insertedAuthor.getId().intValue()));
+    }
+
+    @Test
+    void getAllAuthorsWithInvalidCount() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?count=sometimes")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getAuthor() {
         // Initialize the database
@@ -531,8 +666,12 @@ class AuthorResourceIT {
 
         // Validate the database contains one less item
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(authorSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(authorSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -559,6 +698,81 @@ class AuthorResourceIT {
             .value(hasItem(DEFAULT_CONTACT_INFO));
     }
 
+    @Test
+    void searchAuthorByCursor() {
+        // Initialize the database
+        insertedAuthor = authorRepository.save(author).block();
+        authorSearchRepository.save(author).block();
+        Author otherAuthor = authorRepository.save(createUpdatedEntity()).block();
+        authorSearchRepository.save(otherAuthor).block();
+        String query = "?query=id:(" + author.getId() + " OR " + otherAuthor.getId() + ")&size=1";
+
+        try {
+            // Search the first cursor page
+            String cursor = webTestClient
+                .get()
+                .uri(ENTITY_SEARCH_API_URL + query + "&cursor=&sort=id,asc")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals("X-Total-Count", "2")
+                .expectHeader()
+                .value(HttpHeaders.LINK, containsString("rel=\"next\""))
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(1)
+                .jsonPath("$.[0].id")
+                .isEqualTo(author.getId().intValue())
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst("X-Search-Cursor");
+
+            // Search the page after the cursor, in the order of the first page
+            cursor = webTestClient
+                .get()
+                .uri(ENTITY_SEARCH_API_URL + query + "&cursor=" + cursor)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(1)
+                .jsonPath("$.[0].id")
+                .isEqualTo(otherAuthor.getId().intValue())
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst("X-Search-Cursor");
+
+            // The walk ends with an empty page
+            webTestClient
+                .get()
+                .uri(ENTITY_SEARCH_API_URL + query + "&cursor=" + cursor)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .doesNotExist("X-Search-Cursor")
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(0);
+        } finally {
+            authorRepository.delete(otherAuthor).block();
+            authorSearchRepository.delete(otherAuthor).block();
+        }
+    }
+
+    @Test
+    void searchAuthorWithInvalidCursor() {
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?query=*&cursor=not-a-cursor")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     protected long getRepositoryCount() {
         return authorRepository.count().block();
     }
@@ -620,8 +620,12 @@ class KitchenResourceIT {
 
         // Validate the database contains one less item
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(kitchenSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(kitchenSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -658,6 +662,44 @@ class KitchenResourceIT {
             .value(hasItem(DEFAULT_REMARKS));
     }
 
+    @Test
+    void searchKitchenByCriteria() {
+        // Initialize the database
+        insertedKitchen = kitchenRepository.save(kitchen).block();
+        kitchenSearchRepository.save(kitchen).block();
+
+        // Search the kitchen by its name, among the kitchens in its condition
+        webTestClient
+            .get()
+            .uri(
+                ENTITY_SEARCH_API_URL +
+                "/filter?text=" +
+                DEFAULT_KITCHEN_NAME +
+                "&id.equals=" +
+                kitchen.getId() +
+                "&conditionLevel.equals=" +
+                DEFAULT_CONDITION_LEVEL
+            )
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(kitchen.getId().intValue()));
+
+        // The kitchen is filtered out by its condition
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "/filter?id.equals=" + kitchen.getId() + "&conditionLevel.notEquals=" + DEFAULT_CONDITION_LEVEL)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0");
+    }
+
     protected long getRepositoryCount() {
         return kitchenRepository.count().block();
     }
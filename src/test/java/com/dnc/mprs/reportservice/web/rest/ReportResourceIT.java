@@ -10,7 +10,10 @@ import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
 import com.dnc.mprs.reportservice.IntegrationTest;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Kitchen;
 import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.domain.enumeration.InfraType;
 import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
 import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
 import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
@@ -18,9 +21,13 @@ import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
 import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
 import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
 import com.dnc.mprs.reportservice.domain.enumeration.QualityStateType;
+import com.dnc.mprs.reportservice.repository.BedroomRepository;
 import com.dnc.mprs.reportservice.repository.EntityManager;
+import com.dnc.mprs.reportservice.repository.InfrastructureRepository;
+import com.dnc.mprs.reportservice.repository.KitchenRepository;
 import com.dnc.mprs.reportservice.repository.ReportRepository;
 import com.dnc.mprs.reportservice.repository.search.ReportSearchRepository;
+import com.dnc.mprs.reportservice.service.dto.ReportAggregateDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -35,6 +42,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -135,6 +143,15 @@ class ReportResourceIT {
     @Autowired
     private ReportSearchRepository reportSearchRepository;
 
+    @Autowired
+    private BedroomRepository bedroomRepository;
+
+    @Autowired
+    private KitchenRepository kitchenRepository;
+
+    @Autowired
+    private InfrastructureRepository infrastructureRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -272,6 +289,105 @@ class ReportResourceIT {
         insertedReport = returnedReport;
     }
 
+    @Test
+    void createReportsInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        int searchDatabaseSizeBefore = IterableUtil.sizeOf(reportSearchRepository.findAll().collectList().block());
+        Report reportWithId = createEntity().id(1L);
+
+        // Create a batch with a valid and an invalid report
+        var results = om.readTree(
+            webTestClient
+                .post()
+                .uri(ENTITY_API_URL + "/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(om.writeValueAsBytes(List.of(report, reportWithId)))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.[0].index")
+                .isEqualTo(0)
+                .jsonPath("$.[0].status")
+                .isEqualTo("CREATED")
+                .jsonPath("$.[1].index")
+                .isEqualTo(1)
+                .jsonPath("$.[1].status")
+                .isEqualTo("INVALID")
+                .jsonPath("$.[1].entity")
+                .doesNotExist()
+                .returnResult()
+                .getResponseBody()
+        );
+
+        // Only the valid report is created
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        Report returnedReport = om.treeToValue(results.get(0).get("entity"), Report.class);
+        assertReportUpdatableFieldsEquals(returnedReport, getPersistedReport(returnedReport));
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(reportSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
+            });
+
+        insertedReport = returnedReport;
+    }
+
+    @Test
+    void createReportAggregate() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        ReportAggregateDTO aggregate = new ReportAggregateDTO(report);
+        aggregate.setBedrooms(List.of(BedroomResourceIT.createEntity(), BedroomResourceIT.createEntity()));
+
+        // Create the Report with its bedrooms
+        ReportAggregateDTO returnedAggregate = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/aggregate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(om.writeValueAsBytes(aggregate))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(ReportAggregateDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        insertedReport = returnedAggregate.getReport();
+        try {
+            // Validate the Report and its bedrooms in the database
+            assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+            assertReportUpdatableFieldsEquals(insertedReport, getPersistedReport(insertedReport));
+            assertThat(returnedAggregate.getBedrooms()).hasSize(2).allSatisfy(bedroom -> {
+                assertThat(bedroom.getId()).isNotNull();
+                assertThat(bedroom.getReportId()).isEqualTo(insertedReport.getId());
+            });
+            assertThat(bedroomRepository.findByReport(insertedReport.getId()).collectList().block()).hasSize(2);
+        } finally {
+            bedroomRepository.findByReport(insertedReport.getId()).flatMap(bedroomRepository::delete).blockLast();
+        }
+    }
+
+    @Test
+    void createReportAggregateWithExistingChildId() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        ReportAggregateDTO aggregate = new ReportAggregateDTO(report);
+        aggregate.setBedrooms(List.of(BedroomResourceIT.createEntity().id(1L)));
+
+        // A child with an existing ID cannot be created, so this API call must fail
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/aggregate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(om.writeValueAsBytes(aggregate))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     void createReportWithExistingId() throws Exception {
         // Create the Report with an existing ID
@@ -676,6 +792,170 @@ class ReportResourceIT {
             .value(hasItem(DEFAULT_UPDATED_AT.toString()));
     }
 
+    @Test
+    void getAllReportsExpanded() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+        Bedroom bedroom = bedroomRepository.save(BedroomResourceIT.createEntity().report(insertedReport)).block();
+
+        try {
+            // Get all the reportList with their bedrooms
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?sort=id,desc&expand=bedrooms")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.[*].report.id")
+                .value(hasItem(report.getId().intValue()))
+                .jsonPath("$.[*].bedrooms.[*].id")
+                .value(hasItem(bedroom.getId().intValue()));
+        } finally {
+            bedroomRepository.delete(bedroom).block();
+        }
+    }
+
+    @Test
+    void getAllReportsWithFields() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        // Get all the reportList with the fields of the list screen only
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&fields=reportTitle,reportDate,complexName")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(report.getId().intValue()))
+            .jsonPath("$.[*].reportTitle")
+            .value(hasItem(DEFAULT_REPORT_TITLE))
+            .jsonPath("$.[*].reportDate")
+            .value(hasItem(DEFAULT_REPORT_DATE.toString()))
+            .jsonPath("$.[*].complexName")
+            .value(hasItem(DEFAULT_COMPLEX_NAME))
+            .jsonPath("$.[0].communityRules")
+            .doesNotExist()
+            .jsonPath("$.[0].author")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllReportsWithFieldsSortedByAnotherField() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        // Get all the reportList sorted by a field which is not returned
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=reportDate,desc&fields=reportTitle")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(report.getId().intValue()))
+            .jsonPath("$.[*].reportTitle")
+            .value(hasItem(DEFAULT_REPORT_TITLE))
+            .jsonPath("$.[0].reportDate")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllReportsWithInvalidFields() {
+        webTestClient.get().uri(ENTITY_API_URL + "?fields=reportTitle,unknown").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAllReportsByCriteria() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+        String filter =
+            "exteriorState.equals=" + DEFAULT_EXTERIOR_STATE + "&constructionYear.greaterThanOrEqual=" + DEFAULT_CONSTRUCTION_YEAR;
+
+        // Get the reports matching the filters, with an exact count
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&count=exact&" + filter + "&id.in=" + report.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(report.getId().intValue()));
+
+        // Get the reports which do not match
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?count=exact&exteriorState.in=" + UPDATED_EXTERIOR_STATE + "&id.equals=" + report.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0")
+            .expectBody()
+            .jsonPath("$")
+            .isEmpty();
+    }
+
+    @Test
+    void exportReports() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+        Report otherReport = reportRepository.save(createUpdatedEntity()).block();
+
+        try {
+            List<Report> exported = webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "/_export?complexId=" + DEFAULT_COMPLEX_ID)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Report.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+            assertThat(exported).extracting(Report::getId).contains(insertedReport.getId()).doesNotContain(otherReport.getId());
+        } finally {
+            reportRepository.delete(otherReport).block();
+        }
+    }
+
+    @Test
+    void exportReportsAsCsv() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        String csv = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export?format=csv&reportDateFrom=" + DEFAULT_REPORT_DATE + "&complexId=" + DEFAULT_COMPLEX_ID)
+            .accept(MediaType.parseMediaType("text/csv"))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(csv).startsWith("id,report_title,report_date,").contains("\r\n" + insertedReport.getId() + "," + DEFAULT_REPORT_TITLE + ",");
+    }
+
     @Test
     void getReport() {
         // Initialize the database
@@ -744,6 +1024,115 @@ class ReportResourceIT {
             .value(is(DEFAULT_UPDATED_AT.toString()));
     }
 
+    @Test
+    void getReportAggregate() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+        Bedroom bedroom = bedroomRepository.save(BedroomResourceIT.createEntity().report(insertedReport)).block();
+
+        try {
+            // Get the report with its bedrooms only
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL_ID + "/aggregate?include=bedrooms", report.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.report.id")
+                .value(is(report.getId().intValue()))
+                .jsonPath("$.report.reportTitle")
+                .value(is(DEFAULT_REPORT_TITLE))
+                .jsonPath("$.bedrooms.[*].id")
+                .value(hasItem(bedroom.getId().intValue()))
+                .jsonPath("$.kitchens")
+                .doesNotExist();
+        } finally {
+            bedroomRepository.delete(bedroom).block();
+        }
+    }
+
+    @Test
+    void getReportAggregateWithUnknownSection() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/aggregate?include=garages", report.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getNonExistingReportAggregate() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/aggregate", Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_PROBLEM_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void getReportSnapshot() throws Exception {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        // Get the snapshot, built on its first read
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/snapshot", report.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.report.id")
+            .value(is(report.getId().intValue()))
+            .jsonPath("$.report.reportTitle")
+            .value(is(DEFAULT_REPORT_TITLE))
+            .jsonPath("$.bedrooms")
+            .isEmpty();
+
+        // Update the report, which rebuilds the snapshot
+        Report partialUpdatedReport = new Report();
+        partialUpdatedReport.setId(report.getId());
+        partialUpdatedReport.reportTitle(UPDATED_REPORT_TITLE);
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, report.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(om.writeValueAsBytes(partialUpdatedReport))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/snapshot", report.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.report.reportTitle")
+            .value(is(UPDATED_REPORT_TITLE));
+    }
+
+    @Test
+    void getNonExistingReportSnapshot() {
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/snapshot", Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+    }
+
     @Test
     void getNonExistingReport() {
         // Get the report
@@ -926,6 +1315,13 @@ class ReportResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertReportUpdatableFieldsEquals(createUpdateProxyForBean(partialUpdatedReport, report), getPersistedReport(report));
+
+        // Validate the patched Report is indexed by the search outbox drainer
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(reportSearchRepository.findById(report.getId()).map(Report::getSummary).block()).isEqualTo(UPDATED_SUMMARY)
+            );
     }
 
     @Test
@@ -980,6 +1376,62 @@ class ReportResourceIT {
         assertReportUpdatableFieldsEquals(partialUpdatedReport, getPersistedReport(partialUpdatedReport));
     }
 
+    @Test
+    void putReportWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        // Update the report concurrently, after the stale copy was read
+        Report staleReport = reportRepository.findById(report.getId()).block();
+        Report concurrentReport = reportRepository.findById(report.getId()).block();
+        reportRepository.save(concurrentReport.reportTitle(UPDATED_REPORT_TITLE)).block();
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, staleReport.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(om.writeValueAsBytes(staleReport.summary(UPDATED_SUMMARY)))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.CONFLICT);
+
+        // Validate the concurrent update was kept
+        Report persistedReport = getPersistedReport(report);
+        assertThat(persistedReport.getReportTitle()).isEqualTo(UPDATED_REPORT_TITLE);
+        assertThat(persistedReport.getSummary()).isEqualTo(DEFAULT_SUMMARY);
+    }
+
+    @Test
+    void patchReportWithoutVersionIsMerged() throws Exception {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+
+        // Update the report concurrently
+        Report concurrentReport = reportRepository.findById(report.getId()).block();
+        reportRepository.save(concurrentReport.reportTitle(UPDATED_REPORT_TITLE)).block();
+
+        Report partialUpdatedReport = new Report();
+        partialUpdatedReport.setId(report.getId());
+        partialUpdatedReport.summary(UPDATED_SUMMARY);
+
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, partialUpdatedReport.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(om.writeValueAsBytes(partialUpdatedReport))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.version")
+            .isEqualTo(2);
+
+        // Validate both updates were applied
+        Report persistedReport = getPersistedReport(report);
+        assertThat(persistedReport.getReportTitle()).isEqualTo(UPDATED_REPORT_TITLE);
+        assertThat(persistedReport.getSummary()).isEqualTo(UPDATED_SUMMARY);
+    }
+
     @Test
     void patchNonExistingReport() throws Exception {
         long databaseSizeBeforeUpdate = getRepositoryCount();
@@ -1068,8 +1520,12 @@ class ReportResourceIT {
 
         // Validate the database contains one less item
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(reportSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(reportSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -1087,6 +1543,8 @@ class ReportResourceIT {
             .isOk()
             .expectHeader()
             .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
             .expectBody()
             .jsonPath("$.[*].id")
             .value(hasItem(report.getId().intValue()))
@@ -1140,6 +1598,184 @@ class ReportResourceIT {
             .value(hasItem(DEFAULT_UPDATED_AT.toString()));
     }
 
+    @Test
+    void searchReportDocumentsByChildren() throws Exception {
+        ReportAggregateDTO aggregate = new ReportAggregateDTO(report);
+        aggregate.setKitchens(List.of(KitchenResourceIT.createEntity().conditionLevel(QualityStateType.LOW)));
+        aggregate.setInfrastructures(List.of(InfrastructureResourceIT.createEntity().infraType(InfraType.SCHOOL).infraDistance(300)));
+
+        // Create the Report with its kitchen and infrastructure
+        insertedReport = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/aggregate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(om.writeValueAsBytes(aggregate))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(ReportAggregateDTO.class)
+            .returnResult()
+            .getResponseBody()
+            .getReport();
+        try {
+            String school = "&infrastructures.infraType.equals=SCHOOL&infrastructures.distance.lessThanOrEqual=";
+            // The report is found by its children once indexed
+            await()
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() ->
+                    webTestClient
+                        .get()
+                        .uri(ENTITY_SEARCH_API_URL + "/documents?kitchens.conditionLevel.equals=LOW" + school + "500")
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectBody()
+                        .jsonPath("$.[*].id")
+                        .value(hasItem(insertedReport.getId().intValue()))
+                        .jsonPath("$.[*].infrastructures[*].infraType")
+                        .value(hasItem("SCHOOL"))
+                );
+
+            // The school is too far away
+            webTestClient
+                .get()
+                .uri(ENTITY_SEARCH_API_URL + "/documents?complexId.equals=" + DEFAULT_COMPLEX_ID + school + "100")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.[?(@.id == " + insertedReport.getId() + ")]")
+                .doesNotExist();
+        } finally {
+            kitchenRepository.findByReport(insertedReport.getId()).flatMap(kitchenRepository::delete).blockLast();
+            infrastructureRepository.findByReport(insertedReport.getId()).flatMap(infrastructureRepository::delete).blockLast();
+        }
+    }
+
+    @Test
+    void searchReportDocumentsAfterChildUpdate() throws Exception {
+        ReportAggregateDTO aggregate = new ReportAggregateDTO(report);
+        aggregate.setKitchens(List.of(KitchenResourceIT.createEntity().conditionLevel(QualityStateType.LOW)));
+
+        // Create the Report with its kitchen
+        insertedReport = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/aggregate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(om.writeValueAsBytes(aggregate))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(ReportAggregateDTO.class)
+            .returnResult()
+            .getResponseBody()
+            .getReport();
+        try {
+            String byId = ENTITY_SEARCH_API_URL + "/documents?id.equals=" + insertedReport.getId();
+            await()
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() ->
+                    webTestClient
+                        .get()
+                        .uri(byId + "&kitchens.conditionLevel.equals=LOW")
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectBody()
+                        .jsonPath("$.[*].id")
+                        .value(hasItem(insertedReport.getId().intValue()))
+                );
+
+            // Update the kitchen once the report is indexed
+            Kitchen kitchen = kitchenRepository.findByReport(insertedReport.getId()).blockFirst();
+            Kitchen partialUpdatedKitchen = new Kitchen();
+            partialUpdatedKitchen.setId(kitchen.getId());
+            partialUpdatedKitchen.setConditionLevel(QualityStateType.HIGH);
+            webTestClient
+                .patch()
+                .uri("/api/kitchens/{id}", kitchen.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue(om.writeValueAsBytes(partialUpdatedKitchen))
+                .exchange()
+                .expectStatus()
+                .isOk();
+
+            // The document of the report embeds the updated kitchen
+            await()
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() ->
+                    webTestClient
+                        .get()
+                        .uri(byId + "&kitchens.conditionLevel.equals=HIGH")
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectBody()
+                        .jsonPath("$.[*].id")
+                        .value(hasItem(insertedReport.getId().intValue()))
+                        .jsonPath("$.[*].kitchens[*].conditionLevel")
+                        .value(hasItem("HIGH"))
+                );
+            webTestClient
+                .get()
+                .uri(byId + "&kitchens.conditionLevel.equals=LOW")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.[?(@.id == " + insertedReport.getId() + ")]")
+                .doesNotExist();
+        } finally {
+            kitchenRepository.findByReport(insertedReport.getId()).flatMap(kitchenRepository::delete).blockLast();
+        }
+    }
+
+    @Test
+    void searchReportByCriteria() {
+        // Initialize the database
+        insertedReport = reportRepository.save(report).block();
+        reportSearchRepository.save(report).block();
+
+        // Search the report by its title, among the reports matching the filters
+        webTestClient
+            .get()
+            .uri(
+                ENTITY_SEARCH_API_URL +
+                "/filter?text=" +
+                DEFAULT_REPORT_TITLE +
+                "&id.equals=" +
+                report.getId() +
+                "&elevatorState.in=" +
+                DEFAULT_ELEVATOR_STATE +
+                "," +
+                UPDATED_ELEVATOR_STATE +
+                "&constructionYear.greaterThanOrEqual=" +
+                DEFAULT_CONSTRUCTION_YEAR
+            )
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(report.getId().intValue()))
+            .jsonPath("$.[*].reportTitle")
+            .value(hasItem(DEFAULT_REPORT_TITLE));
+
+        // The report is filtered out by its construction year
+        webTestClient
+            .get()
+            .uri(
+                ENTITY_SEARCH_API_URL + "/filter?id.equals=" + report.getId() + "&constructionYear.greaterThan=" + DEFAULT_CONSTRUCTION_YEAR
+            )
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0");
+    }
+
     protected long getRepositoryCount() {
         return reportRepository.count().block();
     }
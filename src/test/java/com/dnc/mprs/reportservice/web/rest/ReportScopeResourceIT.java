@@ -0,0 +1,154 @@
+package com.dnc.mprs.reportservice.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+import com.dnc.mprs.reportservice.IntegrationTest;
+import com.dnc.mprs.reportservice.domain.Bedroom;
+import com.dnc.mprs.reportservice.domain.Report;
+import com.dnc.mprs.reportservice.repository.BedroomRepository;
+import com.dnc.mprs.reportservice.repository.ReportRepository;
+import com.dnc.mprs.reportservice.service.ReportStatisticsService;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link ReportScopeResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class ReportScopeResourceIT {
+
+    private static final Long COMPLEX_ID = 4242L;
+    private static final Long PROPERTY_ID = 4343L;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private BedroomRepository bedroomRepository;
+
+    @Autowired
+    private ReportStatisticsService reportStatisticsService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Report olderReport;
+
+    private Report latestReport;
+
+    private Report otherReport;
+
+    @BeforeEach
+    public void initTest() {
+        olderReport = reportRepository
+            .save(ReportResourceIT.createEntity().complexId(COMPLEX_ID).propertyId(PROPERTY_ID).reportDate(Instant.ofEpochSecond(1_000)))
+            .block();
+        latestReport = reportRepository
+            .save(ReportResourceIT.createEntity().complexId(COMPLEX_ID).propertyId(PROPERTY_ID).reportDate(Instant.ofEpochSecond(2_000)))
+            .block();
+        otherReport = reportRepository.save(ReportResourceIT.createUpdatedEntity()).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reportRepository.deleteAllById(List.of(olderReport.getId(), latestReport.getId(), otherReport.getId())).block();
+    }
+
+    @Test
+    void getComplexReports() {
+        webTestClient
+            .get()
+            .uri("/api/complexes/{id}/reports", COMPLEX_ID)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "2")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$.[0].id")
+            .isEqualTo(latestReport.getId().intValue())
+            .jsonPath("$.[1].id")
+            .isEqualTo(olderReport.getId().intValue())
+            .jsonPath("$.[*].id")
+            .value(not(hasItem(otherReport.getId().intValue())));
+    }
+
+    @Test
+    void getPropertyReports() {
+        webTestClient
+            .get()
+            .uri("/api/properties/{id}/reports?size=1&count=none", PROPERTY_ID)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(latestReport.getId().intValue());
+    }
+
+    @Test
+    void getComplexReportStatistics() {
+        // the reports of the test are stored by the repository, so the counts are computed from scratch first
+        reportStatisticsService.rebuild().block();
+
+        String exteriorHigh = "$.[?(@.period == 1970 && @.field == 'exteriorState' && @.state == 'HIGH')].count";
+        webTestClient
+            .get()
+            .uri("/api/complexes/{id}/report-statistics?from=1970&to=1970", COMPLEX_ID)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath(exteriorHigh)
+            .isEqualTo(2);
+
+        // Delete a report and validate its counts are removed
+        webTestClient.delete().uri("/api/reports/{id}", olderReport.getId()).exchange().expectStatus().isNoContent();
+
+        webTestClient
+            .get()
+            .uri("/api/complexes/{id}/report-statistics", COMPLEX_ID)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath(exteriorHigh)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void deleteComplexReports() {
+        Bedroom bedroom = BedroomResourceIT.createEntity();
+        bedroom.setReportId(olderReport.getId());
+        bedroom = bedroomRepository.save(bedroom).block();
+
+        webTestClient.delete().uri("/api/complexes/{id}/reports", COMPLEX_ID).exchange().expectStatus().isNoContent();
+
+        // Validate the reports of the complex are deleted with their children, and only them
+        assertThat(reportRepository.countByComplexId(COMPLEX_ID).block()).isZero();
+        assertThat(bedroomRepository.findById(bedroom.getId()).block()).isNull();
+        assertThat(reportRepository.findById(otherReport.getId()).block()).isNotNull();
+    }
+}
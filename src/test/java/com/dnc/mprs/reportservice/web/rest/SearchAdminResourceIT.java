@@ -0,0 +1,101 @@
+package com.dnc.mprs.reportservice.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+import com.dnc.mprs.reportservice.IntegrationTest;
+import com.dnc.mprs.reportservice.domain.Author;
+import com.dnc.mprs.reportservice.repository.AuthorRepository;
+import com.dnc.mprs.reportservice.repository.search.AuthorSearchRepository;
+import com.dnc.mprs.reportservice.security.AuthoritiesConstants;
+import com.dnc.mprs.reportservice.service.ReindexService;
+import com.dnc.mprs.reportservice.service.dto.ReindexStatusDTO;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link SearchAdminResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class SearchAdminResourceIT {
+
+    private static final String REINDEX_API_URL = "/api/admin/search/reindex";
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private AuthorSearchRepository authorSearchRepository;
+
+    @Autowired
+    private ReindexService reindexService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Author insertedAuthor;
+
+    @BeforeEach
+    public void setupCsrf() {
+        webTestClient = webTestClient.mutateWith(csrf());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedAuthor != null) {
+            authorRepository.delete(insertedAuthor).block();
+            authorSearchRepository.delete(insertedAuthor).block();
+            insertedAuthor = null;
+        }
+    }
+
+    @Test
+    void reindexAuthor() {
+        // Initialize the database, without indexing
+        insertedAuthor = authorRepository.save(AuthorResourceIT.createEntity()).block();
+
+        webTestClient
+            .post()
+            .uri(REINDEX_API_URL + "?entity=author")
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody()
+            .jsonPath("$.entity")
+            .isEqualTo("author");
+
+        await()
+            .atMost(30, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(reindexService.findOne("author"))
+                    .hasValueSatisfying(status -> assertThat(status.getStatus()).isEqualTo(ReindexStatusDTO.Status.COMPLETED))
+            );
+        ReindexStatusDTO status = reindexService.findOne("author").orElseThrow();
+        assertThat(status.getIndexed()).isGreaterThanOrEqualTo(1);
+        // the catch-up of the changes made during the reindex is bounded
+        assertThat(status.getCatchUpRounds()).isLessThanOrEqualTo(3);
+
+        // The author is found through the alias of the new index
+        assertThat(authorSearchRepository.findById(insertedAuthor.getId()).block()).isNotNull();
+    }
+
+    @Test
+    void reindexUnknownEntity() {
+        webTestClient.post().uri(REINDEX_API_URL + "?entity=unknown").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @WithMockUser
+    void reindexIsForbiddenToUsers() {
+        webTestClient.post().uri(REINDEX_API_URL + "?entity=author").exchange().expectStatus().isForbidden();
+    }
+}